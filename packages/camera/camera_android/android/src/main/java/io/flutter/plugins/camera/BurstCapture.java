@@ -0,0 +1,150 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.media.Image;
+import android.media.ImageReader;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Collects the JPEG images of a picture burst and saves them in parallel.
+ *
+ * <p>Each frame is reported to the Dart side as soon as it has been saved. Once every frame of the
+ * burst has been saved or has failed, the method call result completes with the paths of the saved
+ * frames, in the order they were saved.
+ *
+ * <p>{@link #onImageAvailable(ImageReader)} and {@link #onCaptureFailed()} are called on the camera
+ * background thread, the save callbacks are called on the threads of the saver executor.
+ */
+class BurstCapture implements ImageReader.OnImageAvailableListener {
+  private static final String TAG = "BurstCapture";
+
+  private final int frameCount;
+  private final File outputDir;
+  private final boolean syncToDisk;
+  private final Executor saverExecutor;
+  private final DartMessenger dartMessenger;
+  private final MethodChannel.Result result;
+
+  /** The number of frames received from the camera, or failed, on the background thread. */
+  private int receivedFrameCount;
+  /** The paths of the saved frames, also guarding {@link #handledFrameCount}. */
+  private final List<String> savedPaths = new ArrayList<>();
+  /** The number of frames that have been saved or have failed. */
+  private int handledFrameCount;
+
+  /**
+   * Creates a new instance of the {@link BurstCapture} class.
+   *
+   * @param frameCount - The number of frames in the burst.
+   * @param outputDir - The directory the frames are saved in.
+   * @param syncToDisk - Whether each frame is flushed to the storage device before it is reported.
+   * @param saverExecutor - The executor the frames are saved on.
+   * @param dartMessenger - Used to report each frame and to complete the result.
+   * @param result - The result completed once every frame has been handled.
+   */
+  BurstCapture(
+      int frameCount,
+      @NonNull File outputDir,
+      boolean syncToDisk,
+      @NonNull Executor saverExecutor,
+      @NonNull DartMessenger dartMessenger,
+      @NonNull MethodChannel.Result result) {
+    this.frameCount = frameCount;
+    this.outputDir = outputDir;
+    this.syncToDisk = syncToDisk;
+    this.saverExecutor = saverExecutor;
+    this.dartMessenger = dartMessenger;
+    this.result = result;
+  }
+
+  /** Returns the number of frames in the burst. */
+  int getFrameCount() {
+    return frameCount;
+  }
+
+  @Override
+  public void onImageAvailable(@NonNull ImageReader reader) {
+    Image image = reader.acquireNextImage();
+    if (image == null) {
+      return;
+    }
+    if (receivedFrameCount >= frameCount) {
+      // Not part of this burst.
+      image.close();
+      return;
+    }
+    receivedFrameCount++;
+
+    saverExecutor.execute(
+        () -> {
+          File file;
+          try {
+            file = File.createTempFile("CAP", ".jpg", outputDir);
+          } catch (IOException | SecurityException e) {
+            image.close();
+            onFrameFailed(e.getMessage());
+            return;
+          }
+          new ImageSaver(
+                  image,
+                  file,
+                  syncToDisk,
+                  new ImageSaver.Callback() {
+                    @Override
+                    public void onComplete(String absolutePath, ImageSaver.Timings timings) {
+                      Log.d(TAG, "Saved burst frame: " + timings);
+                      onFrameSaved(absolutePath);
+                    }
+
+                    @Override
+                    public void onError(String errorCode, String errorMessage) {
+                      onFrameFailed(errorMessage);
+                    }
+                  })
+              .run();
+        });
+  }
+
+  /** Called when the camera fails to capture a frame of the burst, which then produces no image. */
+  void onCaptureFailed() {
+    if (receivedFrameCount >= frameCount) {
+      return;
+    }
+    receivedFrameCount++;
+    onFrameFailed("Failed capturing burst frame");
+  }
+
+  private void onFrameSaved(String absolutePath) {
+    synchronized (savedPaths) {
+      savedPaths.add(absolutePath);
+      reportFrame(absolutePath, null);
+    }
+  }
+
+  private void onFrameFailed(String errorMessage) {
+    synchronized (savedPaths) {
+      reportFrame(null, errorMessage);
+    }
+  }
+
+  // Called while holding the lock, so the frame events and the result reach the main thread in
+  // order.
+  private void reportFrame(@Nullable String path, @Nullable String errorMessage) {
+    int index = handledFrameCount++;
+    dartMessenger.sendBurstFrameEvent(index, path, errorMessage);
+    if (index == frameCount - 1) {
+      dartMessenger.finish(result, new ArrayList<>(savedPaths));
+    }
+  }
+}
@@ -15,6 +15,7 @@ import android.hardware.camera2.CameraCaptureSession;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.TotalCaptureResult;
 import android.hardware.camera2.params.OutputConfiguration;
@@ -44,6 +45,7 @@ import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugins.camera.features.CameraFeature;
 import io.flutter.plugins.camera.features.CameraFeatureFactory;
 import io.flutter.plugins.camera.features.CameraFeatures;
+import io.flutter.plugins.camera.features.CameraSettings;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.autofocus.AutoFocusFeature;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
@@ -59,20 +61,28 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.features.zoomlevel.ZoomRamp;
+import io.flutter.plugins.camera.media.CodecRecorder;
+import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
+import io.flutter.plugins.camera.media.VideoEncoderSettings;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
+import io.flutter.plugins.camera.types.ImageStreamOptions;
 import io.flutter.view.TextureRegistry.SurfaceTextureEntry;
 import java.io.File;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @FunctionalInterface
 interface ErrorCallback {
@@ -132,16 +142,69 @@ class Camera
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
 
+  /** The maximum number of frames in a picture burst, which the picture reader can hold. */
+  static final int MAX_BURST_FRAME_COUNT = 8;
+  /** The number of pictures that are written to disk in parallel. */
+  private static final int IMAGE_SAVER_THREAD_COUNT = 3;
+
+  /** Writes captured pictures to disk, so disk latency does not block the background thread. */
+  private ExecutorService imageSaverExecutor;
+  /** The picture burst that is being captured, or null when taking a single picture. */
+  @Nullable private BurstCapture pendingBurst;
+  /** True when captured pictures are flushed to the storage device before being reported. */
+  private boolean syncPictureWrites;
+  /**
+   * The zoom ramp in progress, stepped on the main thread, which is the thread every other setter
+   * updates the camera features and the preview request builder from.
+   */
+  private final AtomicReference<ZoomRamp> zoomRamp = new AtomicReference<>();
+  /** True while a zoom ramp step is posted to the main thread and has not run yet. */
+  private final AtomicBoolean zoomRampStepPending = new AtomicBoolean();
+
+  private final Handler mainHandler = HandlerFactory.create(Looper.getMainLooper());
+  private final Runnable zoomRampStepTask =
+      () -> {
+        zoomRampStepPending.set(false);
+        ZoomRamp ramp = zoomRamp.get();
+        if (ramp != null) {
+          stepZoomRamp(ramp);
+        }
+      };
+
+  /** Measures the latency of opening the camera and of taking pictures. */
+  private final CameraMetrics metrics;
+  /** True when pictures are taken from the recent frames kept by a zero shutter lag capture. */
+  private boolean zeroShutterLagEnabled;
+  /** Keeps the recent full resolution frames of the preview once zero shutter lag is enabled. */
+  @Nullable private ZeroShutterLagCapture zeroShutterLagCapture;
+  /** True when the current session is a preview session capturing zero shutter lag frames. */
+  private boolean zeroShutterLagStreaming;
+  /** True when the current session only renders the preview, as created by startPreview. */
+  private boolean previewSessionActive;
+
+  /** Guards the camera device while it is being opened, ahead of initialization or not. */
+  private final Object deviceLock = new Object();
+  /** True while the camera device is being opened. */
+  private boolean deviceOpening;
+  /** True once {@link #open(String)} has been called, until the camera is closed. */
+  private boolean initializeRequested;
+
   private CameraDeviceWrapper cameraDevice;
   private CameraCaptureSession captureSession;
   private ImageReader pictureImageReader;
-  private ImageReader imageStreamReader;
+  private ImageStreamReader imageStreamReader;
+  /** Holds the options of the current image stream. */
+  private ImageStreamOptions imageStreamOptions = new ImageStreamOptions();
   /** {@link CaptureRequest.Builder} for the camera preview */
   private CaptureRequest.Builder previewRequestBuilder;
 
   private MediaRecorder mediaRecorder;
+  /** Encodes the current recording when it was started with encoder settings. */
+  @Nullable private CodecRecorder codecRecorder;
   /** True when recording video. */
   private boolean recordingVideo;
+  /** True when encoding frames into the pre-roll of a {@link CodecRecorder}. */
+  private boolean preRollActive;
   /** True when the preview is paused. */
   private boolean pausedPreview;
 
@@ -208,6 +271,7 @@ class Camera
     this.enableAudio = enableAudio;
     this.flutterTexture = flutterTexture;
     this.dartMessenger = dartMessenger;
+    this.metrics = new CameraMetrics(dartMessenger);
     this.applicationContext = activity.getApplicationContext();
     this.cameraProperties = cameraProperties;
     this.cameraFeatureFactory = cameraFeatureFactory;
@@ -225,6 +289,7 @@ class Camera
 
   @Override
   public void onConverged() {
+    metrics.mark(CameraMetrics.Sequence.TAKE_PICTURE, CameraMetrics.Phase.PRECAPTURE_CONVERGED);
     takePictureAfterPrecapture();
   }
 
@@ -233,6 +298,20 @@ class Camera
     runPrecaptureSequence();
   }
 
+  @Override
+  public void onCaptureCompleted() {
+    metrics.onPreviewFrameCompleted();
+    // Captures completing while a step is pending are covered by that step.
+    if (zoomRamp.get() != null && zoomRampStepPending.compareAndSet(false, true)) {
+      mainHandler.post(zoomRampStepTask);
+    }
+  }
+
+  @Override
+  public void onFrameMetadata(@NonNull Map<String, Object> metadata) {
+    dartMessenger.sendFrameMetadataEvent(metadata);
+  }
+
   /**
    * Updates the builder settings with all of the available features.
    *
@@ -240,7 +319,6 @@ class Camera
    */
   private void updateBuilderSettings(CaptureRequest.Builder requestBuilder) {
     for (CameraFeature feature : cameraFeatures.getAllFeatures()) {
-      Log.d(TAG, "Updating builder with feature: " + feature.getDebugName());
       feature.updateBuilder(requestBuilder);
     }
   }
@@ -277,8 +355,101 @@ class Camera
             .build();
   }
 
-  @SuppressLint("MissingPermission")
+  /**
+   * Creates the {@link CodecRecorder} of a recording.
+   *
+   * @param outputFilePath - The file to record to, or null to create a pre-roll recorder.
+   * @param encoderSettings - The encoder settings, whose unset values default to the recording
+   *     profile.
+   * @param preRollDurationUs - The duration retained by a pre-roll recorder, in microseconds.
+   * @param preRollMaxBytes - The memory budget of a pre-roll recorder, in bytes.
+   */
+  private void prepareCodecRecorder(
+      @Nullable String outputFilePath,
+      @NonNull VideoEncoderSettings encoderSettings,
+      long preRollDurationUs,
+      long preRollMaxBytes)
+      throws IOException {
+    Log.i(TAG, "prepareCodecRecorder");
+
+    releaseCodecRecorder();
+
+    // Sizes and rates that are not set default to the ones of the recording profile.
+    int profileWidth;
+    int profileHeight;
+    int profileBitRate;
+    int profileFrameRate;
+    EncoderProfiles recordingProfile = getRecordingProfile();
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && recordingProfile != null) {
+      EncoderProfiles.VideoProfile videoProfile = recordingProfile.getVideoProfiles().get(0);
+      profileWidth = videoProfile.getWidth();
+      profileHeight = videoProfile.getHeight();
+      profileBitRate = videoProfile.getBitrate();
+      profileFrameRate = videoProfile.getFrameRate();
+    } else {
+      CamcorderProfile legacyProfile = getRecordingProfileLegacy();
+      profileWidth = legacyProfile.videoFrameWidth;
+      profileHeight = legacyProfile.videoFrameHeight;
+      profileBitRate = legacyProfile.videoBitRate;
+      profileFrameRate = legacyProfile.videoFrameRate;
+    }
+
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        ((SensorOrientationFeature) cameraFeatures.getSensorOrientation())
+            .getLockedCaptureOrientation();
+
+    int width = valueOrDefault(encoderSettings.getWidth(), profileWidth);
+    int height = valueOrDefault(encoderSettings.getHeight(), profileHeight);
+    int bitRate = valueOrDefault(encoderSettings.getBitRate(), profileBitRate);
+    int frameRate = valueOrDefault(encoderSettings.getFrameRate(), profileFrameRate);
+    int orientationHint =
+        lockedOrientation == null
+            ? getDeviceOrientationManager().getVideoOrientation()
+            : getDeviceOrientationManager().getVideoOrientation(lockedOrientation);
+    boolean realtimeTimestamps =
+        cameraProperties.getSensorInfoTimestampSource()
+            == CameraMetadata.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME;
+    if (outputFilePath != null) {
+      codecRecorder =
+          new CodecRecorder(
+              encoderSettings,
+              width,
+              height,
+              bitRate,
+              frameRate,
+              orientationHint,
+              enableAudio,
+              realtimeTimestamps,
+              outputFilePath);
+    } else {
+      codecRecorder =
+          new CodecRecorder(
+              encoderSettings,
+              width,
+              height,
+              bitRate,
+              frameRate,
+              orientationHint,
+              enableAudio,
+              realtimeTimestamps,
+              preRollDurationUs,
+              preRollMaxBytes);
+    }
+  }
+
+  private static int valueOrDefault(@Nullable Integer value, int defaultValue) {
+    return value == null ? defaultValue : value;
+  }
+
+  private void releaseCodecRecorder() {
+    if (codecRecorder != null) {
+      codecRecorder.release();
+      codecRecorder = null;
+    }
+  }
+
   public void open(String imageFormatGroup) throws CameraAccessException {
+    metrics.start(CameraMetrics.Sequence.OPEN);
     final ResolutionFeature resolutionFeature = cameraFeatures.getResolution();
 
     if (!resolutionFeature.checkIsSupported()) {
@@ -292,13 +463,14 @@ class Camera
       return;
     }
 
-    // Always capture using JPEG format.
+    // Always capture using JPEG format. The reader holds a full picture burst, its buffers are only
+    // allocated once they are needed.
     pictureImageReader =
         ImageReader.newInstance(
             resolutionFeature.getCaptureSize().getWidth(),
             resolutionFeature.getCaptureSize().getHeight(),
             ImageFormat.JPEG,
-            1);
+            MAX_BURST_FRAME_COUNT);
 
     // For image streaming, use the provided image format or fall back to YUV420.
     Integer imageFormat = supportedImageFormats.get(imageFormatGroup);
@@ -307,32 +479,62 @@ class Camera
       imageFormat = ImageFormat.YUV_420_888;
     }
     imageStreamReader =
-        ImageReader.newInstance(
+        new ImageStreamReader(
             resolutionFeature.getPreviewSize().getWidth(),
             resolutionFeature.getPreviewSize().getHeight(),
             imageFormat,
-            1);
+            ImageStreamReader.MAX_IMAGES);
+
+    boolean deviceOpened;
+    synchronized (deviceLock) {
+      initializeRequested = true;
+      deviceOpened = cameraDevice != null;
+      if (!deviceOpened && !deviceOpening) {
+        openDevice();
+      }
+    }
+    if (deviceOpened) {
+      // The device was opened ahead of time by prewarmDevice.
+      completeInitialization();
+    }
+  }
 
-    // Open the camera.
+  /**
+   * Opens the camera device ahead of {@link #open(String)}, so that initializing the camera does
+   * not wait for the device. The preview only starts once the camera is initialized.
+   *
+   * @throws CameraAccessException when the camera device cannot be opened.
+   */
+  public void prewarmDevice() throws CameraAccessException {
+    synchronized (deviceLock) {
+      if (cameraDevice == null && !deviceOpening) {
+        openDevice();
+      }
+    }
+  }
+
+  @SuppressLint("MissingPermission")
+  private void openDevice() throws CameraAccessException {
+    startBackgroundThread();
     CameraManager cameraManager = CameraUtils.getCameraManager(activity);
     cameraManager.openCamera(
         cameraProperties.getCameraName(),
         new CameraDevice.StateCallback() {
           @Override
           public void onOpened(@NonNull CameraDevice device) {
-            cameraDevice = new DefaultCameraDeviceWrapper(device);
-            try {
-              startPreview();
-              dartMessenger.sendCameraInitializedEvent(
-                  resolutionFeature.getPreviewSize().getWidth(),
-                  resolutionFeature.getPreviewSize().getHeight(),
-                  cameraFeatures.getExposureLock().getValue(),
-                  cameraFeatures.getAutoFocus().getValue(),
-                  cameraFeatures.getExposurePoint().checkIsSupported(),
-                  cameraFeatures.getFocusPoint().checkIsSupported());
-            } catch (CameraAccessException e) {
-              dartMessenger.sendCameraErrorEvent(e.getMessage());
-              close();
+            boolean initialize;
+            synchronized (deviceLock) {
+              if (!deviceOpening) {
+                // The camera was closed while its device was being opened.
+                device.close();
+                return;
+              }
+              deviceOpening = false;
+              cameraDevice = new DefaultCameraDeviceWrapper(device);
+              initialize = initializeRequested;
+            }
+            if (initialize) {
+              completeInitialization();
             }
           }
 
@@ -383,6 +585,26 @@ class Camera
           }
         },
         backgroundHandler);
+    // The state callback waits for the device lock, which is held by the caller.
+    deviceOpening = true;
+  }
+
+  private void completeInitialization() {
+    metrics.mark(CameraMetrics.Sequence.OPEN, CameraMetrics.Phase.OPENED);
+    final ResolutionFeature resolutionFeature = cameraFeatures.getResolution();
+    try {
+      startPreview();
+      dartMessenger.sendCameraInitializedEvent(
+          resolutionFeature.getPreviewSize().getWidth(),
+          resolutionFeature.getPreviewSize().getHeight(),
+          cameraFeatures.getExposureLock().getValue(),
+          cameraFeatures.getAutoFocus().getValue(),
+          cameraFeatures.getExposurePoint().checkIsSupported(),
+          cameraFeatures.getFocusPoint().checkIsSupported());
+    } catch (CameraAccessException e) {
+      dartMessenger.sendCameraErrorEvent(e.getMessage());
+      close();
+    }
   }
 
   @VisibleForTesting
@@ -414,6 +636,10 @@ class Camera
       for (Surface surface : remainingSurfaces) {
         previewRequestBuilder.addTarget(surface);
       }
+    } else if (zeroShutterLagCapture != null
+        && remainingSurfaces.contains(zeroShutterLagCapture.getSurface())) {
+      // Zero shutter lag frames are captured continuously along with the preview.
+      previewRequestBuilder.addTarget(zeroShutterLagCapture.getSurface());
     }
 
     // Update camera regions.
@@ -436,9 +662,10 @@ class Camera
               return;
             }
             captureSession = session;
+            metrics.mark(CameraMetrics.Sequence.OPEN, CameraMetrics.Phase.SESSION_CONFIGURED);
 
             Log.i(TAG, "Updating builder settings");
-            updateBuilderSettings(previewRequestBuilder);
+            cameraFeatures.updateBuilder(previewRequestBuilder);
 
             refreshPreviewCaptureSession(
                 onSuccessCallback, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
@@ -498,8 +725,6 @@ class Camera
   // Send a repeating request to refresh  capture session.
   private void refreshPreviewCaptureSession(
       @Nullable Runnable onSuccessCallback, @NonNull ErrorCallback onErrorCallback) {
-    Log.i(TAG, "refreshPreviewCaptureSession");
-
     if (captureSession == null) {
       Log.i(
           TAG,
@@ -519,18 +744,28 @@ class Camera
       }
 
     } catch (IllegalStateException e) {
+      cameraFeatures.invalidateAppliedValues();
       onErrorCallback.onError("cameraAccess", "Camera is closed: " + e.getMessage());
     } catch (CameraAccessException e) {
+      cameraFeatures.invalidateAppliedValues();
       onErrorCallback.onError("cameraAccess", e.getMessage());
     }
   }
 
   private void startCapture(boolean record, boolean stream) throws CameraAccessException {
+    previewSessionActive = false;
+    stopZeroShutterLagStreaming();
     List<Surface> surfaces = new ArrayList<>();
     Runnable successCallback = null;
     if (record) {
-      surfaces.add(mediaRecorder.getSurface());
-      successCallback = () -> mediaRecorder.start();
+      if (codecRecorder != null) {
+        final CodecRecorder recorder = codecRecorder;
+        surfaces.add(recorder.getSurface());
+        successCallback = recorder::start;
+      } else {
+        surfaces.add(mediaRecorder.getSurface());
+        successCallback = () -> mediaRecorder.start();
+      }
     }
     if (stream) {
       surfaces.add(imageStreamReader.getSurface());
@@ -541,13 +776,17 @@ class Camera
   }
 
   public void takePicture(@NonNull final Result result) {
-    // Only take one picture at a time.
-    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+    // Only take one picture at a time, or as many as the zero shutter lag frames allow.
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW
+        || (zeroShutterLagStreaming
+            && zeroShutterLagCapture != null
+            && !zeroShutterLagCapture.canTakeFrame())) {
       result.error("captureAlreadyActive", "Picture is currently already being captured", null);
       return;
     }
 
     flutterResult = result;
+    metrics.start(CameraMetrics.Sequence.TAKE_PICTURE);
 
     // Create temporary file.
     final File outputDir = applicationContext.getCacheDir();
@@ -559,9 +798,161 @@ class Camera
       return;
     }
 
+    pendingBurst = null;
+    if (zeroShutterLagStreaming && zeroShutterLagCapture != null) {
+      takeZeroShutterLagPicture(zeroShutterLagCapture, result);
+      return;
+    }
+
     // Listen for picture being taken.
     pictureImageReader.setOnImageAvailableListener(this, backgroundHandler);
 
+    runPictureCaptureSequence();
+  }
+
+  /**
+   * Saves the kept frame captured the closest to now, without running the focus and precapture
+   * sequence. The flash does not fire for these pictures.
+   */
+  private void takeZeroShutterLagPicture(
+      @NonNull ZeroShutterLagCapture capture, @NonNull final Result result) {
+    Image frame = capture.takeFrame(capture.getShutterTimestampNanos());
+    if (frame == null) {
+      metrics.abort(CameraMetrics.Sequence.TAKE_PICTURE);
+      captureFile = null;
+      dartMessenger.error(result, "captureFailed", "No frame has been captured yet.", null);
+      return;
+    }
+    metrics.mark(CameraMetrics.Sequence.TAKE_PICTURE, CameraMetrics.Phase.CAPTURE_COMPLETED);
+
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        ((SensorOrientationFeature) cameraFeatures.getSensorOrientation())
+            .getLockedCaptureOrientation();
+    getImageSaverExecutor()
+        .execute(
+            new YuvImageSaver(
+                frame,
+                captureFile,
+                lockedOrientation == null
+                    ? getDeviceOrientationManager().getPhotoOrientation()
+                    : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation),
+                syncPictureWrites,
+                new ImageSaver.Callback() {
+                  @Override
+                  public void onComplete(String absolutePath, ImageSaver.Timings timings) {
+                    // The saver closed the frame before reporting.
+                    capture.onTakenFrameClosed();
+                    metrics.complete(
+                        CameraMetrics.Sequence.TAKE_PICTURE,
+                        CameraMetrics.Phase.FILE_WRITTEN,
+                        timings);
+                    dartMessenger.finish(result, absolutePath);
+                  }
+
+                  @Override
+                  public void onError(String errorCode, String errorMessage) {
+                    capture.onTakenFrameClosed();
+                    metrics.abort(CameraMetrics.Sequence.TAKE_PICTURE);
+                    dartMessenger.error(result, errorCode, errorMessage, null);
+                  }
+                }));
+    captureFile = null;
+  }
+
+  /**
+   * Enables or disables zero shutter lag pictures, which are taken from the recent full resolution
+   * frames of the preview instead of a new capture request.
+   *
+   * <p>Cameras that do not support it, such as LEGACY cameras, keep taking pictures with the
+   * regular capture sequence. The frames are only kept while the preview is not recording or
+   * streaming, pictures are taken with the regular capture sequence otherwise. Picture bursts are
+   * not available while zero shutter lag frames are captured.
+   *
+   * @param enabled - True to enable zero shutter lag pictures.
+   * @return true if zero shutter lag pictures are enabled.
+   * @throws CameraAccessException when the preview could not be restarted.
+   */
+  public boolean setZeroShutterLagEnabled(boolean enabled) throws CameraAccessException {
+    boolean enable = enabled && ZeroShutterLagCapture.isSupported(cameraProperties);
+    if (enable == zeroShutterLagEnabled) {
+      return enable;
+    }
+    zeroShutterLagEnabled = enable;
+    // The frames are captured by the session of the preview.
+    if (previewSessionActive) {
+      startPreview();
+    }
+    if (!enable) {
+      releaseZeroShutterLagCapture();
+    }
+    return enable;
+  }
+
+  private void stopZeroShutterLagStreaming() {
+    zeroShutterLagStreaming = false;
+    if (zeroShutterLagCapture != null) {
+      zeroShutterLagCapture.clear();
+    }
+  }
+
+  private void releaseZeroShutterLagCapture() {
+    zeroShutterLagStreaming = false;
+    if (zeroShutterLagCapture != null) {
+      zeroShutterLagCapture.close();
+      zeroShutterLagCapture = null;
+    }
+  }
+
+  /**
+   * Captures a burst of pictures, running the focus and precapture sequence only once.
+   *
+   * <p>Auto exposure is locked for all frames of the burst, and auto focus stays locked from the
+   * precapture sequence until the last frame has been captured. Each frame is reported through a
+   * burst frame event as soon as it has been saved, and the result completes with the paths of all
+   * saved frames.
+   *
+   * @param result - The result completed once every frame of the burst has been saved or failed.
+   * @param frameCount - The number of frames in the burst, at most {@link #MAX_BURST_FRAME_COUNT}.
+   */
+  public void takePictureBurst(@NonNull final Result result, int frameCount) {
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error("captureAlreadyActive", "Picture is currently already being captured", null);
+      return;
+    }
+    if (zeroShutterLagStreaming) {
+      result.error(
+          "burstUnavailable",
+          "Picture bursts are not available while zero shutter lag is enabled.",
+          null);
+      return;
+    }
+    if (frameCount < 1 || frameCount > MAX_BURST_FRAME_COUNT) {
+      result.error(
+          "invalidBurstFrameCount",
+          "The number of burst frames must be between 1 and " + MAX_BURST_FRAME_COUNT,
+          null);
+      return;
+    }
+
+    flutterResult = result;
+    captureTimeouts.reset();
+    metrics.abort(CameraMetrics.Sequence.TAKE_PICTURE);
+
+    pendingBurst =
+        new BurstCapture(
+            frameCount,
+            applicationContext.getCacheDir(),
+            syncPictureWrites,
+            getImageSaverExecutor(),
+            dartMessenger,
+            result);
+    pictureImageReader.setOnImageAvailableListener(pendingBurst, backgroundHandler);
+
+    runPictureCaptureSequence();
+  }
+
+  /** Starts the focus and precapture sequence that ends with {@link #onConverged()}. */
+  private void runPictureCaptureSequence() {
     final AutoFocusFeature autoFocusFeature = cameraFeatures.getAutoFocus();
     final boolean isAutoFocusSupported = autoFocusFeature.checkIsSupported();
     if (isAutoFocusSupported && autoFocusFeature.getValue() == FocusMode.auto) {
@@ -645,6 +1036,11 @@ class Camera
             ? getDeviceOrientationManager().getPhotoOrientation()
             : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
 
+    if (pendingBurst != null) {
+      captureBurstAfterPrecapture(stillBuilder, pendingBurst);
+      return;
+    }
+
     CameraCaptureSession.CaptureCallback captureCallback =
         new CameraCaptureSession.CaptureCallback() {
           @Override
@@ -652,6 +1048,8 @@ class Camera
               @NonNull CameraCaptureSession session,
               @NonNull CaptureRequest request,
               @NonNull TotalCaptureResult result) {
+            metrics.mark(
+                CameraMetrics.Sequence.TAKE_PICTURE, CameraMetrics.Phase.CAPTURE_COMPLETED);
             unlockAutoFocus();
           }
         };
@@ -665,6 +1063,65 @@ class Camera
     }
   }
 
+  /**
+   * Captures the frames of a picture burst with the supplied still capture request. This method
+   * should be called once the precapture sequence has converged.
+   */
+  private void captureBurstAfterPrecapture(
+      @NonNull CaptureRequest.Builder stillBuilder, @NonNull BurstCapture burst) {
+    // Keep the exposure of every frame identical to the one metered by the precapture sequence.
+    stillBuilder.set(CaptureRequest.CONTROL_AE_LOCK, true);
+    final CaptureRequest stillRequest = stillBuilder.build();
+    final List<CaptureRequest> requests = new ArrayList<>(burst.getFrameCount());
+    for (int i = 0; i < burst.getFrameCount(); i++) {
+      requests.add(stillRequest);
+    }
+
+    CameraCaptureSession.CaptureCallback captureCallback =
+        new CameraCaptureSession.CaptureCallback() {
+          private int capturedFrameCount;
+
+          @Override
+          public void onCaptureCompleted(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              @NonNull TotalCaptureResult result) {
+            onFrameCaptured();
+          }
+
+          @Override
+          public void onCaptureFailed(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              @NonNull CaptureFailure failure) {
+            burst.onCaptureFailed();
+            onFrameCaptured();
+          }
+
+          private void onFrameCaptured() {
+            if (++capturedFrameCount < requests.size()) {
+              return;
+            }
+            // The frames are still being saved, but the camera is free for the next capture.
+            if (pendingBurst == burst) {
+              pendingBurst = null;
+            }
+            cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+            unlockAutoFocus();
+          }
+        };
+
+    try {
+      captureSession.stopRepeating();
+      Log.i(TAG, "sending burst capture request of " + requests.size() + " frames");
+      captureSession.captureBurst(requests, captureCallback, backgroundHandler);
+    } catch (CameraAccessException e) {
+      pendingBurst = null;
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private Display getDefaultDisplay() {
     return activity.getWindowManager().getDefaultDisplay();
@@ -676,7 +1133,9 @@ class Camera
       return;
     }
 
-    backgroundHandlerThread = HandlerThreadFactory.create("CameraBackground");
+    // Each camera has its own thread, so that concurrent cameras do not delay each other.
+    backgroundHandlerThread =
+        HandlerThreadFactory.create("CameraBackground-" + cameraProperties.getCameraName());
     try {
       backgroundHandlerThread.start();
     } catch (IllegalThreadStateException e) {
@@ -751,9 +1210,32 @@ class Camera
 
   public void startVideoRecording(
       @NonNull Result result, @Nullable EventChannel imageStreamChannel) {
-    prepareRecording(result);
+    startVideoRecording(result, imageStreamChannel, null);
+  }
+
+  /**
+   * Starts recording video.
+   *
+   * @param result - The result completed once the recording has started.
+   * @param imageStreamChannel - The channel frames are streamed to while recording, or null.
+   * @param encoderSettings - The settings of a recording encoded with a {@link CodecRecorder}, or
+   *     null to record with a {@link MediaRecorder} configured from the recording profile.
+   */
+  public void startVideoRecording(
+      @NonNull Result result,
+      @Nullable EventChannel imageStreamChannel,
+      @Nullable VideoEncoderSettings encoderSettings) {
+    if (preRollActive) {
+      result.error(
+          "videoRecordingFailed", "Save or stop the pre-roll before starting a recording.", null);
+      return;
+    }
+    if (!prepareRecording(result, encoderSettings)) {
+      return;
+    }
 
     if (imageStreamChannel != null) {
+      imageStreamOptions = new ImageStreamOptions();
       setStreamHandler(imageStreamChannel);
     }
 
@@ -764,10 +1246,107 @@ class Camera
     } catch (CameraAccessException e) {
       recordingVideo = false;
       captureFile = null;
+      releaseCodecRecorder();
       result.error("videoRecordingFailed", e.getMessage(), null);
     }
   }
 
+  /**
+   * Starts encoding the camera frames into a memory-bounded pre-roll, without writing a file.
+   *
+   * <p>The pre-roll is saved by {@link #startVideoRecordingFromPreRoll(Result)}, which starts a
+   * recording that includes the retained frames, or discarded by {@link #stopPreRoll(Result)}.
+   *
+   * @param result - The result completed once the camera renders to the encoder.
+   * @param encoderSettings - The settings of the encoder.
+   * @param durationMillis - The duration of video to retain, in milliseconds.
+   * @param maxBytes - The maximum size of the retained samples, in bytes.
+   */
+  public void startPreRoll(
+      @NonNull Result result,
+      @NonNull VideoEncoderSettings encoderSettings,
+      long durationMillis,
+      long maxBytes) {
+    if (recordingVideo || preRollActive) {
+      result.error("preRollFailed", "A recording or a pre-roll is already active.", null);
+      return;
+    }
+    try {
+      prepareCodecRecorder(null, encoderSettings, durationMillis * 1000, maxBytes);
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      result.error("preRollFailed", e.getMessage(), null);
+      return;
+    }
+    cameraFeatures.setAutoFocus(
+        cameraFeatureFactory.createAutoFocusFeature(cameraProperties, true));
+
+    preRollActive = true;
+    try {
+      startCapture(true, false);
+      result.success(null);
+    } catch (CameraAccessException e) {
+      preRollActive = false;
+      releaseCodecRecorder();
+      result.error("preRollFailed", e.getMessage(), null);
+    }
+  }
+
+  /**
+   * Starts a recording that begins with the frames retained by the pre-roll. The camera keeps
+   * rendering to the same encoder, so no frame is lost when the recording starts.
+   *
+   * <p>The recording is stopped by {@link #stopVideoRecording(Result)}, which also ends the
+   * pre-roll.
+   *
+   * @param result - The result completed once the recording has started.
+   */
+  public void startVideoRecordingFromPreRoll(@NonNull Result result) {
+    if (!preRollActive || codecRecorder == null) {
+      result.error("preRollFailed", "No pre-roll is active.", null);
+      return;
+    }
+    final File outputDir = applicationContext.getCacheDir();
+    try {
+      captureFile = File.createTempFile("REC", ".mp4", outputDir);
+      codecRecorder.startOutput(captureFile.getAbsolutePath());
+    } catch (IOException | SecurityException | IllegalStateException e) {
+      captureFile = null;
+      result.error("preRollFailed", e.getMessage(), null);
+      return;
+    }
+    preRollActive = false;
+    recordingVideo = true;
+    result.success(null);
+  }
+
+  /**
+   * Discards the pre-roll and stops encoding the camera frames.
+   *
+   * @param result - The result completed once the preview has been restarted.
+   */
+  public void stopPreRoll(@NonNull Result result) {
+    if (!preRollActive) {
+      result.success(null);
+      return;
+    }
+    cameraFeatures.setAutoFocus(
+        cameraFeatureFactory.createAutoFocusFeature(cameraProperties, false));
+    preRollActive = false;
+    try {
+      captureSession.abortCaptures();
+    } catch (CameraAccessException | IllegalStateException e) {
+      // Ignore exceptions and try to continue (changes are camera session already aborted capture).
+    }
+    releaseCodecRecorder();
+    try {
+      startPreview();
+    } catch (CameraAccessException | IllegalStateException e) {
+      result.error("preRollFailed", e.getMessage(), null);
+      return;
+    }
+    result.success(null);
+  }
+
   public void stopVideoRecording(@NonNull final Result result) {
     if (!recordingVideo) {
       result.success(null);
@@ -779,11 +1358,19 @@ class Camera
     recordingVideo = false;
     try {
       captureSession.abortCaptures();
-      mediaRecorder.stop();
+      if (codecRecorder != null) {
+        codecRecorder.stop();
+      } else {
+        mediaRecorder.stop();
+      }
     } catch (CameraAccessException | IllegalStateException e) {
       // Ignore exceptions and try to continue (changes are camera session already aborted capture).
     }
-    mediaRecorder.reset();
+    if (codecRecorder != null) {
+      releaseCodecRecorder();
+    } else {
+      mediaRecorder.reset();
+    }
     try {
       startPreview();
     } catch (CameraAccessException | IllegalStateException e) {
@@ -801,7 +1388,9 @@ class Camera
     }
 
     try {
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+      if (codecRecorder != null) {
+        codecRecorder.pause();
+      } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
         mediaRecorder.pause();
       } else {
         result.error("videoRecordingFailed", "pauseVideoRecording requires Android API +24.", null);
@@ -822,7 +1411,9 @@ class Camera
     }
 
     try {
-      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+      if (codecRecorder != null) {
+        codecRecorder.resume();
+      } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
         mediaRecorder.resume();
       } else {
         result.error(
@@ -847,7 +1438,10 @@ class Camera
     // Save the new flash mode setting.
     final FlashFeature flashFeature = cameraFeatures.getFlash();
     flashFeature.setValue(newMode);
-    flashFeature.updateBuilder(previewRequestBuilder);
+    if (!cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      result.success(null);
+      return;
+    }
 
     refreshPreviewCaptureSession(
         () -> result.success(null),
@@ -863,7 +1457,10 @@ class Camera
   public void setExposureMode(@NonNull final Result result, @NonNull ExposureMode newMode) {
     final ExposureLockFeature exposureLockFeature = cameraFeatures.getExposureLock();
     exposureLockFeature.setValue(newMode);
-    exposureLockFeature.updateBuilder(previewRequestBuilder);
+    if (!cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      result.success(null);
+      return;
+    }
 
     refreshPreviewCaptureSession(
         () -> result.success(null),
@@ -880,7 +1477,10 @@ class Camera
   public void setExposurePoint(@NonNull final Result result, @Nullable Point point) {
     final ExposurePointFeature exposurePointFeature = cameraFeatures.getExposurePoint();
     exposurePointFeature.setValue(point);
-    exposurePointFeature.updateBuilder(previewRequestBuilder);
+    if (!cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      result.success(null);
+      return;
+    }
 
     refreshPreviewCaptureSession(
         () -> result.success(null),
@@ -912,7 +1512,7 @@ class Camera
   public void setFocusMode(final Result result, @NonNull FocusMode newMode) {
     final AutoFocusFeature autoFocusFeature = cameraFeatures.getAutoFocus();
     autoFocusFeature.setValue(newMode);
-    autoFocusFeature.updateBuilder(previewRequestBuilder);
+    cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder);
 
     /*
      * For focus mode an extra step of actually locking/unlocking the
@@ -964,12 +1564,16 @@ class Camera
   public void setFocusPoint(@NonNull final Result result, @Nullable Point point) {
     final FocusPointFeature focusPointFeature = cameraFeatures.getFocusPoint();
     focusPointFeature.setValue(point);
-    focusPointFeature.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
-        () -> result.success(null),
-        (code, message) -> result.error("setFocusPointFailed", "Could not set focus point.", null));
+    if (cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      refreshPreviewCaptureSession(
+          () -> result.success(null),
+          (code, message) ->
+              result.error("setFocusPointFailed", "Could not set focus point.", null));
+    } else {
+      result.success(null);
+    }
 
+    // Trigger focusing on the point again, even when it has not changed.
     this.setFocusMode(null, cameraFeatures.getAutoFocus().getValue());
   }
 
@@ -983,7 +1587,10 @@ class Camera
   public void setExposureOffset(@NonNull final Result result, double offset) {
     final ExposureOffsetFeature exposureOffsetFeature = cameraFeatures.getExposureOffset();
     exposureOffsetFeature.setValue(offset);
-    exposureOffsetFeature.updateBuilder(previewRequestBuilder);
+    if (!cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      result.success(exposureOffsetFeature.getValue());
+      return;
+    }
 
     refreshPreviewCaptureSession(
         () -> result.success(exposureOffsetFeature.getValue()),
@@ -1020,6 +1627,80 @@ class Camera
    * @param zoom new value.
    */
   public void setZoomLevel(@NonNull final Result result, float zoom) throws CameraAccessException {
+    if (!checkZoomLevelInBounds(result, zoom)) {
+      return;
+    }
+
+    zoomRamp.set(null);
+    final ZoomLevelFeature zoomLevel = cameraFeatures.getZoomLevel();
+    zoomLevel.setValue(zoom);
+    if (!cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      result.success(null);
+      return;
+    }
+
+    refreshPreviewCaptureSession(
+        () -> result.success(null),
+        (code, message) -> result.error("setZoomLevelFailed", "Could not set zoom level.", null));
+  }
+
+  /**
+   * Starts moving the zoom level to a new value over the supplied duration from dart.
+   *
+   * <p>The zoom level is updated on the main thread every time a preview frame has been captured,
+   * so a whole pinch gesture only takes a single call. The ramp starts from the current zoom level,
+   * which may be part of an earlier ramp, and replaces that ramp. The result completes once the
+   * ramp has started.
+   *
+   * @param result Flutter result.
+   * @param zoom the zoom level to move to.
+   * @param durationMillis the duration of the ramp, in milliseconds.
+   */
+  public void startZoomRamp(@NonNull final Result result, float zoom, long durationMillis) {
+    if (!checkZoomLevelInBounds(result, zoom)) {
+      return;
+    }
+    if (durationMillis < 0) {
+      result.error("ZOOM_ERROR", "The zoom ramp duration can not be negative.", null);
+      return;
+    }
+
+    Float currentZoom = cameraFeatures.getZoomLevel().getValue();
+    zoomRamp.set(
+        new ZoomRamp(
+            currentZoom == null ? zoom : currentZoom,
+            zoom,
+            System.nanoTime(),
+            TimeUnit.MILLISECONDS.toNanos(durationMillis)));
+    result.success(null);
+  }
+
+  // Posted to the main thread when a capture completes.
+  private void stepZoomRamp(@NonNull ZoomRamp ramp) {
+    if (captureSession == null
+        || pausedPreview
+        || cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    if (ramp.isFinishedAt(now)) {
+      zoomRamp.compareAndSet(ramp, null);
+    }
+    cameraFeatures.getZoomLevel().setValue(ramp.getZoomLevelAt(now));
+    if (!cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder)) {
+      return;
+    }
+
+    refreshPreviewCaptureSession(
+        null,
+        (code, message) -> {
+          zoomRamp.compareAndSet(ramp, null);
+          dartMessenger.sendCameraErrorEvent(message);
+        });
+  }
+
+  private boolean checkZoomLevelInBounds(@NonNull Result result, float zoom) {
     final ZoomLevelFeature zoomLevel = cameraFeatures.getZoomLevel();
     float maxZoom = zoomLevel.getMaximumZoomLevel();
     float minZoom = zoomLevel.getMinimumZoomLevel();
@@ -1032,15 +1713,85 @@ class Camera
               minZoom,
               maxZoom);
       result.error("ZOOM_ERROR", errorMessage, null);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Applies several feature values at once from dart.
+   *
+   * <p>Every value is validated before any of them is applied. The preview request is then
+   * submitted again at most once, and when the focus mode or point is part of the settings a single
+   * auto focus trigger is captured, instead of one refresh and trigger per setting.
+   *
+   * @param result Flutter result.
+   * @param settings the values to apply.
+   */
+  public void applySettings(@NonNull final Result result, @NonNull CameraSettings settings) {
+    final Float zoom = settings.getZoomLevel();
+    if (zoom != null) {
+      if (!checkZoomLevelInBounds(result, zoom)) {
+        return;
+      }
+      zoomRamp.set(null);
+      cameraFeatures.getZoomLevel().setValue(zoom);
+    }
+    if (settings.getFlashMode() != null) {
+      cameraFeatures.getFlash().setValue(settings.getFlashMode());
+    }
+    if (settings.getExposureMode() != null) {
+      cameraFeatures.getExposureLock().setValue(settings.getExposureMode());
+    }
+    if (settings.getExposurePoint() != null) {
+      cameraFeatures.getExposurePoint().setValue(settings.getExposurePoint());
+    }
+    if (settings.getExposureOffset() != null) {
+      cameraFeatures.getExposureOffset().setValue(settings.getExposureOffset());
+    }
+    if (settings.getFocusMode() != null) {
+      cameraFeatures.getAutoFocus().setValue(settings.getFocusMode());
+    }
+    if (settings.getFocusPoint() != null) {
+      cameraFeatures.getFocusPoint().setValue(settings.getFocusPoint());
+    }
+
+    boolean changed = cameraFeatures.updateBuilderWithChangedFeatures(previewRequestBuilder);
+    // Like setFocusMode and setFocusPoint, focusing is triggered again even when the focus mode and
+    // point have not changed.
+    boolean triggerFocus =
+        !pausedPreview
+            && captureSession != null
+            && (settings.getFocusMode() != null || settings.getFocusPoint() != null);
+    if (!changed && !triggerFocus) {
+      result.success(null);
       return;
     }
 
-    zoomLevel.setValue(zoom);
-    zoomLevel.updateBuilder(previewRequestBuilder);
+    if (triggerFocus) {
+      boolean lockFocus = cameraFeatures.getAutoFocus().getValue() == FocusMode.locked;
+      previewRequestBuilder.set(
+          CaptureRequest.CONTROL_AF_TRIGGER,
+          lockFocus
+              ? CaptureRequest.CONTROL_AF_TRIGGER_START
+              : CaptureRequest.CONTROL_AF_TRIGGER_CANCEL);
+      try {
+        captureSession.capture(previewRequestBuilder.build(), null, backgroundHandler);
+      } catch (CameraAccessException | IllegalStateException e) {
+        cameraFeatures.invalidateAppliedValues();
+        result.error("applySettingsFailed", "Could not apply camera settings.", null);
+        return;
+      } finally {
+        // Set AF state to idle again.
+        previewRequestBuilder.set(
+            CaptureRequest.CONTROL_AF_TRIGGER, CameraMetadata.CONTROL_AF_TRIGGER_IDLE);
+      }
+    }
 
     refreshPreviewCaptureSession(
         () -> result.success(null),
-        (code, message) -> result.error("setZoomLevelFailed", "Could not set zoom level.", null));
+        (code, message) ->
+            result.error("applySettingsFailed", "Could not apply camera settings.", null));
   }
 
   /**
@@ -1074,17 +1825,115 @@ class Camera
     if (pictureImageReader == null || pictureImageReader.getSurface() == null) return;
     Log.i(TAG, "startPreview");
 
+    previewSessionActive = true;
+    if (zeroShutterLagEnabled) {
+      if (zeroShutterLagCapture == null) {
+        zeroShutterLagCapture =
+            ZeroShutterLagCapture.create(
+                cameraFeatures.getResolution().getCaptureSize(),
+                cameraProperties,
+                backgroundHandler);
+      }
+      // The picture reader is left out, as the preview along with full resolution YUV frames is
+      // the stream combination guaranteed by FULL cameras.
+      zeroShutterLagStreaming = true;
+      createCaptureSession(CameraDevice.TEMPLATE_PREVIEW, zeroShutterLagCapture.getSurface());
+      return;
+    }
+    zeroShutterLagStreaming = false;
     createCaptureSession(CameraDevice.TEMPLATE_PREVIEW, pictureImageReader.getSurface());
   }
 
-  public void startPreviewWithImageStream(EventChannel imageStreamChannel)
+  public void startPreviewWithImageStream(
+      EventChannel imageStreamChannel, @NonNull ImageStreamOptions options)
       throws CameraAccessException {
+    imageStreamOptions = options;
     setStreamHandler(imageStreamChannel);
 
     startCapture(false, true);
     Log.i(TAG, "startPreviewWithImageStream");
   }
 
+  /**
+   * Called when the Dart side has finished handling a streamed frame, allowing its buffers to be
+   * reused.
+   */
+  public void receivedImageStreamData() {
+    if (imageStreamReader != null) {
+      imageStreamReader.onFrameAcknowledged();
+    }
+  }
+
+  /**
+   * Returns the number of frames delivered to and dropped before reaching the Dart side since the
+   * image stream was last started.
+   */
+  @NonNull
+  public Map<String, Object> getImageStreamStatistics() {
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put(
+        "deliveredFrames",
+        imageStreamReader == null ? 0L : imageStreamReader.getDeliveredFrameCount());
+    statistics.put(
+        "droppedFrames", imageStreamReader == null ? 0L : imageStreamReader.getDroppedFrameCount());
+    return statistics;
+  }
+
+  /** Returns the executor that saves captured pictures, creating it when needed. */
+  private ExecutorService getImageSaverExecutor() {
+    if (imageSaverExecutor == null) {
+      imageSaverExecutor =
+          Executors.newFixedThreadPool(
+              IMAGE_SAVER_THREAD_COUNT, runnable -> new Thread(runnable, "CameraImageSaver"));
+    }
+    return imageSaverExecutor;
+  }
+
+  /**
+   * Sets whether captured pictures are flushed to the storage device (fsync) before the picture is
+   * reported as taken.
+   *
+   * @param syncPictureWrites - true to flush every captured picture to the storage device.
+   */
+  public void setSyncPictureWrites(boolean syncPictureWrites) {
+    this.syncPictureWrites = syncPictureWrites;
+  }
+
+  /**
+   * Sets whether the latency of opening the camera and of each picture is sent as a metrics event.
+   *
+   * @param enabled - true to send metrics events.
+   */
+  public void setMetricsEnabled(boolean enabled) {
+    metrics.setEventsEnabled(enabled);
+  }
+
+  /**
+   * Starts sending the exposure, sensitivity, focus and 3A state of captured preview frames as
+   * frame metadata events, without copying any pixels.
+   *
+   * @param intervalMillis - The minimum time between two events, in milliseconds.
+   */
+  public void startFrameMetadataStream(long intervalMillis) {
+    cameraCaptureCallback.startFrameMetadata(TimeUnit.MILLISECONDS.toNanos(intervalMillis));
+  }
+
+  /** Stops sending frame metadata events. */
+  public void stopFrameMetadataStream() {
+    cameraCaptureCallback.stopFrameMetadata();
+  }
+
+  /**
+   * Gets the latency summaries of the latest completed sequences, whether or not metrics events are
+   * enabled.
+   *
+   * @return the summaries, oldest first.
+   */
+  @NonNull
+  public List<Map<String, Object>> getMetrics() {
+    return metrics.getSummaries();
+  }
+
   /**
    * This a callback object for the {@link ImageReader}. "onImageAvailable" will be called when a
    * still image is ready to be saved.
@@ -1093,44 +1942,61 @@ class Camera
   public void onImageAvailable(ImageReader reader) {
     Log.i(TAG, "onImageAvailable");
 
-    backgroundHandler.post(
-        new ImageSaver(
-            // Use acquireNextImage since image reader is only for one image.
-            reader.acquireNextImage(),
-            captureFile,
-            new ImageSaver.Callback() {
-              @Override
-              public void onComplete(String absolutePath) {
-                dartMessenger.finish(flutterResult, absolutePath);
-              }
-
-              @Override
-              public void onError(String errorCode, String errorMessage) {
-                dartMessenger.error(flutterResult, errorCode, errorMessage, null);
-              }
-            }));
+    // Pictures are saved in parallel, and the next picture may be taken before this one is saved,
+    // so the result of this picture is kept rather than read once it is saved.
+    final Result pictureResult = flutterResult;
+    getImageSaverExecutor()
+        .execute(
+            new ImageSaver(
+                // Use acquireNextImage since only one image is captured.
+                reader.acquireNextImage(),
+                captureFile,
+                syncPictureWrites,
+                new ImageSaver.Callback() {
+                  @Override
+                  public void onComplete(String absolutePath, ImageSaver.Timings timings) {
+                    metrics.complete(
+                        CameraMetrics.Sequence.TAKE_PICTURE,
+                        CameraMetrics.Phase.FILE_WRITTEN,
+                        timings);
+                    dartMessenger.finish(pictureResult, absolutePath);
+                  }
+
+                  @Override
+                  public void onError(String errorCode, String errorMessage) {
+                    metrics.abort(CameraMetrics.Sequence.TAKE_PICTURE);
+                    dartMessenger.error(pictureResult, errorCode, errorMessage, null);
+                  }
+                }));
     cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
   }
 
-  private void prepareRecording(@NonNull Result result) {
+  private boolean prepareRecording(
+      @NonNull Result result, @Nullable VideoEncoderSettings encoderSettings) {
     final File outputDir = applicationContext.getCacheDir();
     try {
       captureFile = File.createTempFile("REC", ".mp4", outputDir);
     } catch (IOException | SecurityException e) {
       result.error("cannotCreateFile", e.getMessage(), null);
-      return;
+      return false;
     }
     try {
-      prepareMediaRecorder(captureFile.getAbsolutePath());
-    } catch (IOException e) {
+      if (encoderSettings != null) {
+        prepareCodecRecorder(captureFile.getAbsolutePath(), encoderSettings, 0, 0);
+      } else {
+        prepareMediaRecorder(captureFile.getAbsolutePath());
+      }
+    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+      // MediaCodec reports unsupported encoder settings with runtime exceptions.
       recordingVideo = false;
       captureFile = null;
       result.error("videoRecordingFailed", e.getMessage(), null);
-      return;
+      return false;
     }
     // Re-create autofocus feature so it's using video focus mode now.
     cameraFeatures.setAutoFocus(
         cameraFeatureFactory.createAutoFocusFeature(cameraProperties, true));
+    return true;
   }
 
   private void setStreamHandler(EventChannel imageStreamChannel) {
@@ -1143,49 +2009,24 @@ class Camera
 
           @Override
           public void onCancel(Object o) {
-            imageStreamReader.setOnImageAvailableListener(null, backgroundHandler);
+            if (imageStreamReader == null) {
+              return;
+            }
+
+            cameraCaptureCallback.setCapturePropertiesEnabled(false);
+            imageStreamReader.removeListener(backgroundHandler);
           }
         });
   }
 
   private void setImageStreamImageAvailableListener(final EventChannel.EventSink imageStreamSink) {
-    imageStreamReader.setOnImageAvailableListener(
-        reader -> {
-          Image img = reader.acquireNextImage();
-          // Use acquireNextImage since image reader is only for one image.
-          if (img == null) return;
-
-          List<Map<String, Object>> planes = new ArrayList<>();
-          for (Image.Plane plane : img.getPlanes()) {
-            ByteBuffer buffer = plane.getBuffer();
-
-            byte[] bytes = new byte[buffer.remaining()];
-            buffer.get(bytes, 0, bytes.length);
-
-            Map<String, Object> planeBuffer = new HashMap<>();
-            planeBuffer.put("bytesPerRow", plane.getRowStride());
-            planeBuffer.put("bytesPerPixel", plane.getPixelStride());
-            planeBuffer.put("bytes", bytes);
-
-            planes.add(planeBuffer);
-          }
+    if (imageStreamReader == null) {
+      return;
+    }
 
-          Map<String, Object> imageBuffer = new HashMap<>();
-          imageBuffer.put("width", img.getWidth());
-          imageBuffer.put("height", img.getHeight());
-          imageBuffer.put("format", img.getFormat());
-          imageBuffer.put("planes", planes);
-          imageBuffer.put("lensAperture", this.captureProps.getLastLensAperture());
-          imageBuffer.put("sensorExposureTime", this.captureProps.getLastSensorExposureTime());
-          Integer sensorSensitivity = this.captureProps.getLastSensorSensitivity();
-          imageBuffer.put(
-              "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
-
-          final Handler handler = new Handler(Looper.getMainLooper());
-          handler.post(() -> imageStreamSink.success(imageBuffer));
-          img.close();
-        },
-        backgroundHandler);
+    cameraCaptureCallback.setCapturePropertiesEnabled(true);
+    imageStreamReader.subscribeListener(
+        imageStreamOptions, this.captureProps, imageStreamSink, backgroundHandler);
   }
 
   private void closeCaptureSession() {
@@ -1200,6 +2041,13 @@ class Camera
   public void close() {
     Log.i(TAG, "close");
 
+    zoomRamp.set(null);
+    metrics.abort(CameraMetrics.Sequence.OPEN);
+    synchronized (deviceLock) {
+      deviceOpening = false;
+      initializeRequested = false;
+    }
+
     if (cameraDevice != null) {
       cameraDevice.close();
       cameraDevice = null;
@@ -1225,6 +2073,14 @@ class Camera
       mediaRecorder.release();
       mediaRecorder = null;
     }
+    releaseCodecRecorder();
+    preRollActive = false;
+    releaseZeroShutterLagCapture();
+    if (imageSaverExecutor != null) {
+      // Lets a picture that is still being written finish.
+      imageSaverExecutor.shutdown();
+      imageSaverExecutor = null;
+    }
 
     stopBackgroundThread();
   }
@@ -0,0 +1,88 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraManager;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides whether a camera can stream at the same time as the cameras that are already open.
+ *
+ * <p>Cameras can only stream concurrently when the device reports them as a combination of {@link
+ * CameraManager#getConcurrentCameraIds()}, which requires Android 11. Devices that do not report
+ * any combination support a single open camera at a time. Logical multi-cameras are arbitrated by
+ * their logical camera name, which is the name reported by the combinations.
+ */
+final class CameraArbiter {
+  @NonNull private final Set<Set<String>> concurrentCameraNames;
+
+  /**
+   * Creates an arbiter for the combinations of cameras reported by the supplied camera manager.
+   *
+   * @param cameraManager - The camera manager of the device.
+   * @return the new arbiter.
+   * @throws CameraAccessException when the combinations cannot be queried.
+   */
+  @NonNull
+  static CameraArbiter create(@NonNull CameraManager cameraManager) throws CameraAccessException {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+      return new CameraArbiter(cameraManager.getConcurrentCameraIds());
+    }
+    return new CameraArbiter(null);
+  }
+
+  @VisibleForTesting
+  CameraArbiter(@Nullable Set<Set<String>> concurrentCameraNames) {
+    this.concurrentCameraNames =
+        concurrentCameraNames == null ? new HashSet<>() : concurrentCameraNames;
+  }
+
+  /**
+   * Returns whether the supplied camera can be opened while the other cameras stay open.
+   *
+   * @param openCameraNames - The names of the cameras that are already open.
+   * @param cameraName - The name of the camera to open.
+   * @return true if the cameras can stream concurrently.
+   */
+  boolean canOpen(@NonNull Collection<String> openCameraNames, @NonNull String cameraName) {
+    if (openCameraNames.isEmpty()) {
+      return true;
+    }
+    if (openCameraNames.contains(cameraName)) {
+      // A camera device can only be opened once.
+      return false;
+    }
+    for (Set<String> combination : concurrentCameraNames) {
+      if (combination.contains(cameraName) && combination.containsAll(openCameraNames)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the combinations of cameras that can stream concurrently.
+   *
+   * @return the names of the cameras of each combination, empty when the device supports a single
+   *     open camera at a time.
+   */
+  @NonNull
+  List<List<String>> getConcurrentCameraNames() {
+    List<List<String>> combinations = new ArrayList<>(concurrentCameraNames.size());
+    for (Set<String> combination : concurrentCameraNames) {
+      combinations.add(new ArrayList<>(combination));
+    }
+    return combinations;
+  }
+}
@@ -13,10 +13,16 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A callback object for tracking the progress of a {@link android.hardware.camera2.CaptureRequest}
  * submitted to the camera device.
+ *
+ * <p>The callback runs for every partial and total capture result, so processing results while the
+ * preview is running must not allocate: capture result values are only read when a picture is being
+ * captured, or when the image stream or the frame metadata stream has requested them.
  */
 class CameraCaptureCallback extends CaptureCallback {
   private static final String TAG = "CameraCaptureCallback";
@@ -24,6 +30,12 @@ class CameraCaptureCallback extends CaptureCallback {
   private CameraState cameraState;
   private final CaptureTimeoutsWrapper captureTimeouts;
   private final CameraCaptureProperties captureProps;
+  /** True when the capture properties are updated with each total capture result. */
+  private volatile boolean capturePropertiesEnabled;
+  /** The minimum time between two frame metadata events, or -1 when they are disabled. */
+  private volatile long frameMetadataIntervalNanos = -1;
+  /** The time the last frame metadata event was sent, in the {@link System#nanoTime()} base. */
+  private volatile long lastFrameMetadataNanos;
 
   private CameraCaptureCallback(
       @NonNull CameraCaptureStateListener cameraStateListener,
@@ -68,12 +80,36 @@ class CameraCaptureCallback extends CaptureCallback {
     cameraState = state;
   }
 
-  private void process(CaptureResult result) {
-    Integer aeState = result.get(CaptureResult.CONTROL_AE_STATE);
-    Integer afState = result.get(CaptureResult.CONTROL_AF_STATE);
+  /**
+   * Sets whether the {@link CameraCaptureProperties} are updated with each total capture result,
+   * which is only needed while they are sent along with the image stream.
+   *
+   * @param enabled true to update the capture properties.
+   */
+  public void setCapturePropertiesEnabled(boolean enabled) {
+    capturePropertiesEnabled = enabled;
+  }
 
+  /**
+   * Starts reporting the metadata of completed captures through {@link
+   * CameraCaptureStateListener#onFrameMetadata(Map)}, at most once per interval.
+   *
+   * @param intervalNanos the minimum time between two reported captures, in nanoseconds.
+   */
+  public void startFrameMetadata(long intervalNanos) {
+    long interval = Math.max(0, intervalNanos);
+    lastFrameMetadataNanos = System.nanoTime() - interval;
+    frameMetadataIntervalNanos = interval;
+  }
+
+  /** Stops reporting the metadata of completed captures. */
+  public void stopFrameMetadata() {
+    frameMetadataIntervalNanos = -1;
+  }
+
+  private void process(CaptureResult result) {
     // Update capture properties
-    if (result instanceof TotalCaptureResult) {
+    if (capturePropertiesEnabled && result instanceof TotalCaptureResult) {
       Float lensAperture = result.get(CaptureResult.LENS_APERTURE);
       Long sensorExposureTime = result.get(CaptureResult.SENSOR_EXPOSURE_TIME);
       Integer sensorSensitivity = result.get(CaptureResult.SENSOR_SENSITIVITY);
@@ -82,23 +118,25 @@ class CameraCaptureCallback extends CaptureCallback {
       this.captureProps.setLastSensorSensitivity(sensorSensitivity);
     }
 
-    if (cameraState != CameraState.STATE_PREVIEW) {
-      Log.d(
-          TAG,
-          "CameraCaptureCallback | state: "
-              + cameraState
-              + " | afState: "
-              + afState
-              + " | aeState: "
-              + aeState);
+    final CameraState state = cameraState;
+    if (state == CameraState.STATE_PREVIEW) {
+      // We have nothing to do when the camera preview is working normally.
+      return;
     }
 
-    switch (cameraState) {
-      case STATE_PREVIEW:
-        {
-          // We have nothing to do when the camera preview is working normally.
-          break;
-        }
+    Integer aeState = result.get(CaptureResult.CONTROL_AE_STATE);
+    Integer afState = result.get(CaptureResult.CONTROL_AF_STATE);
+
+    Log.d(
+        TAG,
+        "CameraCaptureCallback | state: "
+            + state
+            + " | afState: "
+            + afState
+            + " | aeState: "
+            + aeState);
+
+    switch (state) {
       case STATE_WAITING_FOCUS:
         {
           if (afState == null) {
@@ -167,6 +205,28 @@ class CameraCaptureCallback extends CaptureCallback {
       @NonNull CaptureRequest request,
       @NonNull TotalCaptureResult result) {
     process(result);
+    cameraStateListener.onCaptureCompleted();
+
+    long intervalNanos = frameMetadataIntervalNanos;
+    if (intervalNanos >= 0) {
+      long nowNanos = System.nanoTime();
+      if (nowNanos - lastFrameMetadataNanos >= intervalNanos) {
+        lastFrameMetadataNanos = nowNanos;
+        cameraStateListener.onFrameMetadata(getFrameMetadata(result));
+      }
+    }
+  }
+
+  private static Map<String, Object> getFrameMetadata(@NonNull TotalCaptureResult result) {
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("sensorTimestamp", result.get(CaptureResult.SENSOR_TIMESTAMP));
+    metadata.put("sensorExposureTime", result.get(CaptureResult.SENSOR_EXPOSURE_TIME));
+    metadata.put("sensorSensitivity", result.get(CaptureResult.SENSOR_SENSITIVITY));
+    metadata.put("lensAperture", result.get(CaptureResult.LENS_APERTURE));
+    metadata.put("lensFocusDistance", result.get(CaptureResult.LENS_FOCUS_DISTANCE));
+    metadata.put("aeState", result.get(CaptureResult.CONTROL_AE_STATE));
+    metadata.put("afState", result.get(CaptureResult.CONTROL_AF_STATE));
+    return metadata;
   }
 
   /** An interface that describes the different state changes implementers can be informed about. */
@@ -179,5 +239,16 @@ class CameraCaptureCallback extends CaptureCallback {
      * Called when the {@link android.hardware.camera2.CaptureRequest} enters the pre-capture state.
      */
     void onPrecapture();
+
+    /** Called on the background thread after every completed capture. */
+    void onCaptureCompleted();
+
+    /**
+     * Called on the background thread with the metadata of a completed capture, once the frame
+     * metadata stream has been started.
+     *
+     * @param metadata the exposure, sensitivity, focus and 3A state of the capture.
+     */
+    void onFrameMetadata(@NonNull Map<String, Object> metadata);
   }
 }
@@ -0,0 +1,223 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.annotation.TargetApi;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.media.CamcorderProfile;
+import android.media.EncoderProfiles;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide cache of the camera id list, the {@link CameraCharacteristics} of each camera and
+ * the recording profiles resolved for each camera and {@link ResolutionPreset}.
+ *
+ * <p>Each of these values is fetched through a Binder call to the camera or media service, which
+ * can take tens of milliseconds while the camera screen is being opened, and none of them change
+ * for the built-in cameras of a device. Entries are invalidated through a {@link
+ * CameraManager.AvailabilityCallback} when a camera is connected, or when an external camera
+ * changes availability, since it may have been replaced by another camera using the same id.
+ *
+ * <p>This class is thread safe.
+ */
+public class CameraInfoCache {
+  private static final CameraInfoCache instance = new CameraInfoCache();
+
+  private final Map<String, CameraCharacteristics> characteristics = new ConcurrentHashMap<>();
+  private final Map<String, EncoderProfiles> recordingProfiles = new ConcurrentHashMap<>();
+  private final Map<String, CamcorderProfile> recordingProfilesLegacy = new ConcurrentHashMap<>();
+  @Nullable private volatile String[] cameraIdList;
+  private boolean availabilityCallbackRegistered;
+
+  private final CameraManager.AvailabilityCallback availabilityCallback =
+      new CameraManager.AvailabilityCallback() {
+        @Override
+        public void onCameraAvailable(@NonNull String cameraId) {
+          onAvailabilityChanged(cameraId);
+        }
+
+        @Override
+        public void onCameraUnavailable(@NonNull String cameraId) {
+          onAvailabilityChanged(cameraId);
+        }
+      };
+
+  @VisibleForTesting
+  CameraInfoCache() {}
+
+  /** Returns the cache shared by every camera of the process. */
+  @NonNull
+  public static CameraInfoCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the ids of the cameras of the device, see {@link CameraManager#getCameraIdList()}.
+   *
+   * @param cameraManager the {@link CameraManager} used when the list is not cached.
+   * @return the ids of the cameras of the device.
+   * @throws CameraAccessException when the camera service cannot be reached.
+   */
+  @NonNull
+  public String[] getCameraIdList(@NonNull CameraManager cameraManager)
+      throws CameraAccessException {
+    registerAvailabilityCallback(cameraManager);
+    String[] ids = cameraIdList;
+    if (ids == null) {
+      ids = cameraManager.getCameraIdList();
+      cameraIdList = ids;
+    }
+    return ids;
+  }
+
+  /**
+   * Returns the characteristics of the camera with the supplied id, see {@link
+   * CameraManager#getCameraCharacteristics(String)}.
+   *
+   * @param cameraManager the {@link CameraManager} used when the characteristics are not cached.
+   * @param cameraId the id of the camera.
+   * @return the characteristics of the camera.
+   * @throws CameraAccessException when the camera service cannot be reached.
+   */
+  @NonNull
+  public CameraCharacteristics getCameraCharacteristics(
+      @NonNull CameraManager cameraManager, @NonNull String cameraId) throws CameraAccessException {
+    registerAvailabilityCallback(cameraManager);
+    CameraCharacteristics cameraCharacteristics = characteristics.get(cameraId);
+    if (cameraCharacteristics == null) {
+      cameraCharacteristics = cameraManager.getCameraCharacteristics(cameraId);
+      characteristics.put(cameraId, cameraCharacteristics);
+    }
+    return cameraCharacteristics;
+  }
+
+  /**
+   * Returns the best recording profile of the camera with the supplied id for the supplied preset,
+   * see {@link ResolutionFeature#getBestAvailableCamcorderProfileForResolutionPreset(int,
+   * ResolutionPreset)}.
+   *
+   * @param cameraId the id of the camera.
+   * @param preset the resolution preset to resolve.
+   * @return the best recording profile, or null when the camera has none.
+   */
+  @TargetApi(Build.VERSION_CODES.S)
+  @Nullable
+  public EncoderProfiles getRecordingProfile(int cameraId, @NonNull ResolutionPreset preset) {
+    String key = getProfileKey(cameraId, preset);
+    EncoderProfiles profile = recordingProfiles.get(key);
+    if (profile == null) {
+      profile =
+          ResolutionFeature.getBestAvailableCamcorderProfileForResolutionPreset(cameraId, preset);
+      if (profile != null) {
+        recordingProfiles.put(key, profile);
+      }
+    }
+    return profile;
+  }
+
+  /**
+   * Returns the best legacy recording profile of the camera with the supplied id for the supplied
+   * preset, see {@link
+   * ResolutionFeature#getBestAvailableCamcorderProfileForResolutionPresetLegacy(int,
+   * ResolutionPreset)}.
+   *
+   * @param cameraId the id of the camera.
+   * @param preset the resolution preset to resolve.
+   * @return the best legacy recording profile.
+   */
+  @NonNull
+  public CamcorderProfile getRecordingProfileLegacy(
+      int cameraId, @NonNull ResolutionPreset preset) {
+    String key = getProfileKey(cameraId, preset);
+    CamcorderProfile profile = recordingProfilesLegacy.get(key);
+    if (profile == null) {
+      profile =
+          ResolutionFeature.getBestAvailableCamcorderProfileForResolutionPresetLegacy(
+              cameraId, preset);
+      recordingProfilesLegacy.put(key, profile);
+    }
+    return profile;
+  }
+
+  /** Removes every cached value. */
+  @VisibleForTesting
+  public void clear() {
+    cameraIdList = null;
+    characteristics.clear();
+    recordingProfiles.clear();
+    recordingProfilesLegacy.clear();
+  }
+
+  private synchronized void registerAvailabilityCallback(@NonNull CameraManager cameraManager) {
+    if (availabilityCallbackRegistered) {
+      return;
+    }
+    cameraManager.registerAvailabilityCallback(
+        availabilityCallback, new Handler(Looper.getMainLooper()));
+    availabilityCallbackRegistered = true;
+  }
+
+  // Opening and closing a camera also changes its availability, so only changes that can mean a
+  // different camera is behind the id invalidate the cache.
+  @VisibleForTesting
+  void onAvailabilityChanged(@NonNull String cameraId) {
+    String[] ids = cameraIdList;
+    if (ids != null && !Arrays.asList(ids).contains(cameraId)) {
+      // A camera has been connected.
+      invalidate(cameraId);
+      return;
+    }
+
+    CameraCharacteristics cameraCharacteristics = characteristics.get(cameraId);
+    if (cameraCharacteristics != null) {
+      Integer lensFacing = cameraCharacteristics.get(CameraCharacteristics.LENS_FACING);
+      if (lensFacing != null && lensFacing == CameraMetadata.LENS_FACING_EXTERNAL) {
+        invalidate(cameraId);
+      }
+    }
+  }
+
+  private void invalidate(@NonNull String cameraId) {
+    cameraIdList = null;
+    characteristics.remove(cameraId);
+    int profileCameraId;
+    try {
+      profileCameraId = Integer.parseInt(cameraId, 10);
+    } catch (NumberFormatException e) {
+      // Recording profiles are only resolved for cameras with a numeric id.
+      return;
+    }
+    String keyPrefix = profileCameraId + "/";
+    removeKeysWithPrefix(recordingProfiles, keyPrefix);
+    removeKeysWithPrefix(recordingProfilesLegacy, keyPrefix);
+  }
+
+  private static void removeKeysWithPrefix(Map<String, ?> map, String prefix) {
+    Iterator<String> keys = map.keySet().iterator();
+    while (keys.hasNext()) {
+      if (keys.next().startsWith(prefix)) {
+        keys.remove();
+      }
+    }
+  }
+
+  private static String getProfileKey(int cameraId, @NonNull ResolutionPreset preset) {
+    return cameraId + "/" + preset;
+  }
+}
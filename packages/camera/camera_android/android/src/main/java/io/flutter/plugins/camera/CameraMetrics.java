@@ -0,0 +1,225 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records monotonic timestamps of the phases of opening the camera and of taking a picture.
+ *
+ * <p>Each completed sequence is summarized as the time elapsed from its start to each of its
+ * phases. The latest summaries are kept in a ring buffer that can be queried at any time, and are
+ * sent to Dart as metrics events once those have been enabled.
+ *
+ * <p>This class is thread safe.
+ */
+class CameraMetrics {
+  /** The number of summaries kept by the ring buffer. */
+  @VisibleForTesting static final int MAX_SUMMARY_COUNT = 16;
+
+  /** A sequence of phases that is measured from its start. */
+  enum Sequence {
+    OPEN("open"),
+    TAKE_PICTURE("takePicture");
+
+    private final String strValue;
+
+    Sequence(String strValue) {
+      this.strValue = strValue;
+    }
+
+    @Override
+    public String toString() {
+      return strValue;
+    }
+  }
+
+  /** A phase of a {@link Sequence}. */
+  enum Phase {
+    OPENED("opened"),
+    SESSION_CONFIGURED("sessionConfigured"),
+    FIRST_FRAME("firstFrame"),
+    PRECAPTURE_CONVERGED("precaptureConverged"),
+    CAPTURE_COMPLETED("captureCompleted"),
+    FILE_WRITTEN("fileWritten");
+
+    private final String strValue;
+
+    Phase(String strValue) {
+      this.strValue = strValue;
+    }
+
+    @Override
+    public String toString() {
+      return strValue;
+    }
+  }
+
+  /** The phases of a sequence that has been started but not completed yet. */
+  private static class PendingSequence {
+    final long startNanos;
+    final Map<String, Object> phases = new HashMap<>();
+
+    PendingSequence(long startNanos) {
+      this.startNanos = startNanos;
+    }
+  }
+
+  private final DartMessenger dartMessenger;
+  private final Map<Sequence, PendingSequence> pendingSequences = new HashMap<>();
+  private final ArrayDeque<Map<String, Object>> summaries = new ArrayDeque<>(MAX_SUMMARY_COUNT);
+  private boolean eventsEnabled;
+  /** Lets every preview frame check for the first frame without taking the lock. */
+  private volatile boolean awaitingFirstFrame;
+
+  /**
+   * Creates a new instance of the {@link CameraMetrics} class.
+   *
+   * @param dartMessenger - The messenger used to send metrics events.
+   */
+  CameraMetrics(@NonNull DartMessenger dartMessenger) {
+    this.dartMessenger = dartMessenger;
+  }
+
+  /**
+   * Sets whether each completed sequence is sent to Dart as a metrics event.
+   *
+   * @param eventsEnabled - true to send metrics events.
+   */
+  synchronized void setEventsEnabled(boolean eventsEnabled) {
+    this.eventsEnabled = eventsEnabled;
+  }
+
+  /**
+   * Starts measuring the supplied sequence, discarding any phase recorded by a previous run of it
+   * that has not completed.
+   *
+   * @param sequence - The sequence to start.
+   */
+  void start(@NonNull Sequence sequence) {
+    start(sequence, System.nanoTime());
+  }
+
+  @VisibleForTesting
+  synchronized void start(@NonNull Sequence sequence, long nowNanos) {
+    pendingSequences.put(sequence, new PendingSequence(nowNanos));
+    if (sequence == Sequence.OPEN) {
+      awaitingFirstFrame = true;
+    }
+  }
+
+  /**
+   * Records a phase of the supplied sequence. Phases of sequences that have not been started, and
+   * phases that have already been recorded, are ignored.
+   *
+   * @param sequence - The sequence the phase belongs to.
+   * @param phase - The phase that has been reached.
+   */
+  void mark(@NonNull Sequence sequence, @NonNull Phase phase) {
+    mark(sequence, phase, System.nanoTime());
+  }
+
+  @VisibleForTesting
+  synchronized void mark(@NonNull Sequence sequence, @NonNull Phase phase, long nowNanos) {
+    PendingSequence pending = pendingSequences.get(sequence);
+    if (pending == null || pending.phases.containsKey(phase.toString())) {
+      return;
+    }
+    pending.phases.put(phase.toString(), toMicros(nowNanos - pending.startNanos));
+  }
+
+  /** Completes the {@link Sequence#OPEN} sequence when the first preview frame is captured. */
+  void onPreviewFrameCompleted() {
+    if (!awaitingFirstFrame) {
+      return;
+    }
+    complete(Sequence.OPEN, Phase.FIRST_FRAME, System.nanoTime(), null);
+  }
+
+  /**
+   * Records the last phase of the supplied sequence, and stores its summary.
+   *
+   * @param sequence - The sequence to complete.
+   * @param phase - The last phase of the sequence.
+   * @param timings - The timings of the picture writer, or null when no picture was written.
+   */
+  void complete(
+      @NonNull Sequence sequence, @NonNull Phase phase, @Nullable ImageSaver.Timings timings) {
+    complete(sequence, phase, System.nanoTime(), timings);
+  }
+
+  @VisibleForTesting
+  void complete(
+      @NonNull Sequence sequence,
+      @NonNull Phase phase,
+      long nowNanos,
+      @Nullable ImageSaver.Timings timings) {
+    Map<String, Object> summary;
+    synchronized (this) {
+      mark(sequence, phase, nowNanos);
+      PendingSequence pending = pendingSequences.remove(sequence);
+      if (sequence == Sequence.OPEN) {
+        awaitingFirstFrame = false;
+      }
+      if (pending == null) {
+        return;
+      }
+
+      summary = new HashMap<>();
+      summary.put("sequence", sequence.toString());
+      summary.put("phases", pending.phases);
+      Map<String, Object> durations = new HashMap<>();
+      if (timings != null) {
+        durations.put("queueWait", toMicros(timings.getQueueWaitNanos()));
+        durations.put("write", toMicros(timings.getWriteNanos()));
+        durations.put("close", toMicros(timings.getCloseNanos()));
+      }
+      summary.put("durations", durations);
+
+      if (summaries.size() == MAX_SUMMARY_COUNT) {
+        summaries.removeFirst();
+      }
+      summaries.addLast(summary);
+      if (!eventsEnabled) {
+        return;
+      }
+    }
+    dartMessenger.sendMetricsEvent(summary);
+  }
+
+  /**
+   * Discards the phases recorded for the supplied sequence, for instance when it failed.
+   *
+   * @param sequence - The sequence to discard.
+   */
+  synchronized void abort(@NonNull Sequence sequence) {
+    pendingSequences.remove(sequence);
+    if (sequence == Sequence.OPEN) {
+      awaitingFirstFrame = false;
+    }
+  }
+
+  /**
+   * Gets the summaries of the latest completed sequences.
+   *
+   * @return the summaries, oldest first.
+   */
+  @NonNull
+  synchronized List<Map<String, Object>> getSummaries() {
+    return new ArrayList<>(summaries);
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
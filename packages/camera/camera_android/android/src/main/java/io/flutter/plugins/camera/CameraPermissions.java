@@ -70,7 +70,7 @@ final class CameraPermissions {
     }
   }
 
-  private boolean hasCameraPermission(Activity activity) {
+  boolean hasCameraPermission(Activity activity) {
     return ContextCompat.checkSelfPermission(activity, permission.CAMERA)
         == PackageManager.PERMISSION_GRANTED;
   }
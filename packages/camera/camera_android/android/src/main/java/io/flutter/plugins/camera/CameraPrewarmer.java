@@ -0,0 +1,137 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+
+/**
+ * Keeps a camera created ahead of the create call, so that opening a camera screen does not wait
+ * for the camera properties, the resolution profiles and the background thread, nor for the camera
+ * device when it was opened ahead of time as well.
+ *
+ * <p>A single camera is kept. It is disposed when it stays unused for its idle timeout, or when a
+ * different camera is created or warmed up.
+ *
+ * <p>This class is not thread safe, it is used on the platform thread.
+ */
+final class CameraPrewarmer {
+  /** The idle timeout used when none is supplied, matching the default of the Dart API. */
+  static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 10_000;
+
+  /** A camera created ahead of time. */
+  static final class Entry {
+    final long cameraId;
+    @NonNull final Camera camera;
+    @NonNull private final String cameraName;
+    @NonNull private final ResolutionPreset resolutionPreset;
+    private final boolean enableAudio;
+
+    Entry(
+        long cameraId,
+        @NonNull Camera camera,
+        @NonNull String cameraName,
+        @NonNull ResolutionPreset resolutionPreset,
+        boolean enableAudio) {
+      this.cameraId = cameraId;
+      this.camera = camera;
+      this.cameraName = cameraName;
+      this.resolutionPreset = resolutionPreset;
+      this.enableAudio = enableAudio;
+    }
+
+    private boolean matches(
+        @NonNull String cameraName,
+        @NonNull ResolutionPreset resolutionPreset,
+        boolean enableAudio) {
+      return this.cameraName.equals(cameraName)
+          && this.resolutionPreset == resolutionPreset
+          && this.enableAudio == enableAudio;
+    }
+  }
+
+  @NonNull private final Handler handler;
+  @NonNull private final Runnable releaseRunnable = this::release;
+  @Nullable private Entry entry;
+
+  /**
+   * Creates a new instance of the {@link CameraPrewarmer} class.
+   *
+   * @param handler the handler of the platform thread, the idle timeout runs on.
+   */
+  CameraPrewarmer(@NonNull Handler handler) {
+    this.handler = handler;
+  }
+
+  /**
+   * Returns the warmed up camera matching the supplied configuration, and restarts its idle
+   * timeout.
+   *
+   * @return the warmed up camera, or null when no matching camera is kept.
+   */
+  @Nullable
+  Entry get(
+      @NonNull String cameraName,
+      @NonNull ResolutionPreset resolutionPreset,
+      boolean enableAudio,
+      long idleTimeoutMillis) {
+    if (entry == null || !entry.matches(cameraName, resolutionPreset, enableAudio)) {
+      return null;
+    }
+    scheduleRelease(idleTimeoutMillis);
+    return entry;
+  }
+
+  /**
+   * Keeps the supplied camera until it is taken or its idle timeout expires, disposing the camera
+   * kept so far.
+   *
+   * @param entry the camera created ahead of time.
+   * @param idleTimeoutMillis the time after which the camera is disposed if it has not been taken.
+   */
+  void put(@NonNull Entry entry, long idleTimeoutMillis) {
+    release();
+    this.entry = entry;
+    scheduleRelease(idleTimeoutMillis);
+  }
+
+  /**
+   * Takes the warmed up camera matching the supplied configuration. A camera that does not match is
+   * disposed, as the camera device it may hold is about to be needed.
+   *
+   * @return the warmed up camera, or null when no matching camera was kept.
+   */
+  @Nullable
+  Entry take(
+      @NonNull String cameraName, @NonNull ResolutionPreset resolutionPreset, boolean enableAudio) {
+    if (entry == null) {
+      return null;
+    }
+    if (!entry.matches(cameraName, resolutionPreset, enableAudio)) {
+      release();
+      return null;
+    }
+    Entry taken = entry;
+    entry = null;
+    handler.removeCallbacks(releaseRunnable);
+    return taken;
+  }
+
+  /** Disposes the warmed up camera, if any. */
+  void release() {
+    handler.removeCallbacks(releaseRunnable);
+    if (entry != null) {
+      entry.camera.dispose();
+      entry = null;
+    }
+  }
+
+  private void scheduleRelease(long idleTimeoutMillis) {
+    handler.removeCallbacks(releaseRunnable);
+    handler.postDelayed(releaseRunnable, idleTimeoutMillis);
+  }
+}
@@ -40,7 +40,13 @@ public class DartMessenger {
     /** Indicates that the camera is closing. */
     CLOSING("camera_closing"),
     /** Indicates that the camera is initialized. */
-    INITIALIZED("initialized");
+    INITIALIZED("initialized"),
+    /** Indicates that a frame of a picture burst has been saved, or has failed. */
+    BURST_FRAME("burst_frame"),
+    /** Indicates that a measured sequence of the camera, like taking a picture, has completed. */
+    METRICS("metrics"),
+    /** Indicates that the metadata of a captured frame is available. */
+    FRAME_METADATA("frame_metadata");
 
     private final String method;
 
@@ -144,6 +150,44 @@ public class DartMessenger {
         });
   }
 
+  /**
+   * Sends a message to the Flutter client informing that a frame of a picture burst has been
+   * handled.
+   *
+   * @param index the position of the frame in the burst, in the order the frames were handled.
+   * @param path the absolute path of the saved frame, or null when the frame failed.
+   * @param error describes why the frame failed, or null when it was saved.
+   */
+  void sendBurstFrameEvent(int index, @Nullable String path, @Nullable String error) {
+    this.send(
+        CameraEventType.BURST_FRAME,
+        new HashMap<String, Object>() {
+          {
+            put("index", index);
+            if (path != null) put("path", path);
+            if (error != null) put("error", error);
+          }
+        });
+  }
+
+  /**
+   * Sends a message to the Flutter client with the summary of a measured sequence of the camera.
+   *
+   * @param summary the name of the sequence and the time elapsed from its start to each phase.
+   */
+  void sendMetricsEvent(@NonNull Map<String, Object> summary) {
+    this.send(CameraEventType.METRICS, summary);
+  }
+
+  /**
+   * Sends a message to the Flutter client with the metadata of a captured frame.
+   *
+   * @param metadata the exposure, sensitivity, focus and 3A state of the frame.
+   */
+  void sendFrameMetadataEvent(@NonNull Map<String, Object> metadata) {
+    this.send(CameraEventType.FRAME_METADATA, metadata);
+  }
+
   private void send(CameraEventType eventType) {
     send(eventType, new HashMap<>());
   }
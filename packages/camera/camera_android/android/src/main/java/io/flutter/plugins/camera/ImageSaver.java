@@ -6,12 +6,14 @@ package io.flutter.plugins.camera;
 
 import android.media.Image;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /** Saves a JPEG {@link Image} into the specified {@link File}. */
 public class ImageSaver implements Runnable {
@@ -25,6 +27,12 @@ public class ImageSaver implements Runnable {
   /** Used to report the status of the save action. */
   private final Callback callback;
 
+  /** Whether the file contents are flushed to the storage device before completing. */
+  private final boolean syncToDisk;
+
+  /** The time at which the save action was queued, in {@link System#nanoTime()} nanoseconds. */
+  private final long queuedAtNanos;
+
   /**
    * Creates an instance of the ImageSaver runnable
    *
@@ -33,34 +41,114 @@ public class ImageSaver implements Runnable {
    * @param callback - The callback that is run on completion, or when an error is encountered.
    */
   ImageSaver(@NonNull Image image, @NonNull File file, @NonNull Callback callback) {
+    this(image, file, false, callback);
+  }
+
+  /**
+   * Creates an instance of the ImageSaver runnable
+   *
+   * @param image - The image to save
+   * @param file - The file to save the image to
+   * @param syncToDisk - Whether to flush the file contents to the storage device (fsync) before
+   *     reporting completion.
+   * @param callback - The callback that is run on completion, or when an error is encountered.
+   */
+  ImageSaver(
+      @NonNull Image image, @NonNull File file, boolean syncToDisk, @NonNull Callback callback) {
     this.image = image;
     this.file = file;
+    this.syncToDisk = syncToDisk;
     this.callback = callback;
+    this.queuedAtNanos = System.nanoTime();
   }
 
   @Override
   public void run() {
-    ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-    byte[] bytes = new byte[buffer.remaining()];
-    buffer.get(bytes);
+    long startNanos = System.nanoTime();
     FileOutputStream output = null;
+    long writtenNanos;
     try {
       output = FileOutputStreamFactory.create(file);
-      output.write(bytes);
+      // Writes the plane buffer directly, without copying it into a byte array first.
+      ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+      FileChannel channel = output.getChannel();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      if (syncToDisk) {
+        channel.force(true);
+      }
+      writtenNanos = System.nanoTime();
+    } catch (IOException e) {
+      image.close();
+      closeQuietly(output);
+      callback.onError("IOError", "Failed saving image");
+      return;
+    }
 
-      callback.onComplete(file.getAbsolutePath());
+    image.close();
+    try {
+      output.close();
+    } catch (IOException e) {
+      callback.onError("cameraAccess", e.getMessage());
+      return;
+    }
+    long closedNanos = System.nanoTime();
 
+    callback.onComplete(
+        file.getAbsolutePath(),
+        new Timings(
+            startNanos - queuedAtNanos, writtenNanos - startNanos, closedNanos - writtenNanos));
+  }
+
+  private static void closeQuietly(@Nullable FileOutputStream output) {
+    if (output == null) {
+      return;
+    }
+    try {
+      output.close();
     } catch (IOException e) {
-      callback.onError("IOError", "Failed saving image");
-    } finally {
-      image.close();
-      if (null != output) {
-        try {
-          output.close();
-        } catch (IOException e) {
-          callback.onError("cameraAccess", e.getMessage());
-        }
-      }
+      // The write error has already been reported.
+    }
+  }
+
+  /** The time spent in each stage of an image save action. */
+  public static class Timings {
+    private final long queueWaitNanos;
+    private final long writeNanos;
+    private final long closeNanos;
+
+    Timings(long queueWaitNanos, long writeNanos, long closeNanos) {
+      this.queueWaitNanos = queueWaitNanos;
+      this.writeNanos = writeNanos;
+      this.closeNanos = closeNanos;
+    }
+
+    /** Returns the time between queueing the save action and the start of the write. */
+    public long getQueueWaitNanos() {
+      return queueWaitNanos;
+    }
+
+    /** Returns the time spent opening the file and writing it, including the optional fsync. */
+    public long getWriteNanos() {
+      return writeNanos;
+    }
+
+    /** Returns the time spent closing the file. */
+    public long getCloseNanos() {
+      return closeNanos;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      return "queue wait "
+          + queueWaitNanos / 1000
+          + "us, write "
+          + writeNanos / 1000
+          + "us, close "
+          + closeNanos / 1000
+          + "us";
     }
   }
 
@@ -73,8 +161,9 @@ public class ImageSaver implements Runnable {
      * Called when the image file has been saved successfully.
      *
      * @param absolutePath - The absolute path of the file that was saved.
+     * @param timings - The time spent in each stage of the save action.
      */
-    void onComplete(String absolutePath);
+    void onComplete(String absolutePath, Timings timings);
 
     /**
      * Called when an error is encountered while saving the image file.
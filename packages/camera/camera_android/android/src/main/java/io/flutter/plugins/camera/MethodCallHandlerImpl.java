@@ -18,13 +18,23 @@ import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugins.camera.CameraPermissions.PermissionsRegistry;
 import io.flutter.plugins.camera.features.CameraFeatureFactoryImpl;
+import io.flutter.plugins.camera.features.CameraSettings;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.BitrateMode;
+import io.flutter.plugins.camera.media.VideoCodec;
+import io.flutter.plugins.camera.media.VideoEncoderSettings;
+import io.flutter.plugins.camera.processing.FrameProcessorRegistry;
+import io.flutter.plugins.camera.types.ImageStreamBackpressureStrategy;
+import io.flutter.plugins.camera.types.ImageStreamOptions;
+import io.flutter.plugins.camera.types.ImageStreamOutputLayout;
 import io.flutter.view.TextureRegistry;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -36,7 +46,16 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
   private final TextureRegistry textureRegistry;
   private final MethodChannel methodChannel;
   private final EventChannel imageStreamChannel;
-  private @Nullable Camera camera;
+  // The cameras created and not disposed yet, by camera id.
+  private final Map<Long, Camera> cameras = new HashMap<>();
+  // The image stream channel of each concurrent camera, the others share imageStreamChannel.
+  private final Map<Long, EventChannel> imageStreamChannels = new HashMap<>();
+  // The names of the cameras that stay open when another camera is created, by camera id.
+  private final Map<Long, String> openCameraNames = new HashMap<>();
+  // The most recently created camera, targeted by the calls without a camera id.
+  private @Nullable Camera defaultCamera;
+  private @Nullable CameraArbiter cameraArbiter;
+  private @Nullable CameraPrewarmer cameraPrewarmer;
 
   MethodCallHandlerImpl(
       Activity activity,
@@ -58,6 +77,7 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
 
   @Override
   public void onMethodCall(@NonNull MethodCall call, @NonNull final Result result) {
+    final Camera camera = findCamera(call);
     switch (call.method) {
       case "availableCameras":
         try {
@@ -68,8 +88,29 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
         break;
       case "create":
         {
-          if (camera != null) {
-            camera.close();
+          boolean concurrent = Objects.equals(call.argument("concurrent"), true);
+          if (concurrent) {
+            String cameraName = call.argument("cameraName");
+            try {
+              if (!getCameraArbiter().canOpen(openCameraNames.values(), cameraName)) {
+                result.error(
+                    "maxCamerasInUse",
+                    "The camera "
+                        + cameraName
+                        + " cannot stream concurrently with the cameras that are already open.",
+                    null);
+                break;
+              }
+            } catch (Exception e) {
+              handleException(e, result);
+              break;
+            }
+          } else {
+            // Outside of concurrent mode the new camera replaces the open ones, so they are
+            // disposed as if the Dart side had disposed them first.
+            for (Long openCameraId : new ArrayList<>(cameras.keySet())) {
+              disposeCamera(openCameraId);
+            }
           }
 
           cameraPermissions.requestPermissions(
@@ -79,7 +120,7 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
               (String errCode, String errDesc) -> {
                 if (errCode == null) {
                   try {
-                    instantiateCamera(call, result);
+                    instantiateCamera(call, result, concurrent);
                   } catch (Exception e) {
                     handleException(e, result);
                   }
@@ -89,6 +130,15 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
               });
           break;
         }
+      case "prewarm":
+        {
+          try {
+            prewarmCamera(call, result);
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "initialize":
         {
           if (camera != null) {
@@ -111,6 +161,61 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           camera.takePicture(result);
           break;
         }
+      case "takePictureBurst":
+        {
+          Integer frameCount = call.argument("frameCount");
+
+          if (frameCount == null) {
+            result.error(
+                "invalidBurstFrameCount",
+                "takePictureBurst is called without specifying a frame count.",
+                null);
+            return;
+          }
+
+          camera.takePictureBurst(result, frameCount);
+          break;
+        }
+      case "setSyncPictureWrites":
+        {
+          camera.setSyncPictureWrites(Objects.equals(call.argument("enabled"), true));
+          result.success(null);
+          break;
+        }
+      case "setZeroShutterLagEnabled":
+        {
+          try {
+            result.success(
+                camera.setZeroShutterLagEnabled(Objects.equals(call.argument("enabled"), true)));
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
+      case "setMetricsEnabled":
+        {
+          camera.setMetricsEnabled(Objects.equals(call.argument("enabled"), true));
+          result.success(null);
+          break;
+        }
+      case "getMetrics":
+        {
+          result.success(camera.getMetrics());
+          break;
+        }
+      case "startFrameMetadataStream":
+        {
+          Integer interval = call.argument("interval");
+          camera.startFrameMetadataStream(interval == null ? 0 : interval);
+          result.success(null);
+          break;
+        }
+      case "stopFrameMetadataStream":
+        {
+          camera.stopFrameMetadataStream();
+          result.success(null);
+          break;
+        }
       case "prepareForVideoRecording":
         {
           // This optimization is not required for Android.
@@ -119,9 +224,52 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
         }
       case "startVideoRecording":
         {
+          VideoEncoderSettings encoderSettings;
+          try {
+            encoderSettings = parseVideoEncoderSettings(call.argument("videoEncoder"));
+          } catch (IllegalArgumentException e) {
+            result.error("videoRecordingFailed", e.getMessage(), null);
+            return;
+          }
           camera.startVideoRecording(
               result,
-              Objects.equals(call.argument("enableStream"), true) ? imageStreamChannel : null);
+              Objects.equals(call.argument("enableStream"), true)
+                  ? findImageStreamChannel(call)
+                  : null,
+              encoderSettings);
+          break;
+        }
+      case "startPreRoll":
+        {
+          VideoEncoderSettings encoderSettings;
+          try {
+            encoderSettings = parseVideoEncoderSettings(call.argument("videoEncoder"));
+          } catch (IllegalArgumentException e) {
+            result.error("preRollFailed", e.getMessage(), null);
+            return;
+          }
+          Number duration = call.argument("duration");
+          Number maxBytes = call.argument("maxBytes");
+          if (duration == null || maxBytes == null) {
+            result.error(
+                "preRollFailed", "The duration and maxBytes arguments are required.", null);
+            return;
+          }
+          camera.startPreRoll(
+              result,
+              encoderSettings == null ? new VideoEncoderSettings() : encoderSettings,
+              duration.longValue(),
+              maxBytes.longValue());
+          break;
+        }
+      case "startVideoRecordingFromPreRoll":
+        {
+          camera.startVideoRecordingFromPreRoll(result);
+          break;
+        }
+      case "stopPreRoll":
+        {
+          camera.stopPreRoll(result);
           break;
         }
       case "stopVideoRecording":
@@ -252,16 +400,44 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "applySettings":
+        {
+          CameraSettings settings;
+          try {
+            settings = parseCameraSettings(call);
+          } catch (IllegalArgumentException e) {
+            result.error("applySettingsFailed", e.getMessage(), null);
+            return;
+          }
+          try {
+            camera.applySettings(result, settings);
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "startImageStream":
         {
           try {
-            camera.startPreviewWithImageStream(imageStreamChannel);
+            camera.startPreviewWithImageStream(
+                findImageStreamChannel(call), parseImageStreamOptions(call));
             result.success(null);
           } catch (Exception e) {
             handleException(e, result);
           }
           break;
         }
+      case "receivedImageStreamData":
+        {
+          camera.receivedImageStreamData();
+          result.success(null);
+          break;
+        }
+      case "getImageStreamStatistics":
+        {
+          result.success(camera.getImageStreamStatistics());
+          break;
+        }
       case "stopImageStream":
         {
           try {
@@ -315,6 +491,22 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "startZoomRamp":
+        {
+          Double zoom = call.argument("zoom");
+          Integer duration = call.argument("duration");
+
+          if (zoom == null || duration == null) {
+            result.error(
+                "ZOOM_ERROR",
+                "startZoomRamp is called without specifying a zoom level and duration.",
+                null);
+            return;
+          }
+
+          camera.startZoomRamp(result, zoom.floatValue(), duration);
+          break;
+        }
       case "lockCaptureOrientation":
         {
           PlatformChannel.DeviceOrientation orientation =
@@ -354,10 +546,23 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           result.success(null);
           break;
         }
+      case "getConcurrentCameras":
+        {
+          try {
+            result.success(getCameraArbiter().getConcurrentCameraNames());
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "dispose":
         {
-          if (camera != null) {
+          Number cameraId = call.argument("cameraId");
+          if (cameraId != null) {
+            disposeCamera(cameraId.longValue());
+          } else if (camera != null) {
             camera.dispose();
+            defaultCamera = null;
           }
           result.success(null);
           break;
@@ -370,13 +575,113 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
 
   void stopListening() {
     methodChannel.setMethodCallHandler(null);
+    if (cameraPrewarmer != null) {
+      cameraPrewarmer.release();
+    }
+  }
+
+  // Calls without a camera id, like the image stream calls, target the most recently created
+  // camera.
+  @Nullable
+  private Camera findCamera(@NonNull MethodCall call) {
+    Number cameraId = call.argument("cameraId");
+    return cameraId == null ? defaultCamera : cameras.get(cameraId.longValue());
   }
 
-  private void instantiateCamera(MethodCall call, Result result) throws CameraAccessException {
+  // Disposes the camera with the given id and releases its image stream channel.
+  private void disposeCamera(long cameraId) {
+    Camera camera = cameras.remove(cameraId);
+    if (camera != null) {
+      camera.dispose();
+    }
+    openCameraNames.remove(cameraId);
+    EventChannel channel = imageStreamChannels.remove(cameraId);
+    if (channel != null) {
+      channel.setStreamHandler(null);
+    }
+    if (camera == defaultCamera) {
+      defaultCamera = null;
+    }
+  }
+
+  @NonNull
+  private EventChannel findImageStreamChannel(@NonNull MethodCall call) {
+    Number cameraId = call.argument("cameraId");
+    EventChannel channel = cameraId == null ? null : imageStreamChannels.get(cameraId.longValue());
+    return channel == null ? imageStreamChannel : channel;
+  }
+
+  @NonNull
+  private CameraPrewarmer getCameraPrewarmer() {
+    if (cameraPrewarmer == null) {
+      cameraPrewarmer = new CameraPrewarmer(new Handler(Looper.getMainLooper()));
+    }
+    return cameraPrewarmer;
+  }
+
+  @NonNull
+  private CameraArbiter getCameraArbiter() throws CameraAccessException {
+    if (cameraArbiter == null) {
+      cameraArbiter = CameraArbiter.create(CameraUtils.getCameraManager(activity));
+    }
+    return cameraArbiter;
+  }
+
+  private void instantiateCamera(MethodCall call, Result result, boolean concurrent)
+      throws CameraAccessException {
     String cameraName = call.argument("cameraName");
     String preset = call.argument("resolutionPreset");
     boolean enableAudio = call.argument("enableAudio");
+    ResolutionPreset resolutionPreset = ResolutionPreset.valueOf(preset);
+
+    CameraPrewarmer.Entry entry =
+        getCameraPrewarmer().take(cameraName, resolutionPreset, enableAudio);
+    if (entry == null) {
+      entry = createCamera(cameraName, resolutionPreset, enableAudio);
+    }
+    Camera camera = entry.camera;
+    long cameraId = entry.cameraId;
+    cameras.put(cameraId, camera);
+    openCameraNames.put(cameraId, cameraName);
+    if (concurrent) {
+      imageStreamChannels.put(
+          cameraId,
+          new EventChannel(messenger, "plugins.flutter.io/camera_android/imageStream/" + cameraId));
+    }
+    defaultCamera = camera;
+
+    Map<String, Object> reply = new HashMap<>();
+    reply.put("cameraId", cameraId);
+    result.success(reply);
+  }
 
+  private void prewarmCamera(MethodCall call, Result result) throws CameraAccessException {
+    String cameraName = call.argument("cameraName");
+    String preset = call.argument("resolutionPreset");
+    boolean enableAudio = Objects.equals(call.argument("enableAudio"), true);
+    Number idleTimeout = call.argument("idleTimeout");
+    long idleTimeoutMillis =
+        idleTimeout == null ? CameraPrewarmer.DEFAULT_IDLE_TIMEOUT_MILLIS : idleTimeout.longValue();
+    ResolutionPreset resolutionPreset = ResolutionPreset.valueOf(preset);
+
+    CameraPrewarmer prewarmer = getCameraPrewarmer();
+    CameraPrewarmer.Entry entry =
+        prewarmer.get(cameraName, resolutionPreset, enableAudio, idleTimeoutMillis);
+    if (entry == null) {
+      entry = createCamera(cameraName, resolutionPreset, enableAudio);
+      prewarmer.put(entry, idleTimeoutMillis);
+    }
+    // Opening the device ahead of time never prompts for the camera permission.
+    if (Objects.equals(call.argument("openDevice"), true)
+        && cameraPermissions.hasCameraPermission(activity)) {
+      entry.camera.prewarmDevice();
+    }
+    result.success(null);
+  }
+
+  private CameraPrewarmer.Entry createCamera(
+      String cameraName, ResolutionPreset resolutionPreset, boolean enableAudio)
+      throws CameraAccessException {
     TextureRegistry.SurfaceTextureEntry flutterSurfaceTexture =
         textureRegistry.createSurfaceTexture();
     DartMessenger dartMessenger =
@@ -384,9 +689,8 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
             messenger, flutterSurfaceTexture.id(), new Handler(Looper.getMainLooper()));
     CameraProperties cameraProperties =
         new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity));
-    ResolutionPreset resolutionPreset = ResolutionPreset.valueOf(preset);
 
-    camera =
+    Camera camera =
         new Camera(
             activity,
             flutterSurfaceTexture,
@@ -395,10 +699,159 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
             cameraProperties,
             resolutionPreset,
             enableAudio);
+    return new CameraPrewarmer.Entry(
+        flutterSurfaceTexture.id(), camera, cameraName, resolutionPreset, enableAudio);
+  }
 
-    Map<String, Object> reply = new HashMap<>();
-    reply.put("cameraId", flutterSurfaceTexture.id());
-    result.success(reply);
+  private ImageStreamOptions parseImageStreamOptions(MethodCall call) {
+    ImageStreamOptions options = new ImageStreamOptions();
+    if (Objects.equals(call.argument("usePooledBuffers"), true)) {
+      options.setUsePooledBuffers(true);
+    }
+    Integer pooledBufferCount = call.argument("pooledBufferCount");
+    if (pooledBufferCount != null) {
+      options.setPooledBufferCount(pooledBufferCount);
+    }
+    String backpressureStrategy = call.argument("backpressureStrategy");
+    if (backpressureStrategy != null) {
+      ImageStreamBackpressureStrategy strategy =
+          ImageStreamBackpressureStrategy.getValueForString(backpressureStrategy);
+      if (strategy == null) {
+        throw new IllegalArgumentException(
+            "Unknown image stream backpressure strategy " + backpressureStrategy);
+      }
+      options.setBackpressureStrategy(strategy);
+    }
+    Integer maxInFlightFrames = call.argument("maxInFlightFrames");
+    if (maxInFlightFrames != null) {
+      options.setMaxInFlightFrames(maxInFlightFrames);
+    }
+    Integer queueSize = call.argument("queueSize");
+    if (queueSize != null) {
+      options.setQueueSize(queueSize);
+    }
+    Double targetFrameRate = call.argument("targetFrameRate");
+    if (targetFrameRate != null) {
+      options.setTargetFrameRate(targetFrameRate);
+    }
+    Integer planeMask = call.argument("planeMask");
+    if (planeMask != null) {
+      options.setPlaneMask(planeMask);
+    }
+    String outputLayout = call.argument("outputLayout");
+    if (outputLayout != null) {
+      ImageStreamOutputLayout layout = ImageStreamOutputLayout.getValueForString(outputLayout);
+      if (layout == null) {
+        throw new IllegalArgumentException("Unknown image stream output layout " + outputLayout);
+      }
+      options.setOutputLayout(layout);
+    }
+    List<String> frameProcessors = call.argument("frameProcessors");
+    if (frameProcessors != null) {
+      for (String name : frameProcessors) {
+        if (FrameProcessorRegistry.get(name) == null) {
+          throw new IllegalArgumentException("No frame processor registered with name " + name);
+        }
+      }
+      options.setFrameProcessors(frameProcessors);
+    }
+    if (Objects.equals(call.argument("sendFrames"), false)) {
+      options.setSendFrames(false);
+    }
+    Map<String, Integer> cropRegion = call.argument("cropRegion");
+    if (cropRegion != null) {
+      options.setCropRegion(
+          cropRegion.get("left"),
+          cropRegion.get("top"),
+          cropRegion.get("width"),
+          cropRegion.get("height"));
+    }
+    return options;
+  }
+
+  private CameraSettings parseCameraSettings(MethodCall call) {
+    CameraSettings settings = new CameraSettings();
+    String flashMode = call.argument("flashMode");
+    if (flashMode != null) {
+      FlashMode mode = FlashMode.getValueForString(flashMode);
+      if (mode == null) {
+        throw new IllegalArgumentException("Unknown flash mode " + flashMode);
+      }
+      settings.setFlashMode(mode);
+    }
+    String exposureMode = call.argument("exposureMode");
+    if (exposureMode != null) {
+      ExposureMode mode = ExposureMode.getValueForString(exposureMode);
+      if (mode == null) {
+        throw new IllegalArgumentException("Unknown exposure mode " + exposureMode);
+      }
+      settings.setExposureMode(mode);
+    }
+    if (call.hasArgument("exposurePoint")) {
+      settings.setExposurePoint(parsePoint(call.argument("exposurePoint")));
+    }
+    Double exposureOffset = call.argument("exposureOffset");
+    if (exposureOffset != null) {
+      settings.setExposureOffset(exposureOffset);
+    }
+    String focusMode = call.argument("focusMode");
+    if (focusMode != null) {
+      FocusMode mode = FocusMode.getValueForString(focusMode);
+      if (mode == null) {
+        throw new IllegalArgumentException("Unknown focus mode " + focusMode);
+      }
+      settings.setFocusMode(mode);
+    }
+    if (call.hasArgument("focusPoint")) {
+      settings.setFocusPoint(parsePoint(call.argument("focusPoint")));
+    }
+    Double zoomLevel = call.argument("zoomLevel");
+    if (zoomLevel != null) {
+      settings.setZoomLevel(zoomLevel.floatValue());
+    }
+    return settings;
+  }
+
+  @Nullable
+  private static VideoEncoderSettings parseVideoEncoderSettings(
+      @Nullable Map<String, Object> arguments) {
+    if (arguments == null) {
+      return null;
+    }
+    VideoEncoderSettings settings = new VideoEncoderSettings();
+    String codec = (String) arguments.get("codec");
+    if (codec != null) {
+      VideoCodec value = VideoCodec.getValueForString(codec);
+      if (value == null) {
+        throw new IllegalArgumentException("Unknown video codec " + codec);
+      }
+      settings.setCodec(value);
+    }
+    String bitrateMode = (String) arguments.get("bitrateMode");
+    if (bitrateMode != null) {
+      BitrateMode value = BitrateMode.getValueForString(bitrateMode);
+      if (value == null) {
+        throw new IllegalArgumentException("Unknown bitrate mode " + bitrateMode);
+      }
+      settings.setBitrateMode(value);
+    }
+    Integer keyFrameInterval = (Integer) arguments.get("keyFrameInterval");
+    if (keyFrameInterval != null) {
+      settings.setKeyFrameIntervalSeconds(keyFrameInterval / 1000f);
+    }
+    settings.setBitRate((Integer) arguments.get("bitRate"));
+    settings.setWidth((Integer) arguments.get("width"));
+    settings.setHeight((Integer) arguments.get("height"));
+    settings.setFrameRate((Integer) arguments.get("frameRate"));
+    return settings;
+  }
+
+  // A null point resets the point, as the reset argument of setExposurePoint and setFocusPoint.
+  private static Point parsePoint(@Nullable Map<String, Double> point) {
+    if (point == null) {
+      return new Point(null, null);
+    }
+    return new Point(point.get("x"), point.get("y"));
   }
 
   // We move catching CameraAccessException out of onMethodCall because it causes a crash
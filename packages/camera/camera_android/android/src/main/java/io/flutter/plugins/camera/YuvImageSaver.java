@@ -0,0 +1,134 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+import android.media.ExifInterface;
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.media.YuvFramePacker;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Compresses a YUV_420_888 {@link Image} to JPEG and saves it into the specified {@link File}, with
+ * the supplied orientation recorded in its EXIF data.
+ *
+ * <p>The image is closed as soon as its pixels have been copied, before it is compressed.
+ */
+class YuvImageSaver implements Runnable {
+  private static final int JPEG_QUALITY = 95;
+
+  private final Image image;
+  private final File file;
+  private final int orientationDegrees;
+  private final boolean syncToDisk;
+  private final ImageSaver.Callback callback;
+  private final long queuedAtNanos;
+
+  /**
+   * Creates an instance of the YuvImageSaver runnable
+   *
+   * @param image - The YUV_420_888 image to save
+   * @param file - The file to save the image to
+   * @param orientationDegrees - The clockwise rotation that makes the image upright.
+   * @param syncToDisk - Whether to flush the file contents to the storage device (fsync) before
+   *     reporting completion.
+   * @param callback - The callback that is run on completion, or when an error is encountered.
+   */
+  YuvImageSaver(
+      @NonNull Image image,
+      @NonNull File file,
+      int orientationDegrees,
+      boolean syncToDisk,
+      @NonNull ImageSaver.Callback callback) {
+    this.image = image;
+    this.file = file;
+    this.orientationDegrees = orientationDegrees;
+    this.syncToDisk = syncToDisk;
+    this.callback = callback;
+    this.queuedAtNanos = System.nanoTime();
+  }
+
+  @Override
+  public void run() {
+    long startNanos = System.nanoTime();
+    // NV21 requires even dimensions.
+    int width = image.getWidth() & ~1;
+    int height = image.getHeight() & ~1;
+    byte[] nv21 = new byte[YuvFramePacker.getPackedSize(width, height)];
+    try {
+      Image.Plane[] planes = image.getPlanes();
+      new YuvFramePacker()
+          .packNv21(
+              planes[0].getBuffer(),
+              planes[0].getRowStride(),
+              planes[1].getBuffer(),
+              planes[2].getBuffer(),
+              planes[1].getRowStride(),
+              planes[1].getPixelStride(),
+              0,
+              0,
+              width,
+              height,
+              nv21);
+    } finally {
+      image.close();
+    }
+
+    long writtenNanos;
+    try (FileOutputStream output = ImageSaver.FileOutputStreamFactory.create(file)) {
+      new YuvImage(nv21, ImageFormat.NV21, width, height, null)
+          .compressToJpeg(new Rect(0, 0, width, height), JPEG_QUALITY, output);
+      if (syncToDisk) {
+        output.getFD().sync();
+      }
+      writtenNanos = System.nanoTime();
+    } catch (IOException e) {
+      callback.onError("IOError", "Failed saving image");
+      return;
+    }
+
+    try {
+      ExifInterface exif = new ExifInterface(file.getAbsolutePath());
+      exif.setAttribute(
+          ExifInterface.TAG_ORIENTATION, String.valueOf(getExifOrientation(orientationDegrees)));
+      exif.saveAttributes();
+    } catch (IOException e) {
+      callback.onError("IOError", "Failed saving image orientation");
+      return;
+    }
+    long closedNanos = System.nanoTime();
+
+    callback.onComplete(
+        file.getAbsolutePath(),
+        new ImageSaver.Timings(
+            startNanos - queuedAtNanos, writtenNanos - startNanos, closedNanos - writtenNanos));
+  }
+
+  /**
+   * Converts a clockwise rotation to the matching EXIF orientation.
+   *
+   * @param orientationDegrees - The clockwise rotation, a multiple of 90 degrees.
+   * @return the EXIF orientation.
+   */
+  @VisibleForTesting
+  static int getExifOrientation(int orientationDegrees) {
+    switch ((orientationDegrees % 360 + 360) % 360) {
+      case 90:
+        return ExifInterface.ORIENTATION_ROTATE_90;
+      case 180:
+        return ExifInterface.ORIENTATION_ROTATE_180;
+      case 270:
+        return ExifInterface.ORIENTATION_ROTATE_270;
+      default:
+        return ExifInterface.ORIENTATION_NORMAL;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.graphics.ImageFormat;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraMetadata;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.util.Size;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Keeps the most recent full resolution frames of the preview session, so that a picture can be
+ * taken from the frame captured when the shutter was pressed, without running the focus and
+ * precapture sequence or issuing a new capture request.
+ *
+ * <p>Frames are captured in the YUV_420_888 format along with the preview. Only the last {@link
+ * #RING_SIZE} frames are kept, older frames are released as soon as a new one arrives.
+ *
+ * <p>{@link #onImageAvailable(ImageReader)} is called on the camera background thread, the other
+ * methods may be called on any thread.
+ */
+class ZeroShutterLagCapture implements ImageReader.OnImageAvailableListener {
+  /** The number of frames kept. */
+  @VisibleForTesting static final int RING_SIZE = 3;
+
+  /** The number of frames taken for pictures that may be open at once, while they are saved. */
+  @VisibleForTesting static final int MAX_TAKEN_FRAMES = 2;
+
+  private final ImageReader imageReader;
+  private final boolean realtimeTimestamps;
+  private final ArrayDeque<Image> frames = new ArrayDeque<>(RING_SIZE + 1);
+  private int takenFrames;
+
+  /**
+   * Returns whether the camera supports zero shutter lag captures.
+   *
+   * <p>Streaming full resolution YUV frames along with the preview is only a guaranteed stream
+   * combination from the FULL hardware level. On LEGACY, LIMITED and EXTERNAL cameras pictures are
+   * taken with the regular capture sequence.
+   *
+   * @param cameraProperties - The properties of the camera.
+   * @return true if zero shutter lag captures are supported.
+   */
+  static boolean isSupported(@NonNull CameraProperties cameraProperties) {
+    int hardwareLevel = cameraProperties.getHardwareLevel();
+    return hardwareLevel == CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_FULL
+        || hardwareLevel == CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_3;
+  }
+
+  /**
+   * Creates a zero shutter lag capture for pictures of the supplied size.
+   *
+   * @param captureSize - The size of the pictures.
+   * @param cameraProperties - The properties of the camera.
+   * @param handler - The handler new frames are received on.
+   * @return the new zero shutter lag capture.
+   */
+  @NonNull
+  static ZeroShutterLagCapture create(
+      @NonNull Size captureSize,
+      @NonNull CameraProperties cameraProperties,
+      @Nullable Handler handler) {
+    // One more image is acquired before the oldest one is released, and the taken frames may be
+    // saved.
+    ImageReader imageReader =
+        ImageReader.newInstance(
+            captureSize.getWidth(),
+            captureSize.getHeight(),
+            ImageFormat.YUV_420_888,
+            RING_SIZE + 1 + MAX_TAKEN_FRAMES);
+    ZeroShutterLagCapture capture =
+        new ZeroShutterLagCapture(
+            imageReader,
+            cameraProperties.getSensorInfoTimestampSource()
+                == CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME);
+    imageReader.setOnImageAvailableListener(capture, handler);
+    return capture;
+  }
+
+  @VisibleForTesting
+  ZeroShutterLagCapture(@NonNull ImageReader imageReader, boolean realtimeTimestamps) {
+    this.imageReader = imageReader;
+    this.realtimeTimestamps = realtimeTimestamps;
+  }
+
+  /** Gets the surface the frames are captured to. */
+  @NonNull
+  Surface getSurface() {
+    return imageReader.getSurface();
+  }
+
+  @Override
+  public void onImageAvailable(ImageReader reader) {
+    Image image = reader.acquireNextImage();
+    if (image == null) {
+      return;
+    }
+    synchronized (this) {
+      frames.addLast(image);
+      while (frames.size() > RING_SIZE) {
+        frames.removeFirst().close();
+      }
+    }
+  }
+
+  /**
+   * Gets the current time in the time base of the frame timestamps.
+   *
+   * @return the current time in nanoseconds, or {@link Long#MAX_VALUE} when the frame timestamps
+   *     cannot be compared to a system clock, so that the most recent frame is selected.
+   */
+  long getShutterTimestampNanos() {
+    return realtimeTimestamps ? SystemClock.elapsedRealtimeNanos() : Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns whether a frame can be taken, that is, fewer than {@link #MAX_TAKEN_FRAMES} taken
+   * frames are still being saved. Taking more would leave the image reader without free images.
+   */
+  synchronized boolean canTakeFrame() {
+    return takenFrames < MAX_TAKEN_FRAMES;
+  }
+
+  /**
+   * Removes the kept frame whose timestamp is the closest to the supplied shutter time.
+   *
+   * <p>Must only be called when {@link #canTakeFrame()} returns true, and {@link
+   * #onTakenFrameClosed()} must be called once the returned frame is closed.
+   *
+   * @param shutterTimestampNanos - The time the shutter was pressed, in the time base of the frame
+   *     timestamps.
+   * @return the selected frame, which must be closed by the caller, or null if no frame has been
+   *     captured yet.
+   */
+  @Nullable
+  synchronized Image takeFrame(long shutterTimestampNanos) {
+    Image selected = null;
+    long selectedDistance = Long.MAX_VALUE;
+    for (Image frame : frames) {
+      long timestamp = frame.getTimestamp();
+      long distance =
+          timestamp > shutterTimestampNanos
+              ? timestamp - shutterTimestampNanos
+              : shutterTimestampNanos - timestamp;
+      // Ties select the most recent frame.
+      if (distance <= selectedDistance) {
+        selected = frame;
+        selectedDistance = distance;
+      }
+    }
+    if (selected != null) {
+      frames.remove(selected);
+      takenFrames++;
+    }
+    return selected;
+  }
+
+  /** Reports that a frame returned by {@link #takeFrame(long)} has been closed. */
+  synchronized void onTakenFrameClosed() {
+    takenFrames--;
+  }
+
+  /** Releases the kept frames, for instance when the frames stop being captured. */
+  synchronized void clear() {
+    Iterator<Image> iterator = frames.iterator();
+    while (iterator.hasNext()) {
+      iterator.next().close();
+      iterator.remove();
+    }
+  }
+
+  /** Releases the kept frames and the image reader. */
+  void close() {
+    clear();
+    imageReader.close();
+  }
+}
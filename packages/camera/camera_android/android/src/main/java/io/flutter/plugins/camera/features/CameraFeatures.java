@@ -5,6 +5,7 @@
 package io.flutter.plugins.camera.features;
 
 import android.app.Activity;
+import android.hardware.camera2.CaptureRequest;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.DartMessenger;
 import io.flutter.plugins.camera.features.autofocus.AutoFocusFeature;
@@ -22,6 +23,7 @@ import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * These are all of our available features in the camera. Used in the Camera to access all features
@@ -76,6 +78,12 @@ public class CameraFeatures {
 
   private Map<String, CameraFeature> featureMap = new HashMap<>();
 
+  /**
+   * The value of each feature when it last updated the preview request builder, used to skip
+   * features whose setting has not changed since.
+   */
+  private final Map<String, Object> appliedValues = new HashMap<>();
+
   /**
    * Gets a collection of all features that have been set.
    *
@@ -85,6 +93,60 @@ public class CameraFeatures {
     return this.featureMap.values();
   }
 
+  /**
+   * Updates the preview request builder with every feature and records their current values as
+   * applied.
+   *
+   * <p>This should be used when a new preview request builder has been created.
+   *
+   * @param requestBuilder the preview request builder to update.
+   */
+  public void updateBuilder(CaptureRequest.Builder requestBuilder) {
+    appliedValues.clear();
+    for (Map.Entry<String, CameraFeature> entry : featureMap.entrySet()) {
+      CameraFeature feature = entry.getValue();
+      feature.updateBuilder(requestBuilder);
+      appliedValues.put(entry.getKey(), feature.getValue());
+    }
+  }
+
+  /**
+   * Updates the preview request builder with the features whose values have changed since they last
+   * updated it.
+   *
+   * <p>Values are compared using {@link Object#equals(Object)}, so features holding values without
+   * value equality, like {@link Point}, are updated every time they are set.
+   *
+   * @param requestBuilder the preview request builder to update.
+   * @return whether any feature has updated the builder, meaning the repeating request has to be
+   *     submitted again.
+   */
+  public boolean updateBuilderWithChangedFeatures(CaptureRequest.Builder requestBuilder) {
+    boolean changed = false;
+    for (Map.Entry<String, CameraFeature> entry : featureMap.entrySet()) {
+      String key = entry.getKey();
+      CameraFeature feature = entry.getValue();
+      Object value = feature.getValue();
+      if (appliedValues.containsKey(key) && Objects.equals(appliedValues.get(key), value)) {
+        continue;
+      }
+      feature.updateBuilder(requestBuilder);
+      appliedValues.put(key, value);
+      changed = true;
+    }
+    return changed;
+  }
+
+  /**
+   * Forgets the values applied to the preview request builder, so that the next call to {@link
+   * #updateBuilderWithChangedFeatures(CaptureRequest.Builder)} updates it with every feature.
+   *
+   * <p>This should be used when the repeating request could not be submitted.
+   */
+  public void invalidateAppliedValues() {
+    appliedValues.clear();
+  }
+
   /**
    * Gets the auto focus feature if it has been set.
    *
@@ -100,7 +162,7 @@ public class CameraFeatures {
    * @param autoFocus the {@link AutoFocusFeature} instance to set.
    */
   public void setAutoFocus(AutoFocusFeature autoFocus) {
-    this.featureMap.put(AUTO_FOCUS, autoFocus);
+    putFeature(AUTO_FOCUS, autoFocus);
   }
 
   /**
@@ -118,7 +180,7 @@ public class CameraFeatures {
    * @param exposureLock the {@link ExposureLockFeature} instance to set.
    */
   public void setExposureLock(ExposureLockFeature exposureLock) {
-    this.featureMap.put(EXPOSURE_LOCK, exposureLock);
+    putFeature(EXPOSURE_LOCK, exposureLock);
   }
 
   /**
@@ -136,7 +198,7 @@ public class CameraFeatures {
    * @param exposureOffset the {@link ExposureOffsetFeature} instance to set.
    */
   public void setExposureOffset(ExposureOffsetFeature exposureOffset) {
-    this.featureMap.put(EXPOSURE_OFFSET, exposureOffset);
+    putFeature(EXPOSURE_OFFSET, exposureOffset);
   }
 
   /**
@@ -154,7 +216,7 @@ public class CameraFeatures {
    * @param exposurePoint the {@link ExposurePointFeature} instance to set.
    */
   public void setExposurePoint(ExposurePointFeature exposurePoint) {
-    this.featureMap.put(EXPOSURE_POINT, exposurePoint);
+    putFeature(EXPOSURE_POINT, exposurePoint);
   }
 
   /**
@@ -172,7 +234,7 @@ public class CameraFeatures {
    * @param flash the {@link FlashFeature} instance to set.
    */
   public void setFlash(FlashFeature flash) {
-    this.featureMap.put(FLASH, flash);
+    putFeature(FLASH, flash);
   }
 
   /**
@@ -190,7 +252,7 @@ public class CameraFeatures {
    * @param focusPoint the {@link FocusPointFeature} instance to set.
    */
   public void setFocusPoint(FocusPointFeature focusPoint) {
-    this.featureMap.put(FOCUS_POINT, focusPoint);
+    putFeature(FOCUS_POINT, focusPoint);
   }
 
   /**
@@ -208,7 +270,7 @@ public class CameraFeatures {
    * @param fpsRange the {@link FpsRangeFeature} instance to set.
    */
   public void setFpsRange(FpsRangeFeature fpsRange) {
-    this.featureMap.put(FPS_RANGE, fpsRange);
+    putFeature(FPS_RANGE, fpsRange);
   }
 
   /**
@@ -226,7 +288,7 @@ public class CameraFeatures {
    * @param noiseReduction the {@link NoiseReductionFeature} instance to set.
    */
   public void setNoiseReduction(NoiseReductionFeature noiseReduction) {
-    this.featureMap.put(NOISE_REDUCTION, noiseReduction);
+    putFeature(NOISE_REDUCTION, noiseReduction);
   }
 
   /**
@@ -244,7 +306,7 @@ public class CameraFeatures {
    * @param resolution the {@link ResolutionFeature} instance to set.
    */
   public void setResolution(ResolutionFeature resolution) {
-    this.featureMap.put(RESOLUTION, resolution);
+    putFeature(RESOLUTION, resolution);
   }
 
   /**
@@ -262,7 +324,7 @@ public class CameraFeatures {
    * @param sensorOrientation the {@link SensorOrientationFeature} instance to set.
    */
   public void setSensorOrientation(SensorOrientationFeature sensorOrientation) {
-    this.featureMap.put(SENSOR_ORIENTATION, sensorOrientation);
+    putFeature(SENSOR_ORIENTATION, sensorOrientation);
   }
 
   /**
@@ -280,6 +342,11 @@ public class CameraFeatures {
    * @param zoomLevel the {@link ZoomLevelFeature} instance to set.
    */
   public void setZoomLevel(ZoomLevelFeature zoomLevel) {
-    this.featureMap.put(ZOOM_LEVEL, zoomLevel);
+    putFeature(ZOOM_LEVEL, zoomLevel);
+  }
+
+  private void putFeature(String key, CameraFeature feature) {
+    featureMap.put(key, feature);
+    appliedValues.remove(key);
   }
 }
@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.features;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugins.camera.features.autofocus.FocusMode;
+import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
+import io.flutter.plugins.camera.features.flash.FlashMode;
+
+/**
+ * A set of feature values applied to the camera at once.
+ *
+ * <p>Values that are null are left unchanged. A {@link Point} without coordinates resets the
+ * corresponding point.
+ */
+public class CameraSettings {
+  @Nullable private FlashMode flashMode;
+  @Nullable private ExposureMode exposureMode;
+  @Nullable private Point exposurePoint;
+  @Nullable private Double exposureOffset;
+  @Nullable private FocusMode focusMode;
+  @Nullable private Point focusPoint;
+  @Nullable private Float zoomLevel;
+
+  /**
+   * Gets the flash mode to apply.
+   *
+   * @return the flash mode, or null to leave it unchanged.
+   */
+  @Nullable
+  public FlashMode getFlashMode() {
+    return flashMode;
+  }
+
+  /**
+   * Sets the flash mode to apply.
+   *
+   * @param flashMode - The flash mode, or null to leave it unchanged.
+   */
+  public void setFlashMode(@Nullable FlashMode flashMode) {
+    this.flashMode = flashMode;
+  }
+
+  /**
+   * Gets the exposure mode to apply.
+   *
+   * @return the exposure mode, or null to leave it unchanged.
+   */
+  @Nullable
+  public ExposureMode getExposureMode() {
+    return exposureMode;
+  }
+
+  /**
+   * Sets the exposure mode to apply.
+   *
+   * @param exposureMode - The exposure mode, or null to leave it unchanged.
+   */
+  public void setExposureMode(@Nullable ExposureMode exposureMode) {
+    this.exposureMode = exposureMode;
+  }
+
+  /**
+   * Gets the exposure point to apply.
+   *
+   * @return the exposure point, or null to leave it unchanged.
+   */
+  @Nullable
+  public Point getExposurePoint() {
+    return exposurePoint;
+  }
+
+  /**
+   * Sets the exposure point to apply.
+   *
+   * @param exposurePoint - The exposure point, a point without coordinates to reset it, or null to
+   *     leave it unchanged.
+   */
+  public void setExposurePoint(@Nullable Point exposurePoint) {
+    this.exposurePoint = exposurePoint;
+  }
+
+  /**
+   * Gets the exposure offset to apply.
+   *
+   * @return the exposure offset, or null to leave it unchanged.
+   */
+  @Nullable
+  public Double getExposureOffset() {
+    return exposureOffset;
+  }
+
+  /**
+   * Sets the exposure offset to apply.
+   *
+   * @param exposureOffset - The exposure offset, or null to leave it unchanged.
+   */
+  public void setExposureOffset(@Nullable Double exposureOffset) {
+    this.exposureOffset = exposureOffset;
+  }
+
+  /**
+   * Gets the focus mode to apply.
+   *
+   * @return the focus mode, or null to leave it unchanged.
+   */
+  @Nullable
+  public FocusMode getFocusMode() {
+    return focusMode;
+  }
+
+  /**
+   * Sets the focus mode to apply.
+   *
+   * @param focusMode - The focus mode, or null to leave it unchanged.
+   */
+  public void setFocusMode(@Nullable FocusMode focusMode) {
+    this.focusMode = focusMode;
+  }
+
+  /**
+   * Gets the focus point to apply.
+   *
+   * @return the focus point, or null to leave it unchanged.
+   */
+  @Nullable
+  public Point getFocusPoint() {
+    return focusPoint;
+  }
+
+  /**
+   * Sets the focus point to apply.
+   *
+   * @param focusPoint - The focus point, a point without coordinates to reset it, or null to leave
+   *     it unchanged.
+   */
+  public void setFocusPoint(@Nullable Point focusPoint) {
+    this.focusPoint = focusPoint;
+  }
+
+  /**
+   * Gets the zoom level to apply.
+   *
+   * @return the zoom level, or null to leave it unchanged.
+   */
+  @Nullable
+  public Float getZoomLevel() {
+    return zoomLevel;
+  }
+
+  /**
+   * Sets the zoom level to apply.
+   *
+   * @param zoomLevel - The zoom level, or null to leave it unchanged.
+   */
+  public void setZoomLevel(@Nullable Float zoomLevel) {
+    this.zoomLevel = zoomLevel;
+  }
+}
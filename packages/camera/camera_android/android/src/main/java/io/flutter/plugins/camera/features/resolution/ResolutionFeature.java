@@ -11,6 +11,7 @@ import android.media.EncoderProfiles;
 import android.os.Build;
 import android.util.Size;
 import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.CameraInfoCache;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.features.CameraFeature;
 import java.util.List;
@@ -115,8 +116,7 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
       preset = ResolutionPreset.high;
     }
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-      EncoderProfiles profile =
-          getBestAvailableCamcorderProfileForResolutionPreset(cameraId, preset);
+      EncoderProfiles profile = CameraInfoCache.getInstance().getRecordingProfile(cameraId, preset);
       List<EncoderProfiles.VideoProfile> videoProfiles = profile.getVideoProfiles();
       EncoderProfiles.VideoProfile defaultVideoProfile = videoProfiles.get(0);
 
@@ -129,7 +129,7 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
     // TODO(camsim99): Suppression is currently safe because legacy code is used as a fallback for SDK >= S.
     // This should be removed when reverting that fallback behavior: https://github.com/flutter/flutter/issues/119668.
     CamcorderProfile profile =
-        getBestAvailableCamcorderProfileForResolutionPresetLegacy(cameraId, preset);
+        CameraInfoCache.getInstance().getRecordingProfileLegacy(cameraId, preset);
     return new Size(profile.videoFrameWidth, profile.videoFrameHeight);
   }
 
@@ -243,7 +243,7 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
       recordingProfileLegacy = null;
       recordingProfile =
-          getBestAvailableCamcorderProfileForResolutionPreset(cameraId, resolutionPreset);
+          CameraInfoCache.getInstance().getRecordingProfile(cameraId, resolutionPreset);
       List<EncoderProfiles.VideoProfile> videoProfiles = recordingProfile.getVideoProfiles();
 
       EncoderProfiles.VideoProfile defaultVideoProfile = videoProfiles.get(0);
@@ -258,7 +258,7 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
       recordingProfile = null;
       @SuppressWarnings("deprecation")
       CamcorderProfile camcorderProfile =
-          getBestAvailableCamcorderProfileForResolutionPresetLegacy(cameraId, resolutionPreset);
+          CameraInfoCache.getInstance().getRecordingProfileLegacy(cameraId, resolutionPreset);
       recordingProfileLegacy = camcorderProfile;
       captureSize =
           new Size(recordingProfileLegacy.videoFrameWidth, recordingProfileLegacy.videoFrameHeight);
@@ -0,0 +1,74 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.features.zoomlevel;
+
+/**
+ * Moves the zoom level from a start level to a target level over a fixed duration.
+ *
+ * <p>Zoom levels are scale factors, so the level is interpolated geometrically: every frame of the
+ * ramp scales the image by the same factor, which looks uniform to the user.
+ */
+public class ZoomRamp {
+  private final float startZoomLevel;
+  private final float targetZoomLevel;
+  private final long startTimeNanos;
+  private final long durationNanos;
+
+  /**
+   * Creates a new instance of the {@link ZoomRamp} class.
+   *
+   * @param startZoomLevel - The zoom level at the start of the ramp.
+   * @param targetZoomLevel - The zoom level at the end of the ramp.
+   * @param startTimeNanos - The start of the ramp, in the {@link System#nanoTime()} time base.
+   * @param durationNanos - The duration of the ramp, in nanoseconds.
+   */
+  public ZoomRamp(
+      float startZoomLevel, float targetZoomLevel, long startTimeNanos, long durationNanos) {
+    this.startZoomLevel = startZoomLevel;
+    this.targetZoomLevel = targetZoomLevel;
+    this.startTimeNanos = startTimeNanos;
+    this.durationNanos = durationNanos;
+  }
+
+  /**
+   * Gets the zoom level at the end of the ramp.
+   *
+   * @return the target zoom level.
+   */
+  public float getTargetZoomLevel() {
+    return targetZoomLevel;
+  }
+
+  /**
+   * Gets the zoom level of the ramp at the supplied time.
+   *
+   * @param timeNanos - The time, in the {@link System#nanoTime()} time base.
+   * @return the interpolated zoom level.
+   */
+  public float getZoomLevelAt(long timeNanos) {
+    if (isFinishedAt(timeNanos)) {
+      return targetZoomLevel;
+    }
+    long elapsedNanos = timeNanos - startTimeNanos;
+    if (elapsedNanos <= 0) {
+      return startZoomLevel;
+    }
+    double fraction = (double) elapsedNanos / durationNanos;
+    if (startZoomLevel <= 0 || targetZoomLevel <= 0) {
+      return (float) (startZoomLevel + (targetZoomLevel - startZoomLevel) * fraction);
+    }
+    return (float) (startZoomLevel * Math.pow(targetZoomLevel / startZoomLevel, fraction));
+  }
+
+  /**
+   * Returns whether the ramp has reached its target zoom level at the supplied time.
+   *
+   * @param timeNanos - The time, in the {@link System#nanoTime()} time base.
+   * @return true if the ramp has finished.
+   */
+  public boolean isFinishedAt(long timeNanos) {
+    return timeNanos - startTimeNanos >= durationNanos;
+  }
+}
@@ -0,0 +1,49 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodecInfo.EncoderCapabilities;
+
+// Mirrors video_encoder_settings.dart
+public enum BitrateMode {
+  /** Variable bitrate, which spends more bits on complex scenes. */
+  variable("variable", EncoderCapabilities.BITRATE_MODE_VBR),
+  /** Constant bitrate, which keeps the size of the recording predictable. */
+  constant("constant", EncoderCapabilities.BITRATE_MODE_CBR);
+
+  private final String strValue;
+  private final int encoderValue;
+
+  BitrateMode(String strValue, int encoderValue) {
+    this.strValue = strValue;
+    this.encoderValue = encoderValue;
+  }
+
+  /**
+   * Tries to convert the supplied string into a {@see BitrateMode} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see BitrateMode} enum value, null is
+   * returned.
+   *
+   * @param modeStr String value to convert into an {@see BitrateMode} enum value.
+   * @return Matching {@see BitrateMode} enum value, or null if no match is found.
+   */
+  public static BitrateMode getValueForString(String modeStr) {
+    for (BitrateMode value : values()) {
+      if (value.strValue.equals(modeStr)) return value;
+    }
+    return null;
+  }
+
+  /** Gets the {@link android.media.MediaFormat#KEY_BITRATE_MODE} value of this mode. */
+  public int getEncoderValue() {
+    return encoderValue;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
@@ -0,0 +1,549 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.annotation.SuppressLint;
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaFormat;
+import android.media.MediaMuxer;
+import android.media.MediaRecorder;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Records video from a {@link Surface} with a {@link MediaCodec} encoder and a {@link MediaMuxer},
+ * as an alternative to {@link MediaRecorder} that gives control over the codec, bitrate, bitrate
+ * mode, key frame interval and size of the recording.
+ *
+ * <p>Each encoder is drained by its own thread, so encoding never runs on the camera background
+ * thread. When audio is enabled, the microphone is recorded with {@link AudioRecord} and encoded to
+ * AAC.
+ *
+ * <p>A pre-roll recorder encodes continuously without writing a file, and keeps the last seconds of
+ * encoded samples in memory. {@link #startOutput(String)} then writes them to a file followed by
+ * the live samples, so the recording starts before it was requested.
+ */
+public class CodecRecorder {
+  private static final String TAG = "CodecRecorder";
+  private static final long DRAIN_TIMEOUT_US = 10_000;
+  private static final long THREAD_JOIN_TIMEOUT_MS = 3_000;
+  private static final int AUDIO_SAMPLE_RATE = 44_100;
+  private static final int AUDIO_BIT_RATE = 128_000;
+
+  /** The output side of an encoder, implemented by {@link MediaCodec}. */
+  interface EncoderOutput {
+    int dequeueOutputBuffer(@NonNull MediaCodec.BufferInfo info, long timeoutUs);
+
+    @Nullable
+    ByteBuffer getOutputBuffer(int index);
+
+    @NonNull
+    MediaFormat getOutputFormat();
+
+    void releaseOutputBuffer(int index);
+  }
+
+  private final MediaCodec videoEncoder;
+  private final Surface surface;
+  private final int orientationHint;
+  // Audio samples are timestamped with the clock of the camera, so they are in sync with the video.
+  private final boolean realtimeTimestamps;
+  @Nullable private final EncodedSampleRing preRoll;
+  @Nullable private volatile EncodedSampleMuxer muxer;
+  private final SampleSink videoSink;
+  @Nullable private final MediaCodec audioEncoder;
+  @Nullable private final AudioRecord audioRecord;
+  @Nullable private final SampleSink audioSink;
+  @Nullable private Thread videoThread;
+  @Nullable private Thread audioThread;
+  private volatile boolean stopRequested;
+
+  /**
+   * Creates the encoders and the muxer of a recording.
+   *
+   * @param settings - The encoder settings, with every size and rate resolved.
+   * @param width - The width of the recording.
+   * @param height - The height of the recording.
+   * @param bitRate - The bitrate of the recording, in bits per second.
+   * @param frameRate - The frame rate of the recording.
+   * @param orientationHint - The rotation of the recording, in degrees.
+   * @param enableAudio - True to record the microphone.
+   * @param realtimeTimestamps - True when the camera timestamps frames with {@link
+   *     SystemClock#elapsedRealtimeNanos()} rather than {@link System#nanoTime()}.
+   * @param outputFilePath - The path of the MPEG-4 file to write.
+   * @throws IOException when an encoder or the output file cannot be created.
+   */
+  public CodecRecorder(
+      @NonNull VideoEncoderSettings settings,
+      int width,
+      int height,
+      int bitRate,
+      int frameRate,
+      int orientationHint,
+      boolean enableAudio,
+      boolean realtimeTimestamps,
+      @NonNull String outputFilePath)
+      throws IOException {
+    this(
+        settings,
+        width,
+        height,
+        bitRate,
+        frameRate,
+        orientationHint,
+        enableAudio,
+        realtimeTimestamps,
+        outputFilePath,
+        null);
+  }
+
+  /**
+   * Creates the encoders of a pre-roll recorder, which retains the last encoded samples in memory
+   * until {@link #startOutput(String)} is called.
+   *
+   * <p>The retained video starts with a key frame, so the key frame interval of the settings
+   * determines how precisely the pre-roll duration is honored.
+   *
+   * @param settings - The encoder settings, with every size and rate resolved.
+   * @param width - The width of the recording.
+   * @param height - The height of the recording.
+   * @param bitRate - The bitrate of the recording, in bits per second.
+   * @param frameRate - The frame rate of the recording.
+   * @param orientationHint - The rotation of the recording, in degrees.
+   * @param enableAudio - True to record the microphone.
+   * @param realtimeTimestamps - True when the camera timestamps frames with {@link
+   *     SystemClock#elapsedRealtimeNanos()} rather than {@link System#nanoTime()}.
+   * @param preRollDurationUs - The duration of the samples to retain, in microseconds.
+   * @param preRollMaxBytes - The maximum size of the retained samples, in bytes.
+   * @throws IOException when an encoder cannot be created.
+   */
+  public CodecRecorder(
+      @NonNull VideoEncoderSettings settings,
+      int width,
+      int height,
+      int bitRate,
+      int frameRate,
+      int orientationHint,
+      boolean enableAudio,
+      boolean realtimeTimestamps,
+      long preRollDurationUs,
+      long preRollMaxBytes)
+      throws IOException {
+    this(
+        settings,
+        width,
+        height,
+        bitRate,
+        frameRate,
+        orientationHint,
+        enableAudio,
+        realtimeTimestamps,
+        null,
+        new EncodedSampleRing(preRollDurationUs, preRollMaxBytes));
+  }
+
+  @SuppressLint("MissingPermission")
+  private CodecRecorder(
+      @NonNull VideoEncoderSettings settings,
+      int width,
+      int height,
+      int bitRate,
+      int frameRate,
+      int orientationHint,
+      boolean enableAudio,
+      boolean realtimeTimestamps,
+      @Nullable String outputFilePath,
+      @Nullable EncodedSampleRing preRoll)
+      throws IOException {
+    MediaFormat videoFormat =
+        MediaFormat.createVideoFormat(settings.getCodec().getMimeType(), width, height);
+    videoFormat.setInteger(
+        MediaFormat.KEY_COLOR_FORMAT, MediaCodecInfo.CodecCapabilities.COLOR_FormatSurface);
+    videoFormat.setInteger(MediaFormat.KEY_BIT_RATE, bitRate);
+    videoFormat.setInteger(MediaFormat.KEY_FRAME_RATE, frameRate);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N_MR1) {
+      videoFormat.setFloat(MediaFormat.KEY_I_FRAME_INTERVAL, settings.getKeyFrameIntervalSeconds());
+    } else {
+      videoFormat.setInteger(
+          MediaFormat.KEY_I_FRAME_INTERVAL,
+          Math.max(1, Math.round(settings.getKeyFrameIntervalSeconds())));
+    }
+
+    this.orientationHint = orientationHint;
+    this.realtimeTimestamps = realtimeTimestamps;
+    this.preRoll = preRoll;
+    final EncodedSampleMuxer outputMuxer =
+        outputFilePath == null ? null : createMuxer(outputFilePath, orientationHint);
+
+    MediaCodec videoCodec = null;
+    Surface inputSurface = null;
+    MediaCodec audioCodec = null;
+    AudioRecord recorder = null;
+    try {
+      videoCodec = MediaCodec.createEncoderByType(settings.getCodec().getMimeType());
+      BitrateMode bitrateMode = settings.getBitrateMode();
+      if (bitrateMode != null
+          && videoCodec
+              .getCodecInfo()
+              .getCapabilitiesForType(settings.getCodec().getMimeType())
+              .getEncoderCapabilities()
+              .isBitrateModeSupported(bitrateMode.getEncoderValue())) {
+        videoFormat.setInteger(MediaFormat.KEY_BITRATE_MODE, bitrateMode.getEncoderValue());
+      }
+      videoCodec.configure(videoFormat, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+      inputSurface = videoCodec.createInputSurface();
+
+      if (enableAudio) {
+        MediaFormat audioFormat =
+            MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_AAC, AUDIO_SAMPLE_RATE, 1);
+        audioFormat.setInteger(
+            MediaFormat.KEY_AAC_PROFILE, MediaCodecInfo.CodecProfileLevel.AACObjectLC);
+        audioFormat.setInteger(MediaFormat.KEY_BIT_RATE, AUDIO_BIT_RATE);
+        audioCodec = MediaCodec.createEncoderByType(MediaFormat.MIMETYPE_AUDIO_AAC);
+        audioCodec.configure(audioFormat, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+
+        int bufferSize =
+            AudioRecord.getMinBufferSize(
+                AUDIO_SAMPLE_RATE, AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT);
+        recorder =
+            new AudioRecord(
+                MediaRecorder.AudioSource.MIC,
+                AUDIO_SAMPLE_RATE,
+                AudioFormat.CHANNEL_IN_MONO,
+                AudioFormat.ENCODING_PCM_16BIT,
+                Math.max(bufferSize, AUDIO_SAMPLE_RATE / 5 * 2));
+        if (recorder.getState() != AudioRecord.STATE_INITIALIZED) {
+          throw new IOException("The microphone could not be opened.");
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      if (videoCodec != null) {
+        videoCodec.release();
+      }
+      if (inputSurface != null) {
+        inputSurface.release();
+      }
+      if (audioCodec != null) {
+        audioCodec.release();
+      }
+      if (recorder != null) {
+        recorder.release();
+      }
+      if (outputMuxer != null) {
+        outputMuxer.release();
+      }
+      throw e;
+    }
+
+    videoEncoder = videoCodec;
+    surface = inputSurface;
+    audioEncoder = audioCodec;
+    audioRecord = recorder;
+    muxer = outputMuxer;
+    if (outputMuxer != null) {
+      videoSink = outputMuxer.createTrack(true);
+      audioSink = enableAudio ? outputMuxer.createTrack(false) : null;
+    } else {
+      videoSink = preRoll.createInput(true);
+      audioSink = enableAudio ? preRoll.createInput(false) : null;
+    }
+  }
+
+  /**
+   * Gets the surface the camera renders the frames to encode to.
+   *
+   * @return the input surface of the video encoder.
+   */
+  @NonNull
+  public Surface getSurface() {
+    return surface;
+  }
+
+  /** Starts encoding the frames rendered to {@link #getSurface()} and the microphone. */
+  public void start() {
+    videoEncoder.start();
+    videoThread = new Thread(this::drainVideo, "CodecRecorderVideo");
+    videoThread.start();
+
+    if (audioEncoder != null && audioRecord != null) {
+      audioEncoder.start();
+      audioRecord.startRecording();
+      audioThread = new Thread(this::encodeAudio, "CodecRecorderAudio");
+      audioThread.start();
+    }
+  }
+
+  /**
+   * Starts writing the samples retained by a pre-roll recorder to a file, followed by the samples
+   * encoded from now on. The retained samples are not encoded again.
+   *
+   * @param outputFilePath - The path of the MPEG-4 file to write.
+   * @throws IOException when the output file cannot be created.
+   * @throws IllegalStateException when this is not a pre-roll recorder, or the output has already
+   *     been started.
+   */
+  public void startOutput(@NonNull String outputFilePath) throws IOException {
+    if (preRoll == null || muxer != null) {
+      throw new IllegalStateException("The recorder is already writing a file.");
+    }
+    EncodedSampleMuxer outputMuxer = createMuxer(outputFilePath, orientationHint);
+    muxer = outputMuxer;
+    preRoll.startOutput(outputMuxer);
+  }
+
+  /** Drops the encoded frames and audio until {@link #resume()} is called. */
+  public void pause() {
+    EncodedSampleMuxer outputMuxer = muxer;
+    if (outputMuxer != null) {
+      outputMuxer.pause();
+    }
+  }
+
+  /** Records again after {@link #pause()}, starting with a key frame. */
+  public void resume() {
+    EncodedSampleMuxer outputMuxer = muxer;
+    if (outputMuxer != null) {
+      outputMuxer.resume();
+    }
+    Bundle parameters = new Bundle();
+    parameters.putInt(MediaCodec.PARAMETER_KEY_REQUEST_SYNC_FRAME, 0);
+    videoEncoder.setParameters(parameters);
+  }
+
+  /**
+   * Stops the recording once every encoded frame has been written, and finalizes the file. The
+   * camera must have stopped rendering to {@link #getSurface()}.
+   *
+   * <p>A pre-roll recorder that is not writing a file is only released.
+   *
+   * @throws IllegalStateException when the file could not be finalized.
+   */
+  public void stop() {
+    try {
+      endStreams();
+      EncodedSampleMuxer outputMuxer = muxer;
+      if (outputMuxer != null) {
+        outputMuxer.stop();
+      }
+    } finally {
+      release();
+    }
+  }
+
+  /** Releases the encoders, the microphone and the muxer without finalizing the file. */
+  public void release() {
+    EncodedSampleMuxer outputMuxer = muxer;
+    if (outputMuxer != null) {
+      outputMuxer.release();
+    }
+    endStreams();
+    videoEncoder.release();
+    surface.release();
+    if (audioEncoder != null) {
+      audioEncoder.release();
+    }
+    if (audioRecord != null) {
+      audioRecord.release();
+    }
+  }
+
+  /** Ends the input of the encoders, and waits for their threads to write the last samples. */
+  private void endStreams() {
+    if (stopRequested) {
+      return;
+    }
+    stopRequested = true;
+    if (videoThread != null) {
+      try {
+        videoEncoder.signalEndOfInputStream();
+      } catch (IllegalStateException e) {
+        Log.w(TAG, "Could not end the video stream: " + e.getMessage());
+      }
+    }
+    joinQuietly(videoThread);
+    joinQuietly(audioThread);
+    videoThread = null;
+    audioThread = null;
+  }
+
+  private void drainVideo() {
+    MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+    EncoderOutput output = wrap(videoEncoder);
+    try {
+      drainEncoder(output, videoSink, info, true);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IllegalStateException e) {
+      Log.w(TAG, "Video encoding stopped: " + e.getMessage());
+    }
+  }
+
+  private void encodeAudio() {
+    final MediaCodec encoder = audioEncoder;
+    final AudioRecord recorder = audioRecord;
+    final SampleSink sink = audioSink;
+    if (encoder == null || recorder == null || sink == null) {
+      return;
+    }
+
+    MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+    EncoderOutput output = wrap(encoder);
+    try {
+      boolean endOfStreamQueued = false;
+      while (!endOfStreamQueued) {
+        int inputIndex = encoder.dequeueInputBuffer(DRAIN_TIMEOUT_US);
+        if (inputIndex >= 0) {
+          ByteBuffer input = encoder.getInputBuffer(inputIndex);
+          int read = input == null ? 0 : recorder.read(input, input.remaining());
+          endOfStreamQueued = stopRequested;
+          encoder.queueInputBuffer(
+              inputIndex,
+              0,
+              Math.max(read, 0),
+              getTimestampUs(),
+              endOfStreamQueued ? MediaCodec.BUFFER_FLAG_END_OF_STREAM : 0);
+        }
+        drainEncoder(output, sink, info, false);
+      }
+      drainEncoder(output, sink, info, true);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IllegalStateException e) {
+      Log.w(TAG, "Audio encoding stopped: " + e.getMessage());
+    } finally {
+      recorder.stop();
+    }
+  }
+
+  private long getTimestampUs() {
+    return (realtimeTimestamps ? SystemClock.elapsedRealtimeNanos() : System.nanoTime()) / 1000;
+  }
+
+  /**
+   * Writes the samples available from an encoder to a sink.
+   *
+   * @param encoder the encoder to drain.
+   * @param sink the track or pre-roll input the samples are written to.
+   * @param info the buffer info reused for every sample.
+   * @param untilEndOfStream true to wait for the end of the stream, false to return as soon as no
+   *     sample is available.
+   * @return true if the end of the stream has been reached.
+   * @throws InterruptedException when interrupted while waiting for the muxer to be started.
+   */
+  @VisibleForTesting
+  static boolean drainEncoder(
+      @NonNull EncoderOutput encoder,
+      @NonNull SampleSink sink,
+      @NonNull MediaCodec.BufferInfo info,
+      boolean untilEndOfStream)
+      throws InterruptedException {
+    while (true) {
+      int index = encoder.dequeueOutputBuffer(info, DRAIN_TIMEOUT_US);
+      if (index == MediaCodec.INFO_TRY_AGAIN_LATER) {
+        if (!untilEndOfStream) {
+          return false;
+        }
+      } else if (index == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+        sink.setFormat(encoder.getOutputFormat());
+      } else if (index >= 0) {
+        ByteBuffer buffer = encoder.getOutputBuffer(index);
+        boolean endOfStream = (info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0;
+        if (buffer != null) {
+          sink.writeSample(buffer, info);
+        }
+        encoder.releaseOutputBuffer(index);
+        if (endOfStream) {
+          return true;
+        }
+      }
+    }
+  }
+
+  private static void joinQuietly(@Nullable Thread thread) {
+    if (thread == null) {
+      return;
+    }
+    try {
+      thread.join(THREAD_JOIN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static EncodedSampleMuxer createMuxer(@NonNull String outputFilePath, int orientationHint)
+      throws IOException {
+    MediaMuxer mediaMuxer =
+        new MediaMuxer(outputFilePath, MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+    mediaMuxer.setOrientationHint(orientationHint);
+    return new EncodedSampleMuxer(wrap(mediaMuxer));
+  }
+
+  private static EncoderOutput wrap(@NonNull MediaCodec codec) {
+    return new EncoderOutput() {
+      @Override
+      public int dequeueOutputBuffer(@NonNull MediaCodec.BufferInfo info, long timeoutUs) {
+        return codec.dequeueOutputBuffer(info, timeoutUs);
+      }
+
+      @Nullable
+      @Override
+      public ByteBuffer getOutputBuffer(int index) {
+        return codec.getOutputBuffer(index);
+      }
+
+      @NonNull
+      @Override
+      public MediaFormat getOutputFormat() {
+        return codec.getOutputFormat();
+      }
+
+      @Override
+      public void releaseOutputBuffer(int index) {
+        codec.releaseOutputBuffer(index, false);
+      }
+    };
+  }
+
+  private static EncodedSampleMuxer.Muxer wrap(@NonNull MediaMuxer mediaMuxer) {
+    return new EncodedSampleMuxer.Muxer() {
+      @Override
+      public int addTrack(@NonNull MediaFormat format) {
+        return mediaMuxer.addTrack(format);
+      }
+
+      @Override
+      public void start() {
+        mediaMuxer.start();
+      }
+
+      @Override
+      public void writeSampleData(
+          int trackIndex, @NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info) {
+        mediaMuxer.writeSampleData(trackIndex, buffer, info);
+      }
+
+      @Override
+      public void stop() {
+        mediaMuxer.stop();
+      }
+
+      @Override
+      public void release() {
+        mediaMuxer.release();
+      }
+    };
+  }
+}
@@ -0,0 +1,241 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the samples produced by the encoders of a {@link CodecRecorder} to a muxer.
+ *
+ * <p>The muxer is started once the output format of every track is known, and writing a sample
+ * blocks until then. The timestamps of every track are rebased on a single start time, so the
+ * tracks stay in sync, and exclude the time spent paused. The encoders of every track must
+ * therefore timestamp their samples with the same clock. The recording starts with its first video
+ * key frame, earlier audio samples are dropped. Video samples are dropped after a pause until the
+ * next key frame, since the frames they depend on have not been written.
+ *
+ * <p>This class is thread safe, each track is usually written by the thread draining its encoder.
+ */
+class EncodedSampleMuxer {
+  /** The container the samples are written to, implemented by {@link android.media.MediaMuxer}. */
+  interface Muxer {
+    int addTrack(@NonNull MediaFormat format);
+
+    void start();
+
+    void writeSampleData(
+        int trackIndex, @NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info);
+
+    void stop();
+
+    void release();
+  }
+
+  /** A track of the muxer, fed by a single encoder. */
+  class Track implements SampleSink {
+    private final boolean isVideo;
+    private int trackIndex = -1;
+    private long lastPresentationTimeUs;
+    private boolean waitingForKeyFrame;
+    private long writtenSampleCount;
+
+    private Track(boolean isVideo) {
+      this.isVideo = isVideo;
+      this.waitingForKeyFrame = isVideo;
+    }
+
+    /**
+     * Adds the track to the muxer, and starts the muxer once every track has been added.
+     *
+     * @param format the output format of the encoder of the track.
+     */
+    @Override
+    public void setFormat(@NonNull MediaFormat format) {
+      synchronized (EncodedSampleMuxer.this) {
+        if (trackIndex >= 0 || closed) {
+          return;
+        }
+        trackIndex = muxer.addTrack(format);
+        addedTrackCount++;
+        if (addedTrackCount == tracks.size()) {
+          muxer.start();
+          started = true;
+          EncodedSampleMuxer.this.notifyAll();
+        }
+      }
+    }
+
+    /**
+     * Writes an encoded sample, waiting for the muxer to be started.
+     *
+     * <p>The presentation time of the supplied info is rebased on the start of the recording, which
+     * is the presentation time of the first video key frame unless set by {@link
+     * #setStartPresentationTimeUs(long)}.
+     *
+     * @param buffer the encoded sample.
+     * @param info the size, flags and presentation time of the sample.
+     * @return true if the sample was written, false if it was dropped.
+     * @throws InterruptedException when interrupted while waiting for the muxer to be started.
+     */
+    @Override
+    public boolean writeSample(@NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info)
+        throws InterruptedException {
+      if ((info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0 || info.size == 0) {
+        // The codec config is part of the track format.
+        return false;
+      }
+
+      synchronized (EncodedSampleMuxer.this) {
+        while (!started && !closed) {
+          EncodedSampleMuxer.this.wait();
+        }
+        if (closed) {
+          return false;
+        }
+        if (paused) {
+          waitingForKeyFrame = isVideo;
+          return false;
+        }
+        if (waitingForKeyFrame) {
+          if ((info.flags & MediaCodec.BUFFER_FLAG_KEY_FRAME) == 0) {
+            return false;
+          }
+          waitingForKeyFrame = false;
+        }
+
+        if (startPresentationTimeUs < 0) {
+          if (!isVideo && hasVideoTrack) {
+            return false;
+          }
+          startPresentationTimeUs = info.presentationTimeUs;
+        }
+        if (!isVideo && info.presentationTimeUs < startPresentationTimeUs) {
+          // Audio captured before the first picture of the recording.
+          return false;
+        }
+        long presentationTimeUs =
+            info.presentationTimeUs - startPresentationTimeUs - pausedDurationUs;
+        lastPresentationTimeUs = Math.max(presentationTimeUs, lastPresentationTimeUs);
+        info.presentationTimeUs = lastPresentationTimeUs;
+
+        buffer.position(info.offset);
+        buffer.limit(info.offset + info.size);
+        muxer.writeSampleData(trackIndex, buffer, info);
+        writtenSampleCount++;
+        return true;
+      }
+    }
+
+    /** Gets the number of samples written to the track. */
+    long getWrittenSampleCount() {
+      synchronized (EncodedSampleMuxer.this) {
+        return writtenSampleCount;
+      }
+    }
+  }
+
+  private final Muxer muxer;
+  private final List<Track> tracks = new ArrayList<>();
+  private boolean hasVideoTrack;
+  private long startPresentationTimeUs = -1;
+  private int addedTrackCount;
+  private boolean started;
+  private boolean closed;
+  private boolean paused;
+  private long pauseStartNanos;
+  private long pausedDurationUs;
+
+  /**
+   * Creates a new instance of the {@link EncodedSampleMuxer} class.
+   *
+   * @param muxer the container the samples are written to.
+   */
+  EncodedSampleMuxer(@NonNull Muxer muxer) {
+    this.muxer = muxer;
+  }
+
+  /**
+   * Creates a track. Every track must be created before the format of the first one is set.
+   *
+   * @param isVideo true if the track is fed by a video encoder.
+   * @return the new track.
+   */
+  @NonNull
+  synchronized Track createTrack(boolean isVideo) {
+    Track track = new Track(isVideo);
+    tracks.add(track);
+    hasVideoTrack |= isVideo;
+    return track;
+  }
+
+  /**
+   * Sets the presentation time the timestamps of every track are rebased on, when samples from
+   * before the first sample written are written afterwards, as the retained samples of a pre-roll.
+   * Ignored once a sample has been written.
+   *
+   * @param presentationTimeUs the presentation time of the start of the recording.
+   */
+  synchronized void setStartPresentationTimeUs(long presentationTimeUs) {
+    if (startPresentationTimeUs < 0) {
+      startPresentationTimeUs = presentationTimeUs;
+    }
+  }
+
+  /** Drops every sample until {@link #resume()} is called. */
+  synchronized void pause() {
+    if (paused) {
+      return;
+    }
+    paused = true;
+    pauseStartNanos = System.nanoTime();
+  }
+
+  /** Writes samples again, excluding the time spent paused from their timestamps. */
+  synchronized void resume() {
+    if (!paused) {
+      return;
+    }
+    paused = false;
+    pausedDurationUs += (System.nanoTime() - pauseStartNanos) / 1000;
+  }
+
+  /**
+   * Finalizes the container and releases the muxer. Samples written afterwards are dropped.
+   *
+   * @throws IllegalStateException when the container could not be finalized, for instance because
+   *     no sample was written.
+   */
+  synchronized void stop() {
+    if (closed) {
+      return;
+    }
+    try {
+      if (!started) {
+        throw new IllegalStateException("The recording has no samples.");
+      }
+      muxer.stop();
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Releases the muxer without finalizing the container. Samples written afterwards are dropped,
+   * and writers waiting for the muxer to be started return.
+   */
+  synchronized void release() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    notifyAll();
+    muxer.release();
+  }
+}
@@ -0,0 +1,265 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Retains the most recent encoded samples of a {@link CodecRecorder} in memory, so that a recording
+ * can include the moments before it was started.
+ *
+ * <p>The retained samples always start with a video key frame. Whole groups of pictures are evicted
+ * from the start of the ring once the rest still covers the requested duration, or as soon as the
+ * ring exceeds its memory budget. When a single group of pictures exceeds the budget, every sample
+ * is dropped until the next key frame.
+ *
+ * <p>Once {@link #startOutput(EncodedSampleMuxer)} is called, each input first writes its retained
+ * samples to the muxer, then the samples produced by its encoder, without re-encoding them. The
+ * retained samples are written by the thread draining the encoder of each input.
+ *
+ * <p>This class is thread safe, each input is usually written by the thread draining its encoder.
+ */
+class EncodedSampleRing {
+  private static final int MAX_RECYCLED_SAMPLES = 32;
+  // Sample buffers are allocated in steps of 4 KiB, so they can be reused by similar samples.
+  private static final int BUFFER_ALIGNMENT = 4096;
+
+  /** An encoded sample copied out of an encoder output buffer. */
+  private static class Sample {
+    Input input;
+    ByteBuffer data;
+    long presentationTimeUs;
+    int flags;
+  }
+
+  /** An input of the ring, fed by a single encoder. */
+  class Input implements SampleSink {
+    private final boolean isVideo;
+    @Nullable private MediaFormat format;
+    @Nullable private EncodedSampleMuxer.Track output;
+    @Nullable private List<Sample> pending;
+
+    private Input(boolean isVideo) {
+      this.isVideo = isVideo;
+    }
+
+    @Override
+    public void setFormat(@NonNull MediaFormat format) {
+      EncodedSampleMuxer.Track track;
+      synchronized (EncodedSampleRing.this) {
+        this.format = format;
+        track = output;
+      }
+      if (track != null) {
+        track.setFormat(format);
+      }
+    }
+
+    @Override
+    public boolean writeSample(@NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info)
+        throws InterruptedException {
+      EncodedSampleMuxer.Track track;
+      List<Sample> retained;
+      synchronized (EncodedSampleRing.this) {
+        if (output == null) {
+          return retain(this, buffer, info);
+        }
+        track = output;
+        retained = pending;
+        pending = null;
+      }
+
+      if (retained != null) {
+        MediaCodec.BufferInfo retainedInfo = new MediaCodec.BufferInfo();
+        for (Sample sample : retained) {
+          retainedInfo.set(0, sample.data.limit(), sample.presentationTimeUs, sample.flags);
+          track.writeSample(sample.data, retainedInfo);
+        }
+      }
+      return track.writeSample(buffer, info);
+    }
+  }
+
+  private final long maxDurationUs;
+  private final long maxBytes;
+  private final List<Input> inputs = new ArrayList<>();
+  private final ArrayDeque<Sample> samples = new ArrayDeque<>();
+  private final ArrayDeque<Sample> keyFrames = new ArrayDeque<>();
+  private final ArrayDeque<Sample> recycledSamples = new ArrayDeque<>();
+  private long retainedBytes;
+  private long newestVideoPresentationTimeUs;
+  private boolean outputStarted;
+
+  /**
+   * Creates a new instance of the {@link EncodedSampleRing} class.
+   *
+   * @param maxDurationUs the duration of video to retain, in microseconds.
+   * @param maxBytes the maximum size of the retained samples, in bytes.
+   */
+  EncodedSampleRing(long maxDurationUs, long maxBytes) {
+    this.maxDurationUs = maxDurationUs;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Creates an input. Every input must be created before {@link #startOutput(EncodedSampleMuxer)}
+   * is called.
+   *
+   * @param isVideo true if the input is fed by a video encoder.
+   * @return the new input.
+   */
+  @NonNull
+  synchronized Input createInput(boolean isVideo) {
+    Input input = new Input(isVideo);
+    inputs.add(input);
+    return input;
+  }
+
+  /**
+   * Writes the retained samples and the samples written afterwards to the supplied muxer, creating
+   * a track for each input.
+   *
+   * @param muxer the muxer of the recording.
+   * @throws IllegalStateException when the output has already been started.
+   */
+  synchronized void startOutput(@NonNull EncodedSampleMuxer muxer) {
+    if (outputStarted) {
+      throw new IllegalStateException("The pre-roll has already been saved.");
+    }
+    outputStarted = true;
+    // The tracks start with the first retained key frame, whichever input writes first.
+    Sample firstKeyFrame = keyFrames.peekFirst();
+    if (firstKeyFrame != null) {
+      muxer.setStartPresentationTimeUs(firstKeyFrame.presentationTimeUs);
+    }
+    // Every track must exist before the format of the first one is set.
+    for (Input input : inputs) {
+      input.output = muxer.createTrack(input.isVideo);
+      input.pending = new ArrayList<>();
+    }
+    for (Sample sample : samples) {
+      sample.input.pending.add(sample);
+    }
+    samples.clear();
+    keyFrames.clear();
+    recycledSamples.clear();
+    retainedBytes = 0;
+    for (Input input : inputs) {
+      if (input.format != null) {
+        input.output.setFormat(input.format);
+      }
+    }
+  }
+
+  /** Gets the total size of the retained samples, in bytes. */
+  synchronized long getRetainedBytes() {
+    return retainedBytes;
+  }
+
+  /** Gets the number of retained samples. */
+  synchronized int getRetainedSampleCount() {
+    return samples.size();
+  }
+
+  /** Gets the duration of the retained video, in microseconds. */
+  synchronized long getRetainedDurationUs() {
+    Sample first = keyFrames.peekFirst();
+    return first == null ? 0 : newestVideoPresentationTimeUs - first.presentationTimeUs;
+  }
+
+  private boolean retain(
+      @NonNull Input input, @NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info) {
+    if ((info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) != 0 || info.size == 0) {
+      // The codec config is part of the track format.
+      return false;
+    }
+    boolean keyFrame = input.isVideo && (info.flags & MediaCodec.BUFFER_FLAG_KEY_FRAME) != 0;
+    if (keyFrames.isEmpty() && !keyFrame) {
+      // The retained samples must start with a video key frame.
+      return false;
+    }
+
+    Sample sample = obtainSample(info.size);
+    sample.input = input;
+    sample.presentationTimeUs = info.presentationTimeUs;
+    sample.flags = info.flags;
+    buffer.position(info.offset);
+    buffer.limit(info.offset + info.size);
+    sample.data.put(buffer);
+    sample.data.flip();
+
+    samples.addLast(sample);
+    if (keyFrame) {
+      keyFrames.addLast(sample);
+    }
+    if (input.isVideo) {
+      newestVideoPresentationTimeUs =
+          Math.max(newestVideoPresentationTimeUs, info.presentationTimeUs);
+    }
+    retainedBytes += info.size;
+    evict();
+    return !samples.isEmpty();
+  }
+
+  private void evict() {
+    while (keyFrames.size() > 1) {
+      Iterator<Sample> iterator = keyFrames.iterator();
+      iterator.next();
+      Sample secondKeyFrame = iterator.next();
+      boolean stillCovered =
+          newestVideoPresentationTimeUs - secondKeyFrame.presentationTimeUs >= maxDurationUs;
+      if (retainedBytes <= maxBytes && !stillCovered) {
+        return;
+      }
+      keyFrames.removeFirst();
+      while (samples.peekFirst() != secondKeyFrame) {
+        recycle(samples.removeFirst());
+      }
+    }
+
+    if (retainedBytes > maxBytes) {
+      // A single group of pictures does not fit, wait for the next key frame.
+      while (!samples.isEmpty()) {
+        recycle(samples.removeFirst());
+      }
+      keyFrames.clear();
+    }
+  }
+
+  private Sample obtainSample(int size) {
+    Iterator<Sample> iterator = recycledSamples.iterator();
+    while (iterator.hasNext()) {
+      Sample sample = iterator.next();
+      int capacity = sample.data.capacity();
+      // Small samples do not reuse the buffer of a key frame, which would waste most of it.
+      if (capacity >= size && capacity <= 2 * size + BUFFER_ALIGNMENT) {
+        iterator.remove();
+        sample.data.clear();
+        return sample;
+      }
+    }
+    Sample sample = new Sample();
+    int capacity = (size + BUFFER_ALIGNMENT - 1) / BUFFER_ALIGNMENT * BUFFER_ALIGNMENT;
+    // Direct buffers keep large pre-rolls off the Java heap.
+    sample.data = ByteBuffer.allocateDirect(capacity);
+    return sample;
+  }
+
+  private void recycle(@NonNull Sample sample) {
+    retainedBytes -= sample.data.limit();
+    sample.input = null;
+    if (recycledSamples.size() < MAX_RECYCLED_SAMPLES) {
+      recycledSamples.addLast(sample);
+    }
+  }
+}
@@ -0,0 +1,272 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import io.flutter.plugins.camera.types.ImageStreamOptions;
+import io.flutter.plugins.camera.types.ImageStreamOutputLayout;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single image stream frame, laid out in the message format expected by the Dart side of the
+ * plugin.
+ *
+ * <p>The frame descriptor, the plane descriptors and the plane byte arrays are kept between calls
+ * to {@link #fill(Image, CameraCaptureProperties, ImageStreamOptions)}, so a frame that is reused
+ * for images with the same layout does not allocate.
+ */
+public class ImageStreamFrame {
+  private final Map<String, Object> descriptor = new HashMap<>();
+  private final List<Map<String, Object>> planes = new ArrayList<>();
+  private byte[][] planeBytes = new byte[0][];
+  private int allocationCount;
+  @Nullable private YuvFramePacker packer;
+  private volatile boolean delivered;
+
+  public ImageStreamFrame() {
+    descriptor.put("planes", planes);
+  }
+
+  /**
+   * Copies the pixel data and metadata of the supplied image into this frame.
+   *
+   * <p>Only the planes selected by the plane mask of the options are copied. When the options
+   * specify a crop region and the image is in the YUV_420_888 format, only the rows and columns of
+   * that region are copied and the frame reports the size of the region. When a packed output
+   * layout is requested, YUV_420_888 images are sent as a single contiguous plane instead.
+   *
+   * <p>The image is not closed by this method.
+   *
+   * @param image the image to copy.
+   * @param captureProps the last known capture properties, sent along with the frame.
+   * @param options the options selecting the planes and region to copy.
+   */
+  public void fill(
+      @NonNull Image image,
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull ImageStreamOptions options) {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    int format = image.getFormat();
+
+    int left = 0;
+    int top = 0;
+    int width = image.getWidth();
+    int height = image.getHeight();
+    boolean crop = false;
+    if (options.hasCropRegion() && format == ImageFormat.YUV_420_888) {
+      // Align the region to the 2x2 chroma subsampling of YUV_420_888.
+      int cropLeft = Math.min(options.getCropLeft(), width) & ~1;
+      int cropTop = Math.min(options.getCropTop(), height) & ~1;
+      int cropRight = Math.min((options.getCropLeft() + options.getCropWidth() + 1) & ~1, width);
+      int cropBottom = Math.min((options.getCropTop() + options.getCropHeight() + 1) & ~1, height);
+      if (cropRight > cropLeft && cropBottom > cropTop) {
+        crop = true;
+        left = cropLeft;
+        top = cropTop;
+        width = cropRight - cropLeft;
+        height = cropBottom - cropTop;
+      }
+    }
+
+    ImageStreamOutputLayout outputLayout = options.getOutputLayout();
+    if (outputLayout != ImageStreamOutputLayout.planes && format == ImageFormat.YUV_420_888) {
+      format = fillPacked(imagePlanes, outputLayout, left, top, width, height);
+    } else {
+      fillPlanes(imagePlanes, options.getPlaneMask(), crop, left, top, width, height);
+    }
+
+    putInt(descriptor, "width", width);
+    putInt(descriptor, "height", height);
+    putInt(descriptor, "format", format);
+    descriptor.put("lensAperture", captureProps.getLastLensAperture());
+    descriptor.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
+    Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
+    if (sensorSensitivity == null) {
+      descriptor.put("sensorSensitivity", null);
+    } else {
+      putDouble(descriptor, "sensorSensitivity", sensorSensitivity);
+    }
+    delivered = false;
+  }
+
+  /**
+   * Returns the frame descriptor that is sent to the Dart side.
+   *
+   * <p>The returned map is owned by this frame and is overwritten when the frame is refilled.
+   */
+  @NonNull
+  public Map<String, Object> getDescriptor() {
+    return descriptor;
+  }
+
+  /** Returns the number of plane buffers this frame has allocated since it was created. */
+  public int getAllocationCount() {
+    return allocationCount;
+  }
+
+  /** Returns true once the frame has been handed to the image stream event sink. */
+  boolean isDelivered() {
+    return delivered;
+  }
+
+  /** Marks the frame as handed to the image stream event sink. */
+  void markDelivered() {
+    delivered = true;
+  }
+
+  private void fillPlanes(
+      Image.Plane[] imagePlanes,
+      int planeMask,
+      boolean crop,
+      int left,
+      int top,
+      int width,
+      int height) {
+    ensurePlaneCount(Integer.bitCount(planeMask & ((1 << imagePlanes.length) - 1)));
+
+    int planeIndex = 0;
+    for (int i = 0; i < imagePlanes.length; i++) {
+      if ((planeMask & (1 << i)) == 0) {
+        continue;
+      }
+      Image.Plane plane = imagePlanes[i];
+      ByteBuffer buffer = plane.getBuffer();
+      int rowStride = plane.getRowStride();
+      int pixelStride = plane.getPixelStride();
+
+      byte[] bytes;
+      int bytesPerRow = rowStride;
+      if (crop) {
+        int subsampling = i == 0 ? 1 : 2;
+        int planeLeft = left / subsampling;
+        int planeTop = top / subsampling;
+        int planeWidth = width / subsampling;
+        int planeHeight = height / subsampling;
+        // The last row is not padded, matching the layout of the buffers of the image itself.
+        int rowLength = (planeWidth - 1) * pixelStride + 1;
+        bytesPerRow = planeWidth * pixelStride;
+        bytes = obtainPlaneBytes(planeIndex, bytesPerRow * (planeHeight - 1) + rowLength);
+
+        int start = buffer.position();
+        for (int row = 0; row < planeHeight; row++) {
+          buffer.position(start + (planeTop + row) * rowStride + planeLeft * pixelStride);
+          buffer.get(bytes, row * bytesPerRow, rowLength);
+        }
+      } else {
+        bytes = obtainPlaneBytes(planeIndex, buffer.remaining());
+        buffer.get(bytes, 0, bytes.length);
+      }
+
+      Map<String, Object> planeBuffer = planes.get(planeIndex);
+      putInt(planeBuffer, "bytesPerRow", bytesPerRow);
+      putInt(planeBuffer, "bytesPerPixel", pixelStride);
+      planeBuffer.put("bytes", bytes);
+      planeIndex++;
+    }
+  }
+
+  // Packs the planes into a single plane and returns the format reported for it. I420 has no
+  // ImageFormat constant of its own and is reported as YUV_420_888 with a single plane.
+  private int fillPacked(
+      Image.Plane[] imagePlanes,
+      ImageStreamOutputLayout outputLayout,
+      int left,
+      int top,
+      int width,
+      int height) {
+    ensurePlaneCount(1);
+    if (packer == null) {
+      packer = new YuvFramePacker();
+    }
+    byte[] bytes = obtainPlaneBytes(0, YuvFramePacker.getPackedSize(width, height));
+
+    Image.Plane yPlane = imagePlanes[0];
+    Image.Plane uPlane = imagePlanes[1];
+    Image.Plane vPlane = imagePlanes[2];
+    if (outputLayout == ImageStreamOutputLayout.nv21) {
+      packer.packNv21(
+          yPlane.getBuffer(),
+          yPlane.getRowStride(),
+          uPlane.getBuffer(),
+          vPlane.getBuffer(),
+          uPlane.getRowStride(),
+          uPlane.getPixelStride(),
+          left,
+          top,
+          width,
+          height,
+          bytes);
+    } else {
+      packer.packI420(
+          yPlane.getBuffer(),
+          yPlane.getRowStride(),
+          uPlane.getBuffer(),
+          vPlane.getBuffer(),
+          uPlane.getRowStride(),
+          uPlane.getPixelStride(),
+          left,
+          top,
+          width,
+          height,
+          bytes);
+    }
+
+    Map<String, Object> planeBuffer = planes.get(0);
+    putInt(planeBuffer, "bytesPerRow", width);
+    putInt(planeBuffer, "bytesPerPixel", 1);
+    putInt(planeBuffer, "width", width);
+    putInt(planeBuffer, "height", height);
+    planeBuffer.put("bytes", bytes);
+    return outputLayout == ImageStreamOutputLayout.nv21
+        ? ImageFormat.NV21
+        : ImageFormat.YUV_420_888;
+  }
+
+  private byte[] obtainPlaneBytes(int planeIndex, int size) {
+    byte[] bytes = planeBytes[planeIndex];
+    if (bytes == null || bytes.length != size) {
+      bytes = new byte[size];
+      planeBytes[planeIndex] = bytes;
+      allocationCount++;
+    }
+    return bytes;
+  }
+
+  private void ensurePlaneCount(int count) {
+    if (planeBytes.length == count) {
+      return;
+    }
+    planeBytes = new byte[count][];
+    planes.clear();
+    for (int i = 0; i < count; i++) {
+      planes.add(new HashMap<>());
+    }
+    allocationCount++;
+  }
+
+  // Avoids boxing a new Integer when the value did not change since the previous frame.
+  private static void putInt(Map<String, Object> map, String key, int value) {
+    Object current = map.get(key);
+    if (!(current instanceof Integer) || (Integer) current != value) {
+      map.put(key, value);
+    }
+  }
+
+  // Avoids boxing a new Double when the value did not change since the previous frame.
+  private static void putDouble(Map<String, Object> map, String key, double value) {
+    Object current = map.get(key);
+    if (!(current instanceof Double) || (Double) current != value) {
+      map.put(key, value);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+
+/**
+ * A fixed set of reusable {@link ImageStreamFrame} instances.
+ *
+ * <p>Frames are handed out by {@link #acquire()} and stay in use until they are handed back with
+ * {@link #release(ImageStreamFrame)}, usually once the Dart side has acknowledged them.
+ *
+ * <p>This class is not thread safe and should only be used from the camera background thread.
+ */
+public class ImageStreamFramePool {
+  private final ImageStreamFrame[] frames;
+  private final ArrayDeque<ImageStreamFrame> available;
+
+  /**
+   * Creates a new pool holding the supplied number of frames.
+   *
+   * @param size the number of frames in the pool.
+   */
+  public ImageStreamFramePool(int size) {
+    frames = new ImageStreamFrame[size];
+    available = new ArrayDeque<>(size);
+    for (int i = 0; i < size; i++) {
+      frames[i] = new ImageStreamFrame();
+      available.add(frames[i]);
+    }
+  }
+
+  /**
+   * Takes a free frame out of the pool.
+   *
+   * @return a free frame, or null when every frame is still in use.
+   */
+  @Nullable
+  public ImageStreamFrame acquire() {
+    return available.poll();
+  }
+
+  /**
+   * Returns a frame obtained from {@link #acquire()} to the pool.
+   *
+   * @param frame the frame to return.
+   */
+  public void release(@NonNull ImageStreamFrame frame) {
+    available.add(frame);
+  }
+
+  /** Returns every frame to the pool. */
+  public void releaseAll() {
+    available.clear();
+    for (ImageStreamFrame frame : frames) {
+      available.add(frame);
+    }
+  }
+
+  /** Returns the number of frames that are currently in use. */
+  public int getInFlightCount() {
+    return frames.length - available.size();
+  }
+
+  /** Returns the number of buffers allocated by all frames of this pool. */
+  public int getAllocationCount() {
+    int count = 0;
+    for (ImageStreamFrame frame : frames) {
+      count += frame.getAllocationCount();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,469 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.camera.processing.FrameProcessor;
+import io.flutter.plugins.camera.processing.FrameProcessorRegistry;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import io.flutter.plugins.camera.types.ImageStreamBackpressureStrategy;
+import io.flutter.plugins.camera.types.ImageStreamOptions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Wraps the {@link ImageReader} used for image streaming and forwards the frames it produces to the
+ * Dart side of the plugin.
+ *
+ * <p>When a backpressure strategy is configured, every frame sent to Dart consumes one in flight
+ * credit which is returned once Dart acknowledges the frame. Frames that arrive while no credit is
+ * available are handled according to the {@link ImageStreamBackpressureStrategy}.
+ */
+public class ImageStreamReader {
+  private static final String TAG = "ImageStreamReader";
+
+  /**
+   * The number of images the {@link ImageReader} of an image stream should be able to hold: one
+   * being held by the frame processors, one being acquired by the listener while they are busy, and
+   * one for {@link ImageReader#acquireLatestImage()} to skip stale images.
+   */
+  public static final int MAX_IMAGES = 3;
+
+  private final ImageReader imageReader;
+  /** A cached handler for the main thread, used to hand frames to the event sink. */
+  private final Handler mainHandler;
+  /** The worker running the frame processors, created when a stream first uses processors. */
+  @Nullable private ExecutorService frameProcessorExecutor;
+
+  private final Runnable deliverReadyFramesTask = this::deliverReadyFrames;
+  private final Runnable acknowledgeFrameTask = this::acknowledgeFrame;
+
+  @Nullable private volatile EventChannel.EventSink imageStreamSink;
+  @Nullable private Handler backgroundHandler;
+  @Nullable private ImageStreamFramePool framePool;
+  @Nullable private ArrayBlockingQueue<ImageStreamFrame> readyFrames;
+
+  // Only accessed from the camera background thread.
+  private ImageStreamBackpressureStrategy backpressureStrategy =
+      ImageStreamBackpressureStrategy.none;
+  private int maxInFlightFrames;
+  private int queueSize;
+  private ImageStreamOptions options = new ImageStreamOptions();
+  private long frameIntervalNs;
+  private long nextFrameTimestampNs;
+  private final ArrayDeque<ImageStreamFrame> inFlightFrames = new ArrayDeque<>();
+  private final ArrayDeque<ImageStreamFrame> waitingFrames = new ArrayDeque<>();
+  private final List<String> frameProcessorNames = new ArrayList<>();
+  private final List<FrameProcessor> frameProcessors = new ArrayList<>();
+  private boolean processingFrame;
+
+  // Written from a single thread each: delivered frames on the main thread, dropped frames on the
+  // camera background thread.
+  private volatile long deliveredFrameCount;
+  private volatile long droppedFrameCount;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamReader} class.
+   *
+   * @param imageReader the {@link ImageReader} that produces the streamed images.
+   * @param mainHandler a handler for the main thread.
+   */
+  @VisibleForTesting
+  public ImageStreamReader(@NonNull ImageReader imageReader, @NonNull Handler mainHandler) {
+    this(imageReader, mainHandler, null);
+  }
+
+  /**
+   * Creates a new instance of the {@link ImageStreamReader} class.
+   *
+   * @param imageReader the {@link ImageReader} that produces the streamed images.
+   * @param mainHandler a handler for the main thread.
+   * @param frameProcessorExecutor the worker running the frame processors, or null to create a
+   *     dedicated thread when needed.
+   */
+  @VisibleForTesting
+  public ImageStreamReader(
+      @NonNull ImageReader imageReader,
+      @NonNull Handler mainHandler,
+      @Nullable ExecutorService frameProcessorExecutor) {
+    this.imageReader = imageReader;
+    this.mainHandler = mainHandler;
+    this.frameProcessorExecutor = frameProcessorExecutor;
+  }
+
+  /**
+   * Creates a new instance of the {@link ImageStreamReader} class backed by a new {@link
+   * ImageReader}.
+   *
+   * @param width the width of the streamed images.
+   * @param height the height of the streamed images.
+   * @param imageFormat the {@link android.graphics.ImageFormat} of the streamed images.
+   * @param maxImages the maximum number of images that can be acquired at the same time.
+   */
+  public ImageStreamReader(int width, int height, int imageFormat, int maxImages) {
+    this(
+        ImageReader.newInstance(width, height, imageFormat, maxImages),
+        new Handler(Looper.getMainLooper()));
+  }
+
+  /** Returns the surface the camera should render streamed frames to. */
+  @NonNull
+  public Surface getSurface() {
+    return imageReader.getSurface();
+  }
+
+  /**
+   * Starts forwarding images to the supplied event sink.
+   *
+   * @param options the options controlling how frames are delivered.
+   * @param captureProps the capture properties that are sent along with each frame.
+   * @param imageStreamSink the event sink frames are sent to.
+   * @param handler the handler for the camera background thread.
+   */
+  public void subscribeListener(
+      @NonNull ImageStreamOptions options,
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull EventChannel.EventSink imageStreamSink,
+      @NonNull Handler handler) {
+    this.imageStreamSink = imageStreamSink;
+    this.backgroundHandler = handler;
+    backpressureStrategy = options.getBackpressureStrategy();
+    maxInFlightFrames = options.getMaxInFlightFrames();
+    queueSize = options.getQueueSize();
+    this.options = options;
+    double targetFrameRate = options.getTargetFrameRate();
+    frameIntervalNs = targetFrameRate > 0 ? (long) (1_000_000_000L / targetFrameRate) : 0;
+    nextFrameTimestampNs = 0;
+    inFlightFrames.clear();
+    waitingFrames.clear();
+    deliveredFrameCount = 0;
+    droppedFrameCount = 0;
+    processingFrame = false;
+
+    frameProcessorNames.clear();
+    frameProcessors.clear();
+    for (String name : options.getFrameProcessors()) {
+      FrameProcessor processor = FrameProcessorRegistry.get(name);
+      if (processor == null) {
+        Log.w(TAG, "No frame processor registered with name " + name + ", skipping it.");
+        continue;
+      }
+      frameProcessorNames.add(name);
+      frameProcessors.add(processor);
+    }
+
+    framePool =
+        options.getUsePooledBuffers()
+            ? new ImageStreamFramePool(options.getPooledBufferCount())
+            : null;
+    if (backpressureStrategy != ImageStreamBackpressureStrategy.none) {
+      readyFrames = new ArrayBlockingQueue<>(maxInFlightFrames);
+    } else if (framePool != null) {
+      readyFrames = new ArrayBlockingQueue<>(options.getPooledBufferCount());
+    } else {
+      readyFrames = null;
+    }
+
+    final boolean acquireLatest =
+        backpressureStrategy == ImageStreamBackpressureStrategy.latestOnly;
+    imageReader.setOnImageAvailableListener(
+        reader -> {
+          // Use acquireNextImage to handle every frame, unless only the latest frame is of
+          // interest.
+          Image image = acquireLatest ? reader.acquireLatestImage() : reader.acquireNextImage();
+          if (image == null) return;
+
+          onImageAvailable(image, captureProps);
+        },
+        handler);
+  }
+
+  /**
+   * Stops forwarding images.
+   *
+   * @param handler the handler for the camera background thread.
+   */
+  public void removeListener(@NonNull Handler handler) {
+    imageReader.setOnImageAvailableListener(null, handler);
+    imageStreamSink = null;
+    backgroundHandler = null;
+  }
+
+  /**
+   * Called on the main thread when the Dart side has finished handling a frame, which returns the
+   * in flight credit of that frame and allows its buffers to be reused.
+   */
+  public void onFrameAcknowledged() {
+    Handler handler = backgroundHandler;
+    if (handler != null) {
+      handler.post(acknowledgeFrameTask);
+    }
+  }
+
+  /** Returns the number of frames handed to the event sink since the stream was started. */
+  public long getDeliveredFrameCount() {
+    return deliveredFrameCount;
+  }
+
+  /** Returns the number of frames dropped since the stream was started. */
+  public long getDroppedFrameCount() {
+    return droppedFrameCount;
+  }
+
+  /**
+   * Copies the supplied image into a frame and posts it to the event sink on the main thread, or
+   * keeps it until Dart has the capacity to handle it.
+   *
+   * <p>Images arriving faster than the target frame rate are skipped without being copied. When
+   * frame processors are selected, the image is first handed to them on the frame processor worker,
+   * and copied once they are done. Images arriving while the processors are busy are dropped.
+   *
+   * <p>The image is always closed, either by this method or once the processors are done.
+   *
+   * @param image the image produced by the camera.
+   * @param captureProps the capture properties that are sent along with the frame.
+   */
+  @VisibleForTesting
+  public void onImageAvailable(
+      @NonNull Image image, @NonNull CameraCaptureProperties captureProps) {
+    if (frameIntervalNs > 0 && !isFrameDue(image.getTimestamp())) {
+      image.close();
+      return;
+    }
+
+    if (frameProcessors.isEmpty()) {
+      copyImage(image, captureProps);
+    } else {
+      processImage(image, captureProps);
+    }
+  }
+
+  /** Returns the frame pool, or null when pooled buffers are not in use. */
+  @VisibleForTesting
+  @Nullable
+  public ImageStreamFramePool getFramePool() {
+    return framePool;
+  }
+
+  /** Closes the underlying {@link ImageReader} and stops the frame processor worker. */
+  public void close() {
+    imageStreamSink = null;
+    imageReader.close();
+    if (frameProcessorExecutor != null) {
+      frameProcessorExecutor.shutdown();
+      frameProcessorExecutor = null;
+    }
+  }
+
+  private void processImage(@NonNull Image image, @NonNull CameraCaptureProperties captureProps) {
+    if (processingFrame) {
+      droppedFrameCount++;
+      image.close();
+      return;
+    }
+    processingFrame = true;
+
+    if (frameProcessorExecutor == null) {
+      frameProcessorExecutor =
+          Executors.newSingleThreadExecutor(
+              runnable -> new Thread(runnable, "CameraFrameProcessor"));
+    }
+    final Handler handler = backgroundHandler;
+    final EventChannel.EventSink sink = imageStreamSink;
+    final List<String> names = new ArrayList<>(frameProcessorNames);
+    final List<FrameProcessor> processors = new ArrayList<>(frameProcessors);
+    frameProcessorExecutor.execute(
+        () -> {
+          runFrameProcessors(image, names, processors, sink);
+          if (handler == null) {
+            image.close();
+            return;
+          }
+          handler.post(
+              () -> {
+                processingFrame = false;
+                copyImage(image, captureProps);
+              });
+        });
+  }
+
+  private void runFrameProcessors(
+      @NonNull Image image,
+      @NonNull List<String> names,
+      @NonNull List<FrameProcessor> processors,
+      @Nullable EventChannel.EventSink sink) {
+    long timestamp = image.getTimestamp();
+    for (int i = 0; i < processors.size(); i++) {
+      Map<String, Object> result;
+      try {
+        result = processors.get(i).process(image);
+      } catch (RuntimeException e) {
+        Log.e(TAG, "Frame processor " + names.get(i) + " failed.", e);
+        continue;
+      }
+      if (result == null || sink == null) {
+        continue;
+      }
+
+      final Map<String, Object> event = new HashMap<>();
+      event.put("processor", names.get(i));
+      event.put("timestamp", timestamp);
+      event.put("result", result);
+      mainHandler.post(() -> sink.success(event));
+    }
+  }
+
+  private void copyImage(@NonNull Image image, @NonNull CameraCaptureProperties captureProps) {
+    try {
+      if (!options.getSendFrames()) {
+        return;
+      }
+
+      if (readyFrames == null) {
+        ImageStreamFrame frame = new ImageStreamFrame();
+        frame.fill(image, captureProps, options);
+        final EventChannel.EventSink sink = imageStreamSink;
+        if (sink != null) {
+          mainHandler.post(
+              () -> {
+                sink.success(frame.getDescriptor());
+                deliveredFrameCount++;
+              });
+        }
+        return;
+      }
+
+      boolean hasCredit = hasInFlightCredit();
+      if (!hasCredit) {
+        switch (backpressureStrategy) {
+          case dropNewWhileBusy:
+            droppedFrameCount++;
+            return;
+          case boundedQueue:
+            if (waitingFrames.size() >= queueSize) {
+              droppedFrameCount++;
+              return;
+            }
+            break;
+          case latestOnly:
+            while (!waitingFrames.isEmpty()) {
+              releaseFrame(waitingFrames.poll());
+              droppedFrameCount++;
+            }
+            break;
+          case none:
+          default:
+            break;
+        }
+      }
+
+      ImageStreamFrame frame = framePool == null ? new ImageStreamFrame() : framePool.acquire();
+      if (frame == null) {
+        // Every buffer is still waiting to be acknowledged by Dart.
+        droppedFrameCount++;
+        return;
+      }
+      frame.fill(image, captureProps, options);
+      if (hasCredit) {
+        sendFrame(frame);
+      } else {
+        waitingFrames.add(frame);
+      }
+    } finally {
+      image.close();
+    }
+  }
+
+  /**
+   * Returns whether a frame with the supplied timestamp should be sent to honour the target frame
+   * rate.
+   *
+   * <p>The next due timestamp advances by a fixed interval rather than relative to the last sent
+   * frame, and frames arriving slightly early are accepted, so camera frame jitter does not lower
+   * the effective frame rate.
+   */
+  private boolean isFrameDue(long timestampNs) {
+    if (timestampNs < nextFrameTimestampNs - frameIntervalNs / 8) {
+      return false;
+    }
+    nextFrameTimestampNs += frameIntervalNs;
+    if (nextFrameTimestampNs <= timestampNs) {
+      nextFrameTimestampNs = timestampNs + frameIntervalNs;
+    }
+    return true;
+  }
+
+  private boolean hasInFlightCredit() {
+    return backpressureStrategy == ImageStreamBackpressureStrategy.none
+        || inFlightFrames.size() < maxInFlightFrames;
+  }
+
+  private void sendFrame(@NonNull ImageStreamFrame frame) {
+    if (readyFrames.offer(frame)) {
+      inFlightFrames.add(frame);
+      mainHandler.post(deliverReadyFramesTask);
+    } else {
+      Log.w(TAG, "Image stream frame queue is full, dropping frame.");
+      releaseFrame(frame);
+      droppedFrameCount++;
+    }
+  }
+
+  private void releaseFrame(@NonNull ImageStreamFrame frame) {
+    if (framePool != null) {
+      framePool.release(frame);
+    }
+  }
+
+  private void deliverReadyFrames() {
+    ArrayBlockingQueue<ImageStreamFrame> queue = readyFrames;
+    if (queue == null) {
+      return;
+    }
+
+    ImageStreamFrame frame;
+    while ((frame = queue.poll()) != null) {
+      EventChannel.EventSink sink = imageStreamSink;
+      if (sink == null) {
+        return;
+      }
+      // The message codec copies the frame while encoding it, so the frame is safe to reuse once
+      // Dart acknowledges it.
+      sink.success(frame.getDescriptor());
+      frame.markDelivered();
+      deliveredFrameCount++;
+    }
+  }
+
+  private void acknowledgeFrame() {
+    // Frames that have not yet been handed to the event sink are never released, which protects
+    // them from acknowledgements that belong to an earlier stream.
+    ImageStreamFrame frame = inFlightFrames.peek();
+    if (frame == null || !frame.isDelivered()) {
+      return;
+    }
+    releaseFrame(inFlightFrames.poll());
+
+    ImageStreamFrame waitingFrame = waitingFrames.peek();
+    if (waitingFrame != null && hasInFlightCredit()) {
+      sendFrame(waitingFrames.poll());
+    }
+  }
+}
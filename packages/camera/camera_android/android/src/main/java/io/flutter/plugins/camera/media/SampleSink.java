@@ -0,0 +1,31 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+
+/** Receives the output format and the encoded samples of a single encoder. */
+interface SampleSink {
+  /**
+   * Sets the output format of the encoder, before its first sample is written.
+   *
+   * @param format the output format of the encoder.
+   */
+  void setFormat(@NonNull MediaFormat format);
+
+  /**
+   * Writes an encoded sample. The sink does not keep a reference to the supplied buffer.
+   *
+   * @param buffer the encoded sample.
+   * @param info the size, flags and presentation time of the sample.
+   * @return true if the sample was kept, false if it was dropped.
+   * @throws InterruptedException when interrupted while waiting to write the sample.
+   */
+  boolean writeSample(@NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info)
+      throws InterruptedException;
+}
@@ -0,0 +1,47 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.MediaFormat;
+
+// Mirrors video_encoder_settings.dart
+public enum VideoCodec {
+  avc("avc", MediaFormat.MIMETYPE_VIDEO_AVC),
+  hevc("hevc", MediaFormat.MIMETYPE_VIDEO_HEVC);
+
+  private final String strValue;
+  private final String mimeType;
+
+  VideoCodec(String strValue, String mimeType) {
+    this.strValue = strValue;
+    this.mimeType = mimeType;
+  }
+
+  /**
+   * Tries to convert the supplied string into a {@see VideoCodec} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see VideoCodec} enum value, null is
+   * returned.
+   *
+   * @param codecStr String value to convert into an {@see VideoCodec} enum value.
+   * @return Matching {@see VideoCodec} enum value, or null if no match is found.
+   */
+  public static VideoCodec getValueForString(String codecStr) {
+    for (VideoCodec value : values()) {
+      if (value.strValue.equals(codecStr)) return value;
+    }
+    return null;
+  }
+
+  /** Gets the MIME type of the encoder for this codec. */
+  public String getMimeType() {
+    return mimeType;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The settings of a video recording encoded by a {@link CodecRecorder} instead of a {@link
+ * android.media.MediaRecorder}.
+ *
+ * <p>Values that are null are taken from the recording profile of the camera.
+ */
+public class VideoEncoderSettings {
+  @NonNull private VideoCodec codec = VideoCodec.avc;
+  @Nullable private Integer bitRate;
+  @Nullable private BitrateMode bitrateMode;
+  private float keyFrameIntervalSeconds = 1;
+  @Nullable private Integer width;
+  @Nullable private Integer height;
+  @Nullable private Integer frameRate;
+
+  /**
+   * Gets the codec of the recording.
+   *
+   * @return the codec, {@link VideoCodec#avc} by default.
+   */
+  @NonNull
+  public VideoCodec getCodec() {
+    return codec;
+  }
+
+  /**
+   * Sets the codec of the recording.
+   *
+   * @param codec - The codec of the recording.
+   */
+  public void setCodec(@NonNull VideoCodec codec) {
+    this.codec = codec;
+  }
+
+  /**
+   * Gets the target bitrate of the recording.
+   *
+   * @return the bitrate in bits per second, or null to use the bitrate of the recording profile.
+   */
+  @Nullable
+  public Integer getBitRate() {
+    return bitRate;
+  }
+
+  /**
+   * Sets the target bitrate of the recording.
+   *
+   * @param bitRate - The bitrate in bits per second, or null to use the bitrate of the recording
+   *     profile.
+   */
+  public void setBitRate(@Nullable Integer bitRate) {
+    this.bitRate = bitRate;
+  }
+
+  /**
+   * Gets the bitrate mode of the encoder.
+   *
+   * @return the bitrate mode, or null to use the default mode of the encoder.
+   */
+  @Nullable
+  public BitrateMode getBitrateMode() {
+    return bitrateMode;
+  }
+
+  /**
+   * Sets the bitrate mode of the encoder. Modes the encoder does not support are ignored.
+   *
+   * @param bitrateMode - The bitrate mode, or null to use the default mode of the encoder.
+   */
+  public void setBitrateMode(@Nullable BitrateMode bitrateMode) {
+    this.bitrateMode = bitrateMode;
+  }
+
+  /**
+   * Gets the time between two key frames of the recording.
+   *
+   * @return the key frame interval in seconds, 1 by default.
+   */
+  public float getKeyFrameIntervalSeconds() {
+    return keyFrameIntervalSeconds;
+  }
+
+  /**
+   * Sets the time between two key frames of the recording.
+   *
+   * @param keyFrameIntervalSeconds - The key frame interval in seconds.
+   */
+  public void setKeyFrameIntervalSeconds(float keyFrameIntervalSeconds) {
+    this.keyFrameIntervalSeconds = keyFrameIntervalSeconds;
+  }
+
+  /**
+   * Gets the width of the recording.
+   *
+   * @return the width in pixels, or null to use the width of the recording profile.
+   */
+  @Nullable
+  public Integer getWidth() {
+    return width;
+  }
+
+  /**
+   * Sets the width of the recording, which does not depend on the size of the preview.
+   *
+   * @param width - The width in pixels, or null to use the width of the recording profile.
+   */
+  public void setWidth(@Nullable Integer width) {
+    this.width = width;
+  }
+
+  /**
+   * Gets the height of the recording.
+   *
+   * @return the height in pixels, or null to use the height of the recording profile.
+   */
+  @Nullable
+  public Integer getHeight() {
+    return height;
+  }
+
+  /**
+   * Sets the height of the recording, which does not depend on the size of the preview.
+   *
+   * @param height - The height in pixels, or null to use the height of the recording profile.
+   */
+  public void setHeight(@Nullable Integer height) {
+    this.height = height;
+  }
+
+  /**
+   * Gets the frame rate the encoder is configured for.
+   *
+   * @return the frame rate, or null to use the frame rate of the recording profile.
+   */
+  @Nullable
+  public Integer getFrameRate() {
+    return frameRate;
+  }
+
+  /**
+   * Sets the frame rate the encoder is configured for.
+   *
+   * @param frameRate - The frame rate, or null to use the frame rate of the recording profile.
+   */
+  public void setFrameRate(@Nullable Integer frameRate) {
+    this.frameRate = frameRate;
+  }
+}
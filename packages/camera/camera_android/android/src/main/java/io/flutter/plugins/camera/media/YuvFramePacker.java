@@ -0,0 +1,173 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+
+/**
+ * Packs the planes of a YUV_420_888 image into a single contiguous NV21 or I420 buffer without row
+ * or pixel padding.
+ *
+ * <p>Rows are copied with bulk {@link ByteBuffer} reads. Interleaving chroma samples goes through
+ * row sized scratch arrays that are kept between calls, so packing images of the same size does not
+ * allocate.
+ *
+ * <p>This class is not thread safe.
+ */
+public class YuvFramePacker {
+  private byte[] uRow = new byte[0];
+  private byte[] vRow = new byte[0];
+
+  /**
+   * Returns the size of a packed image.
+   *
+   * @param width the width of the image, must be even.
+   * @param height the height of the image, must be even.
+   * @return the number of bytes of the packed image.
+   */
+  public static int getPackedSize(int width, int height) {
+    return width * height + width * height / 2;
+  }
+
+  /**
+   * Packs a region of a YUV_420_888 image into the NV21 layout.
+   *
+   * @param y the buffer of the Y plane.
+   * @param yRowStride the row stride of the Y plane.
+   * @param u the buffer of the U plane.
+   * @param v the buffer of the V plane.
+   * @param uvRowStride the row stride of the U and V planes.
+   * @param uvPixelStride the pixel stride of the U and V planes.
+   * @param left the left edge of the region, must be even.
+   * @param top the top edge of the region, must be even.
+   * @param width the width of the region, must be even.
+   * @param height the height of the region, must be even.
+   * @param dest the destination, at least {@link #getPackedSize(int, int)} bytes long.
+   */
+  public void packNv21(
+      @NonNull ByteBuffer y,
+      int yRowStride,
+      @NonNull ByteBuffer u,
+      @NonNull ByteBuffer v,
+      int uvRowStride,
+      int uvPixelStride,
+      int left,
+      int top,
+      int width,
+      int height,
+      @NonNull byte[] dest) {
+    int offset = copyLuma(y, yRowStride, left, top, width, height, dest);
+
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+    int rowLength = (chromaWidth - 1) * uvPixelStride + 1;
+    ensureRowCapacity(rowLength);
+    int uStart = u.position();
+    int vStart = v.position();
+    for (int row = 0; row < chromaHeight; row++) {
+      int rowOffset = (top / 2 + row) * uvRowStride + (left / 2) * uvPixelStride;
+      u.position(uStart + rowOffset);
+      u.get(uRow, 0, rowLength);
+      v.position(vStart + rowOffset);
+      v.get(vRow, 0, rowLength);
+      for (int column = 0, index = 0; column < chromaWidth; column++, index += uvPixelStride) {
+        dest[offset++] = vRow[index];
+        dest[offset++] = uRow[index];
+      }
+    }
+    u.position(uStart);
+    v.position(vStart);
+  }
+
+  /**
+   * Packs a region of a YUV_420_888 image into the I420 layout.
+   *
+   * @param y the buffer of the Y plane.
+   * @param yRowStride the row stride of the Y plane.
+   * @param u the buffer of the U plane.
+   * @param v the buffer of the V plane.
+   * @param uvRowStride the row stride of the U and V planes.
+   * @param uvPixelStride the pixel stride of the U and V planes.
+   * @param left the left edge of the region, must be even.
+   * @param top the top edge of the region, must be even.
+   * @param width the width of the region, must be even.
+   * @param height the height of the region, must be even.
+   * @param dest the destination, at least {@link #getPackedSize(int, int)} bytes long.
+   */
+  public void packI420(
+      @NonNull ByteBuffer y,
+      int yRowStride,
+      @NonNull ByteBuffer u,
+      @NonNull ByteBuffer v,
+      int uvRowStride,
+      int uvPixelStride,
+      int left,
+      int top,
+      int width,
+      int height,
+      @NonNull byte[] dest) {
+    int offset = copyLuma(y, yRowStride, left, top, width, height, dest);
+    offset = copyChroma(u, uvRowStride, uvPixelStride, left, top, width, height, dest, offset);
+    copyChroma(v, uvRowStride, uvPixelStride, left, top, width, height, dest, offset);
+  }
+
+  private static int copyLuma(
+      ByteBuffer y, int rowStride, int left, int top, int width, int height, byte[] dest) {
+    int start = y.position();
+    if (rowStride == width && left == 0) {
+      y.position(start + top * rowStride);
+      y.get(dest, 0, width * height);
+    } else {
+      for (int row = 0; row < height; row++) {
+        y.position(start + (top + row) * rowStride + left);
+        y.get(dest, row * width, width);
+      }
+    }
+    y.position(start);
+    return width * height;
+  }
+
+  private int copyChroma(
+      ByteBuffer buffer,
+      int rowStride,
+      int pixelStride,
+      int left,
+      int top,
+      int width,
+      int height,
+      byte[] dest,
+      int offset) {
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+    int start = buffer.position();
+    if (pixelStride == 1) {
+      for (int row = 0; row < chromaHeight; row++) {
+        buffer.position(start + (top / 2 + row) * rowStride + left / 2);
+        buffer.get(dest, offset, chromaWidth);
+        offset += chromaWidth;
+      }
+    } else {
+      int rowLength = (chromaWidth - 1) * pixelStride + 1;
+      ensureRowCapacity(rowLength);
+      for (int row = 0; row < chromaHeight; row++) {
+        buffer.position(start + (top / 2 + row) * rowStride + (left / 2) * pixelStride);
+        buffer.get(uRow, 0, rowLength);
+        for (int index = 0; index < rowLength; index += pixelStride) {
+          dest[offset++] = uRow[index];
+        }
+      }
+    }
+    buffer.position(start);
+    return offset;
+  }
+
+  private void ensureRowCapacity(int rowLength) {
+    if (uRow.length < rowLength) {
+      uRow = new byte[rowLength];
+      vRow = new byte[rowLength];
+    }
+  }
+}
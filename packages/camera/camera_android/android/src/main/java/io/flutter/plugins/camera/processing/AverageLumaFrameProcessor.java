@@ -0,0 +1,54 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.processing;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A sample {@link FrameProcessor} that reports the average brightness of YUV frames.
+ *
+ * <p>Only every {@link #SAMPLE_STEP}th pixel of every {@link #SAMPLE_STEP}th row of the Y plane is
+ * read, which keeps the cost per frame small even for large preview sizes.
+ */
+public class AverageLumaFrameProcessor implements FrameProcessor {
+  /** The distance between the sampled rows and columns. */
+  public static final int SAMPLE_STEP = 8;
+
+  @Nullable
+  @Override
+  public Map<String, Object> process(@NonNull Image image) {
+    if (image.getFormat() != ImageFormat.YUV_420_888) {
+      return null;
+    }
+
+    Image.Plane plane = image.getPlanes()[0];
+    ByteBuffer buffer = plane.getBuffer();
+    int start = buffer.position();
+    int rowStride = plane.getRowStride();
+    int pixelStride = plane.getPixelStride();
+    int width = image.getWidth();
+    int height = image.getHeight();
+
+    long sum = 0;
+    int count = 0;
+    for (int row = 0; row < height; row += SAMPLE_STEP) {
+      int rowOffset = start + row * rowStride;
+      for (int column = 0; column < width; column += SAMPLE_STEP) {
+        sum += buffer.get(rowOffset + column * pixelStride) & 0xFF;
+        count++;
+      }
+    }
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("averageLuma", count == 0 ? 0.0 : (double) sum / count);
+    return result;
+  }
+}
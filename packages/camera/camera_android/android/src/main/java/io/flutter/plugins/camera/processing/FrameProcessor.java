@@ -0,0 +1,32 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.processing;
+
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Analyses the frames of the image stream natively, before any pixel data is copied to the Dart
+ * side of the plugin.
+ *
+ * <p>Processors are registered with {@link FrameProcessorRegistry} and selected by name when the
+ * image stream is started. They are called on a dedicated worker thread, one frame at a time.
+ */
+public interface FrameProcessor {
+  /**
+   * Analyses a single frame.
+   *
+   * <p>The image is only valid for the duration of this call and must not be closed by the
+   * processor.
+   *
+   * @param image the frame produced by the camera.
+   * @return a small result that is sent to Dart, or null when there is nothing to report. The
+   *     values must be supported by the {@link io.flutter.plugin.common.StandardMessageCodec}.
+   */
+  @Nullable
+  Map<String, Object> process(@NonNull Image image);
+}
@@ -0,0 +1,63 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.processing;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link FrameProcessor} instances that can be selected by name when the image stream is
+ * started.
+ *
+ * <p>Other plugins or the host app register their processors, typically when they are attached to
+ * the Flutter engine. A {@link AverageLumaFrameProcessor} is registered under {@link #AVERAGE_LUMA}
+ * by default.
+ */
+public final class FrameProcessorRegistry {
+  /** The name of the built-in {@link AverageLumaFrameProcessor}. */
+  public static final String AVERAGE_LUMA = "averageLuma";
+
+  private static final Map<String, FrameProcessor> processors = new ConcurrentHashMap<>();
+
+  static {
+    processors.put(AVERAGE_LUMA, new AverageLumaFrameProcessor());
+  }
+
+  private FrameProcessorRegistry() {}
+
+  /**
+   * Registers a processor, replacing any processor previously registered with the same name.
+   *
+   * @param name the name Dart uses to select the processor.
+   * @param processor the processor.
+   */
+  public static void register(@NonNull String name, @NonNull FrameProcessor processor) {
+    processors.put(name, processor);
+  }
+
+  /**
+   * Removes the processor registered with the supplied name.
+   *
+   * <p>Image streams that are already running keep using the processor until they are restarted.
+   *
+   * @param name the name of the processor.
+   */
+  public static void unregister(@NonNull String name) {
+    processors.remove(name);
+  }
+
+  /**
+   * Returns the processor registered with the supplied name.
+   *
+   * @param name the name of the processor.
+   * @return the processor, or null if no processor is registered with that name.
+   */
+  @Nullable
+  public static FrameProcessor get(@NonNull String name) {
+    return processors.get(name);
+  }
+}
@@ -0,0 +1,46 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+// Mirrors AndroidImageStreamBackpressureStrategy in image_stream_options.dart
+public enum ImageStreamBackpressureStrategy {
+  /** Every frame is sent to Dart, regardless of how many frames are still being handled. */
+  none("none"),
+  /** Only the most recent frame is kept while Dart is busy, older waiting frames are dropped. */
+  latestOnly("latestOnly"),
+  /** New frames are dropped while Dart is busy. */
+  dropNewWhileBusy("dropNewWhileBusy"),
+  /** Frames are queued while Dart is busy, new frames are dropped once the queue is full. */
+  boundedQueue("boundedQueue");
+
+  private final String strValue;
+
+  ImageStreamBackpressureStrategy(String strValue) {
+    this.strValue = strValue;
+  }
+
+  /**
+   * Tries to convert the supplied string into an {@see ImageStreamBackpressureStrategy} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see ImageStreamBackpressureStrategy} enum
+   * value, null is returned.
+   *
+   * @param strategyStr String value to convert into an {@see ImageStreamBackpressureStrategy} enum
+   *     value.
+   * @return Matching {@see ImageStreamBackpressureStrategy} enum value, or null if no match is
+   *     found.
+   */
+  public static ImageStreamBackpressureStrategy getValueForString(String strategyStr) {
+    for (ImageStreamBackpressureStrategy value : values()) {
+      if (value.strValue.equals(strategyStr)) return value;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
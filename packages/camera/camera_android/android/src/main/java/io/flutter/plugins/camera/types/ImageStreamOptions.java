@@ -0,0 +1,304 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Holds the options that control how frames are delivered by the image stream. */
+public class ImageStreamOptions {
+  /** The number of reusable frame buffers used when pooled buffers are enabled. */
+  public static final int DEFAULT_POOLED_BUFFER_COUNT = 3;
+  /** The number of frames Dart may be handling at the same time when backpressure is applied. */
+  public static final int DEFAULT_MAX_IN_FLIGHT_FRAMES = 1;
+  /** The number of frames waiting for Dart when the bounded queue strategy is used. */
+  public static final int DEFAULT_QUEUE_SIZE = 2;
+  /** A plane mask selecting every plane of the streamed images. */
+  public static final int ALL_PLANES = ~0;
+  /** A plane mask selecting only the luma (Y) plane of YUV images. */
+  public static final int LUMA_PLANE = 1;
+
+  private boolean usePooledBuffers;
+  private int pooledBufferCount = DEFAULT_POOLED_BUFFER_COUNT;
+  private ImageStreamBackpressureStrategy backpressureStrategy =
+      ImageStreamBackpressureStrategy.none;
+  private int maxInFlightFrames = DEFAULT_MAX_IN_FLIGHT_FRAMES;
+  private int queueSize = DEFAULT_QUEUE_SIZE;
+  private double targetFrameRate;
+  private int planeMask = ALL_PLANES;
+  private ImageStreamOutputLayout outputLayout = ImageStreamOutputLayout.planes;
+  private List<String> frameProcessors = Collections.emptyList();
+  private boolean sendFrames = true;
+  private boolean hasCropRegion;
+  private int cropLeft;
+  private int cropTop;
+  private int cropWidth;
+  private int cropHeight;
+
+  /**
+   * Gets whether frames are copied into a fixed set of reusable buffers.
+   *
+   * @return true if pooled buffers are used, false if every frame allocates its own buffers.
+   */
+  public boolean getUsePooledBuffers() {
+    return usePooledBuffers;
+  }
+
+  /**
+   * Sets whether frames are copied into a fixed set of reusable buffers.
+   *
+   * <p>Pooled buffers are only recycled once the Dart side has acknowledged the frame that used
+   * them. Frames arriving while all buffers are in use are dropped.
+   *
+   * @param usePooledBuffers - true to use pooled buffers.
+   */
+  public void setUsePooledBuffers(boolean usePooledBuffers) {
+    this.usePooledBuffers = usePooledBuffers;
+  }
+
+  /**
+   * Gets the number of reusable frame buffers used when pooled buffers are enabled.
+   *
+   * @return the number of reusable frame buffers.
+   */
+  public int getPooledBufferCount() {
+    return pooledBufferCount;
+  }
+
+  /**
+   * Sets the number of reusable frame buffers used when pooled buffers are enabled.
+   *
+   * @param pooledBufferCount - The number of reusable frame buffers, must be at least 1.
+   */
+  public void setPooledBufferCount(int pooledBufferCount) {
+    if (pooledBufferCount < 1) {
+      throw new IllegalArgumentException("pooledBufferCount must be at least 1.");
+    }
+    this.pooledBufferCount = pooledBufferCount;
+  }
+
+  /**
+   * Gets the strategy applied to new frames while Dart is still handling earlier frames.
+   *
+   * @return the backpressure strategy.
+   */
+  public ImageStreamBackpressureStrategy getBackpressureStrategy() {
+    return backpressureStrategy;
+  }
+
+  /**
+   * Sets the strategy applied to new frames while Dart is still handling earlier frames.
+   *
+   * @param backpressureStrategy - The backpressure strategy.
+   */
+  public void setBackpressureStrategy(ImageStreamBackpressureStrategy backpressureStrategy) {
+    this.backpressureStrategy = backpressureStrategy;
+  }
+
+  /**
+   * Gets the number of frames Dart may be handling at the same time.
+   *
+   * <p>Each frame sent to Dart consumes one credit, which is returned when Dart acknowledges the
+   * frame. This value is ignored when the backpressure strategy is {@link
+   * ImageStreamBackpressureStrategy#none}.
+   *
+   * @return the number of in flight frames.
+   */
+  public int getMaxInFlightFrames() {
+    return maxInFlightFrames;
+  }
+
+  /**
+   * Sets the number of frames Dart may be handling at the same time.
+   *
+   * @param maxInFlightFrames - The number of in flight frames, must be at least 1.
+   */
+  public void setMaxInFlightFrames(int maxInFlightFrames) {
+    if (maxInFlightFrames < 1) {
+      throw new IllegalArgumentException("maxInFlightFrames must be at least 1.");
+    }
+    this.maxInFlightFrames = maxInFlightFrames;
+  }
+
+  /**
+   * Gets the number of frames that wait for Dart when the backpressure strategy is {@link
+   * ImageStreamBackpressureStrategy#boundedQueue}.
+   *
+   * @return the size of the queue.
+   */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /**
+   * Sets the number of frames that wait for Dart when the backpressure strategy is {@link
+   * ImageStreamBackpressureStrategy#boundedQueue}.
+   *
+   * @param queueSize - The size of the queue, must be at least 1.
+   */
+  public void setQueueSize(int queueSize) {
+    if (queueSize < 1) {
+      throw new IllegalArgumentException("queueSize must be at least 1.");
+    }
+    this.queueSize = queueSize;
+  }
+
+  /**
+   * Gets the maximum number of frames per second that are sent to Dart.
+   *
+   * @return the target frame rate, or 0 if every frame produced by the camera is sent.
+   */
+  public double getTargetFrameRate() {
+    return targetFrameRate;
+  }
+
+  /**
+   * Sets the maximum number of frames per second that are sent to Dart.
+   *
+   * <p>Frames are skipped in the image reader listener, before any pixel data is copied.
+   *
+   * @param targetFrameRate - The target frame rate, or 0 to send every frame.
+   */
+  public void setTargetFrameRate(double targetFrameRate) {
+    if (targetFrameRate < 0) {
+      throw new IllegalArgumentException("targetFrameRate must not be negative.");
+    }
+    this.targetFrameRate = targetFrameRate;
+  }
+
+  /**
+   * Gets the mask of image planes that are sent to Dart.
+   *
+   * @return a bit mask in which bit n selects plane n.
+   */
+  public int getPlaneMask() {
+    return planeMask;
+  }
+
+  /**
+   * Sets the mask of image planes that are sent to Dart.
+   *
+   * @param planeMask - A bit mask in which bit n selects plane n, for example {@link #LUMA_PLANE}.
+   */
+  public void setPlaneMask(int planeMask) {
+    if (planeMask == 0) {
+      throw new IllegalArgumentException("planeMask must select at least one plane.");
+    }
+    this.planeMask = planeMask;
+  }
+
+  /** Returns true when only a region of each streamed image is sent to Dart. */
+  public boolean hasCropRegion() {
+    return hasCropRegion;
+  }
+
+  /** Gets the left edge of the crop region, in pixels of the full image. */
+  public int getCropLeft() {
+    return cropLeft;
+  }
+
+  /** Gets the top edge of the crop region, in pixels of the full image. */
+  public int getCropTop() {
+    return cropTop;
+  }
+
+  /** Gets the width of the crop region, in pixels of the full image. */
+  public int getCropWidth() {
+    return cropWidth;
+  }
+
+  /** Gets the height of the crop region, in pixels of the full image. */
+  public int getCropHeight() {
+    return cropHeight;
+  }
+
+  /**
+   * Sets the region of each YUV image that is sent to Dart.
+   *
+   * <p>Only the rows and columns inside the region are copied. The region is clamped to the image
+   * bounds and aligned to the chroma subsampling of the image. Images in other formats are sent in
+   * full.
+   *
+   * @param left - The left edge of the region.
+   * @param top - The top edge of the region.
+   * @param width - The width of the region, must be at least 1.
+   * @param height - The height of the region, must be at least 1.
+   */
+  public void setCropRegion(int left, int top, int width, int height) {
+    if (left < 0 || top < 0 || width < 1 || height < 1) {
+      throw new IllegalArgumentException("The crop region must be a non-empty, positive region.");
+    }
+    this.hasCropRegion = true;
+    this.cropLeft = left;
+    this.cropTop = top;
+    this.cropWidth = width;
+    this.cropHeight = height;
+  }
+
+  /**
+   * Gets the layout in which the pixel data of each frame is sent to Dart.
+   *
+   * @return the output layout.
+   */
+  public ImageStreamOutputLayout getOutputLayout() {
+    return outputLayout;
+  }
+
+  /**
+   * Sets the layout in which the pixel data of each frame is sent to Dart.
+   *
+   * <p>The packed layouts only apply to YUV_420_888 images and ignore the plane mask. JPEG images
+   * already consist of a single contiguous plane and, like images in any other format, are sent
+   * unchanged.
+   *
+   * @param outputLayout - The output layout.
+   */
+  public void setOutputLayout(ImageStreamOutputLayout outputLayout) {
+    this.outputLayout = outputLayout;
+  }
+
+  /**
+   * Gets the names of the frame processors that analyse each frame.
+   *
+   * @return the names of the frame processors, in the order in which they run.
+   */
+  @NonNull
+  public List<String> getFrameProcessors() {
+    return frameProcessors;
+  }
+
+  /**
+   * Sets the names of the frame processors that analyse each frame.
+   *
+   * <p>The processors must be registered with {@link
+   * io.flutter.plugins.camera.processing.FrameProcessorRegistry}. They run on a dedicated worker
+   * before the frame is copied, and only their results are sent to Dart.
+   *
+   * @param frameProcessors - The names of the frame processors, in the order in which they run.
+   */
+  public void setFrameProcessors(@NonNull List<String> frameProcessors) {
+    this.frameProcessors = new ArrayList<>(frameProcessors);
+  }
+
+  /**
+   * Gets whether the pixel data of each frame is sent to Dart.
+   *
+   * @return true if frames are sent, false if only frame processor results are sent.
+   */
+  public boolean getSendFrames() {
+    return sendFrames;
+  }
+
+  /**
+   * Sets whether the pixel data of each frame is sent to Dart.
+   *
+   * @param sendFrames - false to only send the results of the frame processors.
+   */
+  public void setSendFrames(boolean sendFrames) {
+    this.sendFrames = sendFrames;
+  }
+}
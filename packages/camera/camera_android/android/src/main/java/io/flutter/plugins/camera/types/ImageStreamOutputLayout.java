@@ -0,0 +1,42 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+// Mirrors AndroidImageStreamOutputLayout in image_stream_options.dart
+public enum ImageStreamOutputLayout {
+  /** Every plane is sent separately, together with its row and pixel stride. */
+  planes("planes"),
+  /** YUV images are packed into a single NV21 buffer: the Y plane followed by interleaved VU. */
+  nv21("nv21"),
+  /** YUV images are packed into a single I420 buffer: the Y plane, the U plane, the V plane. */
+  i420("i420");
+
+  private final String strValue;
+
+  ImageStreamOutputLayout(String strValue) {
+    this.strValue = strValue;
+  }
+
+  /**
+   * Tries to convert the supplied string into an {@see ImageStreamOutputLayout} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see ImageStreamOutputLayout} enum value,
+   * null is returned.
+   *
+   * @param layoutStr String value to convert into an {@see ImageStreamOutputLayout} enum value.
+   * @return Matching {@see ImageStreamOutputLayout} enum value, or null if no match is found.
+   */
+  public static ImageStreamOutputLayout getValueForString(String layoutStr) {
+    for (ImageStreamOutputLayout value : values()) {
+      if (value.strValue.equals(layoutStr)) return value;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
@@ -0,0 +1,164 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import android.media.ImageReader;
+import io.flutter.plugin.common.MethodChannel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BurstCaptureTest {
+  @Rule public TemporaryFolder outputDir = new TemporaryFolder();
+
+  private ImageReader mockImageReader;
+  private DartMessenger mockDartMessenger;
+  private MethodChannel.Result mockResult;
+  private List<Runnable> queuedSaves;
+  private Executor queueingExecutor;
+
+  @Before
+  public void setUp() {
+    mockImageReader = mock(ImageReader.class);
+    mockDartMessenger = mock(DartMessenger.class);
+    mockResult = mock(MethodChannel.Result.class);
+    queuedSaves = new ArrayList<>();
+    queueingExecutor = queuedSaves::add;
+  }
+
+  @Test
+  public void onImageAvailable_savesEveryFrameAndReportsEachOne() throws IOException {
+    BurstCapture burst = createBurst(2);
+    Image firstImage = createJpegImage(new byte[] {0x01, 0x02});
+    Image secondImage = createJpegImage(new byte[] {0x03});
+    when(mockImageReader.acquireNextImage()).thenReturn(firstImage, secondImage);
+
+    burst.onImageAvailable(mockImageReader);
+    burst.onImageAvailable(mockImageReader);
+
+    // Nothing is written on the camera background thread.
+    verify(firstImage, never()).getPlanes();
+    assertEquals(2, queuedSaves.size());
+
+    // Frames are reported in the order their saves finish.
+    queuedSaves.get(1).run();
+    ArgumentCaptor<String> firstPath = ArgumentCaptor.forClass(String.class);
+    verify(mockDartMessenger, times(1)).sendBurstFrameEvent(eq(0), firstPath.capture(), isNull());
+    verify(mockDartMessenger, never()).finish(any(), any());
+    assertArrayEquals(
+        new byte[] {0x03}, Files.readAllBytes(new File(firstPath.getValue()).toPath()));
+
+    queuedSaves.get(0).run();
+    ArgumentCaptor<String> secondPath = ArgumentCaptor.forClass(String.class);
+    verify(mockDartMessenger, times(1)).sendBurstFrameEvent(eq(1), secondPath.capture(), isNull());
+    assertArrayEquals(
+        new byte[] {0x01, 0x02}, Files.readAllBytes(new File(secondPath.getValue()).toPath()));
+
+    List<String> expectedPaths = new ArrayList<>();
+    expectedPaths.add(firstPath.getValue());
+    expectedPaths.add(secondPath.getValue());
+    InOrder inOrder = inOrder(mockDartMessenger);
+    inOrder.verify(mockDartMessenger).sendBurstFrameEvent(eq(1), any(), isNull());
+    inOrder.verify(mockDartMessenger).finish(mockResult, expectedPaths);
+    verify(firstImage, times(1)).close();
+    verify(secondImage, times(1)).close();
+  }
+
+  @Test
+  public void onCaptureFailed_reportsFailedFrameAndStillCompletes() {
+    BurstCapture burst = createBurst(2);
+    Image image = createJpegImage(new byte[] {0x01});
+    when(mockImageReader.acquireNextImage()).thenReturn(image);
+
+    burst.onCaptureFailed();
+    burst.onImageAvailable(mockImageReader);
+    queuedSaves.get(0).run();
+
+    verify(mockDartMessenger, times(1))
+        .sendBurstFrameEvent(eq(0), isNull(), eq("Failed capturing burst frame"));
+    ArgumentCaptor<String> path = ArgumentCaptor.forClass(String.class);
+    verify(mockDartMessenger, times(1)).sendBurstFrameEvent(eq(1), path.capture(), isNull());
+    List<String> expectedPaths = new ArrayList<>();
+    expectedPaths.add(path.getValue());
+    verify(mockDartMessenger, times(1)).finish(mockResult, expectedPaths);
+  }
+
+  @Test
+  public void onImageAvailable_closesImagesBeyondTheBurst() {
+    BurstCapture burst = createBurst(1);
+    Image burstImage = createJpegImage(new byte[] {0x01});
+    Image extraImage = createJpegImage(new byte[] {0x02});
+    when(mockImageReader.acquireNextImage()).thenReturn(burstImage, extraImage);
+
+    burst.onImageAvailable(mockImageReader);
+    burst.onImageAvailable(mockImageReader);
+
+    assertEquals(1, queuedSaves.size());
+    verify(extraImage, times(1)).close();
+    verify(extraImage, never()).getPlanes();
+  }
+
+  @Test
+  public void onImageAvailable_reportsFramesThatCannotBeSaved() {
+    File missingDir = new File(outputDir.getRoot(), "missing");
+    BurstCapture burst =
+        new BurstCapture(1, missingDir, false, queueingExecutor, mockDartMessenger, mockResult);
+    Image image = createJpegImage(new byte[] {0x01});
+    when(mockImageReader.acquireNextImage()).thenReturn(image);
+
+    burst.onImageAvailable(mockImageReader);
+    queuedSaves.get(0).run();
+
+    ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+    verify(mockDartMessenger, times(1)).sendBurstFrameEvent(eq(0), isNull(), error.capture());
+    assertNotNull(error.getValue());
+    verify(mockDartMessenger, times(1)).finish(mockResult, new ArrayList<String>());
+    verify(image, times(1)).close();
+    verify(mockDartMessenger, never()).sendBurstFrameEvent(anyInt(), any(String.class), any());
+    assertNull(missingDir.listFiles());
+  }
+
+  private BurstCapture createBurst(int frameCount) {
+    return new BurstCapture(
+        frameCount, outputDir.getRoot(), false, queueingExecutor, mockDartMessenger, mockResult);
+  }
+
+  private static Image createJpegImage(byte[] bytes) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(ByteBuffer.wrap(bytes));
+    Image image = mock(Image.class);
+    when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return image;
+  }
+}
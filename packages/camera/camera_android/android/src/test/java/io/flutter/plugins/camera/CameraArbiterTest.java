@@ -0,0 +1,69 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class CameraArbiterTest {
+  @Test
+  public void canOpen_allowsFirstCameraWithoutConcurrentSupport() {
+    CameraArbiter arbiter = new CameraArbiter(null);
+
+    assertTrue(arbiter.canOpen(Collections.emptyList(), "0"));
+    assertFalse(arbiter.canOpen(Collections.singletonList("0"), "1"));
+  }
+
+  @Test
+  public void canOpen_allowsCamerasOfReportedCombination() {
+    CameraArbiter arbiter = new CameraArbiter(combinations(Arrays.asList("0", "1")));
+
+    assertTrue(arbiter.canOpen(Collections.singletonList("0"), "1"));
+    assertTrue(arbiter.canOpen(Collections.singletonList("1"), "0"));
+    assertFalse(arbiter.canOpen(Collections.singletonList("0"), "2"));
+  }
+
+  @Test
+  public void canOpen_rejectsCombinationBeyondConcurrentCameraLimit() {
+    CameraArbiter arbiter =
+        new CameraArbiter(combinations(Arrays.asList("0", "1"), Arrays.asList("0", "2")));
+
+    assertFalse(arbiter.canOpen(Arrays.asList("0", "1"), "2"));
+  }
+
+  @Test
+  public void canOpen_rejectsCameraThatIsAlreadyOpen() {
+    CameraArbiter arbiter = new CameraArbiter(combinations(Arrays.asList("0", "1")));
+
+    assertFalse(arbiter.canOpen(Collections.singletonList("0"), "0"));
+  }
+
+  @Test
+  public void getConcurrentCameraNames_listsReportedCombinations() {
+    CameraArbiter arbiter = new CameraArbiter(combinations(Collections.singletonList("0")));
+
+    List<List<String>> names = arbiter.getConcurrentCameraNames();
+
+    assertEquals(Collections.singletonList(Collections.singletonList("0")), names);
+    assertTrue(new CameraArbiter(null).getConcurrentCameraNames().isEmpty());
+  }
+
+  @SafeVarargs
+  private static Set<Set<String>> combinations(List<String>... cameraNames) {
+    Set<Set<String>> combinations = new HashSet<>();
+    for (List<String> names : cameraNames) {
+      combinations.add(new HashSet<>(names));
+    }
+    return combinations;
+  }
+}
@@ -4,6 +4,8 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -11,6 +13,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import android.hardware.camera2.CameraCaptureSession;
@@ -19,21 +22,24 @@ import android.hardware.camera2.CaptureResult;
 import android.hardware.camera2.TotalCaptureResult;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
 
 @RunWith(RobolectricTestRunner.class)
 public class CameraCaptureCallbackTest {
 
   private CameraCaptureCallback cameraCaptureCallback;
+  private CameraCaptureCallback.CameraCaptureStateListener mockCaptureStateListener;
   private CameraCaptureProperties mockCaptureProps;
 
   @Before
   public void setUp() {
-    CameraCaptureCallback.CameraCaptureStateListener mockCaptureStateListener =
-        mock(CameraCaptureCallback.CameraCaptureStateListener.class);
+    mockCaptureStateListener = mock(CameraCaptureCallback.CameraCaptureStateListener.class);
     CaptureTimeoutsWrapper mockCaptureTimeouts = mock(CaptureTimeoutsWrapper.class);
     mockCaptureProps = mock(CameraCaptureProperties.class);
     cameraCaptureCallback =
@@ -62,6 +68,7 @@ public class CameraCaptureCallbackTest {
     when(mockResult.get(CaptureResult.LENS_APERTURE)).thenReturn(1.0f);
     when(mockResult.get(CaptureResult.SENSOR_EXPOSURE_TIME)).thenReturn(2L);
     when(mockResult.get(CaptureResult.SENSOR_SENSITIVITY)).thenReturn(3);
+    cameraCaptureCallback.setCapturePropertiesEnabled(true);
 
     cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
 
@@ -69,4 +76,86 @@ public class CameraCaptureCallbackTest {
     verify(mockCaptureProps, times(1)).setLastSensorExposureTime(2L);
     verify(mockCaptureProps, times(1)).setLastSensorSensitivity(3);
   }
+
+  @Test
+  public void onCaptureCompleted_notifiesListener() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockCaptureStateListener, times(1)).onCaptureCompleted();
+  }
+
+  @Test
+  public void onCaptureProgressed_doesNotNotifyListenerOfCompletedCapture() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    CaptureResult mockResult = mock(CaptureResult.class);
+
+    cameraCaptureCallback.onCaptureProgressed(mockSession, mockRequest, mockResult);
+
+    verify(mockCaptureStateListener, never()).onCaptureCompleted();
+  }
+
+  @Test
+  public void onCaptureCompleted_doesNotReadResultInPreviewState() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verifyNoInteractions(mockResult);
+    verifyNoInteractions(mockCaptureProps);
+  }
+
+  @Test
+  public void onCaptureCompleted_sendsFrameMetadataOnceStarted() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    cameraCaptureCallback.startFrameMetadata(0);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, Object>> metadataCaptor = ArgumentCaptor.forClass(Map.class);
+    verify(mockCaptureStateListener, times(2)).onFrameMetadata(metadataCaptor.capture());
+    Map<String, Object> metadata = metadataCaptor.getValue();
+    assertTrue(metadata.containsKey("sensorTimestamp"));
+    assertTrue(metadata.containsKey("sensorExposureTime"));
+    assertTrue(metadata.containsKey("sensorSensitivity"));
+    assertTrue(metadata.containsKey("lensFocusDistance"));
+    assertTrue(metadata.containsKey("aeState"));
+    assertTrue(metadata.containsKey("afState"));
+  }
+
+  @Test
+  public void onCaptureCompleted_limitsFrameMetadataRate() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    cameraCaptureCallback.startFrameMetadata(TimeUnit.HOURS.toNanos(1));
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockCaptureStateListener, times(1)).onFrameMetadata(any());
+  }
+
+  @Test
+  public void onCaptureCompleted_doesNotSendFrameMetadataOnceStopped() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    cameraCaptureCallback.startFrameMetadata(0);
+    cameraCaptureCallback.stopFrameMetadata();
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockCaptureStateListener, never()).onFrameMetadata(any());
+  }
 }
@@ -0,0 +1,151 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.media.CamcorderProfile;
+import android.os.Handler;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CameraInfoCacheTest {
+  private CameraManager mockCameraManager;
+  private CameraCharacteristics mockBackCharacteristics;
+  private CameraCharacteristics mockExternalCharacteristics;
+  private CameraInfoCache cache;
+
+  @Before
+  public void before() throws CameraAccessException {
+    mockCameraManager = mock(CameraManager.class);
+    mockBackCharacteristics = mock(CameraCharacteristics.class);
+    mockExternalCharacteristics = mock(CameraCharacteristics.class);
+    when(mockBackCharacteristics.get(CameraCharacteristics.LENS_FACING))
+        .thenReturn(CameraMetadata.LENS_FACING_BACK);
+    when(mockExternalCharacteristics.get(CameraCharacteristics.LENS_FACING))
+        .thenReturn(CameraMetadata.LENS_FACING_EXTERNAL);
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0", "2"});
+    when(mockCameraManager.getCameraCharacteristics("0")).thenReturn(mockBackCharacteristics);
+    when(mockCameraManager.getCameraCharacteristics("2")).thenReturn(mockExternalCharacteristics);
+    cache = new CameraInfoCache();
+  }
+
+  @Test
+  public void getCameraCharacteristics_fetchesEachCameraOnce() throws CameraAccessException {
+    assertSame(mockBackCharacteristics, cache.getCameraCharacteristics(mockCameraManager, "0"));
+    assertSame(mockBackCharacteristics, cache.getCameraCharacteristics(mockCameraManager, "0"));
+    assertSame(mockExternalCharacteristics, cache.getCameraCharacteristics(mockCameraManager, "2"));
+
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("2");
+  }
+
+  @Test
+  public void getCameraIdList_fetchesListOnce() throws CameraAccessException {
+    assertArrayEquals(new String[] {"0", "2"}, cache.getCameraIdList(mockCameraManager));
+    assertArrayEquals(new String[] {"0", "2"}, cache.getCameraIdList(mockCameraManager));
+
+    verify(mockCameraManager, times(1)).getCameraIdList();
+  }
+
+  @Test
+  public void registersAvailabilityCallbackOnce() throws CameraAccessException {
+    cache.getCameraIdList(mockCameraManager);
+    cache.getCameraCharacteristics(mockCameraManager, "0");
+
+    verify(mockCameraManager, times(1))
+        .registerAvailabilityCallback(
+            any(CameraManager.AvailabilityCallback.class), any(Handler.class));
+  }
+
+  @Test
+  public void onAvailabilityChanged_keepsBuiltInCameras() throws CameraAccessException {
+    cache.getCameraIdList(mockCameraManager);
+    cache.getCameraCharacteristics(mockCameraManager, "0");
+
+    // Opening and closing a built-in camera changes its availability.
+    cache.onAvailabilityChanged("0");
+    cache.getCameraIdList(mockCameraManager);
+    cache.getCameraCharacteristics(mockCameraManager, "0");
+
+    verify(mockCameraManager, times(1)).getCameraIdList();
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+  }
+
+  @Test
+  public void onAvailabilityChanged_invalidatesExternalCameras() throws CameraAccessException {
+    cache.getCameraIdList(mockCameraManager);
+    cache.getCameraCharacteristics(mockCameraManager, "0");
+    cache.getCameraCharacteristics(mockCameraManager, "2");
+
+    cache.onAvailabilityChanged("2");
+    cache.getCameraIdList(mockCameraManager);
+    cache.getCameraCharacteristics(mockCameraManager, "0");
+    cache.getCameraCharacteristics(mockCameraManager, "2");
+
+    verify(mockCameraManager, times(2)).getCameraIdList();
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+    verify(mockCameraManager, times(2)).getCameraCharacteristics("2");
+  }
+
+  @Test
+  public void onAvailabilityChanged_invalidatesCameraIdListWhenCameraIsConnected()
+      throws CameraAccessException {
+    cache.getCameraIdList(mockCameraManager);
+
+    cache.onAvailabilityChanged("3");
+    cache.getCameraIdList(mockCameraManager);
+
+    verify(mockCameraManager, times(2)).getCameraIdList();
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void getRecordingProfileLegacy_resolvesEachPresetOnce() {
+    try (MockedStatic<CamcorderProfile> mockedStaticProfile = mockStatic(CamcorderProfile.class)) {
+      CamcorderProfile mockHighProfile = mock(CamcorderProfile.class);
+      CamcorderProfile mockLowProfile = mock(CamcorderProfile.class);
+      mockedStaticProfile
+          .when(() -> CamcorderProfile.hasProfile(0, CamcorderProfile.QUALITY_720P))
+          .thenReturn(true);
+      mockedStaticProfile
+          .when(() -> CamcorderProfile.hasProfile(0, CamcorderProfile.QUALITY_QVGA))
+          .thenReturn(true);
+      mockedStaticProfile
+          .when(() -> CamcorderProfile.get(0, CamcorderProfile.QUALITY_720P))
+          .thenReturn(mockHighProfile);
+      mockedStaticProfile
+          .when(() -> CamcorderProfile.get(0, CamcorderProfile.QUALITY_QVGA))
+          .thenReturn(mockLowProfile);
+
+      assertSame(mockHighProfile, cache.getRecordingProfileLegacy(0, ResolutionPreset.high));
+      assertSame(mockHighProfile, cache.getRecordingProfileLegacy(0, ResolutionPreset.high));
+      assertSame(mockLowProfile, cache.getRecordingProfileLegacy(0, ResolutionPreset.low));
+      assertNotSame(mockHighProfile, cache.getRecordingProfileLegacy(0, ResolutionPreset.low));
+
+      mockedStaticProfile.verify(
+          () -> CamcorderProfile.get(0, CamcorderProfile.QUALITY_720P), times(1));
+      mockedStaticProfile.verify(
+          () -> CamcorderProfile.get(0, CamcorderProfile.QUALITY_QVGA), times(1));
+    }
+  }
+}
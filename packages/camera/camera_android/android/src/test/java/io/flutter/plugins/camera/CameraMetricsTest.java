@@ -0,0 +1,128 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugins.camera.CameraMetrics.Phase;
+import io.flutter.plugins.camera.CameraMetrics.Sequence;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CameraMetricsTest {
+  private DartMessenger mockDartMessenger;
+  private CameraMetrics metrics;
+
+  @Before
+  public void before() {
+    mockDartMessenger = mock(DartMessenger.class);
+    metrics = new CameraMetrics(mockDartMessenger);
+  }
+
+  @Test
+  public void complete_storesElapsedTimeOfEachPhase() {
+    metrics.start(Sequence.OPEN, 1_000_000L);
+    metrics.mark(Sequence.OPEN, Phase.OPENED, 3_000_000L);
+    metrics.mark(Sequence.OPEN, Phase.SESSION_CONFIGURED, 4_000_000L);
+    metrics.complete(Sequence.OPEN, Phase.FIRST_FRAME, 9_000_000L, null);
+
+    List<Map<String, Object>> summaries = metrics.getSummaries();
+    assertEquals(1, summaries.size());
+    Map<String, Object> summary = summaries.get(0);
+    assertEquals("open", summary.get("sequence"));
+    Map<?, ?> phases = (Map<?, ?>) summary.get("phases");
+    assertEquals(2_000L, phases.get("opened"));
+    assertEquals(3_000L, phases.get("sessionConfigured"));
+    assertEquals(8_000L, phases.get("firstFrame"));
+    assertTrue(((Map<?, ?>) summary.get("durations")).isEmpty());
+  }
+
+  @Test
+  public void complete_includesImageSaverTimings() {
+    metrics.start(Sequence.TAKE_PICTURE, 0L);
+    metrics.complete(
+        Sequence.TAKE_PICTURE,
+        Phase.FILE_WRITTEN,
+        5_000_000L,
+        new ImageSaver.Timings(1_000_000L, 2_000_000L, 3_000L));
+
+    Map<?, ?> durations = (Map<?, ?>) metrics.getSummaries().get(0).get("durations");
+    assertEquals(1_000L, durations.get("queueWait"));
+    assertEquals(2_000L, durations.get("write"));
+    assertEquals(3L, durations.get("close"));
+  }
+
+  @Test
+  public void mark_keepsFirstTimestampOfPhase() {
+    metrics.start(Sequence.OPEN, 0L);
+    metrics.mark(Sequence.OPEN, Phase.SESSION_CONFIGURED, 1_000L);
+    metrics.mark(Sequence.OPEN, Phase.SESSION_CONFIGURED, 5_000L);
+    metrics.complete(Sequence.OPEN, Phase.FIRST_FRAME, 6_000L, null);
+
+    Map<?, ?> phases = (Map<?, ?>) metrics.getSummaries().get(0).get("phases");
+    assertEquals(1L, phases.get("sessionConfigured"));
+  }
+
+  @Test
+  public void complete_ignoresSequenceThatWasNotStarted() {
+    metrics.mark(Sequence.TAKE_PICTURE, Phase.CAPTURE_COMPLETED, 1_000L);
+    metrics.complete(Sequence.TAKE_PICTURE, Phase.FILE_WRITTEN, 2_000L, null);
+    metrics.onPreviewFrameCompleted();
+
+    assertTrue(metrics.getSummaries().isEmpty());
+  }
+
+  @Test
+  public void onPreviewFrameCompleted_completesOpenSequenceOnce() {
+    metrics.start(Sequence.OPEN);
+
+    metrics.onPreviewFrameCompleted();
+    metrics.onPreviewFrameCompleted();
+
+    assertEquals(1, metrics.getSummaries().size());
+  }
+
+  @Test
+  public void abort_discardsPendingSequence() {
+    metrics.start(Sequence.TAKE_PICTURE, 0L);
+    metrics.abort(Sequence.TAKE_PICTURE);
+    metrics.complete(Sequence.TAKE_PICTURE, Phase.FILE_WRITTEN, 1_000L, null);
+
+    assertTrue(metrics.getSummaries().isEmpty());
+  }
+
+  @Test
+  public void getSummaries_keepsLatestSummaries() {
+    for (int i = 0; i < CameraMetrics.MAX_SUMMARY_COUNT + 2; i++) {
+      metrics.start(Sequence.TAKE_PICTURE, 0L);
+      metrics.complete(Sequence.TAKE_PICTURE, Phase.FILE_WRITTEN, i * 1_000L, null);
+    }
+
+    List<Map<String, Object>> summaries = metrics.getSummaries();
+    assertEquals(CameraMetrics.MAX_SUMMARY_COUNT, summaries.size());
+    assertEquals(2L, ((Map<?, ?>) summaries.get(0).get("phases")).get("fileWritten"));
+  }
+
+  @Test
+  public void complete_sendsEventOnlyWhenEnabled() {
+    metrics.start(Sequence.TAKE_PICTURE, 0L);
+    metrics.complete(Sequence.TAKE_PICTURE, Phase.FILE_WRITTEN, 1_000L, null);
+    verify(mockDartMessenger, never()).sendMetricsEvent(any());
+
+    metrics.setEventsEnabled(true);
+    metrics.start(Sequence.TAKE_PICTURE, 0L);
+    metrics.complete(Sequence.TAKE_PICTURE, Phase.FILE_WRITTEN, 1_000L, null);
+
+    verify(mockDartMessenger, times(1)).sendMetricsEvent(metrics.getSummaries().get(1));
+  }
+}
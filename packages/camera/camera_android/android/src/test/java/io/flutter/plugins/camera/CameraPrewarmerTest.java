@@ -0,0 +1,93 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.Handler;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class CameraPrewarmerTest {
+  private static final long IDLE_TIMEOUT_MILLIS = 10_000L;
+
+  private Handler mockHandler;
+  private Camera mockCamera;
+  private CameraPrewarmer.Entry entry;
+  private CameraPrewarmer prewarmer;
+
+  @Before
+  public void before() {
+    mockHandler = mock(Handler.class);
+    mockCamera = mock(Camera.class);
+    entry = new CameraPrewarmer.Entry(1L, mockCamera, "0", ResolutionPreset.high, false);
+    prewarmer = new CameraPrewarmer(mockHandler);
+  }
+
+  @Test
+  public void take_returnsMatchingCameraWithoutDisposingIt() {
+    prewarmer.put(entry, IDLE_TIMEOUT_MILLIS);
+
+    assertSame(entry, prewarmer.take("0", ResolutionPreset.high, false));
+
+    verify(mockCamera, never()).dispose();
+    assertNull(prewarmer.take("0", ResolutionPreset.high, false));
+  }
+
+  @Test
+  public void take_disposesCameraThatDoesNotMatch() {
+    prewarmer.put(entry, IDLE_TIMEOUT_MILLIS);
+
+    assertNull(prewarmer.take("0", ResolutionPreset.low, false));
+
+    verify(mockCamera, times(1)).dispose();
+    assertNull(prewarmer.take("0", ResolutionPreset.high, false));
+  }
+
+  @Test
+  public void put_disposesPreviouslyKeptCamera() {
+    prewarmer.put(entry, IDLE_TIMEOUT_MILLIS);
+    Camera otherCamera = mock(Camera.class);
+
+    prewarmer.put(
+        new CameraPrewarmer.Entry(2L, otherCamera, "1", ResolutionPreset.high, false),
+        IDLE_TIMEOUT_MILLIS);
+
+    verify(mockCamera, times(1)).dispose();
+    verify(otherCamera, never()).dispose();
+  }
+
+  @Test
+  public void idleTimeout_disposesKeptCamera() {
+    prewarmer.put(entry, IDLE_TIMEOUT_MILLIS);
+    ArgumentCaptor<Runnable> releaseCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler, times(1)).postDelayed(releaseCaptor.capture(), eq(IDLE_TIMEOUT_MILLIS));
+
+    releaseCaptor.getValue().run();
+
+    verify(mockCamera, times(1)).dispose();
+    assertNull(prewarmer.take("0", ResolutionPreset.high, false));
+  }
+
+  @Test
+  public void get_restartsIdleTimeoutOfMatchingCamera() {
+    prewarmer.put(entry, IDLE_TIMEOUT_MILLIS);
+
+    assertSame(entry, prewarmer.get("0", ResolutionPreset.high, false, 20_000L));
+    assertNull(prewarmer.get("1", ResolutionPreset.high, false, 20_000L));
+
+    verify(mockHandler, times(1)).postDelayed(any(Runnable.class), eq(20_000L));
+    verify(mockCamera, never()).dispose();
+  }
+}
@@ -32,6 +32,7 @@ public class CameraPropertiesImplTest {
 
   @Before
   public void before() {
+    CameraInfoCache.getInstance().clear();
     try {
       when(mockCameraManager.getCameraCharacteristics(CAMERA_NAME)).thenReturn(mockCharacteristics);
       cameraProperties = new CameraPropertiesImpl(CAMERA_NAME, mockCameraManager);
@@ -275,6 +276,18 @@ public class CameraPropertiesImplTest {
     assertEquals(actualOrientation, expectedOrientation);
   }
 
+  @Test
+  public void getSensorInfoTimestampSourceTest() {
+    int expectedSource = CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME;
+    when(mockCharacteristics.get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE))
+        .thenReturn(expectedSource);
+
+    int actualSource = cameraProperties.getSensorInfoTimestampSource();
+
+    verify(mockCharacteristics, times(1)).get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE);
+    assertEquals(actualSource, expectedSource);
+  }
+
   @Test
   public void getHardwareLevelTest() {
     int expectedLevel = 42;
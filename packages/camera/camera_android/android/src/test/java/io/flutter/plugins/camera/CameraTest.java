@@ -7,9 +7,13 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -18,6 +22,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.app.Activity;
+import android.content.Context;
 import android.graphics.SurfaceTexture;
 import android.hardware.camera2.CameraAccessException;
 import android.hardware.camera2.CameraCaptureSession;
@@ -39,6 +44,7 @@ import io.flutter.embedding.engine.systemchannels.PlatformChannel;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugins.camera.features.CameraFeatureFactory;
 import io.flutter.plugins.camera.features.CameraFeatures;
+import io.flutter.plugins.camera.features.CameraSettings;
 import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.autofocus.AutoFocusFeature;
 import io.flutter.plugins.camera.features.autofocus.FocusMode;
@@ -56,13 +62,18 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.CodecRecorder;
 import io.flutter.plugins.camera.utils.TestUtils;
 import io.flutter.view.TextureRegistry;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.MockedStatic;
 
 class FakeCameraDeviceWrapper implements CameraDeviceWrapper {
@@ -410,6 +421,42 @@ public class CameraTest {
     verify(mockResult, times(1)).error("setFlashModeFailed", "Could not set flash mode.", null);
   }
 
+  @Test
+  public void setFlashMode_shouldRefreshPreviewOnlyOncePerChange() throws CameraAccessException {
+    FlashFeature mockFlashFeature =
+        mockCameraFeatureFactory.createFlashFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    trackFlashMode(mockFlashFeature);
+
+    camera.setFlashMode(mockResult, FlashMode.always);
+    camera.setFlashMode(mockResult, FlashMode.always);
+    camera.setFlashMode(mockResult, FlashMode.torch);
+    camera.setFlashMode(mockResult, FlashMode.torch);
+
+    verify(mockFlashFeature, times(2)).updateBuilder(mockPreviewRequestBuilder);
+    verify(mockCaptureSession, times(2)).setRepeatingRequest(any(), any(), any());
+    verify(mockResult, times(4)).success(null);
+  }
+
+  @Test
+  public void setFlashMode_shouldRefreshPreviewAgainAfterFailedRefresh()
+      throws CameraAccessException {
+    FlashFeature mockFlashFeature =
+        mockCameraFeatureFactory.createFlashFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    trackFlashMode(mockFlashFeature);
+    when(mockCaptureSession.setRepeatingRequest(any(), any(), any()))
+        .thenThrow(new CameraAccessException(0, ""))
+        .thenReturn(0);
+
+    camera.setFlashMode(mockResult, FlashMode.always);
+    camera.setFlashMode(mockResult, FlashMode.always);
+
+    verify(mockCaptureSession, times(2)).setRepeatingRequest(any(), any(), any());
+    verify(mockResult, times(1)).error("setFlashModeFailed", "Could not set flash mode.", null);
+    verify(mockResult, times(1)).success(null);
+  }
+
   @Test
   public void setFocusPoint_shouldUpdateFocusPointFeature() {
     SensorOrientationFeature mockSensorOrientationFeature = mock(SensorOrientationFeature.class);
@@ -517,6 +564,191 @@ public class CameraTest {
     verify(mockResult, times(1)).error("setZoomLevelFailed", "Could not set zoom level.", null);
   }
 
+  @Test
+  public void startZoomRamp_shouldStepZoomLevelOnCompletedCaptures() throws CameraAccessException {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    trackZoomLevel(mockZoomLevelFeature, 1f);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(4f);
+
+    runPostedTasks();
+
+    camera.startZoomRamp(mockResult, 4f, 0);
+
+    verify(mockResult, times(1)).success(null);
+    verify(mockCaptureSession, never()).setRepeatingRequest(any(), any(), any());
+
+    camera.onCaptureCompleted();
+
+    verify(mockZoomLevelFeature, times(1)).setValue(4f);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+
+    // The ramp has finished.
+    camera.onCaptureCompleted();
+
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void startZoomRamp_shouldStopWhenZoomLevelIsSet() throws CameraAccessException {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    trackZoomLevel(mockZoomLevelFeature, 1f);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(4f);
+
+    runPostedTasks();
+
+    camera.startZoomRamp(mockResult, 4f, 60000);
+    camera.setZoomLevel(mockResult, 2f);
+    camera.onCaptureCompleted();
+
+    verify(mockZoomLevelFeature, times(1)).setValue(any());
+    verify(mockZoomLevelFeature, times(1)).setValue(2f);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void startZoomRamp_shouldStepOnMainThreadOncePerPendingStep() {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    trackZoomLevel(mockZoomLevelFeature, 1f);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(4f);
+
+    camera.startZoomRamp(mockResult, 4f, 60000);
+    camera.onCaptureCompleted();
+    camera.onCaptureCompleted();
+
+    // The step runs on the main thread, where the other setters update the features.
+    ArgumentCaptor<Runnable> stepCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler, times(1)).post(stepCaptor.capture());
+    verify(mockZoomLevelFeature, never()).setValue(any());
+
+    stepCaptor.getValue().run();
+    verify(mockZoomLevelFeature, times(1)).setValue(any());
+
+    camera.onCaptureCompleted();
+    verify(mockHandler, times(2)).post(any());
+  }
+
+  @Test
+  public void startZoomRamp_shouldNotStartWhenZoomLevelIsOutOfBounds() {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(4f);
+
+    camera.startZoomRamp(mockResult, 8f, 100);
+    camera.onCaptureCompleted();
+
+    verify(mockResult, times(1)).error(eq("ZOOM_ERROR"), any(), any());
+    verify(mockZoomLevelFeature, never()).setValue(any());
+  }
+
+  @Test
+  public void applySettings_shouldRefreshPreviewOnce() throws CameraAccessException {
+    FlashFeature mockFlashFeature =
+        mockCameraFeatureFactory.createFlashFeature(mockCameraProperties);
+    ExposureOffsetFeature mockExposureOffsetFeature =
+        mockCameraFeatureFactory.createExposureOffsetFeature(mockCameraProperties);
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(4f);
+    CameraSettings settings = new CameraSettings();
+    settings.setFlashMode(FlashMode.torch);
+    settings.setExposureOffset(1.0);
+    settings.setZoomLevel(2f);
+
+    camera.applySettings(mockResult, settings);
+
+    verify(mockFlashFeature, times(1)).setValue(FlashMode.torch);
+    verify(mockExposureOffsetFeature, times(1)).setValue(1.0);
+    verify(mockZoomLevelFeature, times(1)).setValue(2f);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    verify(mockCaptureSession, never()).capture(any(), any(), any());
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void applySettings_shouldTriggerAutoFocusOnceForFocusModeAndPoint()
+      throws CameraAccessException {
+    AutoFocusFeature mockAutoFocusFeature =
+        mockCameraFeatureFactory.createAutoFocusFeature(mockCameraProperties, false);
+    FocusPointFeature mockFocusPointFeature =
+        mockCameraFeatureFactory.createFocusPointFeature(
+            mockCameraProperties, mock(SensorOrientationFeature.class));
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    Point point = new Point(0.5, 0.5);
+    when(mockAutoFocusFeature.getValue()).thenReturn(FocusMode.locked);
+    CameraSettings settings = new CameraSettings();
+    settings.setFocusMode(FocusMode.locked);
+    settings.setFocusPoint(point);
+
+    camera.applySettings(mockResult, settings);
+
+    verify(mockFocusPointFeature, times(1)).setValue(point);
+    verify(mockCaptureSession, times(1)).capture(any(), any(), any());
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    InOrder inOrder = inOrder(mockPreviewRequestBuilder);
+    inOrder
+        .verify(mockPreviewRequestBuilder)
+        .set(CaptureRequest.CONTROL_AF_TRIGGER, CaptureRequest.CONTROL_AF_TRIGGER_START);
+    inOrder
+        .verify(mockPreviewRequestBuilder)
+        .set(CaptureRequest.CONTROL_AF_TRIGGER, CameraMetadata.CONTROL_AF_TRIGGER_IDLE);
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void applySettings_shouldNotApplyAnySettingWhenZoomLevelIsOutOfBounds()
+      throws CameraAccessException {
+    FlashFeature mockFlashFeature =
+        mockCameraFeatureFactory.createFlashFeature(mockCameraProperties);
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(1f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(4f);
+    CameraSettings settings = new CameraSettings();
+    settings.setFlashMode(FlashMode.torch);
+    settings.setZoomLevel(8f);
+
+    camera.applySettings(mockResult, settings);
+
+    verify(mockFlashFeature, never()).setValue(any());
+    verify(mockZoomLevelFeature, never()).setValue(any());
+    verify(mockCaptureSession, never()).setRepeatingRequest(any(), any(), any());
+    verify(mockResult, times(1)).error(eq("ZOOM_ERROR"), any(), any());
+  }
+
+  @Test
+  public void setZoomLevel_shouldNotRefreshPreviewWhenZoomLevelIsUnchanged()
+      throws CameraAccessException {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    float zoomLevel = 1.0f;
+
+    when(mockZoomLevelFeature.getValue()).thenReturn(zoomLevel);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(0f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(2f);
+
+    camera.setZoomLevel(mockResult, zoomLevel);
+    camera.setZoomLevel(mockResult, zoomLevel);
+
+    verify(mockZoomLevelFeature, times(1)).updateBuilder(any());
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    verify(mockResult, times(2)).success(null);
+  }
+
   @Test
   public void pauseVideoRecording_shouldSendNullResultWhenNotRecording() {
     TestUtils.setPrivateField(camera, "recordingVideo", false);
@@ -528,6 +760,126 @@ public class CameraTest {
     verify(mockResult, never()).error(any(), any(), any());
   }
 
+  @Test
+  public void startVideoRecording_shouldSendErrorWhenPreRollIsActive() {
+    TestUtils.setPrivateField(camera, "preRollActive", true);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.startVideoRecording(mockResult, null);
+
+    verify(mockResult, times(1))
+        .error(
+            "videoRecordingFailed", "Save or stop the pre-roll before starting a recording.", null);
+  }
+
+  @Test
+  public void startVideoRecordingFromPreRoll_shouldSendErrorWhenNoPreRollIsActive() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.startVideoRecordingFromPreRoll(mockResult);
+
+    verify(mockResult, times(1)).error("preRollFailed", "No pre-roll is active.", null);
+  }
+
+  @Test
+  public void startVideoRecordingFromPreRoll_shouldStartOutputOfPreRoll() throws Exception {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    CodecRecorder mockCodecRecorder = mock(CodecRecorder.class);
+    Context mockContext = mock(Context.class);
+    when(mockContext.getCacheDir()).thenReturn(new File(System.getProperty("java.io.tmpdir")));
+    TestUtils.setPrivateField(camera, "applicationContext", mockContext);
+    TestUtils.setPrivateField(camera, "codecRecorder", mockCodecRecorder);
+    TestUtils.setPrivateField(camera, "preRollActive", true);
+
+    camera.startVideoRecordingFromPreRoll(mockResult);
+
+    ArgumentCaptor<String> pathCaptor = ArgumentCaptor.forClass(String.class);
+    verify(mockCodecRecorder, times(1)).startOutput(pathCaptor.capture());
+    assertTrue(new File(pathCaptor.getValue()).delete());
+    verify(mockResult, times(1)).success(null);
+    assertEquals(true, TestUtils.getPrivateField(camera, "recordingVideo"));
+    assertEquals(false, TestUtils.getPrivateField(camera, "preRollActive"));
+  }
+
+  @Test
+  public void stopPreRoll_shouldReleaseCodecRecorder() throws CameraAccessException {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    CodecRecorder mockCodecRecorder = mock(CodecRecorder.class);
+    TestUtils.setPrivateField(camera, "codecRecorder", mockCodecRecorder);
+    TestUtils.setPrivateField(camera, "preRollActive", true);
+
+    camera.stopPreRoll(mockResult);
+
+    verify(mockCaptureSession, times(1)).abortCaptures();
+    verify(mockCodecRecorder, times(1)).release();
+    verify(mockResult, times(1)).success(null);
+    assertEquals(false, TestUtils.getPrivateField(camera, "preRollActive"));
+  }
+
+  @Test
+  public void setZeroShutterLagEnabled_shouldNotEnableOnLegacyCamera()
+      throws CameraAccessException {
+    when(mockCameraProperties.getHardwareLevel())
+        .thenReturn(CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_LEGACY);
+    TestUtils.setPrivateField(camera, "previewSessionActive", true);
+
+    assertFalse(camera.setZeroShutterLagEnabled(true));
+
+    assertEquals(false, TestUtils.getPrivateField(camera, "zeroShutterLagEnabled"));
+    // The preview session is not restarted.
+    verify(mockCaptureSession, never()).close();
+  }
+
+  @Test
+  public void takePicture_shouldSendErrorWhenZeroShutterLagFramesAreAllBeingSaved() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    ZeroShutterLagCapture mockCapture = mock(ZeroShutterLagCapture.class);
+    when(mockCapture.canTakeFrame()).thenReturn(false);
+    TestUtils.setPrivateField(camera, "zeroShutterLagCapture", mockCapture);
+    TestUtils.setPrivateField(camera, "zeroShutterLagStreaming", true);
+
+    camera.takePicture(mockResult);
+
+    verify(mockResult, times(1))
+        .error("captureAlreadyActive", "Picture is currently already being captured", null);
+    verify(mockCapture, never()).takeFrame(anyLong());
+  }
+
+  @Test
+  public void takePictureBurst_shouldSendErrorWhileZeroShutterLagIsStreaming() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    TestUtils.setPrivateField(camera, "zeroShutterLagStreaming", true);
+
+    camera.takePictureBurst(mockResult, 3);
+
+    verify(mockResult, times(1))
+        .error(
+            "burstUnavailable",
+            "Picture bursts are not available while zero shutter lag is enabled.",
+            null);
+  }
+
+  @Test
+  public void onImageAvailable_shouldReplyToTheResultOfTheSavedPicture() {
+    ExecutorService mockImageSaverExecutor = mock(ExecutorService.class);
+    TestUtils.setPrivateField(camera, "imageSaverExecutor", mockImageSaverExecutor);
+    MethodChannel.Result firstResult = mock(MethodChannel.Result.class);
+    MethodChannel.Result secondResult = mock(MethodChannel.Result.class);
+    TestUtils.setPrivateField(camera, "flutterResult", firstResult);
+
+    camera.onImageAvailable(mock(ImageReader.class));
+    // The next picture is taken before the first one is saved.
+    TestUtils.setPrivateField(camera, "flutterResult", secondResult);
+    ArgumentCaptor<Runnable> saverCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockImageSaverExecutor, times(1)).execute(saverCaptor.capture());
+    ImageSaver.Callback callback =
+        (ImageSaver.Callback) TestUtils.getPrivateField(saverCaptor.getValue(), "callback");
+    callback.onError("IOError", "Failed saving image");
+
+    verify(mockDartMessenger, times(1)).error(firstResult, "IOError", "Failed saving image", null);
+    verify(mockDartMessenger, never()).error(eq(secondResult), any(), any(), any());
+  }
+
   @Test
   public void pauseVideoRecording_shouldCallPauseWhenRecordingAndOnAPIN() {
     MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
@@ -915,6 +1267,39 @@ public class CameraTest {
     verify(mockCaptureSession, never()).close();
   }
 
+  private static void trackFlashMode(FlashFeature mockFlashFeature) {
+    final FlashMode[] flashMode = new FlashMode[1];
+    doAnswer(
+            invocation -> {
+              flashMode[0] = invocation.getArgument(0);
+              return null;
+            })
+        .when(mockFlashFeature)
+        .setValue(any());
+    when(mockFlashFeature.getValue()).thenAnswer(invocation -> flashMode[0]);
+  }
+
+  private void runPostedTasks() {
+    when(mockHandler.post(any()))
+        .thenAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return true;
+            });
+  }
+
+  private static void trackZoomLevel(ZoomLevelFeature mockZoomLevelFeature, float initialZoom) {
+    final Float[] zoomLevel = new Float[] {initialZoom};
+    doAnswer(
+            invocation -> {
+              zoomLevel[0] = invocation.getArgument(0);
+              return null;
+            })
+        .when(mockZoomLevelFeature)
+        .setValue(any());
+    when(mockZoomLevelFeature.getValue()).thenAnswer(invocation -> zoomLevel[0]);
+  }
+
   private static class TestCameraFeatureFactory implements CameraFeatureFactory {
     private final AutoFocusFeature mockAutoFocusFeature;
     private final ExposureLockFeature mockExposureLockFeature;
@@ -20,7 +20,9 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -102,6 +104,36 @@ public class DartMessengerTest {
     assertNull(call.argument("description"));
   }
 
+  @Test
+  public void sendBurstFrameEvent_includesIndexAndPath() {
+    doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
+
+    dartMessenger.sendBurstFrameEvent(2, "/test/path.jpg", null);
+    List<ByteBuffer> sentMessages = fakeBinaryMessenger.getMessages();
+
+    assertEquals(1, sentMessages.size());
+    MethodCall call = decodeSentMessage(sentMessages.get(0));
+    assertEquals("burst_frame", call.method);
+    assertEquals(2, (int) call.argument("index"));
+    assertEquals("/test/path.jpg", call.argument("path"));
+    assertNull(call.argument("error"));
+  }
+
+  @Test
+  public void sendMetricsEvent_includesSummary() {
+    doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
+    Map<String, Object> summary = new HashMap<>();
+    summary.put("sequence", "takePicture");
+
+    dartMessenger.sendMetricsEvent(summary);
+    List<ByteBuffer> sentMessages = fakeBinaryMessenger.getMessages();
+
+    assertEquals(1, sentMessages.size());
+    MethodCall call = decodeSentMessage(sentMessages.get(0));
+    assertEquals("metrics", call.method);
+    assertEquals("takePicture", call.argument("sequence"));
+  }
+
   @Test
   public void sendDeviceOrientationChangedEvent() {
     doAnswer(createPostHandlerAnswer()).when(mockHandler).post(any(Runnable.class));
@@ -4,7 +4,11 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -14,16 +18,17 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.media.Image;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
-import org.mockito.invocation.InvocationOnMock;
-import org.mockito.stubbing.Answer;
 
 public class ImageSaverTests {
 
@@ -32,39 +37,41 @@ public class ImageSaverTests {
   ImageSaver.Callback mockCallback;
   ImageSaver imageSaver;
   Image.Plane mockPlane;
-  ByteBuffer mockBuffer;
+  ByteBuffer buffer;
   MockedStatic<ImageSaver.FileOutputStreamFactory> mockFileOutputStreamFactory;
   FileOutputStream mockFileOutputStream;
+  FileChannel mockFileChannel;
+  ByteArrayOutputStream writtenBytes;
 
   @Before
-  public void setup() {
+  public void setup() throws IOException {
     // Set up mocked file dependency
     mockFile = mock(File.class);
     when(mockFile.getAbsolutePath()).thenReturn("absolute/path");
     mockPlane = mock(Image.Plane.class);
-    mockBuffer = mock(ByteBuffer.class);
-    when(mockBuffer.remaining()).thenReturn(3);
-    when(mockBuffer.get(any()))
-        .thenAnswer(
-            new Answer<Object>() {
-              @Override
-              public Object answer(InvocationOnMock invocation) throws Throwable {
-                byte[] bytes = invocation.getArgument(0);
-                bytes[0] = 0x42;
-                bytes[1] = 0x00;
-                bytes[2] = 0x13;
-                return mockBuffer;
-              }
-            });
+    buffer = ByteBuffer.wrap(new byte[] {0x42, 0x00, 0x13});
 
     // Set up mocked image dependency
     mockImage = mock(Image.class);
-    when(mockPlane.getBuffer()).thenReturn(mockBuffer);
+    when(mockPlane.getBuffer()).thenReturn(buffer);
     when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {mockPlane});
 
-    // Set up mocked FileOutputStream
+    // Set up mocked FileOutputStream, whose channel writes at most two bytes at a time
+    writtenBytes = new ByteArrayOutputStream();
+    mockFileChannel = mock(FileChannel.class);
+    when(mockFileChannel.write(any(ByteBuffer.class)))
+        .thenAnswer(
+            invocation -> {
+              ByteBuffer source = invocation.getArgument(0);
+              int count = Math.min(2, source.remaining());
+              for (int i = 0; i < count; i++) {
+                writtenBytes.write(source.get());
+              }
+              return count;
+            });
     mockFileOutputStreamFactory = mockStatic(ImageSaver.FileOutputStreamFactory.class);
     mockFileOutputStream = mock(FileOutputStream.class);
+    when(mockFileOutputStream.getChannel()).thenReturn(mockFileChannel);
     mockFileOutputStreamFactory
         .when(() -> ImageSaver.FileOutputStreamFactory.create(any()))
         .thenReturn(mockFileOutputStream);
@@ -83,17 +90,46 @@ public class ImageSaverTests {
   public void runWritesBytesToFileAndFinishesWithPath() throws IOException {
     imageSaver.run();
 
-    verify(mockFileOutputStream, times(1)).write(new byte[] {0x42, 0x00, 0x13});
-    verify(mockCallback, times(1)).onComplete("absolute/path");
+    assertArrayEquals(new byte[] {0x42, 0x00, 0x13}, writtenBytes.toByteArray());
+    verify(mockFileChannel, never()).force(anyBoolean());
+    verify(mockImage, times(1)).close();
+    verify(mockFileOutputStream, times(1)).close();
+    verify(mockCallback, times(1)).onComplete(eq("absolute/path"), any());
     verify(mockCallback, never()).onError(any(), any());
   }
 
+  @Test
+  public void runSyncsFileToDiskWhenRequested() throws IOException {
+    imageSaver = new ImageSaver(mockImage, mockFile, true, mockCallback);
+
+    imageSaver.run();
+
+    verify(mockFileChannel, times(1)).force(true);
+    verify(mockCallback, times(1)).onComplete(eq("absolute/path"), any());
+  }
+
+  @Test
+  public void runReportsTimings() {
+    ArgumentCaptor<ImageSaver.Timings> timingsCaptor =
+        ArgumentCaptor.forClass(ImageSaver.Timings.class);
+
+    imageSaver.run();
+
+    verify(mockCallback, times(1)).onComplete(eq("absolute/path"), timingsCaptor.capture());
+    ImageSaver.Timings timings = timingsCaptor.getValue();
+    assertTrue(timings.getQueueWaitNanos() >= 0);
+    assertTrue(timings.getWriteNanos() >= 0);
+    assertTrue(timings.getCloseNanos() >= 0);
+  }
+
   @Test
   public void runCallsErrorOnWriteIoexception() throws IOException {
-    doThrow(new IOException()).when(mockFileOutputStream).write(any());
+    doThrow(new IOException()).when(mockFileChannel).write(any(ByteBuffer.class));
     imageSaver.run();
     verify(mockCallback, times(1)).onError("IOError", "Failed saving image");
-    verify(mockCallback, never()).onComplete(any());
+    verify(mockCallback, never()).onComplete(any(), any());
+    verify(mockImage, times(1)).close();
+    verify(mockFileOutputStream, times(1)).close();
   }
 
   @Test
@@ -101,5 +137,6 @@ public class ImageSaverTests {
     doThrow(new IOException("message")).when(mockFileOutputStream).close();
     imageSaver.run();
     verify(mockCallback, times(1)).onError("cameraAccess", "message");
+    verify(mockCallback, never()).onComplete(any(), any());
   }
 }
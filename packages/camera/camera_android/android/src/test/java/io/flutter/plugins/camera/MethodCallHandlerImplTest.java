@@ -4,22 +4,53 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.app.Activity;
 import android.hardware.camera2.CameraAccessException;
+import android.os.Handler;
 import androidx.lifecycle.LifecycleObserver;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugins.camera.features.CameraSettings;
+import io.flutter.plugins.camera.features.autofocus.FocusMode;
+import io.flutter.plugins.camera.features.flash.FlashMode;
+import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.BitrateMode;
+import io.flutter.plugins.camera.media.VideoCodec;
+import io.flutter.plugins.camera.media.VideoEncoderSettings;
+import io.flutter.plugins.camera.processing.FrameProcessorRegistry;
+import io.flutter.plugins.camera.types.ImageStreamBackpressureStrategy;
+import io.flutter.plugins.camera.types.ImageStreamOptions;
 import io.flutter.plugins.camera.utils.TestUtils;
 import io.flutter.view.TextureRegistry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class MethodCallHandlerImplTest {
 
@@ -38,7 +69,7 @@ public class MethodCallHandlerImplTest {
             mock(TextureRegistry.class));
     mockResult = mock(MethodChannel.Result.class);
     mockCamera = mock(Camera.class);
-    TestUtils.setPrivateField(handler, "camera", mockCamera);
+    TestUtils.setPrivateField(handler, "defaultCamera", mockCamera);
   }
 
   @Test
@@ -74,4 +105,477 @@ public class MethodCallHandlerImplTest {
     verify(mockCamera, times(1)).resumePreview();
     verify(mockResult, times(1)).success(null);
   }
+
+  @Test
+  public void onMethodCall_receivedImageStreamData_shouldAcknowledgeFrame() {
+    handler.onMethodCall(new MethodCall("receivedImageStreamData", null), mockResult);
+
+    verify(mockCamera, times(1)).receivedImageStreamData();
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldPassBackpressureOptions()
+      throws CameraAccessException {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("backpressureStrategy", "boundedQueue");
+    arguments.put("maxInFlightFrames", 2);
+    arguments.put("queueSize", 4);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    ArgumentCaptor<ImageStreamOptions> optionsCaptor =
+        ArgumentCaptor.forClass(ImageStreamOptions.class);
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any(), optionsCaptor.capture());
+    verify(mockResult, times(1)).success(null);
+    ImageStreamOptions options = optionsCaptor.getValue();
+    assertEquals(ImageStreamBackpressureStrategy.boundedQueue, options.getBackpressureStrategy());
+    assertEquals(2, options.getMaxInFlightFrames());
+    assertEquals(4, options.getQueueSize());
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldPassFrameRatePlaneMaskAndCropRegion()
+      throws CameraAccessException {
+    Map<String, Integer> cropRegion = new HashMap<>();
+    cropRegion.put("left", 160);
+    cropRegion.put("top", 120);
+    cropRegion.put("width", 320);
+    cropRegion.put("height", 240);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("targetFrameRate", 5.0);
+    arguments.put("planeMask", 1);
+    arguments.put("cropRegion", cropRegion);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    ArgumentCaptor<ImageStreamOptions> optionsCaptor =
+        ArgumentCaptor.forClass(ImageStreamOptions.class);
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any(), optionsCaptor.capture());
+    ImageStreamOptions options = optionsCaptor.getValue();
+    assertEquals(5.0, options.getTargetFrameRate(), 0);
+    assertEquals(ImageStreamOptions.LUMA_PLANE, options.getPlaneMask());
+    assertTrue(options.hasCropRegion());
+    assertEquals(160, options.getCropLeft());
+    assertEquals(120, options.getCropTop());
+    assertEquals(320, options.getCropWidth());
+    assertEquals(240, options.getCropHeight());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void onMethodCall_startImageStream_shouldThrowOnUnknownStrategy() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("backpressureStrategy", "unknown");
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+  }
+
+  @Test
+  public void onMethodCall_startImageStream_shouldPassFrameProcessors()
+      throws CameraAccessException {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put(
+        "frameProcessors", Collections.singletonList(FrameProcessorRegistry.AVERAGE_LUMA));
+    arguments.put("sendFrames", false);
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+
+    ArgumentCaptor<ImageStreamOptions> optionsCaptor =
+        ArgumentCaptor.forClass(ImageStreamOptions.class);
+    verify(mockCamera, times(1)).startPreviewWithImageStream(any(), optionsCaptor.capture());
+    ImageStreamOptions options = optionsCaptor.getValue();
+    assertEquals(
+        Collections.singletonList(FrameProcessorRegistry.AVERAGE_LUMA),
+        options.getFrameProcessors());
+    assertFalse(options.getSendFrames());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void onMethodCall_startImageStream_shouldThrowOnUnknownFrameProcessor() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("frameProcessors", Collections.singletonList("unknown"));
+
+    handler.onMethodCall(new MethodCall("startImageStream", arguments), mockResult);
+  }
+
+  @Test
+  public void onMethodCall_applySettings_shouldPassSettingsToCamera() {
+    Map<String, Double> focusPoint = new HashMap<>();
+    focusPoint.put("x", 0.25);
+    focusPoint.put("y", 0.75);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("flashMode", "torch");
+    arguments.put("exposureOffset", 1.5);
+    arguments.put("exposurePoint", null);
+    arguments.put("focusMode", "locked");
+    arguments.put("focusPoint", focusPoint);
+    arguments.put("zoomLevel", 2.0);
+
+    handler.onMethodCall(new MethodCall("applySettings", arguments), mockResult);
+
+    ArgumentCaptor<CameraSettings> settingsCaptor = ArgumentCaptor.forClass(CameraSettings.class);
+    verify(mockCamera, times(1)).applySettings(any(), settingsCaptor.capture());
+    CameraSettings settings = settingsCaptor.getValue();
+    assertEquals(FlashMode.torch, settings.getFlashMode());
+    assertNull(settings.getExposureMode());
+    assertEquals(1.5, settings.getExposureOffset(), 0);
+    assertNull(settings.getExposurePoint().x);
+    assertNull(settings.getExposurePoint().y);
+    assertEquals(FocusMode.locked, settings.getFocusMode());
+    assertEquals(0.25, settings.getFocusPoint().x, 0);
+    assertEquals(0.75, settings.getFocusPoint().y, 0);
+    assertEquals(2.0f, settings.getZoomLevel(), 0);
+  }
+
+  @Test
+  public void onMethodCall_applySettings_shouldSendErrorResultOnUnknownMode() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("flashMode", "unknown");
+
+    handler.onMethodCall(new MethodCall("applySettings", arguments), mockResult);
+
+    verify(mockResult, times(1)).error("applySettingsFailed", "Unknown flash mode unknown", null);
+    verify(mockCamera, never()).applySettings(any(), any());
+  }
+
+  @Test
+  public void onMethodCall_startZoomRamp_shouldForwardToCamera() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("zoom", 3.0);
+    arguments.put("duration", 250);
+
+    handler.onMethodCall(new MethodCall("startZoomRamp", arguments), mockResult);
+
+    verify(mockCamera, times(1)).startZoomRamp(mockResult, 3.0f, 250);
+  }
+
+  @Test
+  public void onMethodCall_takePictureBurst_shouldForwardFrameCountToCamera() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("frameCount", 4);
+
+    handler.onMethodCall(new MethodCall("takePictureBurst", arguments), mockResult);
+
+    verify(mockCamera, times(1)).takePictureBurst(mockResult, 4);
+  }
+
+  @Test
+  public void onMethodCall_takePictureBurst_shouldSendErrorResultWithoutFrameCount() {
+    handler.onMethodCall(new MethodCall("takePictureBurst", new HashMap<>()), mockResult);
+
+    verify(mockResult, times(1))
+        .error(
+            "invalidBurstFrameCount",
+            "takePictureBurst is called without specifying a frame count.",
+            null);
+    verify(mockCamera, never()).takePictureBurst(any(), anyInt());
+  }
+
+  @Test
+  public void onMethodCall_setSyncPictureWrites_shouldForwardToCamera() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("enabled", true);
+
+    handler.onMethodCall(new MethodCall("setSyncPictureWrites", arguments), mockResult);
+
+    verify(mockCamera, times(1)).setSyncPictureWrites(true);
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_getImageStreamStatistics_shouldReturnFrameCounters() {
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("deliveredFrames", 10L);
+    statistics.put("droppedFrames", 3L);
+    when(mockCamera.getImageStreamStatistics()).thenReturn(statistics);
+
+    handler.onMethodCall(new MethodCall("getImageStreamStatistics", null), mockResult);
+
+    verify(mockResult, times(1)).success(statistics);
+  }
+
+  @Test
+  public void onMethodCall_setMetricsEnabled_shouldForwardToCamera() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("enabled", true);
+
+    handler.onMethodCall(new MethodCall("setMetricsEnabled", arguments), mockResult);
+
+    verify(mockCamera, times(1)).setMetricsEnabled(true);
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_getMetrics_shouldReturnSummaries() {
+    Map<String, Object> summary = new HashMap<>();
+    summary.put("sequence", "open");
+    List<Map<String, Object>> summaries = Collections.singletonList(summary);
+    when(mockCamera.getMetrics()).thenReturn(summaries);
+
+    handler.onMethodCall(new MethodCall("getMetrics", null), mockResult);
+
+    verify(mockResult, times(1)).success(summaries);
+  }
+
+  @Test
+  public void onMethodCall_startFrameMetadataStream_shouldForwardIntervalToCamera() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("interval", 100);
+
+    handler.onMethodCall(new MethodCall("startFrameMetadataStream", arguments), mockResult);
+
+    verify(mockCamera, times(1)).startFrameMetadataStream(100);
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_stopFrameMetadataStream_shouldForwardToCamera() {
+    handler.onMethodCall(new MethodCall("stopFrameMetadataStream", null), mockResult);
+
+    verify(mockCamera, times(1)).stopFrameMetadataStream();
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecording_shouldForwardVideoEncoderSettings() {
+    Map<String, Object> encoder = new HashMap<>();
+    encoder.put("codec", "hevc");
+    encoder.put("bitrateMode", "constant");
+    encoder.put("bitRate", 8000000);
+    encoder.put("keyFrameInterval", 2000);
+    encoder.put("width", 1920);
+    encoder.put("height", 1080);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("videoEncoder", encoder);
+
+    handler.onMethodCall(new MethodCall("startVideoRecording", arguments), mockResult);
+
+    ArgumentCaptor<VideoEncoderSettings> captor =
+        ArgumentCaptor.forClass(VideoEncoderSettings.class);
+    verify(mockCamera, times(1)).startVideoRecording(eq(mockResult), isNull(), captor.capture());
+    VideoEncoderSettings settings = captor.getValue();
+    assertEquals(VideoCodec.hevc, settings.getCodec());
+    assertEquals(BitrateMode.constant, settings.getBitrateMode());
+    assertEquals(Integer.valueOf(8000000), settings.getBitRate());
+    assertEquals(2f, settings.getKeyFrameIntervalSeconds(), 0f);
+    assertEquals(Integer.valueOf(1920), settings.getWidth());
+    assertEquals(Integer.valueOf(1080), settings.getHeight());
+    assertNull(settings.getFrameRate());
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecording_shouldUseMediaRecorderWithoutVideoEncoder() {
+    handler.onMethodCall(new MethodCall("startVideoRecording", new HashMap<>()), mockResult);
+
+    verify(mockCamera, times(1)).startVideoRecording(eq(mockResult), isNull(), isNull());
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecording_shouldReportUnknownCodec() {
+    Map<String, Object> encoder = new HashMap<>();
+    encoder.put("codec", "vp9");
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("videoEncoder", encoder);
+
+    handler.onMethodCall(new MethodCall("startVideoRecording", arguments), mockResult);
+
+    verify(mockResult, times(1)).error("videoRecordingFailed", "Unknown video codec vp9", null);
+    verify(mockCamera, never()).startVideoRecording(any(), any(), any());
+  }
+
+  @Test
+  public void onMethodCall_startPreRoll_shouldForwardArgumentsToCamera() {
+    Map<String, Object> encoder = new HashMap<>();
+    encoder.put("keyFrameInterval", 500);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("duration", 5000);
+    arguments.put("maxBytes", 33554432L);
+    arguments.put("videoEncoder", encoder);
+
+    handler.onMethodCall(new MethodCall("startPreRoll", arguments), mockResult);
+
+    ArgumentCaptor<VideoEncoderSettings> captor =
+        ArgumentCaptor.forClass(VideoEncoderSettings.class);
+    verify(mockCamera, times(1))
+        .startPreRoll(eq(mockResult), captor.capture(), eq(5000L), eq(33554432L));
+    assertEquals(0.5f, captor.getValue().getKeyFrameIntervalSeconds(), 0f);
+  }
+
+  @Test
+  public void onMethodCall_startPreRoll_shouldReportMissingDuration() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("maxBytes", 1024);
+
+    handler.onMethodCall(new MethodCall("startPreRoll", arguments), mockResult);
+
+    verify(mockResult, times(1))
+        .error("preRollFailed", "The duration and maxBytes arguments are required.", null);
+  }
+
+  @Test
+  public void onMethodCall_startVideoRecordingFromPreRoll_shouldForwardToCamera() {
+    handler.onMethodCall(new MethodCall("startVideoRecordingFromPreRoll", null), mockResult);
+
+    verify(mockCamera, times(1)).startVideoRecordingFromPreRoll(mockResult);
+  }
+
+  @Test
+  public void onMethodCall_stopPreRoll_shouldForwardToCamera() {
+    handler.onMethodCall(new MethodCall("stopPreRoll", null), mockResult);
+
+    verify(mockCamera, times(1)).stopPreRoll(mockResult);
+  }
+
+  @Test
+  public void onMethodCall_setZeroShutterLagEnabled_shouldReturnWhetherEnabled()
+      throws CameraAccessException {
+    when(mockCamera.setZeroShutterLagEnabled(true)).thenReturn(false);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("enabled", true);
+
+    handler.onMethodCall(new MethodCall("setZeroShutterLagEnabled", arguments), mockResult);
+
+    verify(mockCamera, times(1)).setZeroShutterLagEnabled(true);
+    verify(mockResult, times(1)).success(false);
+  }
+
+  @Test
+  public void onMethodCall_shouldTargetCameraWithSuppliedCameraId() throws CameraAccessException {
+    Camera mockConcurrentCamera = mock(Camera.class);
+    Map<Long, Camera> cameras = new HashMap<>();
+    cameras.put(2L, mockConcurrentCamera);
+    TestUtils.setPrivateField(handler, "cameras", cameras);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraId", 2);
+
+    handler.onMethodCall(new MethodCall("pausePreview", arguments), mockResult);
+
+    verify(mockConcurrentCamera, times(1)).pausePreview();
+    verify(mockCamera, never()).pausePreview();
+  }
+
+  @Test
+  public void onMethodCall_create_shouldReportCameraThatCannotStreamConcurrently() {
+    Map<Long, String> openCameraNames = new HashMap<>();
+    openCameraNames.put(1L, "0");
+    TestUtils.setPrivateField(handler, "openCameraNames", openCameraNames);
+    TestUtils.setPrivateField(
+        handler,
+        "cameraArbiter",
+        new CameraArbiter(Collections.singleton(new HashSet<>(Arrays.asList("0", "2")))));
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraName", "1");
+    arguments.put("concurrent", true);
+
+    handler.onMethodCall(new MethodCall("create", arguments), mockResult);
+
+    verify(mockResult, times(1))
+        .error(
+            "maxCamerasInUse",
+            "The camera 1 cannot stream concurrently with the cameras that are already open.",
+            null);
+    verify(mockCamera, never()).close();
+  }
+
+  @Test
+  public void onMethodCall_create_shouldDisposeOpenCamerasWhenNotConcurrent() {
+    Map<Long, Camera> cameras = new HashMap<>();
+    cameras.put(2L, mockCamera);
+    TestUtils.setPrivateField(handler, "cameras", cameras);
+    Map<Long, String> openCameraNames = new HashMap<>();
+    openCameraNames.put(2L, "0");
+    TestUtils.setPrivateField(handler, "openCameraNames", openCameraNames);
+    EventChannel mockImageStreamChannel = mock(EventChannel.class);
+    Map<Long, EventChannel> imageStreamChannels = new HashMap<>();
+    imageStreamChannels.put(2L, mockImageStreamChannel);
+    TestUtils.setPrivateField(handler, "imageStreamChannels", imageStreamChannels);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraName", "1");
+    arguments.put("enableAudio", false);
+
+    handler.onMethodCall(new MethodCall("create", arguments), mockResult);
+
+    verify(mockCamera, times(1)).dispose();
+    verify(mockImageStreamChannel, times(1)).setStreamHandler(null);
+    assertTrue(cameras.isEmpty());
+    assertTrue(openCameraNames.isEmpty());
+    assertTrue(imageStreamChannels.isEmpty());
+    assertNull(TestUtils.getPrivateField(handler, "defaultCamera"));
+  }
+
+  @Test
+  public void onMethodCall_getConcurrentCameras_shouldReturnCombinations() {
+    TestUtils.setPrivateField(
+        handler,
+        "cameraArbiter",
+        new CameraArbiter(Collections.singleton(new HashSet<>(Collections.singletonList("0")))));
+
+    handler.onMethodCall(new MethodCall("getConcurrentCameras", null), mockResult);
+
+    verify(mockResult, times(1)).success(Collections.singletonList(Collections.singletonList("0")));
+  }
+
+  @Test
+  public void onMethodCall_dispose_shouldForgetDisposedCamera() {
+    Map<Long, Camera> cameras = new HashMap<>();
+    cameras.put(2L, mockCamera);
+    TestUtils.setPrivateField(handler, "cameras", cameras);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraId", 2);
+
+    handler.onMethodCall(new MethodCall("dispose", arguments), mockResult);
+
+    verify(mockCamera, times(1)).dispose();
+    assertTrue(cameras.isEmpty());
+    assertNull(TestUtils.getPrivateField(handler, "defaultCamera"));
+  }
+
+  @Test
+  public void onMethodCall_create_shouldReusePrewarmedCamera() {
+    CameraPermissions mockCameraPermissions =
+        (CameraPermissions) TestUtils.getPrivateField(handler, "cameraPermissions");
+    doAnswer(
+            invocation -> {
+              ((CameraPermissions.ResultCallback) invocation.getArgument(3)).onResult(null, null);
+              return null;
+            })
+        .when(mockCameraPermissions)
+        .requestPermissions(any(), any(), anyBoolean(), any());
+    Camera mockPrewarmedCamera = mock(Camera.class);
+    CameraPrewarmer prewarmer = new CameraPrewarmer(mock(Handler.class));
+    prewarmer.put(
+        new CameraPrewarmer.Entry(7L, mockPrewarmedCamera, "0", ResolutionPreset.high, false),
+        10_000L);
+    TestUtils.setPrivateField(handler, "cameraPrewarmer", prewarmer);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraName", "0");
+    arguments.put("resolutionPreset", "high");
+    arguments.put("enableAudio", false);
+
+    handler.onMethodCall(new MethodCall("create", arguments), mockResult);
+
+    verify(mockResult, times(1)).success(Collections.singletonMap("cameraId", 7L));
+    verify(mockPrewarmedCamera, never()).dispose();
+    assertSame(mockPrewarmedCamera, TestUtils.getPrivateField(handler, "defaultCamera"));
+  }
+
+  @Test
+  public void onMethodCall_prewarm_shouldUseDefaultIdleTimeoutWhenNoneIsSupplied() {
+    Handler mockHandler = mock(Handler.class);
+    CameraPrewarmer prewarmer = new CameraPrewarmer(mockHandler);
+    prewarmer.put(
+        new CameraPrewarmer.Entry(7L, mock(Camera.class), "0", ResolutionPreset.high, false),
+        5_000L);
+    TestUtils.setPrivateField(handler, "cameraPrewarmer", prewarmer);
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("cameraName", "0");
+    arguments.put("resolutionPreset", "high");
+    arguments.put("enableAudio", false);
+
+    handler.onMethodCall(new MethodCall("prewarm", arguments), mockResult);
+
+    verify(mockHandler, times(1))
+        .postDelayed(any(Runnable.class), eq(CameraPrewarmer.DEFAULT_IDLE_TIMEOUT_MILLIS));
+    verify(mockResult, times(1)).success(null);
+  }
 }
@@ -0,0 +1,22 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+
+import android.media.ExifInterface;
+import org.junit.Test;
+
+public class YuvImageSaverTest {
+  @Test
+  public void getExifOrientation_mapsClockwiseRotation() {
+    assertEquals(ExifInterface.ORIENTATION_NORMAL, YuvImageSaver.getExifOrientation(0));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_90, YuvImageSaver.getExifOrientation(90));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_180, YuvImageSaver.getExifOrientation(180));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_270, YuvImageSaver.getExifOrientation(270));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_90, YuvImageSaver.getExifOrientation(450));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_270, YuvImageSaver.getExifOrientation(-90));
+  }
+}
@@ -0,0 +1,124 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraMetadata;
+import android.media.Image;
+import android.media.ImageReader;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ZeroShutterLagCaptureTest {
+  private ImageReader mockImageReader;
+  private ZeroShutterLagCapture capture;
+
+  @Before
+  public void before() {
+    mockImageReader = mock(ImageReader.class);
+    capture = new ZeroShutterLagCapture(mockImageReader, true);
+  }
+
+  @Test
+  public void isSupported_onlyForFullAndLevel3Cameras() {
+    CameraProperties mockCameraProperties = mock(CameraProperties.class);
+
+    when(mockCameraProperties.getHardwareLevel())
+        .thenReturn(CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_LEGACY);
+    assertFalse(ZeroShutterLagCapture.isSupported(mockCameraProperties));
+    when(mockCameraProperties.getHardwareLevel())
+        .thenReturn(CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_LIMITED);
+    assertFalse(ZeroShutterLagCapture.isSupported(mockCameraProperties));
+    when(mockCameraProperties.getHardwareLevel())
+        .thenReturn(CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_FULL);
+    assertTrue(ZeroShutterLagCapture.isSupported(mockCameraProperties));
+    when(mockCameraProperties.getHardwareLevel())
+        .thenReturn(CameraMetadata.INFO_SUPPORTED_HARDWARE_LEVEL_3);
+    assertTrue(ZeroShutterLagCapture.isSupported(mockCameraProperties));
+  }
+
+  @Test
+  public void onImageAvailable_releasesFramesBeyondRingSize() {
+    Image oldest = receiveFrame(1_000L);
+    for (int i = 1; i < ZeroShutterLagCapture.RING_SIZE; i++) {
+      receiveFrame(1_000L + i);
+    }
+    verify(oldest, never()).close();
+
+    receiveFrame(2_000L);
+
+    verify(oldest, times(1)).close();
+  }
+
+  @Test
+  public void takeFrame_selectsFrameClosestToShutter() {
+    receiveFrame(1_000L);
+    Image closest = receiveFrame(2_000L);
+    receiveFrame(3_000L);
+
+    assertSame(closest, capture.takeFrame(2_400L));
+    // The selected frame is no longer kept.
+    assertEquals(3_000L, capture.takeFrame(2_400L).getTimestamp());
+  }
+
+  @Test
+  public void takeFrame_selectsMostRecentFrameWithoutComparableClock() {
+    receiveFrame(1_000L);
+    Image newest = receiveFrame(2_000L);
+
+    assertSame(newest, capture.takeFrame(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void takeFrame_returnsNullWithoutFrames() {
+    assertNull(capture.takeFrame(1_000L));
+  }
+
+  @Test
+  public void canTakeFrame_onlyWhileFewerThanMaxTakenFramesAreOpen() {
+    for (int i = 0; i < ZeroShutterLagCapture.MAX_TAKEN_FRAMES; i++) {
+      assertTrue(capture.canTakeFrame());
+      receiveFrame(1_000L + i);
+      capture.takeFrame(1_000L + i);
+    }
+    assertFalse(capture.canTakeFrame());
+
+    capture.onTakenFrameClosed();
+
+    assertTrue(capture.canTakeFrame());
+  }
+
+  @Test
+  public void close_releasesKeptFramesAndReader() {
+    Image frame = receiveFrame(1_000L);
+
+    capture.close();
+
+    verify(frame, times(1)).close();
+    verify(mockImageReader, times(1)).close();
+    assertNull(capture.takeFrame(1_000L));
+  }
+
+  private Image receiveFrame(long timestamp) {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getTimestamp()).thenReturn(timestamp);
+    when(mockImageReader.acquireNextImage()).thenReturn(mockImage);
+    capture.onImageAvailable(mockImageReader);
+    return mockImage;
+  }
+}
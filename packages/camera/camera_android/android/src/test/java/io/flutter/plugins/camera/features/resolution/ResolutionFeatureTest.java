@@ -17,6 +17,7 @@ import static org.mockito.Mockito.when;
 import android.media.CamcorderProfile;
 import android.media.EncoderProfiles;
 import android.util.Size;
+import io.flutter.plugins.camera.CameraInfoCache;
 import io.flutter.plugins.camera.CameraProperties;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +40,7 @@ public class ResolutionFeatureTest {
   @Before
   @SuppressWarnings("deprecation")
   public void beforeLegacy() {
+    CameraInfoCache.getInstance().clear();
     mockedStaticProfile = mockStatic(CamcorderProfile.class);
     mockProfileLowLegacy = mock(CamcorderProfile.class);
     CamcorderProfile mockProfileLegacy = mock(CamcorderProfile.class);
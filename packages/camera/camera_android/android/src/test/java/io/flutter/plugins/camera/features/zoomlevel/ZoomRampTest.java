@@ -0,0 +1,53 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.features.zoomlevel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ZoomRampTest {
+  @Test
+  public void getZoomLevelAt_shouldInterpolateGeometrically() {
+    ZoomRamp ramp = new ZoomRamp(1f, 4f, 1000L, 1000L);
+
+    assertEquals(1f, ramp.getZoomLevelAt(1000L), 0.0001f);
+    assertEquals(2f, ramp.getZoomLevelAt(1500L), 0.0001f);
+    assertEquals(4f, ramp.getZoomLevelAt(2000L), 0.0001f);
+  }
+
+  @Test
+  public void getZoomLevelAt_shouldZoomOut() {
+    ZoomRamp ramp = new ZoomRamp(4f, 1f, 0L, 1000L);
+
+    assertEquals(2f, ramp.getZoomLevelAt(500L), 0.0001f);
+  }
+
+  @Test
+  public void getZoomLevelAt_shouldClampToTheRamp() {
+    ZoomRamp ramp = new ZoomRamp(1f, 4f, 1000L, 1000L);
+
+    assertEquals(1f, ramp.getZoomLevelAt(0L), 0);
+    assertEquals(4f, ramp.getZoomLevelAt(5000L), 0);
+  }
+
+  @Test
+  public void isFinishedAt_shouldReturnTrueOnceTheDurationHasElapsed() {
+    ZoomRamp ramp = new ZoomRamp(1f, 4f, 1000L, 1000L);
+
+    assertFalse(ramp.isFinishedAt(1999L));
+    assertTrue(ramp.isFinishedAt(2000L));
+  }
+
+  @Test
+  public void getZoomLevelAt_shouldReturnTargetWhenDurationIsZero() {
+    ZoomRamp ramp = new ZoomRamp(1f, 4f, 1000L, 0L);
+
+    assertTrue(ramp.isFinishedAt(1000L));
+    assertEquals(4f, ramp.getZoomLevelAt(1000L), 0);
+  }
+}
@@ -0,0 +1,182 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CodecRecorderTest {
+  private static final int FRAME_RATE = 30;
+  private static final long FRAME_DURATION_US = 1_000_000L / FRAME_RATE;
+  // Encoders timestamp samples with the camera clock, which does not start at zero.
+  private static final long FIRST_PRESENTATION_TIME_US = 5_000_000L;
+
+  private FakeEncoder encoder;
+  private RecordingMuxer recordingMuxer;
+  private EncodedSampleMuxer.Track track;
+
+  @Before
+  public void before() {
+    encoder = new FakeEncoder();
+    recordingMuxer = new RecordingMuxer();
+    track = new EncodedSampleMuxer(recordingMuxer).createTrack(true);
+  }
+
+  @Test
+  public void drainEncoder_writesSamplesInOrderUntilEndOfStream() throws InterruptedException {
+    encoder.addFormatChange();
+    for (int i = 0; i < FRAME_RATE * 2; i++) {
+      encoder.addFrame(
+          FIRST_PRESENTATION_TIME_US + i * FRAME_DURATION_US,
+          i % FRAME_RATE == 0 ? MediaCodec.BUFFER_FLAG_KEY_FRAME : 0);
+    }
+    encoder.addEndOfStream(FIRST_PRESENTATION_TIME_US + FRAME_RATE * 2 * FRAME_DURATION_US);
+
+    assertTrue(CodecRecorder.drainEncoder(encoder, track, new MediaCodec.BufferInfo(), true));
+
+    assertEquals(FRAME_RATE * 2, track.getWrittenSampleCount());
+    for (int i = 0; i < FRAME_RATE * 2; i++) {
+      assertEquals(i * FRAME_DURATION_US, (long) recordingMuxer.presentationTimesUs.get(i));
+      assertEquals(i % FRAME_RATE == 0, recordingMuxer.keyFrames.get(i));
+      assertEquals(i, recordingMuxer.sampleIds.get(i).intValue());
+    }
+    assertEquals(encoder.dequeuedBufferCount, encoder.releasedBufferCount);
+  }
+
+  @Test
+  public void drainEncoder_dropsFramesBeforeFirstKeyFrame() throws InterruptedException {
+    encoder.addFormatChange();
+    encoder.addFrame(FIRST_PRESENTATION_TIME_US, 0);
+    encoder.addFrame(FIRST_PRESENTATION_TIME_US + FRAME_DURATION_US, 0);
+    encoder.addFrame(
+        FIRST_PRESENTATION_TIME_US + 2 * FRAME_DURATION_US, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+    encoder.addFrame(FIRST_PRESENTATION_TIME_US + 3 * FRAME_DURATION_US, 0);
+    encoder.addEndOfStream(FIRST_PRESENTATION_TIME_US + 4 * FRAME_DURATION_US);
+
+    assertTrue(CodecRecorder.drainEncoder(encoder, track, new MediaCodec.BufferInfo(), true));
+
+    assertEquals(2, track.getWrittenSampleCount());
+    // The recording starts with the key frame.
+    assertEquals(0L, (long) recordingMuxer.presentationTimesUs.get(0));
+    assertEquals(FRAME_DURATION_US, (long) recordingMuxer.presentationTimesUs.get(1));
+    assertEquals(2, recordingMuxer.sampleIds.get(0).intValue());
+    // Dropped frames are released to the encoder as well.
+    assertEquals(encoder.dequeuedBufferCount, encoder.releasedBufferCount);
+  }
+
+  @Test
+  public void drainEncoder_returnsWhenNoSampleIsAvailable() throws InterruptedException {
+    encoder.addFormatChange();
+    encoder.addFrame(FIRST_PRESENTATION_TIME_US, MediaCodec.BUFFER_FLAG_KEY_FRAME);
+    encoder.addFrame(FIRST_PRESENTATION_TIME_US + FRAME_DURATION_US, 0);
+
+    assertFalse(CodecRecorder.drainEncoder(encoder, track, new MediaCodec.BufferInfo(), false));
+
+    assertEquals(2, track.getWrittenSampleCount());
+    assertEquals(encoder.dequeuedBufferCount, encoder.releasedBufferCount);
+  }
+
+  /**
+   * Returns the scripted output of an encoder, then {@link MediaCodec#INFO_TRY_AGAIN_LATER}. Each
+   * sample holds its index in the script, so that the order of the written samples can be checked.
+   */
+  private static class FakeEncoder implements CodecRecorder.EncoderOutput {
+    private static final long[] FORMAT_CHANGE = new long[0];
+
+    private final Queue<long[]> outputs = new ArrayDeque<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(4);
+    private int sampleId;
+    int dequeuedBufferCount;
+    int releasedBufferCount;
+
+    void addFormatChange() {
+      outputs.add(FORMAT_CHANGE);
+    }
+
+    void addFrame(long presentationTimeUs, int flags) {
+      outputs.add(new long[] {presentationTimeUs, flags});
+    }
+
+    void addEndOfStream(long presentationTimeUs) {
+      outputs.add(new long[] {presentationTimeUs, MediaCodec.BUFFER_FLAG_END_OF_STREAM});
+    }
+
+    @Override
+    public int dequeueOutputBuffer(@NonNull MediaCodec.BufferInfo info, long timeoutUs) {
+      if (outputs.isEmpty()) {
+        return MediaCodec.INFO_TRY_AGAIN_LATER;
+      }
+      long[] output = outputs.poll();
+      if (output == FORMAT_CHANGE) {
+        return MediaCodec.INFO_OUTPUT_FORMAT_CHANGED;
+      }
+      int flags = (int) output[1];
+      int size = (flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0 ? 0 : buffer.capacity();
+      info.set(0, size, output[0], flags);
+      dequeuedBufferCount++;
+      return 0;
+    }
+
+    @Nullable
+    @Override
+    public ByteBuffer getOutputBuffer(int index) {
+      buffer.clear();
+      buffer.putInt(0, sampleId++);
+      return buffer;
+    }
+
+    @NonNull
+    @Override
+    public MediaFormat getOutputFormat() {
+      return new MediaFormat();
+    }
+
+    @Override
+    public void releaseOutputBuffer(int index) {
+      releasedBufferCount++;
+    }
+  }
+
+  private static class RecordingMuxer implements EncodedSampleMuxer.Muxer {
+    final List<Long> presentationTimesUs = new ArrayList<>();
+    final List<Boolean> keyFrames = new ArrayList<>();
+    final List<Integer> sampleIds = new ArrayList<>();
+
+    @Override
+    public int addTrack(@NonNull MediaFormat format) {
+      return 0;
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void writeSampleData(
+        int trackIndex, @NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info) {
+      presentationTimesUs.add(info.presentationTimeUs);
+      keyFrames.add((info.flags & MediaCodec.BUFFER_FLAG_KEY_FRAME) != 0);
+      sampleIds.add(buffer.getInt(buffer.position()));
+    }
+
+    @Override
+    public void stop() {}
+
+    @Override
+    public void release() {}
+  }
+}
@@ -0,0 +1,217 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EncodedSampleMuxerTest {
+  private FakeMuxer fakeMuxer;
+  private EncodedSampleMuxer muxer;
+
+  @Before
+  public void before() {
+    fakeMuxer = new FakeMuxer();
+    muxer = new EncodedSampleMuxer(fakeMuxer);
+  }
+
+  @Test
+  public void setFormat_startsMuxerOnceEveryTrackHasAFormat() {
+    EncodedSampleMuxer.Track videoTrack = muxer.createTrack(true);
+    EncodedSampleMuxer.Track audioTrack = muxer.createTrack(false);
+
+    videoTrack.setFormat(new MediaFormat());
+    assertFalse(fakeMuxer.started);
+
+    audioTrack.setFormat(new MediaFormat());
+    assertTrue(fakeMuxer.started);
+    assertEquals(2, fakeMuxer.trackCount);
+  }
+
+  @Test
+  public void writeSample_rebasesPresentationTimesOnFirstSample() throws InterruptedException {
+    EncodedSampleMuxer.Track track = createStartedVideoTrack();
+
+    assertTrue(track.writeSample(sample(), info(1_000_000L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+    assertTrue(track.writeSample(sample(), info(1_033_000L, 0)));
+
+    assertEquals(2, fakeMuxer.presentationTimesUs.size());
+    assertEquals(0L, (long) fakeMuxer.presentationTimesUs.get(0));
+    assertEquals(33_000L, (long) fakeMuxer.presentationTimesUs.get(1));
+  }
+
+  @Test
+  public void writeSample_rebasesEveryTrackOnFirstVideoKeyFrame() throws InterruptedException {
+    EncodedSampleMuxer.Track videoTrack = muxer.createTrack(true);
+    EncodedSampleMuxer.Track audioTrack = muxer.createTrack(false);
+    videoTrack.setFormat(new MediaFormat());
+    audioTrack.setFormat(new MediaFormat());
+
+    // Audio captured before the first picture is dropped.
+    assertFalse(audioTrack.writeSample(sample(), info(900_000L, 0)));
+    assertTrue(
+        videoTrack.writeSample(sample(), info(1_000_000L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+    assertFalse(audioTrack.writeSample(sample(), info(990_000L, 0)));
+    assertTrue(audioTrack.writeSample(sample(), info(1_020_000L, 0)));
+
+    assertEquals(2, fakeMuxer.presentationTimesUs.size());
+    assertEquals(0L, (long) fakeMuxer.presentationTimesUs.get(0));
+    // The gap between the first picture and the first audio sample is kept.
+    assertEquals(20_000L, (long) fakeMuxer.presentationTimesUs.get(1));
+  }
+
+  @Test
+  public void setStartPresentationTimeUs_rebasesSamplesWrittenAfterwards()
+      throws InterruptedException {
+    EncodedSampleMuxer.Track videoTrack = muxer.createTrack(true);
+    EncodedSampleMuxer.Track audioTrack = muxer.createTrack(false);
+    videoTrack.setFormat(new MediaFormat());
+    audioTrack.setFormat(new MediaFormat());
+
+    muxer.setStartPresentationTimeUs(1_000_000L);
+    assertTrue(audioTrack.writeSample(sample(), info(1_010_000L, 0)));
+    assertTrue(
+        videoTrack.writeSample(sample(), info(1_000_000L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+
+    assertEquals(10_000L, (long) fakeMuxer.presentationTimesUs.get(0));
+    assertEquals(0L, (long) fakeMuxer.presentationTimesUs.get(1));
+  }
+
+  @Test
+  public void writeSample_dropsCodecConfigAndVideoBeforeFirstKeyFrame()
+      throws InterruptedException {
+    EncodedSampleMuxer.Track track = createStartedVideoTrack();
+
+    assertFalse(track.writeSample(sample(), info(0L, MediaCodec.BUFFER_FLAG_CODEC_CONFIG)));
+    assertFalse(track.writeSample(sample(), info(0L, 0)));
+    assertTrue(track.writeSample(sample(), info(33_000L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+
+    assertEquals(1, track.getWrittenSampleCount());
+  }
+
+  @Test
+  public void writeSample_dropsSamplesWhilePausedAndWaitsForKeyFrameAfterResume()
+      throws InterruptedException {
+    EncodedSampleMuxer.Track track = createStartedVideoTrack();
+    assertTrue(track.writeSample(sample(), info(0L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+
+    muxer.pause();
+    assertFalse(track.writeSample(sample(), info(33_000L, 0)));
+    Thread.sleep(5);
+    muxer.resume();
+
+    assertFalse(track.writeSample(sample(), info(66_000L, 0)));
+    assertTrue(track.writeSample(sample(), info(100_000L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+    assertEquals(2, track.getWrittenSampleCount());
+    // The time spent paused is excluded from the timestamps.
+    assertTrue(fakeMuxer.presentationTimesUs.get(1) <= 100_000L - 5_000L);
+  }
+
+  @Test
+  public void writeSample_returnsWhenReleasedBeforeMuxerStarted() throws InterruptedException {
+    EncodedSampleMuxer.Track videoTrack = muxer.createTrack(true);
+    muxer.createTrack(false);
+    videoTrack.setFormat(new MediaFormat());
+    final boolean[] written = {true};
+    Thread writer =
+        new Thread(
+            () -> {
+              try {
+                written[0] =
+                    videoTrack.writeSample(sample(), info(0L, MediaCodec.BUFFER_FLAG_KEY_FRAME));
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+
+    writer.start();
+    muxer.release();
+    writer.join(1_000);
+
+    assertFalse(writer.isAlive());
+    assertFalse(written[0]);
+    assertTrue(fakeMuxer.released);
+  }
+
+  @Test
+  public void stop_throwsAndReleasesWhenMuxerWasNotStarted() {
+    muxer.createTrack(true);
+
+    assertThrows(IllegalStateException.class, () -> muxer.stop());
+    assertTrue(fakeMuxer.released);
+    assertFalse(fakeMuxer.stopped);
+  }
+
+  @Test
+  public void stop_finalizesStartedMuxer() {
+    createStartedVideoTrack();
+
+    muxer.stop();
+
+    assertTrue(fakeMuxer.stopped);
+    assertTrue(fakeMuxer.released);
+  }
+
+  private EncodedSampleMuxer.Track createStartedVideoTrack() {
+    EncodedSampleMuxer.Track track = muxer.createTrack(true);
+    track.setFormat(new MediaFormat());
+    return track;
+  }
+
+  private static ByteBuffer sample() {
+    return ByteBuffer.allocate(16);
+  }
+
+  private static MediaCodec.BufferInfo info(long presentationTimeUs, int flags) {
+    MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+    info.set(0, 16, presentationTimeUs, flags);
+    return info;
+  }
+
+  private static class FakeMuxer implements EncodedSampleMuxer.Muxer {
+    final List<Long> presentationTimesUs = new ArrayList<>();
+    int trackCount;
+    boolean started;
+    boolean stopped;
+    boolean released;
+
+    @Override
+    public int addTrack(@NonNull MediaFormat format) {
+      return trackCount++;
+    }
+
+    @Override
+    public void start() {
+      started = true;
+    }
+
+    @Override
+    public void writeSampleData(
+        int trackIndex, @NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info) {
+      presentationTimesUs.add(info.presentationTimeUs);
+    }
+
+    @Override
+    public void stop() {
+      stopped = true;
+    }
+
+    @Override
+    public void release() {
+      released = true;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.media.MediaCodec;
+import android.media.MediaFormat;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class EncodedSampleRingTest {
+  private static final int FRAME_RATE = 10;
+  private static final long FRAME_DURATION_US = 1_000_000L / FRAME_RATE;
+
+  @Test
+  public void writeSample_dropsSamplesBeforeFirstVideoKeyFrame() throws InterruptedException {
+    EncodedSampleRing ring = new EncodedSampleRing(1_000_000L, 1_000_000L);
+    EncodedSampleRing.Input video = ring.createInput(true);
+    EncodedSampleRing.Input audio = ring.createInput(false);
+
+    assertFalse(video.writeSample(sample(100), info(100, 0L, 0)));
+    assertFalse(audio.writeSample(sample(10), info(10, 0L, 0)));
+    assertTrue(video.writeSample(sample(100), info(100, 0L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+    assertTrue(audio.writeSample(sample(10), info(10, 0L, 0)));
+
+    assertEquals(2, ring.getRetainedSampleCount());
+    assertEquals(110, ring.getRetainedBytes());
+  }
+
+  @Test
+  public void writeSample_evictsWholeGroupsOfPicturesBeyondDuration() throws InterruptedException {
+    EncodedSampleRing ring = new EncodedSampleRing(1_000_000L, 100_000_000L);
+    EncodedSampleRing.Input video = ring.createInput(true);
+
+    // Three seconds of video with a key frame every half second.
+    writeVideo(video, 30, 5, 100);
+
+    // The oldest retained key frame is the most recent one still covering a second.
+    assertEquals(1_400_000L, ring.getRetainedDurationUs());
+    assertEquals(15, ring.getRetainedSampleCount());
+  }
+
+  @Test
+  public void writeSample_evictsGroupsOfPicturesBeyondMemoryBudget() throws InterruptedException {
+    EncodedSampleRing ring = new EncodedSampleRing(10_000_000L, 1_000L);
+    EncodedSampleRing.Input video = ring.createInput(true);
+
+    writeVideo(video, 30, 5, 100);
+
+    assertEquals(1_000L, ring.getRetainedBytes());
+    assertEquals(10, ring.getRetainedSampleCount());
+  }
+
+  @Test
+  public void writeSample_dropsGroupOfPicturesLargerThanMemoryBudget() throws InterruptedException {
+    EncodedSampleRing ring = new EncodedSampleRing(10_000_000L, 250L);
+    EncodedSampleRing.Input video = ring.createInput(true);
+
+    assertTrue(video.writeSample(sample(100), info(100, 0L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+    assertTrue(video.writeSample(sample(100), info(100, 100_000L, 0)));
+    assertFalse(video.writeSample(sample(100), info(100, 200_000L, 0)));
+    // Frames depending on the dropped key frame are dropped too.
+    assertFalse(video.writeSample(sample(100), info(100, 300_000L, 0)));
+    assertTrue(
+        video.writeSample(sample(100), info(100, 400_000L, MediaCodec.BUFFER_FLAG_KEY_FRAME)));
+
+    assertEquals(1, ring.getRetainedSampleCount());
+  }
+
+  @Test
+  public void startOutput_writesRetainedSamplesBeforeLiveSamples() throws InterruptedException {
+    EncodedSampleRing ring = new EncodedSampleRing(1_000_000L, 100_000_000L);
+    EncodedSampleRing.Input video = ring.createInput(true);
+    EncodedSampleRing.Input audio = ring.createInput(false);
+    video.setFormat(new MediaFormat());
+    audio.setFormat(new MediaFormat());
+    writeVideo(video, 30, 5, 100);
+    assertTrue(audio.writeSample(sample(10), info(10, 2_900_000L, 0)));
+    FakeMuxer fakeMuxer = new FakeMuxer();
+
+    ring.startOutput(new EncodedSampleMuxer(fakeMuxer));
+    assertTrue(fakeMuxer.started);
+    assertTrue(video.writeSample(sample(100), info(100, 3_000_000L, 0)));
+    assertTrue(audio.writeSample(sample(10), info(10, 3_000_000L, 0)));
+
+    // 15 retained and 1 live video sample, 1 retained and 1 live audio sample.
+    assertEquals(18, fakeMuxer.samples.size());
+    assertEquals(0L, (long) fakeMuxer.samples.get(0)[1]);
+    assertTrue(fakeMuxer.samples.get(0)[2] != 0);
+    assertEquals(1_500_000L, (long) fakeMuxer.samples.get(15)[1]);
+    assertEquals(0, ring.getRetainedSampleCount());
+  }
+
+  @Test
+  public void startOutput_throwsWhenCalledTwice() {
+    EncodedSampleRing ring = new EncodedSampleRing(1_000_000L, 100_000_000L);
+    ring.createInput(true);
+    ring.startOutput(new EncodedSampleMuxer(new FakeMuxer()));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> ring.startOutput(new EncodedSampleMuxer(new FakeMuxer())));
+  }
+
+  private static void writeVideo(
+      EncodedSampleRing.Input video, int frameCount, int keyFrameInterval, int frameSize)
+      throws InterruptedException {
+    for (int i = 0; i < frameCount; i++) {
+      int flags = i % keyFrameInterval == 0 ? MediaCodec.BUFFER_FLAG_KEY_FRAME : 0;
+      video.writeSample(sample(frameSize), info(frameSize, i * FRAME_DURATION_US, flags));
+    }
+  }
+
+  private static ByteBuffer sample(int size) {
+    return ByteBuffer.allocate(size);
+  }
+
+  private static MediaCodec.BufferInfo info(int size, long presentationTimeUs, int flags) {
+    MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+    info.set(0, size, presentationTimeUs, flags);
+    return info;
+  }
+
+  private static class FakeMuxer implements EncodedSampleMuxer.Muxer {
+    // {track index, presentation time, flags} of each written sample.
+    final List<long[]> samples = new ArrayList<>();
+    int trackCount;
+    boolean started;
+
+    @Override
+    public int addTrack(@NonNull MediaFormat format) {
+      return trackCount++;
+    }
+
+    @Override
+    public void start() {
+      started = true;
+    }
+
+    @Override
+    public void writeSampleData(
+        int trackIndex, @NonNull ByteBuffer buffer, @NonNull MediaCodec.BufferInfo info) {
+      samples.add(new long[] {trackIndex, info.presentationTimeUs, info.flags});
+    }
+
+    @Override
+    public void stop() {}
+
+    @Override
+    public void release() {}
+  }
+}
@@ -0,0 +1,625 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Handler;
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.camera.processing.FrameProcessorRegistry;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import io.flutter.plugins.camera.types.ImageStreamBackpressureStrategy;
+import io.flutter.plugins.camera.types.ImageStreamOptions;
+import io.flutter.plugins.camera.types.ImageStreamOutputLayout;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamReaderTest {
+  private static final int WIDTH = 64;
+  private static final int HEIGHT = 48;
+
+  private ImageReader mockImageReader;
+  private Handler mockMainHandler;
+  private Handler mockBackgroundHandler;
+  private EventChannel.EventSink mockEventSink;
+  private CameraCaptureProperties captureProps;
+  private ImageStreamReader imageStreamReader;
+  private List<Object> sentFrames;
+
+  @Before
+  public void before() {
+    mockImageReader = mock(ImageReader.class);
+    mockMainHandler = createImmediateHandler();
+    mockBackgroundHandler = createImmediateHandler();
+    mockEventSink = mock(EventChannel.EventSink.class);
+    captureProps = new CameraCaptureProperties();
+    imageStreamReader = new ImageStreamReader(mockImageReader, mockMainHandler);
+
+    sentFrames = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              sentFrames.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(mockEventSink)
+        .success(any());
+  }
+
+  @Test
+  public void onImageAvailable_sendsFrameAndClosesImage() {
+    imageStreamReader.subscribeListener(
+        new ImageStreamOptions(), captureProps, mockEventSink, mockBackgroundHandler);
+    Image mockImage = createYuvImage();
+
+    imageStreamReader.onImageAvailable(mockImage, captureProps);
+
+    ArgumentCaptor<Object> frameCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(mockEventSink, times(1)).success(frameCaptor.capture());
+    verify(mockImage, times(1)).close();
+    @SuppressWarnings("unchecked")
+    Map<String, Object> frame = (Map<String, Object>) frameCaptor.getValue();
+    assertEquals(WIDTH, frame.get("width"));
+    assertEquals(HEIGHT, frame.get("height"));
+    assertEquals(ImageFormat.YUV_420_888, frame.get("format"));
+    assertEquals(3, ((List<?>) frame.get("planes")).size());
+  }
+
+  @Test
+  public void onImageAvailable_withoutPooledBuffersDoesNotReuseFrames() {
+    imageStreamReader.subscribeListener(
+        new ImageStreamOptions(), captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    assertNull(imageStreamReader.getFramePool());
+    assertEquals(2, sentFrames.size());
+    assertNotSame(sentFrames.get(0), sentFrames.get(1));
+  }
+
+  @Test
+  public void onImageAvailable_withPooledBuffersDoesNotAllocatePerFrame() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setUsePooledBuffers(true);
+    options.setPooledBufferCount(2);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+    ImageStreamFramePool framePool = imageStreamReader.getFramePool();
+    assertNotNull(framePool);
+
+    // Warm up every frame of the pool.
+    for (int i = 0; i < 2; i++) {
+      imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+      imageStreamReader.onFrameAcknowledged();
+    }
+    int allocationsAfterWarmUp = framePool.getAllocationCount();
+
+    for (int i = 0; i < 100; i++) {
+      imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+      imageStreamReader.onFrameAcknowledged();
+    }
+
+    assertEquals(102, sentFrames.size());
+    assertEquals(allocationsAfterWarmUp, framePool.getAllocationCount());
+    // One plane list and one buffer per plane for each pooled frame.
+    assertEquals(2 * 4, allocationsAfterWarmUp);
+  }
+
+  @Test
+  public void onImageAvailable_withPooledBuffersDropsFramesUntilAcknowledged() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setUsePooledBuffers(true);
+    options.setPooledBufferCount(1);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    Image droppedImage = createYuvImage();
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    imageStreamReader.onImageAvailable(droppedImage, captureProps);
+
+    assertEquals(1, sentFrames.size());
+    verify(droppedImage, times(1)).close();
+
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    assertEquals(2, sentFrames.size());
+    assertSame(sentFrames.get(0), sentFrames.get(1));
+  }
+
+  @Test
+  public void onImageAvailable_dropNewWhileBusyDropsFramesUntilAcknowledged() {
+    imageStreamReader.subscribeListener(
+        createOptions(ImageStreamBackpressureStrategy.dropNewWhileBusy),
+        captureProps,
+        mockEventSink,
+        mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    assertEquals(1, sentFrames.size());
+
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    assertEquals(2, sentFrames.size());
+    assertEquals(2, imageStreamReader.getDeliveredFrameCount());
+    assertEquals(2, imageStreamReader.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onImageAvailable_latestOnlySendsMostRecentFrameOnAcknowledgement() {
+    imageStreamReader.subscribeListener(
+        createOptions(ImageStreamBackpressureStrategy.latestOnly),
+        captureProps,
+        mockEventSink,
+        mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(WIDTH), captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(WIDTH + 1), captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(WIDTH + 2), captureProps);
+
+    assertEquals(1, sentFrames.size());
+
+    imageStreamReader.onFrameAcknowledged();
+
+    assertEquals(2, sentFrames.size());
+    assertEquals(WIDTH + 2, getFrame(1).get("width"));
+    assertEquals(2, imageStreamReader.getDeliveredFrameCount());
+    assertEquals(1, imageStreamReader.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onImageAvailable_boundedQueueSendsQueuedFramesInOrder() {
+    ImageStreamOptions options = createOptions(ImageStreamBackpressureStrategy.boundedQueue);
+    options.setQueueSize(2);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    for (int i = 0; i < 5; i++) {
+      imageStreamReader.onImageAvailable(createYuvImage(WIDTH + i), captureProps);
+    }
+
+    assertEquals(1, sentFrames.size());
+    assertEquals(2, imageStreamReader.getDroppedFrameCount());
+
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onFrameAcknowledged();
+
+    assertEquals(3, sentFrames.size());
+    assertEquals(WIDTH, getFrame(0).get("width"));
+    assertEquals(WIDTH + 1, getFrame(1).get("width"));
+    assertEquals(WIDTH + 2, getFrame(2).get("width"));
+    assertEquals(3, imageStreamReader.getDeliveredFrameCount());
+  }
+
+  @Test
+  public void onImageAvailable_maxInFlightFramesLimitsUnacknowledgedFrames() {
+    ImageStreamOptions options = createOptions(ImageStreamBackpressureStrategy.dropNewWhileBusy);
+    options.setMaxInFlightFrames(3);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    for (int i = 0; i < 5; i++) {
+      imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    }
+
+    assertEquals(3, sentFrames.size());
+    assertEquals(2, imageStreamReader.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onImageAvailable_withPooledBuffersAndLatestOnlyReusesReplacedFrames() {
+    ImageStreamOptions options = createOptions(ImageStreamBackpressureStrategy.latestOnly);
+    options.setUsePooledBuffers(true);
+    options.setPooledBufferCount(2);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    for (int i = 0; i < 10; i++) {
+      imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    }
+
+    assertEquals(1, sentFrames.size());
+    assertEquals(8, imageStreamReader.getDroppedFrameCount());
+    assertEquals(2, imageStreamReader.getFramePool().getInFlightCount());
+
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onFrameAcknowledged();
+
+    assertEquals(2, sentFrames.size());
+    assertEquals(0, imageStreamReader.getFramePool().getInFlightCount());
+  }
+
+  @Test
+  public void subscribeListener_resetsFrameCounters() {
+    imageStreamReader.subscribeListener(
+        createOptions(ImageStreamBackpressureStrategy.dropNewWhileBusy),
+        captureProps,
+        mockEventSink,
+        mockBackgroundHandler);
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    imageStreamReader.subscribeListener(
+        new ImageStreamOptions(), captureProps, mockEventSink, mockBackgroundHandler);
+
+    assertEquals(0, imageStreamReader.getDeliveredFrameCount());
+    assertEquals(0, imageStreamReader.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onImageAvailable_targetFrameRateSkipsFramesWithoutCopying() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setTargetFrameRate(10);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    // Two seconds of 30 fps frames.
+    List<Image> skippedImages = new ArrayList<>();
+    for (int i = 0; i < 60; i++) {
+      Image image = createYuvImage();
+      when(image.getTimestamp()).thenReturn(1_000_000_000L + i * 33_333_333L);
+      imageStreamReader.onImageAvailable(image, captureProps);
+      verify(image, times(1)).close();
+      if (i % 3 != 0) {
+        skippedImages.add(image);
+      }
+    }
+
+    assertEquals(20, sentFrames.size());
+    assertEquals(0, imageStreamReader.getDroppedFrameCount());
+    for (Image image : skippedImages) {
+      verify(image, never()).getPlanes();
+    }
+  }
+
+  @Test
+  public void onImageAvailable_planeMaskSendsSelectedPlanesOnly() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setPlaneMask(ImageStreamOptions.LUMA_PLANE);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    List<?> planes = (List<?>) getFrame(0).get("planes");
+    assertEquals(1, planes.size());
+    assertEquals(WIDTH * HEIGHT, ((byte[]) ((Map<?, ?>) planes.get(0)).get("bytes")).length);
+  }
+
+  @Test
+  public void onImageAvailable_cropRegionCopiesRequestedRowsAndColumns() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setCropRegion(8, 4, 16, 10);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    Map<String, Object> frame = getFrame(0);
+    assertEquals(16, frame.get("width"));
+    assertEquals(10, frame.get("height"));
+    List<?> planes = (List<?>) frame.get("planes");
+
+    Map<?, ?> lumaPlane = (Map<?, ?>) planes.get(0);
+    byte[] luma = (byte[]) lumaPlane.get("bytes");
+    assertEquals(16, lumaPlane.get("bytesPerRow"));
+    assertEquals(16 * 10, luma.length);
+    for (int row = 0; row < 10; row++) {
+      for (int column = 0; column < 16; column++) {
+        assertEquals((byte) ((4 + row) * WIDTH + 8 + column), luma[row * 16 + column]);
+      }
+    }
+
+    Map<?, ?> chromaPlane = (Map<?, ?>) planes.get(1);
+    byte[] chroma = (byte[]) chromaPlane.get("bytes");
+    assertEquals(16, chromaPlane.get("bytesPerRow"));
+    assertEquals(16 * 4 + 15, chroma.length);
+    for (int row = 0; row < 5; row++) {
+      for (int column = 0; column < 8; column++) {
+        assertEquals((byte) ((2 + row) * WIDTH + (4 + column) * 2), chroma[row * 16 + column * 2]);
+      }
+    }
+  }
+
+  @Test
+  public void onImageAvailable_cropRegionIsClampedToImageBounds() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setCropRegion(WIDTH - 9, HEIGHT - 9, 100, 100);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    Map<String, Object> frame = getFrame(0);
+    assertEquals(10, frame.get("width"));
+    assertEquals(10, frame.get("height"));
+  }
+
+  @Test
+  public void onImageAvailable_nv21LayoutSendsSinglePackedPlane() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setOutputLayout(ImageStreamOutputLayout.nv21);
+    options.setUsePooledBuffers(true);
+    options.setPooledBufferCount(1);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+    int allocationsAfterFirstFrame = imageStreamReader.getFramePool().getAllocationCount();
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    Map<String, Object> frame = getFrame(1);
+    assertEquals(ImageFormat.NV21, frame.get("format"));
+    List<?> planes = (List<?>) frame.get("planes");
+    assertEquals(1, planes.size());
+    Map<?, ?> plane = (Map<?, ?>) planes.get(0);
+    assertEquals(WIDTH, plane.get("bytesPerRow"));
+    assertEquals(1, plane.get("bytesPerPixel"));
+    assertEquals(WIDTH * HEIGHT * 3 / 2, ((byte[]) plane.get("bytes")).length);
+    assertEquals(allocationsAfterFirstFrame, imageStreamReader.getFramePool().getAllocationCount());
+  }
+
+  @Test
+  public void onImageAvailable_i420LayoutPacksCropRegion() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setOutputLayout(ImageStreamOutputLayout.i420);
+    options.setCropRegion(8, 4, 16, 10);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    Map<String, Object> frame = getFrame(0);
+    assertEquals(ImageFormat.YUV_420_888, frame.get("format"));
+    assertEquals(16, frame.get("width"));
+    assertEquals(10, frame.get("height"));
+    byte[] bytes = (byte[]) ((Map<?, ?>) ((List<?>) frame.get("planes")).get(0)).get("bytes");
+    assertEquals(16 * 10 * 3 / 2, bytes.length);
+    assertEquals((byte) (4 * WIDTH + 8), bytes[0]);
+    // The first U sample of the region follows the luma samples.
+    assertEquals((byte) (2 * WIDTH + 4 * 2), bytes[16 * 10]);
+  }
+
+  @Test
+  public void onImageAvailable_packedLayoutSendsJpegUnchanged() {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setOutputLayout(ImageStreamOutputLayout.nv21);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(WIDTH);
+    when(mockImage.getHeight()).thenReturn(HEIGHT);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.JPEG);
+    Image.Plane[] jpegPlanes = new Image.Plane[] {createPlane(100, 0, 0)};
+    when(mockImage.getPlanes()).thenReturn(jpegPlanes);
+
+    imageStreamReader.onImageAvailable(mockImage, captureProps);
+
+    Map<String, Object> frame = getFrame(0);
+    assertEquals(ImageFormat.JPEG, frame.get("format"));
+    List<?> planes = (List<?>) frame.get("planes");
+    assertEquals(1, planes.size());
+    assertEquals(100, ((byte[]) ((Map<?, ?>) planes.get(0)).get("bytes")).length);
+  }
+
+  @Test
+  public void onImageAvailable_frameProcessorsRunBeforeFrameIsCopied() {
+    List<Object> queuedTasks = new ArrayList<>();
+    ExecutorService mockExecutor = mock(ExecutorService.class);
+    doAnswer(
+            invocation -> {
+              queuedTasks.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    imageStreamReader = new ImageStreamReader(mockImageReader, mockMainHandler, mockExecutor);
+    FrameProcessorRegistry.register(
+        "test",
+        image -> {
+          Map<String, Object> result = new HashMap<>();
+          result.put("width", image.getWidth());
+          return result;
+        });
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setFrameProcessors(Collections.singletonList("test"));
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+    Image mockImage = createYuvImage();
+    when(mockImage.getTimestamp()).thenReturn(42L);
+
+    imageStreamReader.onImageAvailable(mockImage, captureProps);
+    // Images arriving while the processors are busy are dropped.
+    Image droppedImage = createYuvImage();
+    imageStreamReader.onImageAvailable(droppedImage, captureProps);
+
+    assertEquals(0, sentFrames.size());
+    assertEquals(1, queuedTasks.size());
+    verify(mockImage, never()).close();
+    verify(droppedImage, times(1)).close();
+    assertEquals(1, imageStreamReader.getDroppedFrameCount());
+
+    ((Runnable) queuedTasks.get(0)).run();
+
+    assertEquals(2, sentFrames.size());
+    Map<String, Object> event = getFrame(0);
+    assertEquals("test", event.get("processor"));
+    assertEquals(42L, event.get("timestamp"));
+    assertEquals(WIDTH, ((Map<?, ?>) event.get("result")).get("width"));
+    assertNotNull(getFrame(1).get("planes"));
+    verify(mockImage, times(1)).close();
+    FrameProcessorRegistry.unregister("test");
+  }
+
+  @Test
+  public void onImageAvailable_frameProcessorsKeepOneFrameInFlightAndDropTheRest() {
+    List<Runnable> queuedTasks = new ArrayList<>();
+    ExecutorService mockExecutor = mock(ExecutorService.class);
+    doAnswer(
+            invocation -> {
+              queuedTasks.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    imageStreamReader = new ImageStreamReader(mockImageReader, mockMainHandler, mockExecutor);
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setFrameProcessors(Collections.singletonList(FrameProcessorRegistry.AVERAGE_LUMA));
+    options.setSendFrames(false);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+    Image inFlightImage = createYuvImage();
+    List<Image> burst = new ArrayList<>();
+    for (int i = 0; i < ImageStreamReader.MAX_IMAGES * 2; i++) {
+      burst.add(createYuvImage());
+    }
+
+    imageStreamReader.onImageAvailable(inFlightImage, captureProps);
+    for (Image image : burst) {
+      imageStreamReader.onImageAvailable(image, captureProps);
+    }
+
+    // Only the frame being processed stays open, the image reader keeps free images.
+    assertEquals(1, queuedTasks.size());
+    verify(inFlightImage, never()).close();
+    for (Image image : burst) {
+      verify(image, times(1)).close();
+    }
+    assertEquals(burst.size(), imageStreamReader.getDroppedFrameCount());
+
+    queuedTasks.get(0).run();
+    Image nextImage = createYuvImage();
+    imageStreamReader.onImageAvailable(nextImage, captureProps);
+
+    verify(inFlightImage, times(1)).close();
+    assertEquals(1, sentFrames.size());
+    // The processors accept frames again once the frame in flight is done.
+    assertEquals(2, queuedTasks.size());
+    verify(nextImage, never()).close();
+    assertEquals(burst.size(), imageStreamReader.getDroppedFrameCount());
+  }
+
+  @Test
+  public void onImageAvailable_withoutSendFramesOnlySendsProcessorResults() {
+    ExecutorService mockExecutor = mock(ExecutorService.class);
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    imageStreamReader = new ImageStreamReader(mockImageReader, mockMainHandler, mockExecutor);
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setFrameProcessors(Collections.singletonList(FrameProcessorRegistry.AVERAGE_LUMA));
+    options.setSendFrames(false);
+    imageStreamReader.subscribeListener(
+        options, captureProps, mockEventSink, mockBackgroundHandler);
+    Image mockImage = createYuvImage();
+
+    imageStreamReader.onImageAvailable(mockImage, captureProps);
+    imageStreamReader.onImageAvailable(createYuvImage(), captureProps);
+
+    assertEquals(2, sentFrames.size());
+    assertEquals(FrameProcessorRegistry.AVERAGE_LUMA, getFrame(0).get("processor"));
+    assertEquals(FrameProcessorRegistry.AVERAGE_LUMA, getFrame(1).get("processor"));
+    assertEquals(0, imageStreamReader.getDeliveredFrameCount());
+    verify(mockImage, times(1)).close();
+  }
+
+  @Test
+  public void removeListener_shouldClearImageAvailableListener() {
+    imageStreamReader.subscribeListener(
+        new ImageStreamOptions(), captureProps, mockEventSink, mockBackgroundHandler);
+
+    imageStreamReader.removeListener(mockBackgroundHandler);
+
+    verify(mockImageReader, times(1)).setOnImageAvailableListener(null, mockBackgroundHandler);
+  }
+
+  private static Handler createImmediateHandler() {
+    Handler handler = mock(Handler.class);
+    when(handler.post(any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              Runnable runnable = invocation.getArgument(0);
+              runnable.run();
+              return true;
+            });
+    return handler;
+  }
+
+  private static ImageStreamOptions createOptions(ImageStreamBackpressureStrategy strategy) {
+    ImageStreamOptions options = new ImageStreamOptions();
+    options.setBackpressureStrategy(strategy);
+    return options;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getFrame(int index) {
+    return (Map<String, Object>) sentFrames.get(index);
+  }
+
+  private static Image createYuvImage() {
+    return createYuvImage(WIDTH);
+  }
+
+  private static Image createYuvImage(int width) {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(width);
+    when(mockImage.getHeight()).thenReturn(HEIGHT);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    Image.Plane[] planes =
+        new Image.Plane[] {
+          createPlane(WIDTH * HEIGHT, WIDTH, 1),
+          createPlane(WIDTH * HEIGHT / 2 - 1, WIDTH, 2),
+          createPlane(WIDTH * HEIGHT / 2 - 1, WIDTH, 2)
+        };
+    when(mockImage.getPlanes()).thenReturn(planes);
+    return mockImage;
+  }
+
+  private static Image.Plane createPlane(int size, int rowStride, int pixelStride) {
+    Image.Plane mockPlane = mock(Image.Plane.class);
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int i = 0; i < size; i++) {
+      buffer.put(i, (byte) i);
+    }
+    when(mockPlane.getBuffer()).thenReturn(buffer);
+    when(mockPlane.getRowStride()).thenReturn(rowStride);
+    when(mockPlane.getPixelStride()).thenReturn(pixelStride);
+    return mockPlane;
+  }
+}
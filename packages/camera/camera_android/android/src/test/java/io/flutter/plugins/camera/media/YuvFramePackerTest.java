@@ -0,0 +1,226 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.flutter.plugins.camera.utils.TestUtils;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+
+public class YuvFramePackerTest {
+  private static final int WIDTH = 8;
+  private static final int HEIGHT = 4;
+  // Rows are padded to 16 bytes, as camera HALs commonly do.
+  private static final int ROW_STRIDE = 16;
+
+  @Test
+  public void getPackedSize_returnsSizeOfLumaAndChroma() {
+    assertEquals(640 * 480 * 3 / 2, YuvFramePacker.getPackedSize(640, 480));
+  }
+
+  @Test
+  public void packNv21_interleavesChromaWithoutPadding() {
+    YuvPlanes yuv = YuvPlanes.semiPlanar(WIDTH, HEIGHT, ROW_STRIDE);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(WIDTH, HEIGHT)];
+
+    new YuvFramePacker()
+        .packNv21(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 0, 0, WIDTH, HEIGHT, dest);
+
+    assertArrayEquals(expectedNv21(yuv, 0, 0, WIDTH, HEIGHT), dest);
+  }
+
+  @Test
+  public void packI420_separatesChromaWithoutPadding() {
+    YuvPlanes yuv = YuvPlanes.semiPlanar(WIDTH, HEIGHT, ROW_STRIDE);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(WIDTH, HEIGHT)];
+
+    new YuvFramePacker()
+        .packI420(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 0, 0, WIDTH, HEIGHT, dest);
+
+    assertArrayEquals(expectedI420(yuv, 0, 0, WIDTH, HEIGHT), dest);
+  }
+
+  @Test
+  public void packI420_supportsPlanarChroma() {
+    YuvPlanes yuv = YuvPlanes.planar(WIDTH, HEIGHT, ROW_STRIDE);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(WIDTH, HEIGHT)];
+
+    new YuvFramePacker()
+        .packI420(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE / 2, 1, 0, 0, WIDTH, HEIGHT, dest);
+
+    assertArrayEquals(expectedI420(yuv, 0, 0, WIDTH, HEIGHT), dest);
+  }
+
+  @Test
+  public void packNv21_copiesUnpaddedRowsInOneRead() {
+    YuvPlanes yuv = YuvPlanes.semiPlanar(WIDTH, HEIGHT, WIDTH);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(WIDTH, HEIGHT)];
+
+    new YuvFramePacker().packNv21(yuv.y, WIDTH, yuv.u, yuv.v, WIDTH, 2, 0, 0, WIDTH, HEIGHT, dest);
+
+    assertArrayEquals(expectedNv21(yuv, 0, 0, WIDTH, HEIGHT), dest);
+  }
+
+  @Test
+  public void pack_reusesScratchRowsForFramesOfTheSameSize() {
+    YuvPlanes yuv = YuvPlanes.semiPlanar(WIDTH, HEIGHT, ROW_STRIDE);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(WIDTH, HEIGHT)];
+    YuvFramePacker packer = new YuvFramePacker();
+
+    packer.packNv21(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 0, 0, WIDTH, HEIGHT, dest);
+    Object uRow = TestUtils.getPrivateField(packer, "uRow");
+    Object vRow = TestUtils.getPrivateField(packer, "vRow");
+    packer.packI420(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 0, 0, WIDTH, HEIGHT, dest);
+    packer.packNv21(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 0, 0, WIDTH, HEIGHT, dest);
+
+    assertSame(uRow, TestUtils.getPrivateField(packer, "uRow"));
+    assertSame(vRow, TestUtils.getPrivateField(packer, "vRow"));
+    assertArrayEquals(expectedNv21(yuv, 0, 0, WIDTH, HEIGHT), dest);
+  }
+
+  @Test
+  public void packNv21_copiesRegionOnly() {
+    YuvPlanes yuv = YuvPlanes.semiPlanar(WIDTH, HEIGHT, ROW_STRIDE);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(4, 2)];
+
+    new YuvFramePacker().packNv21(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 2, 2, 4, 2, dest);
+
+    assertArrayEquals(expectedNv21(yuv, 2, 2, 4, 2), dest);
+  }
+
+  @Test
+  public void pack_leavesBufferPositionsUnchanged() {
+    YuvPlanes yuv = YuvPlanes.semiPlanar(WIDTH, HEIGHT, ROW_STRIDE);
+    byte[] dest = new byte[YuvFramePacker.getPackedSize(WIDTH, HEIGHT)];
+
+    new YuvFramePacker()
+        .packNv21(yuv.y, ROW_STRIDE, yuv.u, yuv.v, ROW_STRIDE, 2, 0, 0, WIDTH, HEIGHT, dest);
+
+    assertEquals(0, yuv.y.position());
+    assertEquals(0, yuv.u.position());
+    assertEquals(0, yuv.v.position());
+  }
+
+  private static byte[] expectedNv21(YuvPlanes yuv, int left, int top, int width, int height) {
+    byte[] expected = new byte[YuvFramePacker.getPackedSize(width, height)];
+    int offset = copyExpectedLuma(yuv, left, top, width, height, expected);
+    for (int row = top / 2; row < (top + height) / 2; row++) {
+      for (int column = left / 2; column < (left + width) / 2; column++) {
+        expected[offset++] = yuv.chromaV(row, column);
+        expected[offset++] = yuv.chromaU(row, column);
+      }
+    }
+    return expected;
+  }
+
+  private static byte[] expectedI420(YuvPlanes yuv, int left, int top, int width, int height) {
+    byte[] expected = new byte[YuvFramePacker.getPackedSize(width, height)];
+    int offset = copyExpectedLuma(yuv, left, top, width, height, expected);
+    for (int row = top / 2; row < (top + height) / 2; row++) {
+      for (int column = left / 2; column < (left + width) / 2; column++) {
+        expected[offset++] = yuv.chromaU(row, column);
+      }
+    }
+    for (int row = top / 2; row < (top + height) / 2; row++) {
+      for (int column = left / 2; column < (left + width) / 2; column++) {
+        expected[offset++] = yuv.chromaV(row, column);
+      }
+    }
+    return expected;
+  }
+
+  private static int copyExpectedLuma(
+      YuvPlanes yuv, int left, int top, int width, int height, byte[] expected) {
+    int offset = 0;
+    for (int row = top; row < top + height; row++) {
+      for (int column = left; column < left + width; column++) {
+        expected[offset++] = yuv.luma(row, column);
+      }
+    }
+    return offset;
+  }
+
+  /** YUV_420_888 plane buffers in which every sample has a distinct, predictable value. */
+  static class YuvPlanes {
+    final ByteBuffer y;
+    final ByteBuffer u;
+    final ByteBuffer v;
+    private final int rowStride;
+    private final int uvRowStride;
+    private final int uvPixelStride;
+
+    private YuvPlanes(
+        ByteBuffer y,
+        ByteBuffer u,
+        ByteBuffer v,
+        int rowStride,
+        int uvRowStride,
+        int uvPixelStride) {
+      this.y = y;
+      this.u = u;
+      this.v = v;
+      this.rowStride = rowStride;
+      this.uvRowStride = uvRowStride;
+      this.uvPixelStride = uvPixelStride;
+    }
+
+    /** Creates planes in which the U and V planes share one interleaved VU buffer. */
+    static YuvPlanes semiPlanar(int width, int height, int rowStride) {
+      ByteBuffer y = createLuma(width, height, rowStride);
+      ByteBuffer vu = ByteBuffer.allocate(rowStride * (height / 2));
+      for (int row = 0; row < height / 2; row++) {
+        for (int column = 0; column < width / 2; column++) {
+          vu.put(row * rowStride + column * 2, (byte) (0x80 | row << 4 | column));
+          vu.put(row * rowStride + column * 2 + 1, (byte) (0x40 | row << 4 | column));
+        }
+      }
+      ByteBuffer v = vu.duplicate();
+      v.limit(vu.capacity() - 1);
+      vu.position(1);
+      ByteBuffer u = vu.slice();
+      return new YuvPlanes(y, u, v.slice(), rowStride, rowStride, 2);
+    }
+
+    /** Creates planes in which the U and V planes are separate buffers. */
+    static YuvPlanes planar(int width, int height, int rowStride) {
+      ByteBuffer y = createLuma(width, height, rowStride);
+      int uvRowStride = rowStride / 2;
+      ByteBuffer u = ByteBuffer.allocate(uvRowStride * (height / 2));
+      ByteBuffer v = ByteBuffer.allocate(uvRowStride * (height / 2));
+      for (int row = 0; row < height / 2; row++) {
+        for (int column = 0; column < width / 2; column++) {
+          u.put(row * uvRowStride + column, (byte) (0x40 | row << 4 | column));
+          v.put(row * uvRowStride + column, (byte) (0x80 | row << 4 | column));
+        }
+      }
+      return new YuvPlanes(y, u, v, rowStride, uvRowStride, 1);
+    }
+
+    private static ByteBuffer createLuma(int width, int height, int rowStride) {
+      ByteBuffer y = ByteBuffer.allocate(rowStride * height);
+      for (int row = 0; row < height; row++) {
+        for (int column = 0; column < width; column++) {
+          y.put(row * rowStride + column, (byte) (row << 4 | column));
+        }
+      }
+      return y;
+    }
+
+    byte luma(int row, int column) {
+      return y.get(row * rowStride + column);
+    }
+
+    byte chromaU(int row, int column) {
+      return u.get(row * uvRowStride + column * uvPixelStride);
+    }
+
+    byte chromaV(int row, int column) {
+      return v.get(row * uvRowStride + column * uvPixelStride);
+    }
+  }
+}
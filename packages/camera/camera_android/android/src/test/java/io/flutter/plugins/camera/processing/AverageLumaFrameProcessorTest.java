@@ -0,0 +1,77 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import org.junit.Test;
+
+public class AverageLumaFrameProcessorTest {
+  @Test
+  public void process_returnsAverageOfSampledLumaValues() {
+    int width = 32;
+    int height = 16;
+    int rowStride = 40;
+    ByteBuffer buffer = ByteBuffer.allocate(rowStride * height);
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        // Sampled rows are 0 and 8, sampled columns are 0, 8, 16 and 24.
+        buffer.put(row * rowStride + column, (byte) (row == 0 ? 100 : 200));
+      }
+    }
+    Image image = createImage(ImageFormat.YUV_420_888, width, height, buffer, rowStride);
+
+    Map<String, Object> result = new AverageLumaFrameProcessor().process(image);
+
+    assertEquals(150.0, (double) result.get("averageLuma"), 0);
+  }
+
+  @Test
+  public void process_returnsNullForNonYuvImages() {
+    Image image = createImage(ImageFormat.JPEG, 4, 4, ByteBuffer.allocate(16), 4);
+
+    assertNull(new AverageLumaFrameProcessor().process(image));
+  }
+
+  @Test
+  public void registry_providesAverageLumaProcessorByDefault() {
+    FrameProcessor processor = FrameProcessorRegistry.get(FrameProcessorRegistry.AVERAGE_LUMA);
+
+    assertEquals(AverageLumaFrameProcessor.class, processor.getClass());
+  }
+
+  @Test
+  public void registry_registersAndUnregistersProcessors() {
+    FrameProcessor processor = image -> null;
+
+    FrameProcessorRegistry.register("test", processor);
+    assertSame(processor, FrameProcessorRegistry.get("test"));
+
+    FrameProcessorRegistry.unregister("test");
+    assertNull(FrameProcessorRegistry.get("test"));
+  }
+
+  private static Image createImage(
+      int format, int width, int height, ByteBuffer buffer, int rowStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(1);
+    Image image = mock(Image.class);
+    when(image.getFormat()).thenReturn(format);
+    when(image.getWidth()).thenReturn(width);
+    when(image.getHeight()).thenReturn(height);
+    when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return image;
+  }
+}
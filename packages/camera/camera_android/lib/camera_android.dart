@@ -3,3 +3,9 @@
 // found in the LICENSE file.
 
 export 'src/android_camera.dart';
+export 'src/burst_frame_event.dart';
+export 'src/camera_settings.dart';
+export 'src/frame_metadata_event.dart';
+export 'src/image_stream_options.dart';
+export 'src/metrics_event.dart';
+export 'src/video_encoder_settings.dart';
@@ -11,8 +11,14 @@ import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'burst_frame_event.dart';
+import 'camera_settings.dart';
+import 'frame_metadata_event.dart';
+import 'image_stream_options.dart';
+import 'metrics_event.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
+import 'video_encoder_settings.dart';
 
 const MethodChannel _channel =
     MethodChannel('plugins.flutter.io/camera_android');
@@ -26,6 +32,9 @@ class AndroidCamera extends CameraPlatform {
 
   final Map<int, MethodChannel> _channels = <int, MethodChannel>{};
 
+  // The cameras created by [createConcurrentCamera] and not disposed yet.
+  final Set<int> _concurrentCameraIds = <int>{};
+
   /// The name of the channel that device events from the platform side are
   /// sent on.
   @visibleForTesting
@@ -58,11 +67,28 @@ class AndroidCamera extends CameraPlatform {
     return StreamController<DeviceEvent>.broadcast();
   }
 
-  // The stream to receive frames from the native code.
-  StreamSubscription<dynamic>? _platformImageStreamSubscription;
+  // The streams to receive frames from the native code, by camera id.
+  final Map<int, StreamSubscription<dynamic>>
+      _platformImageStreamSubscriptions = <int, StreamSubscription<dynamic>>{};
+
+  // The streams for vending frames to platform interface clients, by camera
+  // id.
+  final Map<int, StreamController<CameraImageData>> _frameStreamControllers =
+      <int, StreamController<CameraImageData>>{};
+
+  final StreamController<AndroidFrameProcessorResult>
+      _frameProcessorResultStreamController =
+      StreamController<AndroidFrameProcessorResult>.broadcast();
 
-  // The stream for vending frames to platform interface clients.
-  StreamController<CameraImageData>? _frameStreamController;
+  // The options for the image streams that are currently being set up, by
+  // camera id.
+  final Map<int, CameraImageStreamOptions?> _frameStreamOptions =
+      <int, CameraImageStreamOptions?>{};
+
+  // The image streams whose platform side waits for each frame to be
+  // acknowledged, by camera id, mapped to whether the stream listener
+  // acknowledges frames itself through [acknowledgeStreamedFrame].
+  final Map<int, bool> _acknowledgedFrameStreams = <int, bool>{};
 
   Stream<CameraEvent> _cameraEvents(int cameraId) =>
       cameraEventStreamController.stream
@@ -113,6 +139,85 @@ class AndroidCamera extends CameraPlatform {
     }
   }
 
+  /// Prepares the camera of [cameraDescription] so that a later
+  /// [createCamera] and [initializeCamera] with the same [resolutionPreset]
+  /// and [enableAudio] complete sooner, for instance a screen before the
+  /// camera is shown.
+  ///
+  /// The camera properties, resolution profiles and background thread of the
+  /// camera are prepared right away. When [openDevice] is true, the camera
+  /// device is opened as well, provided the camera permission has already
+  /// been granted, as warming up never prompts for it. The preview only
+  /// starts once the camera is initialized.
+  ///
+  /// The prepared camera is released when it has not been created within
+  /// [idleTimeout], or when another camera is created or prepared. Calling
+  /// this method again for the same camera restarts its [idleTimeout].
+  Future<void> prewarmCamera(
+    CameraDescription cameraDescription,
+    ResolutionPreset resolutionPreset, {
+    bool enableAudio = false,
+    bool openDevice = false,
+    Duration idleTimeout = const Duration(seconds: 10),
+  }) async {
+    try {
+      await _channel.invokeMethod<void>('prewarm', <String, dynamic>{
+        'cameraName': cameraDescription.name,
+        'resolutionPreset': _serializeResolutionPreset(resolutionPreset),
+        'enableAudio': enableAudio,
+        'openDevice': openDevice,
+        'idleTimeout': idleTimeout.inMilliseconds,
+      });
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Creates an uninitialized camera that keeps streaming along with the
+  /// cameras that are already open, unlike [createCamera] which closes them.
+  ///
+  /// Each camera has its own preview texture, background thread and image
+  /// stream. Throws a [CameraException] with the `maxCamerasInUse` code when
+  /// the device cannot stream this camera concurrently with the open ones, see
+  /// [getConcurrentCameras].
+  Future<int> createConcurrentCamera(
+    CameraDescription cameraDescription,
+    ResolutionPreset? resolutionPreset, {
+    bool enableAudio = false,
+  }) async {
+    try {
+      final Map<String, dynamic>? reply = await _channel
+          .invokeMapMethod<String, dynamic>('create', <String, dynamic>{
+        'cameraName': cameraDescription.name,
+        'resolutionPreset': resolutionPreset != null
+            ? _serializeResolutionPreset(resolutionPreset)
+            : null,
+        'enableAudio': enableAudio,
+        'concurrent': true,
+      });
+
+      final int cameraId = reply!['cameraId']! as int;
+      _concurrentCameraIds.add(cameraId);
+      return cameraId;
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Returns the combinations of cameras, by name, that can stream
+  /// concurrently.
+  ///
+  /// Empty when the device can only stream a single camera at a time, which is
+  /// always the case before Android 11.
+  Future<List<List<String>>> getConcurrentCameras() async {
+    final List<List<Object?>>? combinations =
+        await _channel.invokeListMethod<List<Object?>>('getConcurrentCameras');
+
+    return combinations!
+        .map((List<Object?> names) => names.cast<String>())
+        .toList();
+  }
+
   @override
   Future<void> initializeCamera(
     int cameraId, {
@@ -165,6 +270,7 @@ class AndroidCamera extends CameraPlatform {
       cameraChannel?.setMethodCallHandler(null);
       _channels.remove(cameraId);
     }
+    _concurrentCameraIds.remove(cameraId);
 
     await _channel.invokeMethod<void>(
       'dispose',
@@ -197,6 +303,12 @@ class AndroidCamera extends CameraPlatform {
     return _cameraEvents(cameraId).whereType<VideoRecordedEvent>();
   }
 
+  /// The frames of the picture bursts taken by the camera with the given
+  /// [cameraId], fired as soon as each frame has been saved or has failed.
+  Stream<AndroidBurstFrameEvent> onBurstFrame(int cameraId) {
+    return _cameraEvents(cameraId).whereType<AndroidBurstFrameEvent>();
+  }
+
   @override
   Stream<DeviceOrientationChangedEvent> onDeviceOrientationChanged() {
     return _deviceEventStreamController.stream
@@ -242,6 +354,53 @@ class AndroidCamera extends CameraPlatform {
     return XFile(path);
   }
 
+  /// Captures a burst of [frameCount] pictures with the camera with the given
+  /// [cameraId].
+  ///
+  /// Focus and exposure are metered once, before the first frame, and stay
+  /// locked for the whole burst. Each frame is reported by [onBurstFrame] as
+  /// soon as it has been saved. The returned future completes with the saved
+  /// frames once every frame has been saved or has failed.
+  ///
+  /// At most 8 frames can be captured in a single burst.
+  Future<List<XFile>> takePictureBurst(int cameraId, int frameCount) async {
+    final List<String>? paths = await _channel.invokeListMethod<String>(
+      'takePictureBurst',
+      <String, dynamic>{'cameraId': cameraId, 'frameCount': frameCount},
+    );
+
+    return paths!.map((String path) => XFile(path)).toList();
+  }
+
+  /// Sets whether pictures taken by the camera with the given [cameraId] are
+  /// flushed to the storage device before [takePicture] completes.
+  ///
+  /// Flushing makes the picture file survive a sudden power loss, at the cost
+  /// of a longer capture latency. Disabled by default.
+  Future<void> setSyncPictureWrites(int cameraId, bool enabled) =>
+      _channel.invokeMethod<void>(
+        'setSyncPictureWrites',
+        <String, dynamic>{'cameraId': cameraId, 'enabled': enabled},
+      );
+
+  /// Sets whether [takePicture] saves the preview frame captured when it was
+  /// called by the camera with the given [cameraId], instead of running the
+  /// focus and exposure sequence and capturing a new frame.
+  ///
+  /// Returns whether zero shutter lag is enabled, which is only supported by
+  /// cameras of the FULL hardware level and above. Other cameras keep taking
+  /// pictures with the regular sequence. While enabled, the flash does not
+  /// fire for pictures and [takePictureBurst] is unavailable. Disabled by
+  /// default.
+  Future<bool> setZeroShutterLagEnabled(int cameraId, bool enabled) async {
+    final bool? zeroShutterLagEnabled = await _channel.invokeMethod<bool>(
+      'setZeroShutterLagEnabled',
+      <String, dynamic>{'cameraId': cameraId, 'enabled': enabled},
+    );
+
+    return zeroShutterLagEnabled ?? false;
+  }
+
   @override
   Future<void> prepareForVideoRecording() =>
       _channel.invokeMethod<void>('prepareForVideoRecording');
@@ -255,18 +414,86 @@ class AndroidCamera extends CameraPlatform {
 
   @override
   Future<void> startVideoCapturing(VideoCaptureOptions options) async {
+    return _startVideoCapturing(options, null);
+  }
+
+  /// Starts a video recording encoded directly by the platform video encoder
+  /// with the given [encoder] settings, instead of the media recorder used by
+  /// [startVideoCapturing].
+  ///
+  /// The recording is stopped, paused and resumed like any other recording.
+  Future<void> startVideoCapturingWithEncoder(
+      VideoCaptureOptions options, AndroidVideoEncoderSettings encoder) async {
+    return _startVideoCapturing(options, encoder);
+  }
+
+  /// Starts encoding the frames of the camera into memory, without writing a
+  /// file, keeping the last [duration] of video.
+  ///
+  /// [startVideoRecordingFromPreRoll] then starts a recording that includes
+  /// the retained video, so it begins before it was requested.
+  /// [stopPreRoll] discards the retained video instead.
+  ///
+  /// The retained video always starts with a key frame, so it covers up to
+  /// one [AndroidVideoEncoderSettings.keyFrameInterval] more than [duration].
+  /// When the retained video exceeds [maxBytes], its oldest frames are
+  /// dropped even if it covers less than [duration].
+  Future<void> startPreRoll(
+    int cameraId, {
+    Duration duration = const Duration(seconds: 5),
+    int maxBytes = 32 * 1024 * 1024,
+    AndroidVideoEncoderSettings encoder = const AndroidVideoEncoderSettings(),
+  }) async {
+    await _channel.invokeMethod<void>(
+      'startPreRoll',
+      <String, dynamic>{
+        'cameraId': cameraId,
+        'duration': duration.inMilliseconds,
+        'maxBytes': maxBytes,
+        'videoEncoder': encoder.toPlatformArguments(),
+      },
+    );
+  }
+
+  /// Starts a video recording that begins with the video retained since
+  /// [startPreRoll] was called.
+  ///
+  /// The camera keeps rendering to the same encoder, so the recording starts
+  /// without any delay. It is stopped by [stopVideoRecording], which also
+  /// ends the pre-roll.
+  Future<void> startVideoRecordingFromPreRoll(int cameraId) async {
+    await _channel.invokeMethod<void>(
+      'startVideoRecordingFromPreRoll',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+  }
+
+  /// Discards the video retained since [startPreRoll] was called, and stops
+  /// encoding the frames of the camera.
+  Future<void> stopPreRoll(int cameraId) async {
+    await _channel.invokeMethod<void>(
+      'stopPreRoll',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+  }
+
+  Future<void> _startVideoCapturing(
+      VideoCaptureOptions options, AndroidVideoEncoderSettings? encoder) async {
     await _channel.invokeMethod<void>(
       'startVideoRecording',
       <String, dynamic>{
         'cameraId': options.cameraId,
         'maxVideoDuration': options.maxDuration?.inMilliseconds,
         'enableStream': options.streamCallback != null,
+        if (encoder != null) 'videoEncoder': encoder.toPlatformArguments(),
       },
     );
 
     if (options.streamCallback != null) {
-      _installStreamController().stream.listen(options.streamCallback);
-      _startStreamListener();
+      _installStreamController(options.cameraId)
+          .stream
+          .listen(options.streamCallback);
+      _startStreamListener(options.cameraId);
     }
   }
 
@@ -303,45 +530,211 @@ class AndroidCamera extends CameraPlatform {
   @override
   Stream<CameraImageData> onStreamedFrameAvailable(int cameraId,
       {CameraImageStreamOptions? options}) {
-    _installStreamController(onListen: _onFrameStreamListen);
-    return _frameStreamController!.stream;
+    _frameStreamOptions[cameraId] = options;
+    return _installStreamController(
+      cameraId,
+      onListen: () => _onFrameStreamListen(cameraId),
+    ).stream;
   }
 
-  StreamController<CameraImageData> _installStreamController(
+  StreamController<CameraImageData> _installStreamController(int cameraId,
       {Function()? onListen}) {
-    _frameStreamController = StreamController<CameraImageData>(
+    // Frames are delivered synchronously, so that a frame is only acknowledged
+    // to the platform side once the listener has handled it.
+    return _frameStreamControllers[cameraId] =
+        StreamController<CameraImageData>(
+      sync: true,
       onListen: onListen ?? () {},
       onPause: _onFrameStreamPauseResume,
       onResume: _onFrameStreamPauseResume,
-      onCancel: _onFrameStreamCancel,
+      onCancel: () => _onFrameStreamCancel(cameraId),
     );
-    return _frameStreamController!;
   }
 
-  void _onFrameStreamListen() {
-    _startPlatformStream();
+  void _onFrameStreamListen(int cameraId) {
+    _startPlatformStream(cameraId);
   }
 
-  Future<void> _startPlatformStream() async {
-    await _channel.invokeMethod<void>('startImageStream');
-    _startStreamListener();
+  Future<void> _startPlatformStream(int cameraId) async {
+    final CameraImageStreamOptions? options = _frameStreamOptions[cameraId];
+    // The platform side only counts the frames in flight when it limits them
+    // or reuses their buffers, otherwise acknowledgements are not needed.
+    if (options is AndroidCameraImageStreamOptions &&
+        (options.usePooledBuffers ||
+            options.backpressureStrategy !=
+                AndroidImageStreamBackpressureStrategy.none)) {
+      _acknowledgedFrameStreams[cameraId] = options.acknowledgeFramesManually;
+    }
+    await _channel.invokeMethod<void>(
+      'startImageStream',
+      _imageStreamArguments(
+        cameraId,
+        options is AndroidCameraImageStreamOptions
+            ? options.toPlatformArguments()
+            : null,
+      ),
+    );
+    _startStreamListener(cameraId);
+  }
+
+  // Calls without a camera id target the most recently created camera, so
+  // only the image stream calls of concurrent cameras carry their camera id.
+  Map<String, dynamic>? _imageStreamArguments(int cameraId,
+      [Map<String, dynamic>? arguments]) {
+    if (!_concurrentCameraIds.contains(cameraId)) {
+      return arguments;
+    }
+    return <String, dynamic>{...?arguments, 'cameraId': cameraId};
   }
 
-  void _startStreamListener() {
-    const EventChannel cameraEventChannel =
-        EventChannel('plugins.flutter.io/camera_android/imageStream');
-    _platformImageStreamSubscription =
-        cameraEventChannel.receiveBroadcastStream().listen((dynamic imageData) {
-      _frameStreamController!
-          .add(cameraImageFromPlatformData(imageData as Map<dynamic, dynamic>));
+  void _startStreamListener(int cameraId) {
+    final EventChannel cameraEventChannel = EventChannel(
+        _concurrentCameraIds.contains(cameraId)
+            ? 'plugins.flutter.io/camera_android/imageStream/$cameraId'
+            : 'plugins.flutter.io/camera_android/imageStream');
+    _platformImageStreamSubscriptions[cameraId] =
+        cameraEventChannel.receiveBroadcastStream().listen((dynamic event) {
+      final Map<dynamic, dynamic> eventData = event as Map<dynamic, dynamic>;
+      if (eventData.containsKey('processor')) {
+        _frameProcessorResultStreamController.add(AndroidFrameProcessorResult(
+          processor: eventData['processor']! as String,
+          timestamp: eventData['timestamp']! as int,
+          data: Map<String, dynamic>.from(
+              eventData['result']! as Map<dynamic, dynamic>),
+        ));
+        return;
+      }
+      _frameStreamControllers[cameraId]!
+          .add(cameraImageFromPlatformData(eventData));
+      if (_acknowledgedFrameStreams[cameraId] == false) {
+        // The listener has returned, which lets the platform side send another
+        // frame and reuse the native buffers of this one.
+        _acknowledgeStreamedFrame(cameraId);
+      }
     });
   }
 
-  FutureOr<void> _onFrameStreamCancel() async {
-    await _channel.invokeMethod<void>('stopImageStream');
-    await _platformImageStreamSubscription?.cancel();
-    _platformImageStreamSubscription = null;
-    _frameStreamController = null;
+  /// Acknowledges that the listener of the image stream of the camera with
+  /// the given [cameraId] has finished with the oldest frame it has not
+  /// acknowledged yet.
+  ///
+  /// Only needed when the stream was started with
+  /// [AndroidCameraImageStreamOptions.acknowledgeFramesManually]. Call it once
+  /// for every frame, including frames the listener ignores, after any
+  /// asynchronous work on the frame has completed. Does nothing for streams
+  /// whose platform side does not wait for acknowledgements.
+  Future<void> acknowledgeStreamedFrame(int cameraId) async {
+    if (_acknowledgedFrameStreams[cameraId] ?? false) {
+      await _acknowledgeStreamedFrame(cameraId);
+    }
+  }
+
+  Future<void> _acknowledgeStreamedFrame(int cameraId) {
+    return _channel.invokeMethod<void>(
+        'receivedImageStreamData', _imageStreamArguments(cameraId));
+  }
+
+  /// The results of the native frame processors selected by
+  /// [AndroidCameraImageStreamOptions.frameProcessors].
+  ///
+  /// Results are only produced while a frame stream started by
+  /// [onStreamedFrameAvailable] is being listened to.
+  Stream<AndroidFrameProcessorResult> onFrameProcessorResult(int cameraId) {
+    return _frameProcessorResultStreamController.stream;
+  }
+
+  /// Returns the number of frames delivered and dropped by the image stream
+  /// of the camera with the given [cameraId] since the stream was started.
+  Future<AndroidImageStreamStatistics> getImageStreamStatistics(
+      int cameraId) async {
+    final Map<String, dynamic>? statistics =
+        await _channel.invokeMapMethod<String, dynamic>(
+      'getImageStreamStatistics',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+
+    return AndroidImageStreamStatistics(
+      deliveredFrames: statistics!['deliveredFrames']! as int,
+      droppedFrames: statistics['droppedFrames']! as int,
+    );
+  }
+
+  /// Sets whether the camera with the given [cameraId] reports the latency of
+  /// opening the camera and of each picture through [onMetrics].
+  ///
+  /// Enable metrics before `initializeCamera` to receive the `open` sequence.
+  /// Disabled by default.
+  Future<void> setMetricsEnabled(int cameraId, bool enabled) =>
+      _channel.invokeMethod<void>(
+        'setMetricsEnabled',
+        <String, dynamic>{'cameraId': cameraId, 'enabled': enabled},
+      );
+
+  /// The latency of each sequence completed by the camera with the given
+  /// [cameraId], once enabled by [setMetricsEnabled].
+  Stream<AndroidCameraMetricsEvent> onMetrics(int cameraId) {
+    return _cameraEvents(cameraId).whereType<AndroidCameraMetricsEvent>();
+  }
+
+  /// Returns the latency of the latest sequences completed by the camera with
+  /// the given [cameraId], oldest first.
+  ///
+  /// The camera keeps the latest sequences whether or not [setMetricsEnabled]
+  /// has been called.
+  Future<List<AndroidCameraMetricsEvent>> getMetrics(int cameraId) async {
+    final List<Map<Object?, Object?>>? summaries =
+        await _channel.invokeListMethod<Map<Object?, Object?>>(
+      'getMetrics',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+
+    return summaries!
+        .map((Map<Object?, Object?> summary) =>
+            AndroidCameraMetricsEvent.fromJson(
+                cameraId, summary.cast<String, dynamic>()))
+        .toList();
+  }
+
+  /// Streams the exposure, sensitivity, focus and 3A state of the preview
+  /// frames of the camera with the given [cameraId].
+  ///
+  /// Unlike [onStreamedFrameAvailable], no pixels are copied. At most one
+  /// frame is reported per [minInterval]. Frames are reported from the moment
+  /// the stream is listened to until the subscription is cancelled.
+  Stream<AndroidFrameMetadataEvent> onFrameMetadata(int cameraId,
+      {Duration minInterval = const Duration(milliseconds: 100)}) {
+    late StreamController<AndroidFrameMetadataEvent> controller;
+    StreamSubscription<AndroidFrameMetadataEvent>? subscription;
+    controller = StreamController<AndroidFrameMetadataEvent>(
+      onListen: () async {
+        subscription = _cameraEvents(cameraId)
+            .whereType<AndroidFrameMetadataEvent>()
+            .listen(controller.add);
+        await _channel.invokeMethod<void>(
+          'startFrameMetadataStream',
+          <String, dynamic>{
+            'cameraId': cameraId,
+            'interval': minInterval.inMilliseconds,
+          },
+        );
+      },
+      onCancel: () async {
+        await _channel.invokeMethod<void>(
+          'stopFrameMetadataStream',
+          <String, dynamic>{'cameraId': cameraId},
+        );
+        await subscription?.cancel();
+      },
+    );
+    return controller.stream;
+  }
+
+  FutureOr<void> _onFrameStreamCancel(int cameraId) async {
+    _acknowledgedFrameStreams.remove(cameraId);
+    await _channel.invokeMethod<void>(
+        'stopImageStream', _imageStreamArguments(cameraId));
+    await _platformImageStreamSubscriptions.remove(cameraId)?.cancel();
+    _frameStreamControllers.remove(cameraId);
   }
 
   void _onFrameStreamPauseResume() {
@@ -489,6 +882,80 @@ class AndroidCamera extends CameraPlatform {
     }
   }
 
+  /// Moves the zoom level to [zoom] over [duration].
+  ///
+  /// The zoom level is interpolated natively, in sync with the preview frames,
+  /// so a pinch gesture can be handled with a single call instead of calling
+  /// [setZoomLevel] for every gesture update. Calling this method while a
+  /// ramp is in progress continues from the current zoom level, and calling
+  /// [setZoomLevel] stops the ramp. The returned future completes once the
+  /// ramp has started.
+  Future<void> startZoomRamp(
+      int cameraId, double zoom, Duration duration) async {
+    try {
+      await _channel.invokeMethod<void>(
+        'startZoomRamp',
+        <String, dynamic>{
+          'cameraId': cameraId,
+          'zoom': zoom,
+          'duration': duration.inMilliseconds,
+        },
+      );
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Applies several camera settings at once.
+  ///
+  /// Unlike calling [setFlashMode], [setExposurePoint], [setExposureOffset],
+  /// [setFocusPoint] and [setZoomLevel] one after the other, the preview is
+  /// only refreshed once, and focusing is triggered at most once, which
+  /// avoids visible preview stutter. No setting is applied when any of them
+  /// is invalid.
+  Future<void> applySettings(
+      int cameraId, AndroidCameraSettings settings) async {
+    assert(settings.exposurePoint == null ||
+        settings.exposurePoint!.x >= 0 && settings.exposurePoint!.x <= 1);
+    assert(settings.exposurePoint == null ||
+        settings.exposurePoint!.y >= 0 && settings.exposurePoint!.y <= 1);
+    assert(settings.focusPoint == null ||
+        settings.focusPoint!.x >= 0 && settings.focusPoint!.x <= 1);
+    assert(settings.focusPoint == null ||
+        settings.focusPoint!.y >= 0 && settings.focusPoint!.y <= 1);
+
+    final Map<String, dynamic> arguments = <String, dynamic>{
+      'cameraId': cameraId,
+    };
+    if (settings.flashMode != null) {
+      arguments['flashMode'] = _serializeFlashMode(settings.flashMode!);
+    }
+    if (settings.exposureMode != null) {
+      arguments['exposureMode'] = serializeExposureMode(settings.exposureMode!);
+    }
+    if (settings.resetExposurePoint || settings.exposurePoint != null) {
+      arguments['exposurePoint'] = _serializePoint(settings.exposurePoint);
+    }
+    if (settings.exposureOffset != null) {
+      arguments['exposureOffset'] = settings.exposureOffset;
+    }
+    if (settings.focusMode != null) {
+      arguments['focusMode'] = serializeFocusMode(settings.focusMode!);
+    }
+    if (settings.resetFocusPoint || settings.focusPoint != null) {
+      arguments['focusPoint'] = _serializePoint(settings.focusPoint);
+    }
+    if (settings.zoomLevel != null) {
+      arguments['zoomLevel'] = settings.zoomLevel;
+    }
+
+    try {
+      await _channel.invokeMethod<void>('applySettings', arguments);
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
   @override
   Future<void> pausePreview(int cameraId) async {
     await _channel.invokeMethod<double>(
@@ -510,6 +977,14 @@ class AndroidCamera extends CameraPlatform {
     return Texture(textureId: cameraId);
   }
 
+  /// Returns the point as a map of its coordinates, or null for no point.
+  Map<String, double>? _serializePoint(Point<double>? point) {
+    if (point == null) {
+      return null;
+    }
+    return <String, double>{'x': point.x, 'y': point.y};
+  }
+
   /// Returns the flash mode as a String.
   String _serializeFlashMode(FlashMode flashMode) {
     switch (flashMode) {
@@ -611,6 +1086,24 @@ class AndroidCamera extends CameraPlatform {
               : null,
         ));
         break;
+      case 'burst_frame':
+        cameraEventStreamController.add(AndroidBurstFrameEvent.fromJson(
+          cameraId,
+          _getArgumentDictionary(call),
+        ));
+        break;
+      case 'frame_metadata':
+        cameraEventStreamController.add(AndroidFrameMetadataEvent.fromJson(
+          cameraId,
+          _getArgumentDictionary(call),
+        ));
+        break;
+      case 'metrics':
+        cameraEventStreamController.add(AndroidCameraMetricsEvent.fromJson(
+          cameraId,
+          _getArgumentDictionary(call),
+        ));
+        break;
       case 'error':
         final Map<String, Object?> arguments = _getArgumentDictionary(call);
         cameraEventStreamController.add(CameraErrorEvent(
@@ -0,0 +1,59 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// An event fired when a frame of a picture burst started by
+/// `AndroidCamera.takePictureBurst` has been saved, or has failed.
+@immutable
+class AndroidBurstFrameEvent extends CameraEvent {
+  /// Build an [AndroidBurstFrameEvent] triggered by the camera with the given
+  /// [cameraId].
+  const AndroidBurstFrameEvent(
+    int cameraId, {
+    required this.index,
+    this.path,
+    this.error,
+  }) : super(cameraId);
+
+  /// Converts the supplied [Map] to an instance of the
+  /// [AndroidBurstFrameEvent] class.
+  AndroidBurstFrameEvent.fromJson(int cameraId, Map<String, dynamic> json)
+      : index = json['index']! as int,
+        path = json['path'] as String?,
+        error = json['error'] as String?,
+        super(cameraId);
+
+  /// The position of the frame in the burst, in the order the frames were
+  /// saved or failed.
+  final int index;
+
+  /// The path of the saved frame, or null when the frame failed.
+  final String? path;
+
+  /// Describes why the frame failed, or null when it was saved.
+  final String? error;
+
+  /// Converts the [AndroidBurstFrameEvent] instance into a [Map] instance
+  /// that can be serialized to JSON.
+  Map<String, dynamic> toJson() => <String, Object?>{
+        'index': index,
+        if (path != null) 'path': path,
+        if (error != null) 'error': error,
+      };
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is AndroidBurstFrameEvent &&
+          runtimeType == other.runtimeType &&
+          index == other.index &&
+          path == other.path &&
+          error == other.error;
+
+  @override
+  int get hashCode => Object.hash(super.hashCode, index, path, error);
+}
@@ -0,0 +1,57 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// A set of camera settings applied at once by `AndroidCamera.applySettings`.
+///
+/// Settings that are null are left unchanged.
+@immutable
+class AndroidCameraSettings {
+  /// Creates a new set of camera settings.
+  const AndroidCameraSettings({
+    this.flashMode,
+    this.exposureMode,
+    this.exposurePoint,
+    this.resetExposurePoint = false,
+    this.exposureOffset,
+    this.focusMode,
+    this.focusPoint,
+    this.resetFocusPoint = false,
+    this.zoomLevel,
+  })  : assert(!resetExposurePoint || exposurePoint == null),
+        assert(!resetFocusPoint || focusPoint == null);
+
+  /// The flash mode to apply.
+  final FlashMode? flashMode;
+
+  /// The exposure mode to apply.
+  final ExposureMode? exposureMode;
+
+  /// The exposure point to apply, with coordinates between 0 and 1.
+  final Point<double>? exposurePoint;
+
+  /// Whether the exposure point is reset to the default, in which case
+  /// [exposurePoint] must be null.
+  final bool resetExposurePoint;
+
+  /// The exposure offset to apply, in EV units.
+  final double? exposureOffset;
+
+  /// The focus mode to apply.
+  final FocusMode? focusMode;
+
+  /// The focus point to apply, with coordinates between 0 and 1.
+  final Point<double>? focusPoint;
+
+  /// Whether the focus point is reset to the default, in which case
+  /// [focusPoint] must be null.
+  final bool resetFocusPoint;
+
+  /// The zoom level to apply.
+  final double? zoomLevel;
+}
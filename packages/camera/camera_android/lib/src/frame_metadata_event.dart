@@ -0,0 +1,98 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// An event carrying the metadata of a preview frame captured by the camera,
+/// reported by `AndroidCamera.onFrameMetadata`.
+///
+/// Values the camera does not report are null.
+@immutable
+class AndroidFrameMetadataEvent extends CameraEvent {
+  /// Build an [AndroidFrameMetadataEvent] triggered by the camera with the
+  /// given [cameraId].
+  const AndroidFrameMetadataEvent(
+    int cameraId, {
+    this.sensorTimestamp,
+    this.sensorExposureTime,
+    this.sensorSensitivity,
+    this.lensAperture,
+    this.lensFocusDistance,
+    this.aeState,
+    this.afState,
+  }) : super(cameraId);
+
+  /// Converts the supplied [Map] to an instance of the
+  /// [AndroidFrameMetadataEvent] class.
+  AndroidFrameMetadataEvent.fromJson(int cameraId, Map<String, dynamic> json)
+      : sensorTimestamp = json['sensorTimestamp'] as int?,
+        sensorExposureTime = json['sensorExposureTime'] as int?,
+        sensorSensitivity = json['sensorSensitivity'] as int?,
+        lensAperture = json['lensAperture'] as double?,
+        lensFocusDistance = json['lensFocusDistance'] as double?,
+        aeState = json['aeState'] as int?,
+        afState = json['afState'] as int?,
+        super(cameraId);
+
+  /// The time the exposure of the frame started, in nanoseconds.
+  final int? sensorTimestamp;
+
+  /// The exposure time of the frame, in nanoseconds.
+  final int? sensorExposureTime;
+
+  /// The sensitivity of the sensor for the frame, as an ISO value.
+  final int? sensorSensitivity;
+
+  /// The lens aperture of the frame, as an f-stop value.
+  final double? lensAperture;
+
+  /// The focus distance of the lens for the frame, in diopters.
+  final double? lensFocusDistance;
+
+  /// The auto exposure state of the frame, as an Android
+  /// `CaptureResult.CONTROL_AE_STATE` value.
+  final int? aeState;
+
+  /// The auto focus state of the frame, as an Android
+  /// `CaptureResult.CONTROL_AF_STATE` value.
+  final int? afState;
+
+  /// Converts the [AndroidFrameMetadataEvent] instance into a [Map] instance
+  /// that can be serialized to JSON.
+  Map<String, dynamic> toJson() => <String, Object?>{
+        'sensorTimestamp': sensorTimestamp,
+        'sensorExposureTime': sensorExposureTime,
+        'sensorSensitivity': sensorSensitivity,
+        'lensAperture': lensAperture,
+        'lensFocusDistance': lensFocusDistance,
+        'aeState': aeState,
+        'afState': afState,
+      };
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is AndroidFrameMetadataEvent &&
+          runtimeType == other.runtimeType &&
+          sensorTimestamp == other.sensorTimestamp &&
+          sensorExposureTime == other.sensorExposureTime &&
+          sensorSensitivity == other.sensorSensitivity &&
+          lensAperture == other.lensAperture &&
+          lensFocusDistance == other.lensFocusDistance &&
+          aeState == other.aeState &&
+          afState == other.afState;
+
+  @override
+  int get hashCode => Object.hash(
+      super.hashCode,
+      sensorTimestamp,
+      sensorExposureTime,
+      sensorSensitivity,
+      lensAperture,
+      lensFocusDistance,
+      aeState,
+      afState);
+}
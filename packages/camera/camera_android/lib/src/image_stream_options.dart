@@ -0,0 +1,253 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// The strategy applied to new frames while the stream listener is still
+/// handling earlier frames.
+// Mirrors ImageStreamBackpressureStrategy.java
+enum AndroidImageStreamBackpressureStrategy {
+  /// Every frame is sent, regardless of how many frames are still being
+  /// handled.
+  none,
+
+  /// Only the most recent frame is kept while the listener is busy, older
+  /// waiting frames are dropped.
+  latestOnly,
+
+  /// New frames are dropped while the listener is busy.
+  dropNewWhileBusy,
+
+  /// Frames are queued while the listener is busy, new frames are dropped
+  /// once [AndroidCameraImageStreamOptions.queueSize] frames are waiting.
+  boundedQueue,
+}
+
+/// The layout in which the pixel data of streamed frames is sent.
+// Mirrors ImageStreamOutputLayout.java
+enum AndroidImageStreamOutputLayout {
+  /// Every plane is sent separately, together with its row and pixel stride.
+  planes,
+
+  /// YUV images are packed into a single plane holding the Y samples
+  /// followed by interleaved V and U samples, without any padding.
+  ///
+  /// The frame reports the raw format `17` (`ImageFormat.NV21`).
+  nv21,
+
+  /// YUV images are packed into a single plane holding the Y, U and V
+  /// samples one after the other, without any padding.
+  ///
+  /// The frame reports the [ImageFormatGroup.yuv420] format with a single
+  /// plane.
+  i420,
+}
+
+/// Android specific options for configuring camera streaming.
+///
+/// Pass an instance of this class to
+/// [CameraPlatform.onStreamedFrameAvailable] to control how frames are
+/// delivered by the Android implementation.
+@immutable
+class AndroidCameraImageStreamOptions extends CameraImageStreamOptions {
+  /// Creates a new set of image stream options.
+  AndroidCameraImageStreamOptions({
+    this.usePooledBuffers = false,
+    this.pooledBufferCount = 3,
+    this.backpressureStrategy = AndroidImageStreamBackpressureStrategy.none,
+    this.maxInFlightFrames = 1,
+    this.queueSize = 2,
+    this.targetFrameRate,
+    this.planeMask = allPlanesMask,
+    this.cropRegion,
+    this.outputLayout = AndroidImageStreamOutputLayout.planes,
+    this.frameProcessors = const <String>[],
+    this.sendFrames = true,
+    this.acknowledgeFramesManually = false,
+  })  : assert(pooledBufferCount >= 1),
+        assert(maxInFlightFrames >= 1),
+        assert(queueSize >= 1),
+        assert(targetFrameRate == null || targetFrameRate > 0),
+        assert(planeMask != 0);
+
+  /// A [planeMask] selecting every plane of the streamed images.
+  static const int allPlanesMask = 0x7;
+
+  /// A [planeMask] selecting only the luma (Y) plane of YUV images.
+  static const int lumaPlaneMask = 0x1;
+
+  /// Whether frames are copied into a fixed set of reusable native buffers.
+  ///
+  /// This avoids allocating new buffers for every frame. A buffer is reused
+  /// once the stream listener has handled the frame that used it, see
+  /// [maxInFlightFrames]. Frames that arrive while every buffer is in use are
+  /// dropped.
+  final bool usePooledBuffers;
+
+  /// The number of reusable native buffers used when [usePooledBuffers] is
+  /// enabled.
+  final int pooledBufferCount;
+
+  /// The strategy applied to new frames while the stream listener is still
+  /// handling earlier frames.
+  final AndroidImageStreamBackpressureStrategy backpressureStrategy;
+
+  /// The number of frames the stream listener may be handling at the same
+  /// time.
+  ///
+  /// A frame is considered handled once the listener callback it was added
+  /// to returns, or once it is acknowledged when [acknowledgeFramesManually]
+  /// is enabled. Ignored when [backpressureStrategy] is
+  /// [AndroidImageStreamBackpressureStrategy.none].
+  final int maxInFlightFrames;
+
+  /// The number of frames that wait for the stream listener when
+  /// [backpressureStrategy] is
+  /// [AndroidImageStreamBackpressureStrategy.boundedQueue].
+  final int queueSize;
+
+  /// The maximum number of frames per second sent to the stream listener.
+  ///
+  /// Frames are skipped natively, before their pixel data is copied. When
+  /// null, every frame produced by the camera is sent.
+  final double? targetFrameRate;
+
+  /// A bit mask selecting the image planes sent to the stream listener, in
+  /// which bit n selects plane n.
+  ///
+  /// Planes that are not selected are left out of [CameraImageData.planes].
+  final int planeMask;
+
+  /// The region of each YUV image sent to the stream listener, in pixels of
+  /// the full image.
+  ///
+  /// Only the rows and columns inside the region are copied. The region is
+  /// clamped to the image bounds and aligned to even coordinates to match
+  /// the chroma subsampling. Images in other formats are sent in full. When
+  /// null, the full image is sent.
+  final Rectangle<int>? cropRegion;
+
+  /// The layout in which the pixel data of each frame is sent.
+  ///
+  /// The packed layouts only apply to YUV images and ignore [planeMask]. JPEG
+  /// images already consist of a single contiguous plane and, like images in
+  /// any other format, are sent unchanged.
+  final AndroidImageStreamOutputLayout outputLayout;
+
+  /// The names of the native frame processors run on every frame.
+  ///
+  /// Frame processors are registered on the Android side of the app and run
+  /// on a dedicated native thread, before the frame is copied. Their results
+  /// are delivered by `AndroidCamera.onFrameProcessorResult`. Frames that
+  /// arrive while the processors are still busy are dropped.
+  final List<String> frameProcessors;
+
+  /// Whether the pixel data of each frame is sent to the stream listener.
+  ///
+  /// Disabling this is useful when only the results of [frameProcessors]
+  /// are needed, as it avoids copying every frame to Dart.
+  final bool sendFrames;
+
+  /// Whether the stream listener acknowledges each frame itself by calling
+  /// `AndroidCamera.acknowledgeStreamedFrame`, rather than each frame being
+  /// acknowledged once the listener callback returns.
+  ///
+  /// Enable this for listeners that keep handling a frame asynchronously, so
+  /// that [maxInFlightFrames] and [usePooledBuffers] account for that work.
+  /// Only applies when [usePooledBuffers] is enabled or [backpressureStrategy]
+  /// is not [AndroidImageStreamBackpressureStrategy.none], since frames are
+  /// not acknowledged otherwise.
+  final bool acknowledgeFramesManually;
+
+  /// Returns the arguments sent to the platform when starting the stream.
+  Map<String, dynamic> toPlatformArguments() {
+    return <String, dynamic>{
+      'usePooledBuffers': usePooledBuffers,
+      'pooledBufferCount': pooledBufferCount,
+      'backpressureStrategy':
+          _serializeBackpressureStrategy(backpressureStrategy),
+      'maxInFlightFrames': maxInFlightFrames,
+      'queueSize': queueSize,
+      'targetFrameRate': targetFrameRate,
+      'planeMask': planeMask,
+      'cropRegion': cropRegion == null
+          ? null
+          : <String, int>{
+              'left': cropRegion!.left,
+              'top': cropRegion!.top,
+              'width': cropRegion!.width,
+              'height': cropRegion!.height,
+            },
+      'outputLayout': _serializeOutputLayout(outputLayout),
+      'frameProcessors': frameProcessors,
+      'sendFrames': sendFrames,
+    };
+  }
+}
+
+/// Frame counters of an Android image stream.
+@immutable
+class AndroidImageStreamStatistics {
+  /// Creates a new set of image stream statistics.
+  const AndroidImageStreamStatistics({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+  });
+
+  /// The number of frames sent to the stream listener since the stream was
+  /// started.
+  final int deliveredFrames;
+
+  /// The number of frames dropped by the backpressure strategy, or because
+  /// every pooled buffer was in use, since the stream was started.
+  final int droppedFrames;
+}
+
+/// The result of a native frame processor for a single frame.
+@immutable
+class AndroidFrameProcessorResult {
+  /// Creates a new frame processor result.
+  const AndroidFrameProcessorResult({
+    required this.processor,
+    required this.timestamp,
+    required this.data,
+  });
+
+  /// The name of the frame processor that produced the result.
+  final String processor;
+
+  /// The timestamp of the processed frame, in nanoseconds.
+  final int timestamp;
+
+  /// The values returned by the frame processor.
+  final Map<String, dynamic> data;
+}
+
+String _serializeBackpressureStrategy(
+    AndroidImageStreamBackpressureStrategy strategy) {
+  switch (strategy) {
+    case AndroidImageStreamBackpressureStrategy.none:
+      return 'none';
+    case AndroidImageStreamBackpressureStrategy.latestOnly:
+      return 'latestOnly';
+    case AndroidImageStreamBackpressureStrategy.dropNewWhileBusy:
+      return 'dropNewWhileBusy';
+    case AndroidImageStreamBackpressureStrategy.boundedQueue:
+      return 'boundedQueue';
+  }
+}
+
+String _serializeOutputLayout(AndroidImageStreamOutputLayout layout) {
+  switch (layout) {
+    case AndroidImageStreamOutputLayout.planes:
+      return 'planes';
+    case AndroidImageStreamOutputLayout.nv21:
+      return 'nv21';
+    case AndroidImageStreamOutputLayout.i420:
+      return 'i420';
+  }
+}
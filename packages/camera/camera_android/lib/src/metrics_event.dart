@@ -0,0 +1,84 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// An event fired when a measured sequence of the camera, like opening the
+/// camera or taking a picture, has completed.
+///
+/// Only fired once enabled by `AndroidCamera.setMetricsEnabled`.
+@immutable
+class AndroidCameraMetricsEvent extends CameraEvent {
+  /// Build an [AndroidCameraMetricsEvent] triggered by the camera with the
+  /// given [cameraId].
+  const AndroidCameraMetricsEvent(
+    int cameraId, {
+    required this.sequence,
+    required this.phases,
+    this.durations = const <String, Duration>{},
+  }) : super(cameraId);
+
+  /// Converts the supplied [Map] to an instance of the
+  /// [AndroidCameraMetricsEvent] class.
+  AndroidCameraMetricsEvent.fromJson(int cameraId, Map<String, dynamic> json)
+      : sequence = json['sequence']! as String,
+        phases = _durationsFromJson(json['phases']),
+        durations = _durationsFromJson(json['durations']),
+        super(cameraId);
+
+  /// The measured sequence, either `open` or `takePicture`.
+  final String sequence;
+
+  /// The time elapsed from the start of the sequence to each of its phases.
+  ///
+  /// The `open` sequence has the `opened`, `sessionConfigured` and
+  /// `firstFrame` phases. The `takePicture` sequence has the
+  /// `precaptureConverged`, `captureCompleted` and `fileWritten` phases.
+  final Map<String, Duration> phases;
+
+  /// The time spent by the picture writer waiting in its queue (`queueWait`),
+  /// writing the picture (`write`) and closing the file (`close`).
+  ///
+  /// Empty for the `open` sequence.
+  final Map<String, Duration> durations;
+
+  /// Converts the [AndroidCameraMetricsEvent] instance into a [Map] instance
+  /// that can be serialized to JSON.
+  Map<String, dynamic> toJson() => <String, Object?>{
+        'sequence': sequence,
+        'phases': _durationsToJson(phases),
+        'durations': _durationsToJson(durations),
+      };
+
+  static Map<String, Duration> _durationsFromJson(Object? json) {
+    if (json == null) {
+      return const <String, Duration>{};
+    }
+    return (json as Map<Object?, Object?>).map(
+        (Object? key, Object? value) => MapEntry<String, Duration>(
+            key! as String, Duration(microseconds: value! as int)));
+  }
+
+  static Map<String, int> _durationsToJson(Map<String, Duration> durations) =>
+      durations.map((String key, Duration value) =>
+          MapEntry<String, int>(key, value.inMicroseconds));
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is AndroidCameraMetricsEvent &&
+          runtimeType == other.runtimeType &&
+          sequence == other.sequence &&
+          mapEquals(phases, other.phases) &&
+          mapEquals(durations, other.durations);
+
+  @override
+  int get hashCode => Object.hash(
+      super.hashCode,
+      sequence,
+      Object.hashAllUnordered(phases.values),
+      Object.hashAllUnordered(durations.values));
+}
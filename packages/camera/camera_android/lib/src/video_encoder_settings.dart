@@ -0,0 +1,106 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// The codec a video recording is encoded with.
+// Mirrors VideoCodec.java
+enum AndroidVideoCodec {
+  /// H.264 / AVC, supported by every device.
+  avc,
+
+  /// H.265 / HEVC, which produces smaller files at the same quality but is
+  /// not supported by every device.
+  hevc,
+}
+
+/// How the encoder distributes the bitrate over the recording.
+// Mirrors BitrateMode.java
+enum AndroidBitrateMode {
+  /// The bitrate varies with the complexity of the scene, averaging the
+  /// target bitrate.
+  variable,
+
+  /// The bitrate stays close to the target bitrate.
+  constant,
+}
+
+/// The settings of a video recording encoded directly by the platform video
+/// encoder, passed to `AndroidCamera.startVideoCapturingWithEncoder`.
+///
+/// Values that are null are taken from the recording profile of the
+/// resolution preset of the camera.
+@immutable
+class AndroidVideoEncoderSettings {
+  /// Creates a new set of video encoder settings.
+  const AndroidVideoEncoderSettings({
+    this.codec = AndroidVideoCodec.avc,
+    this.bitRate,
+    this.bitrateMode,
+    this.keyFrameInterval = const Duration(seconds: 1),
+    this.width,
+    this.height,
+    this.frameRate,
+  })  : assert(bitRate == null || bitRate > 0),
+        assert((width == null) == (height == null)),
+        assert(frameRate == null || frameRate > 0);
+
+  /// The codec the recording is encoded with.
+  final AndroidVideoCodec codec;
+
+  /// The target bitrate of the recording, in bits per second.
+  final int? bitRate;
+
+  /// How the encoder distributes the bitrate, ignored when the encoder does
+  /// not support the mode.
+  ///
+  /// When null, the default mode of the encoder is used.
+  final AndroidBitrateMode? bitrateMode;
+
+  /// The time between two key frames of the recording.
+  final Duration keyFrameInterval;
+
+  /// The width of the recording in pixels, which must be an output size
+  /// supported by the camera.
+  final int? width;
+
+  /// The height of the recording in pixels, which must be an output size
+  /// supported by the camera.
+  final int? height;
+
+  /// The frame rate the encoder is configured for.
+  final int? frameRate;
+
+  /// Returns the arguments sent to the platform when starting the recording.
+  Map<String, dynamic> toPlatformArguments() {
+    return <String, dynamic>{
+      'codec': _serializeVideoCodec(codec),
+      'bitRate': bitRate,
+      'bitrateMode':
+          bitrateMode == null ? null : _serializeBitrateMode(bitrateMode!),
+      'keyFrameInterval': keyFrameInterval.inMilliseconds,
+      'width': width,
+      'height': height,
+      'frameRate': frameRate,
+    };
+  }
+}
+
+String _serializeVideoCodec(AndroidVideoCodec codec) {
+  switch (codec) {
+    case AndroidVideoCodec.avc:
+      return 'avc';
+    case AndroidVideoCodec.hevc:
+      return 'hevc';
+  }
+}
+
+String _serializeBitrateMode(AndroidBitrateMode mode) {
+  switch (mode) {
+    case AndroidBitrateMode.variable:
+      return 'variable';
+    case AndroidBitrateMode.constant:
+      return 'constant';
+  }
+}
@@ -4,9 +4,14 @@
 
 import 'dart:async';
 import 'dart:math';
+// TODO(a14n): remove this import once Flutter 3.1 or later reaches stable (including flutter/flutter#104231)
+// ignore: unnecessary_import
+import 'dart:typed_data';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/camera_settings.dart';
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
@@ -80,6 +85,106 @@ void main() {
       expect(cameraId, 1);
     });
 
+    test('Should send prewarm data', () async {
+      // Arrange
+      final MethodChannelMock cameraMockChannel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{'prewarm': null});
+      final AndroidCamera camera = AndroidCamera();
+
+      // Act
+      await camera.prewarmCamera(
+        const CameraDescription(
+            name: 'Test',
+            lensDirection: CameraLensDirection.back,
+            sensorOrientation: 0),
+        ResolutionPreset.high,
+        openDevice: true,
+        idleTimeout: const Duration(seconds: 5),
+      );
+
+      // Assert
+      expect(cameraMockChannel.log, <Matcher>[
+        isMethodCall(
+          'prewarm',
+          arguments: <String, Object?>{
+            'cameraName': 'Test',
+            'resolutionPreset': 'high',
+            'enableAudio': false,
+            'openDevice': true,
+            'idleTimeout': 5000,
+          },
+        ),
+      ]);
+    });
+
+    test('Should create a concurrent camera', () async {
+      // Arrange
+      final MethodChannelMock cameraMockChannel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'create': <String, dynamic>{'cameraId': 2},
+          });
+      final AndroidCamera camera = AndroidCamera();
+
+      // Act
+      final int cameraId = await camera.createConcurrentCamera(
+        const CameraDescription(
+            name: 'Test',
+            lensDirection: CameraLensDirection.front,
+            sensorOrientation: 0),
+        ResolutionPreset.high,
+      );
+
+      // Assert
+      expect(cameraMockChannel.log, <Matcher>[
+        isMethodCall(
+          'create',
+          arguments: <String, Object?>{
+            'cameraName': 'Test',
+            'resolutionPreset': 'high',
+            'enableAudio': false,
+            'concurrent': true,
+          },
+        ),
+      ]);
+      expect(cameraId, 2);
+    });
+
+    test('Should stream a concurrent camera with its camera id', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'create': <String, dynamic>{'cameraId': 2},
+            'startImageStream': null,
+            'stopImageStream': null,
+          });
+      final AndroidCamera camera = AndroidCamera();
+      final int cameraId = await camera.createConcurrentCamera(
+        const CameraDescription(
+            name: 'Test',
+            lensDirection: CameraLensDirection.front,
+            sensorOrientation: 0),
+        ResolutionPreset.high,
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {});
+      await subscription.cancel();
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        anything,
+        isMethodCall('startImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+        isMethodCall('stopImageStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
     test('Should throw CameraException when create throws a PlatformException',
         () {
       // Arrange
@@ -411,6 +516,60 @@ void main() {
       await streamQueue.cancel();
     });
 
+    test('Should receive burst frame events', () async {
+      // Act
+      final Stream<AndroidBurstFrameEvent> eventStream =
+          camera.onBurstFrame(cameraId);
+      final StreamQueue<AndroidBurstFrameEvent> streamQueue =
+          StreamQueue<AndroidBurstFrameEvent>(eventStream);
+
+      // Emit test events
+      final AndroidBurstFrameEvent savedEvent =
+          AndroidBurstFrameEvent(cameraId, index: 0, path: '/test/0.jpg');
+      final AndroidBurstFrameEvent failedEvent =
+          AndroidBurstFrameEvent(cameraId, index: 1, error: 'Failed');
+      await camera.handleCameraMethodCall(
+          MethodCall('burst_frame', savedEvent.toJson()), cameraId);
+      await camera.handleCameraMethodCall(
+          MethodCall('burst_frame', failedEvent.toJson()), cameraId);
+
+      // Assert
+      expect(await streamQueue.next, savedEvent);
+      expect(await streamQueue.next, failedEvent);
+
+      // Clean up
+      await streamQueue.cancel();
+    });
+
+    test('Should receive metrics events', () async {
+      // Act
+      final Stream<AndroidCameraMetricsEvent> eventStream =
+          camera.onMetrics(cameraId);
+      final StreamQueue<AndroidCameraMetricsEvent> streamQueue =
+          StreamQueue<AndroidCameraMetricsEvent>(eventStream);
+
+      // Emit test events
+      final AndroidCameraMetricsEvent event = AndroidCameraMetricsEvent(
+        cameraId,
+        sequence: 'takePicture',
+        phases: const <String, Duration>{
+          'captureCompleted': Duration(milliseconds: 120),
+          'fileWritten': Duration(milliseconds: 150),
+        },
+        durations: const <String, Duration>{
+          'write': Duration(milliseconds: 20),
+        },
+      );
+      await camera.handleCameraMethodCall(
+          MethodCall('metrics', event.toJson()), cameraId);
+
+      // Assert
+      expect(await streamQueue.next, event);
+
+      // Clean up
+      await streamQueue.cancel();
+    });
+
     test('Should receive device orientation change events', () async {
       // Act
       final Stream<DeviceOrientationChangedEvent> eventStream =
@@ -560,6 +719,143 @@ void main() {
       expect(file.path, '/test/path.jpg');
     });
 
+    test('Should take a picture burst and return XFile instances', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'takePictureBurst': <String>['/test/0.jpg', '/test/1.jpg'],
+          });
+
+      // Act
+      final List<XFile> files = await camera.takePictureBurst(cameraId, 2);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('takePictureBurst', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'frameCount': 2,
+        }),
+      ]);
+      expect(files.map((XFile file) => file.path),
+          <String>['/test/0.jpg', '/test/1.jpg']);
+    });
+
+    test('Should set whether picture writes are synced', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{'setSyncPictureWrites': null});
+
+      // Act
+      await camera.setSyncPictureWrites(cameraId, true);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setSyncPictureWrites', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'enabled': true,
+        }),
+      ]);
+    });
+
+    test('Should get the concurrent cameras', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'getConcurrentCameras': <List<String>>[
+              <String>['0', '1'],
+            ],
+          });
+
+      // Act
+      final List<List<String>> combinations =
+          await camera.getConcurrentCameras();
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('getConcurrentCameras', arguments: null),
+      ]);
+      expect(combinations, <List<String>>[
+        <String>['0', '1'],
+      ]);
+    });
+
+    test('Should set whether zero shutter lag is enabled', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{'setZeroShutterLagEnabled': false});
+
+      // Act
+      final bool enabled =
+          await camera.setZeroShutterLagEnabled(cameraId, true);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setZeroShutterLagEnabled', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'enabled': true,
+        }),
+      ]);
+      expect(enabled, isFalse);
+    });
+
+    test('Should set whether metrics are enabled', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{'setMetricsEnabled': null});
+
+      // Act
+      await camera.setMetricsEnabled(cameraId, true);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setMetricsEnabled', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'enabled': true,
+        }),
+      ]);
+    });
+
+    test('Should get the latest metrics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getMetrics': <Map<String, dynamic>>[
+            <String, dynamic>{
+              'sequence': 'open',
+              'phases': <String, int>{'opened': 80000, 'firstFrame': 250000},
+              'durations': <String, int>{},
+            },
+          ],
+        },
+      );
+
+      // Act
+      final List<AndroidCameraMetricsEvent> metrics =
+          await camera.getMetrics(cameraId);
+
+      // Assert
+      expect(metrics, <AndroidCameraMetricsEvent>[
+        AndroidCameraMetricsEvent(
+          cameraId,
+          sequence: 'open',
+          phases: const <String, Duration>{
+            'opened': Duration(milliseconds: 80),
+            'firstFrame': Duration(milliseconds: 250),
+          },
+        ),
+      ]);
+      expect(channel.log, <Matcher>[
+        isMethodCall('getMetrics',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
     test('Should prepare for video recording', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -645,122 +941,230 @@ void main() {
       ]);
     });
 
-    test('Should stop a video recording and return the file', () async {
+    test('Should pass the encoder settings when starting a video recording',
+        () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
         channelName: _channelName,
-        methods: <String, dynamic>{'stopVideoRecording': '/test/path.mp4'},
+        methods: <String, dynamic>{'startVideoRecording': null},
       );
 
       // Act
-      final XFile file = await camera.stopVideoRecording(cameraId);
+      await camera.startVideoCapturingWithEncoder(
+        VideoCaptureOptions(cameraId),
+        const AndroidVideoEncoderSettings(
+          codec: AndroidVideoCodec.hevc,
+          bitRate: 8000000,
+          bitrateMode: AndroidBitrateMode.constant,
+          keyFrameInterval: Duration(seconds: 2),
+        ),
+      );
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('stopVideoRecording', arguments: <String, Object?>{
+        isMethodCall('startVideoRecording', arguments: <String, Object?>{
           'cameraId': cameraId,
+          'maxVideoDuration': null,
+          'enableStream': false,
+          'videoEncoder': <String, Object?>{
+            'codec': 'hevc',
+            'bitRate': 8000000,
+            'bitrateMode': 'constant',
+            'keyFrameInterval': 2000,
+            'width': null,
+            'height': null,
+            'frameRate': null,
+          },
         }),
       ]);
-      expect(file.path, '/test/path.mp4');
     });
 
-    test('Should pause a video recording', () async {
+    test('Should start a pre-roll', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
         channelName: _channelName,
-        methods: <String, dynamic>{'pauseVideoRecording': null},
+        methods: <String, dynamic>{'startPreRoll': null},
       );
 
       // Act
-      await camera.pauseVideoRecording(cameraId);
+      await camera.startPreRoll(
+        cameraId,
+        duration: const Duration(seconds: 10),
+        maxBytes: 1024,
+        encoder: const AndroidVideoEncoderSettings(
+          keyFrameInterval: Duration(milliseconds: 500),
+        ),
+      );
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('pauseVideoRecording', arguments: <String, Object?>{
+        isMethodCall('startPreRoll', arguments: <String, Object?>{
           'cameraId': cameraId,
+          'duration': 10000,
+          'maxBytes': 1024,
+          'videoEncoder': <String, Object?>{
+            'codec': 'avc',
+            'bitRate': null,
+            'bitrateMode': null,
+            'keyFrameInterval': 500,
+            'width': null,
+            'height': null,
+            'frameRate': null,
+          },
         }),
       ]);
     });
 
-    test('Should resume a video recording', () async {
+    test('Should start a video recording from the pre-roll', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
         channelName: _channelName,
-        methods: <String, dynamic>{'resumeVideoRecording': null},
+        methods: <String, dynamic>{'startVideoRecordingFromPreRoll': null},
       );
 
       // Act
-      await camera.resumeVideoRecording(cameraId);
+      await camera.startVideoRecordingFromPreRoll(cameraId);
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('resumeVideoRecording', arguments: <String, Object?>{
-          'cameraId': cameraId,
-        }),
+        isMethodCall('startVideoRecordingFromPreRoll',
+            arguments: <String, Object?>{'cameraId': cameraId}),
       ]);
     });
 
-    test('Should set the flash mode', () async {
+    test('Should stop the pre-roll', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
         channelName: _channelName,
-        methods: <String, dynamic>{'setFlashMode': null},
+        methods: <String, dynamic>{'stopPreRoll': null},
       );
 
       // Act
-      await camera.setFlashMode(cameraId, FlashMode.torch);
-      await camera.setFlashMode(cameraId, FlashMode.always);
-      await camera.setFlashMode(cameraId, FlashMode.auto);
-      await camera.setFlashMode(cameraId, FlashMode.off);
+      await camera.stopPreRoll(cameraId);
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('setFlashMode', arguments: <String, Object?>{
-          'cameraId': cameraId,
-          'mode': 'torch'
-        }),
-        isMethodCall('setFlashMode', arguments: <String, Object?>{
-          'cameraId': cameraId,
-          'mode': 'always'
-        }),
-        isMethodCall('setFlashMode',
-            arguments: <String, Object?>{'cameraId': cameraId, 'mode': 'auto'}),
-        isMethodCall('setFlashMode',
-            arguments: <String, Object?>{'cameraId': cameraId, 'mode': 'off'}),
+        isMethodCall('stopPreRoll',
+            arguments: <String, Object?>{'cameraId': cameraId}),
       ]);
     });
 
-    test('Should set the exposure mode', () async {
+    test('Should stop a video recording and return the file', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
         channelName: _channelName,
-        methods: <String, dynamic>{'setExposureMode': null},
+        methods: <String, dynamic>{'stopVideoRecording': '/test/path.mp4'},
       );
 
       // Act
-      await camera.setExposureMode(cameraId, ExposureMode.auto);
-      await camera.setExposureMode(cameraId, ExposureMode.locked);
+      final XFile file = await camera.stopVideoRecording(cameraId);
 
       // Assert
       expect(channel.log, <Matcher>[
-        isMethodCall('setExposureMode',
-            arguments: <String, Object?>{'cameraId': cameraId, 'mode': 'auto'}),
-        isMethodCall('setExposureMode', arguments: <String, Object?>{
+        isMethodCall('stopVideoRecording', arguments: <String, Object?>{
           'cameraId': cameraId,
-          'mode': 'locked'
         }),
       ]);
+      expect(file.path, '/test/path.mp4');
     });
 
-    test('Should set the exposure point', () async {
+    test('Should pause a video recording', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
         channelName: _channelName,
-        methods: <String, dynamic>{'setExposurePoint': null},
+        methods: <String, dynamic>{'pauseVideoRecording': null},
       );
 
       // Act
-      await camera.setExposurePoint(cameraId, const Point<double>(0.5, 0.5));
+      await camera.pauseVideoRecording(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('pauseVideoRecording', arguments: <String, Object?>{
+          'cameraId': cameraId,
+        }),
+      ]);
+    });
+
+    test('Should resume a video recording', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'resumeVideoRecording': null},
+      );
+
+      // Act
+      await camera.resumeVideoRecording(cameraId);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('resumeVideoRecording', arguments: <String, Object?>{
+          'cameraId': cameraId,
+        }),
+      ]);
+    });
+
+    test('Should set the flash mode', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setFlashMode': null},
+      );
+
+      // Act
+      await camera.setFlashMode(cameraId, FlashMode.torch);
+      await camera.setFlashMode(cameraId, FlashMode.always);
+      await camera.setFlashMode(cameraId, FlashMode.auto);
+      await camera.setFlashMode(cameraId, FlashMode.off);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setFlashMode', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'mode': 'torch'
+        }),
+        isMethodCall('setFlashMode', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'mode': 'always'
+        }),
+        isMethodCall('setFlashMode',
+            arguments: <String, Object?>{'cameraId': cameraId, 'mode': 'auto'}),
+        isMethodCall('setFlashMode',
+            arguments: <String, Object?>{'cameraId': cameraId, 'mode': 'off'}),
+      ]);
+    });
+
+    test('Should set the exposure mode', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setExposureMode': null},
+      );
+
+      // Act
+      await camera.setExposureMode(cameraId, ExposureMode.auto);
+      await camera.setExposureMode(cameraId, ExposureMode.locked);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setExposureMode',
+            arguments: <String, Object?>{'cameraId': cameraId, 'mode': 'auto'}),
+        isMethodCall('setExposureMode', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'mode': 'locked'
+        }),
+      ]);
+    });
+
+    test('Should set the exposure point', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setExposurePoint': null},
+      );
+
+      // Act
+      await camera.setExposurePoint(cameraId, const Point<double>(0.5, 0.5));
       await camera.setExposurePoint(cameraId, null);
 
       // Assert
@@ -983,6 +1387,107 @@ void main() {
       ]);
     });
 
+    test('Should start a zoom ramp', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'startZoomRamp': null},
+      );
+
+      // Act
+      await camera.startZoomRamp(
+          cameraId, 3.0, const Duration(milliseconds: 250));
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startZoomRamp', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'zoom': 3.0,
+          'duration': 250,
+        }),
+      ]);
+    });
+
+    test('Should throw CameraException when zoom ramp target is illegal',
+        () async {
+      // Arrange
+      MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startZoomRamp': PlatformException(
+            code: 'ZOOM_ERROR',
+            message: 'Illegal zoom error',
+          )
+        },
+      );
+
+      // Act & assert
+      expect(
+          () => camera.startZoomRamp(
+              cameraId, -1.0, const Duration(milliseconds: 250)),
+          throwsA(isA<CameraException>()
+              .having((CameraException e) => e.code, 'code', 'ZOOM_ERROR')
+              .having((CameraException e) => e.description, 'description',
+                  'Illegal zoom error')));
+    });
+
+    test('Should apply several settings at once', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'applySettings': null},
+      );
+
+      // Act
+      await camera.applySettings(
+        cameraId,
+        const AndroidCameraSettings(
+          flashMode: FlashMode.torch,
+          resetExposurePoint: true,
+          exposureOffset: 0.5,
+          focusMode: FocusMode.locked,
+          focusPoint: Point<double>(0.25, 0.75),
+          zoomLevel: 2.0,
+        ),
+      );
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('applySettings', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'flashMode': 'torch',
+          'exposurePoint': null,
+          'exposureOffset': 0.5,
+          'focusMode': 'locked',
+          'focusPoint': <String, double>{'x': 0.25, 'y': 0.75},
+          'zoomLevel': 2.0,
+        }),
+      ]);
+    });
+
+    test('Should throw CameraException when settings cannot be applied',
+        () async {
+      // Arrange
+      MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'applySettings': PlatformException(
+            code: 'ZOOM_ERROR',
+            message: 'Illegal zoom error',
+          )
+        },
+      );
+
+      // Act & assert
+      expect(
+          () => camera.applySettings(
+              cameraId, const AndroidCameraSettings(zoomLevel: -1.0)),
+          throwsA(isA<CameraException>()
+              .having((CameraException e) => e.code, 'code', 'ZOOM_ERROR')
+              .having((CameraException e) => e.description, 'description',
+                  'Illegal zoom error')));
+    });
+
     test('Should throw CameraException when illegal zoom level is supplied',
         () async {
       // Arrange
@@ -1099,6 +1604,400 @@ void main() {
       subscription.cancel();
     });
 
+    test('Should start streaming with Android image stream options', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  usePooledBuffers: true, pooledBufferCount: 2))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': true,
+          'pooledBufferCount': 2,
+          'backpressureStrategy': 'none',
+          'maxInFlightFrames': 1,
+          'queueSize': 2,
+          'targetFrameRate': null,
+          'planeMask': 0x7,
+          'cropRegion': null,
+          'outputLayout': 'planes',
+          'frameProcessors': <String>[],
+          'sendFrames': true,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should start streaming with a backpressure strategy', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  backpressureStrategy:
+                      AndroidImageStreamBackpressureStrategy.boundedQueue,
+                  maxInFlightFrames: 2,
+                  queueSize: 4))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': false,
+          'pooledBufferCount': 3,
+          'backpressureStrategy': 'boundedQueue',
+          'maxInFlightFrames': 2,
+          'queueSize': 4,
+          'targetFrameRate': null,
+          'planeMask': 0x7,
+          'cropRegion': null,
+          'outputLayout': 'planes',
+          'frameProcessors': <String>[],
+          'sendFrames': true,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should start streaming with a frame rate, plane mask and crop region',
+        () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  targetFrameRate: 5,
+                  planeMask: AndroidCameraImageStreamOptions.lumaPlaneMask,
+                  cropRegion: const Rectangle<int>(160, 120, 320, 240)))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': false,
+          'pooledBufferCount': 3,
+          'backpressureStrategy': 'none',
+          'maxInFlightFrames': 1,
+          'queueSize': 2,
+          'targetFrameRate': 5.0,
+          'planeMask': 0x1,
+          'cropRegion': <String, int>{
+            'left': 160,
+            'top': 120,
+            'width': 320,
+            'height': 240,
+          },
+          'outputLayout': 'planes',
+          'frameProcessors': <String>[],
+          'sendFrames': true,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should acknowledge a frame once the listener has handled it',
+        () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'receivedImageStreamData': null,
+          'stopImageStream': null,
+        },
+      );
+      MethodChannelMock(
+        channelName: 'plugins.flutter.io/camera_android/imageStream',
+        methods: <String, dynamic>{'listen': null, 'cancel': null},
+      );
+      final List<bool> acknowledgedBeforeListener = <bool>[];
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(usePooledBuffers: true))
+          .listen((CameraImageData imageData) {
+        acknowledgedBeforeListener.add(channel.log.any(
+            (MethodCall call) => call.method == 'receivedImageStreamData'));
+      });
+      await Future<void>.delayed(Duration.zero);
+      await Future<void>.delayed(Duration.zero);
+
+      // Act
+      await _sendStreamedFrame();
+      await Future<void>.delayed(Duration.zero);
+
+      // Assert
+      expect(acknowledgedBeforeListener, <bool>[false]);
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': true,
+          'pooledBufferCount': 3,
+          'backpressureStrategy': 'none',
+          'maxInFlightFrames': 1,
+          'queueSize': 2,
+          'targetFrameRate': null,
+          'planeMask': 0x7,
+          'cropRegion': null,
+          'outputLayout': 'planes',
+          'frameProcessors': <String>[],
+          'sendFrames': true,
+        }),
+        isMethodCall('receivedImageStreamData', arguments: null),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should not acknowledge frames of a stream without backpressure',
+        () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'receivedImageStreamData': null,
+          'stopImageStream': null,
+        },
+      );
+      MethodChannelMock(
+        channelName: 'plugins.flutter.io/camera_android/imageStream',
+        methods: <String, dynamic>{'listen': null, 'cancel': null},
+      );
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {});
+      await Future<void>.delayed(Duration.zero);
+      await Future<void>.delayed(Duration.zero);
+
+      // Act
+      await _sendStreamedFrame();
+      await camera.acknowledgeStreamedFrame(cameraId);
+      await Future<void>.delayed(Duration.zero);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: null),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should only acknowledge frames manually when requested', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'receivedImageStreamData': null,
+          'stopImageStream': null,
+        },
+      );
+      MethodChannelMock(
+        channelName: 'plugins.flutter.io/camera_android/imageStream',
+        methods: <String, dynamic>{'listen': null, 'cancel': null},
+      );
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  usePooledBuffers: true, acknowledgeFramesManually: true))
+          .listen((CameraImageData imageData) {});
+      await Future<void>.delayed(Duration.zero);
+      await Future<void>.delayed(Duration.zero);
+
+      // Act
+      await _sendStreamedFrame();
+      await Future<void>.delayed(Duration.zero);
+      final int callCountBeforeAcknowledgement = channel.log.length;
+      await camera.acknowledgeStreamedFrame(cameraId);
+
+      // Assert
+      expect(callCountBeforeAcknowledgement, 1);
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': true,
+          'pooledBufferCount': 3,
+          'backpressureStrategy': 'none',
+          'maxInFlightFrames': 1,
+          'queueSize': 2,
+          'targetFrameRate': null,
+          'planeMask': 0x7,
+          'cropRegion': null,
+          'outputLayout': 'planes',
+          'frameProcessors': <String>[],
+          'sendFrames': true,
+        }),
+        isMethodCall('receivedImageStreamData', arguments: null),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should get the image stream statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getImageStreamStatistics': <String, dynamic>{
+            'deliveredFrames': 10,
+            'droppedFrames': 3,
+          },
+        },
+      );
+
+      // Act
+      final AndroidImageStreamStatistics statistics =
+          await camera.getImageStreamStatistics(cameraId);
+
+      // Assert
+      expect(statistics.deliveredFrames, 10);
+      expect(statistics.droppedFrames, 3);
+      expect(channel.log, <Matcher>[
+        isMethodCall('getImageStreamStatistics',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
+    test('Should start streaming with a packed output layout', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  outputLayout: AndroidImageStreamOutputLayout.nv21))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': false,
+          'pooledBufferCount': 3,
+          'backpressureStrategy': 'none',
+          'maxInFlightFrames': 1,
+          'queueSize': 2,
+          'targetFrameRate': null,
+          'planeMask': 0x7,
+          'cropRegion': null,
+          'outputLayout': 'nv21',
+          'frameProcessors': <String>[],
+          'sendFrames': true,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
+    test('Should stream frame metadata while listened to', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startFrameMetadataStream': null,
+          'stopFrameMetadataStream': null,
+        },
+      );
+      final AndroidFrameMetadataEvent event = AndroidFrameMetadataEvent(
+        cameraId,
+        sensorTimestamp: 123456789,
+        sensorExposureTime: 10000000,
+        sensorSensitivity: 400,
+        lensFocusDistance: 2.5,
+        aeState: 2,
+        afState: 4,
+      );
+
+      // Act
+      final StreamQueue<AndroidFrameMetadataEvent> streamQueue =
+          StreamQueue<AndroidFrameMetadataEvent>(camera.onFrameMetadata(
+              cameraId,
+              minInterval: const Duration(milliseconds: 50)));
+      final Future<AndroidFrameMetadataEvent> next = streamQueue.next;
+      await camera.handleCameraMethodCall(
+          MethodCall('frame_metadata', event.toJson()), cameraId);
+
+      // Assert
+      expect(await next, event);
+      await streamQueue.cancel();
+      expect(channel.log, <Matcher>[
+        isMethodCall('startFrameMetadataStream', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'interval': 50,
+        }),
+        isMethodCall('stopFrameMetadataStream',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
+    test('Should start streaming with frame processors', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                  frameProcessors: <String>['averageLuma'], sendFrames: false))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'usePooledBuffers': false,
+          'pooledBufferCount': 3,
+          'backpressureStrategy': 'none',
+          'maxInFlightFrames': 1,
+          'queueSize': 2,
+          'targetFrameRate': null,
+          'planeMask': 0x7,
+          'cropRegion': null,
+          'outputLayout': 'planes',
+          'frameProcessors': <String>['averageLuma'],
+          'sendFrames': false,
+        }),
+      ]);
+
+      subscription.cancel();
+    });
+
     test('Should stop streaming', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1124,6 +2023,23 @@ void main() {
   });
 }
 
+/// Sends a single frame on the image stream event channel.
+Future<void> _sendStreamedFrame() async {
+  await _ambiguate(TestDefaultBinaryMessengerBinding.instance)!
+      .defaultBinaryMessenger
+      .handlePlatformMessage(
+          'plugins.flutter.io/camera_android/imageStream',
+          const StandardMethodCodec().encodeSuccessEnvelope(<String, dynamic>{
+            'format': 35,
+            'height': 1,
+            'width': 1,
+            'planes': <dynamic>[
+              <String, dynamic>{'bytes': Uint8List(1), 'bytesPerRow': 1},
+            ],
+          }),
+          (ByteData? data) {});
+}
+
 /// This allows a value of type T or T? to be treated as a value of type T?.
 ///
 /// We use this so that APIs that have become non-nullable can still be used
@@ -5,6 +5,11 @@
 package io.flutter.plugins.camerax;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.LifecycleOwner;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
@@ -15,9 +20,21 @@ import io.flutter.view.TextureRegistry;
 
 /** Platform implementation of the camera_plugin implemented with the CameraX library. */
 public final class CameraAndroidCameraxPlugin implements FlutterPlugin, ActivityAware {
+  /**
+   * Application meta-data key that, when set to true, binds a preview of the default back camera as
+   * soon as the plugin is attached to an activity, so that the camera is opened before Dart binds
+   * its use cases.
+   */
+  private static final String PREBIND_DEFAULT_CAMERA_KEY =
+      "io.flutter.plugins.camerax.PrebindDefaultCamera";
+
   private InstanceManager instanceManager;
   private FlutterPluginBinding pluginBinding;
   private ProcessCameraProviderHostApiImpl processCameraProviderHostApi;
+  private ImageAnalysisHostApiImpl imageAnalysisHostApi;
+  private PreviewHostApiImpl previewHostApi;
+  private ImageCaptureHostApiImpl imageCaptureHostApi;
+  private RecorderHostApiImpl recorderHostApi;
   public SystemServicesHostApiImpl systemServicesHostApi;
 
   /**
@@ -28,13 +45,16 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
   public CameraAndroidCameraxPlugin() {}
 
   void setUp(BinaryMessenger binaryMessenger, Context context, TextureRegistry textureRegistry) {
-    // Set up instance manager.
+    // Set up instance manager. Instances are finalized on a background thread, while messages are
+    // sent to Dart on the platform thread.
+    final Handler mainHandler = new Handler(Looper.getMainLooper());
     instanceManager =
         InstanceManager.open(
-            identifier -> {
-              new GeneratedCameraXLibrary.JavaObjectFlutterApi(binaryMessenger)
-                  .dispose(identifier, reply -> {});
-            });
+            identifier ->
+                mainHandler.post(
+                    () ->
+                        new GeneratedCameraXLibrary.JavaObjectFlutterApi(binaryMessenger)
+                            .dispose(identifier, reply -> {})));
 
     // Set up Host APIs.
     GeneratedCameraXLibrary.CameraInfoHostApi.setup(
@@ -49,11 +69,29 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
         binaryMessenger, processCameraProviderHostApi);
     systemServicesHostApi = new SystemServicesHostApiImpl(binaryMessenger, instanceManager);
     GeneratedCameraXLibrary.SystemServicesHostApi.setup(binaryMessenger, systemServicesHostApi);
+    imageAnalysisHostApi = new ImageAnalysisHostApiImpl(binaryMessenger, instanceManager);
+    GeneratedCameraXLibrary.ImageAnalysisHostApi.setup(binaryMessenger, imageAnalysisHostApi);
+    previewHostApi = new PreviewHostApiImpl(binaryMessenger, instanceManager, textureRegistry);
+    GeneratedCameraXLibrary.PreviewHostApi.setup(binaryMessenger, previewHostApi);
+    imageCaptureHostApi = new ImageCaptureHostApiImpl(binaryMessenger, instanceManager);
+    GeneratedCameraXLibrary.ImageCaptureHostApi.setup(binaryMessenger, imageCaptureHostApi);
+    recorderHostApi = new RecorderHostApiImpl(binaryMessenger, instanceManager, context);
+    GeneratedCameraXLibrary.RecorderHostApi.setup(binaryMessenger, recorderHostApi);
+    GeneratedCameraXLibrary.VideoCaptureHostApi.setup(
+        binaryMessenger, new VideoCaptureHostApiImpl(instanceManager));
+    GeneratedCameraXLibrary.RecordingHostApi.setup(
+        binaryMessenger, new RecordingHostApiImpl(instanceManager));
   }
 
   @Override
   public void onAttachedToEngine(@NonNull FlutterPluginBinding flutterPluginBinding) {
     pluginBinding = flutterPluginBinding;
+    setUp(
+        pluginBinding.getBinaryMessenger(),
+        pluginBinding.getApplicationContext(),
+        pluginBinding.getTextureRegistry());
+    // Initializing the camera provider takes a while, start it before Dart requests it.
+    processCameraProviderHostApi.initialize();
   }
 
   @Override
@@ -61,22 +99,33 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     if (instanceManager != null) {
       instanceManager.close();
     }
+    if (imageAnalysisHostApi != null) {
+      imageAnalysisHostApi.shutdown();
+    }
+    if (previewHostApi != null) {
+      previewHostApi.releaseFlutterSurfaceTexture();
+    }
+    if (imageCaptureHostApi != null) {
+      imageCaptureHostApi.shutdown();
+    }
+    if (recorderHostApi != null) {
+      recorderHostApi.shutdown();
+    }
   }
 
   // Activity Lifecycle methods:
 
   @Override
   public void onAttachedToActivity(@NonNull ActivityPluginBinding activityPluginBinding) {
-    setUp(
-        pluginBinding.getBinaryMessenger(),
-        pluginBinding.getApplicationContext(),
-        pluginBinding.getTextureRegistry());
     updateContext(pluginBinding.getApplicationContext());
     processCameraProviderHostApi.setLifecycleOwner(
         (LifecycleOwner) activityPluginBinding.getActivity());
     systemServicesHostApi.setActivity(activityPluginBinding.getActivity());
     systemServicesHostApi.setPermissionsRegistry(
         activityPluginBinding::addRequestPermissionsResultListener);
+    if (shouldPrebindDefaultCamera(pluginBinding.getApplicationContext())) {
+      processCameraProviderHostApi.prebindDefaultCamera();
+    }
   }
 
   @Override
@@ -95,6 +144,19 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     updateContext(pluginBinding.getApplicationContext());
   }
 
+  private static boolean shouldPrebindDefaultCamera(Context context) {
+    try {
+      final ApplicationInfo applicationInfo =
+          context
+              .getPackageManager()
+              .getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA);
+      final Bundle metaData = applicationInfo.metaData;
+      return metaData != null && metaData.getBoolean(PREBIND_DEFAULT_CAMERA_KEY, false);
+    } catch (PackageManager.NameNotFoundException e) {
+      return false;
+    }
+  }
+
   /**
    * Updates context that is used to fetch the corresponding instance of a {@code
    * ProcessCameraProvider}.
@@ -7,6 +7,8 @@ package io.flutter.plugins.camerax;
 import androidx.camera.core.CameraInfo;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.CameraInfoFlutterApi;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CameraInfoFlutterApiImpl extends CameraInfoFlutterApi {
   private final InstanceManager instanceManager;
@@ -20,4 +22,13 @@ public class CameraInfoFlutterApiImpl extends CameraInfoFlutterApi {
   void create(CameraInfo cameraInfo, Reply<Void> reply) {
     create(instanceManager.addHostCreatedInstance(cameraInfo), reply);
   }
+
+  /** Creates the Dart instances of the supplied {@code CameraInfo}s with a single message. */
+  void createAllFromInstances(List<CameraInfo> cameraInfos, Reply<Void> reply) {
+    final List<Long> identifiers = new ArrayList<>(cameraInfos.size());
+    for (CameraInfo cameraInfo : cameraInfos) {
+      identifiers.add(instanceManager.addHostCreatedInstance(cameraInfo));
+    }
+    createAll(identifiers, reply);
+  }
 }
@@ -5,7 +5,24 @@
 package io.flutter.plugins.camerax;
 
 import android.app.Activity;
+import android.graphics.SurfaceTexture;
+import android.hardware.camera2.CaptureRequest;
+import android.os.Handler;
+import android.util.Range;
+import android.view.Surface;
+import androidx.annotation.OptIn;
+import androidx.camera.camera2.interop.Camera2Interop;
+import androidx.camera.camera2.interop.ExperimentalCamera2Interop;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageCapture;
+import androidx.camera.core.Preview;
+import androidx.camera.video.FileOutputOptions;
+import androidx.camera.video.Recorder;
+import androidx.camera.video.VideoCapture;
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class CameraXProxy {
   public CameraSelector.Builder createCameraSelectorBuilder() {
@@ -23,4 +40,68 @@ public class CameraXProxy {
       DeviceOrientationManager.DeviceOrientationChangeCallback callback) {
     return new DeviceOrientationManager(activity, isFrontFacing, sensorOrientation, callback);
   }
+
+  public ImageAnalysis.Builder createImageAnalysisBuilder() {
+    return new ImageAnalysis.Builder();
+  }
+
+  public Preview.Builder createPreviewBuilder() {
+    return new Preview.Builder();
+  }
+
+  /**
+   * Requests frames in {@code frameRate} for the {@code Preview} built by {@code previewBuilder}.
+   *
+   * <p>The preview shares the repeating capture request with the other streaming use cases, so the
+   * range applies to recorded videos too.
+   */
+  @OptIn(markerClass = ExperimentalCamera2Interop.class)
+  public void setTargetFrameRate(Preview.Builder previewBuilder, Range<Integer> frameRate) {
+    new Camera2Interop.Extender<>(previewBuilder)
+        .setCaptureRequestOption(CaptureRequest.CONTROL_AE_TARGET_FPS_RANGE, frameRate);
+  }
+
+  public Surface createSurface(SurfaceTexture surfaceTexture) {
+    return new Surface(surfaceTexture);
+  }
+
+  public ImageCapture.Builder createImageCaptureBuilder() {
+    return new ImageCapture.Builder();
+  }
+
+  public ImageCapture.OutputFileOptions createImageCaptureOutputFileOptions(File file) {
+    return new ImageCapture.OutputFileOptions.Builder(file).build();
+  }
+
+  public Recorder.Builder createRecorderBuilder() {
+    return new Recorder.Builder();
+  }
+
+  public FileOutputOptions createFileOutputOptions(File file) {
+    return new FileOutputOptions.Builder(file).build();
+  }
+
+  public VideoCapture<Recorder> createVideoCapture(Recorder recorder) {
+    return VideoCapture.withOutput(recorder);
+  }
+
+  public ExecutorService createCaptureExecutor() {
+    return Executors.newSingleThreadExecutor();
+  }
+
+  public ExecutorService createRecorderExecutor() {
+    return Executors.newSingleThreadExecutor();
+  }
+
+  public ExecutorService createAnalyzerExecutor() {
+    return Executors.newSingleThreadExecutor();
+  }
+
+  public ImageAnalysisAnalyzer createImageAnalysisAnalyzer(
+      long identifier,
+      boolean blockProducer,
+      ImageAnalysisFlutterApiImpl flutterApi,
+      Handler mainHandler) {
+    return new ImageAnalysisAnalyzer(identifier, blockProducer, flutterApi, mainHandler);
+  }
 }
@@ -97,6 +97,509 @@ public class GeneratedCameraXLibrary {
     }
   }
 
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ResolutionInfo {
+    private @NonNull Long width;
+
+    public @NonNull Long getWidth() {
+      return width;
+    }
+
+    public void setWidth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"width\" is null.");
+      }
+      this.width = setterArg;
+    }
+
+    private @NonNull Long height;
+
+    public @NonNull Long getHeight() {
+      return height;
+    }
+
+    public void setHeight(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"height\" is null.");
+      }
+      this.height = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private ResolutionInfo() {}
+
+    public static final class Builder {
+      private @Nullable Long width;
+
+      public @NonNull Builder setWidth(@NonNull Long setterArg) {
+        this.width = setterArg;
+        return this;
+      }
+
+      private @Nullable Long height;
+
+      public @NonNull Builder setHeight(@NonNull Long setterArg) {
+        this.height = setterArg;
+        return this;
+      }
+
+      public @NonNull ResolutionInfo build() {
+        ResolutionInfo pigeonReturn = new ResolutionInfo();
+        pigeonReturn.setWidth(width);
+        pigeonReturn.setHeight(height);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("width", width);
+      toMapResult.put("height", height);
+      return toMapResult;
+    }
+
+    static @NonNull ResolutionInfo fromMap(@NonNull Map<String, Object> map) {
+      ResolutionInfo pigeonResult = new ResolutionInfo();
+      Object width = map.get("width");
+      pigeonResult.setWidth(
+          (width == null) ? null : ((width instanceof Integer) ? (Integer) width : (Long) width));
+      Object height = map.get("height");
+      pigeonResult.setHeight(
+          (height == null)
+              ? null
+              : ((height instanceof Integer) ? (Integer) height : (Long) height));
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class ImageProxyData {
+    private @NonNull Long width;
+
+    public @NonNull Long getWidth() {
+      return width;
+    }
+
+    public void setWidth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"width\" is null.");
+      }
+      this.width = setterArg;
+    }
+
+    private @NonNull Long height;
+
+    public @NonNull Long getHeight() {
+      return height;
+    }
+
+    public void setHeight(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"height\" is null.");
+      }
+      this.height = setterArg;
+    }
+
+    private @NonNull Long format;
+
+    public @NonNull Long getFormat() {
+      return format;
+    }
+
+    public void setFormat(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"format\" is null.");
+      }
+      this.format = setterArg;
+    }
+
+    private @NonNull Long rotationDegrees;
+
+    public @NonNull Long getRotationDegrees() {
+      return rotationDegrees;
+    }
+
+    public void setRotationDegrees(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"rotationDegrees\" is null.");
+      }
+      this.rotationDegrees = setterArg;
+    }
+
+    private @NonNull Long timestamp;
+
+    public @NonNull Long getTimestamp() {
+      return timestamp;
+    }
+
+    public void setTimestamp(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"timestamp\" is null.");
+      }
+      this.timestamp = setterArg;
+    }
+
+    private @NonNull byte[] bytes;
+
+    public @NonNull byte[] getBytes() {
+      return bytes;
+    }
+
+    public void setBytes(@NonNull byte[] setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"bytes\" is null.");
+      }
+      this.bytes = setterArg;
+    }
+
+    private @NonNull List<Long> planeLengths;
+
+    public @NonNull List<Long> getPlaneLengths() {
+      return planeLengths;
+    }
+
+    public void setPlaneLengths(@NonNull List<Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"planeLengths\" is null.");
+      }
+      this.planeLengths = setterArg;
+    }
+
+    private @NonNull List<Long> planeRowStrides;
+
+    public @NonNull List<Long> getPlaneRowStrides() {
+      return planeRowStrides;
+    }
+
+    public void setPlaneRowStrides(@NonNull List<Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"planeRowStrides\" is null.");
+      }
+      this.planeRowStrides = setterArg;
+    }
+
+    private @NonNull List<Long> planePixelStrides;
+
+    public @NonNull List<Long> getPlanePixelStrides() {
+      return planePixelStrides;
+    }
+
+    public void setPlanePixelStrides(@NonNull List<Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"planePixelStrides\" is null.");
+      }
+      this.planePixelStrides = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private ImageProxyData() {}
+
+    public static final class Builder {
+      private @Nullable Long width;
+
+      public @NonNull Builder setWidth(@NonNull Long setterArg) {
+        this.width = setterArg;
+        return this;
+      }
+
+      private @Nullable Long height;
+
+      public @NonNull Builder setHeight(@NonNull Long setterArg) {
+        this.height = setterArg;
+        return this;
+      }
+
+      private @Nullable Long format;
+
+      public @NonNull Builder setFormat(@NonNull Long setterArg) {
+        this.format = setterArg;
+        return this;
+      }
+
+      private @Nullable Long rotationDegrees;
+
+      public @NonNull Builder setRotationDegrees(@NonNull Long setterArg) {
+        this.rotationDegrees = setterArg;
+        return this;
+      }
+
+      private @Nullable Long timestamp;
+
+      public @NonNull Builder setTimestamp(@NonNull Long setterArg) {
+        this.timestamp = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] bytes;
+
+      public @NonNull Builder setBytes(@NonNull byte[] setterArg) {
+        this.bytes = setterArg;
+        return this;
+      }
+
+      private @Nullable List<Long> planeLengths;
+
+      public @NonNull Builder setPlaneLengths(@NonNull List<Long> setterArg) {
+        this.planeLengths = setterArg;
+        return this;
+      }
+
+      private @Nullable List<Long> planeRowStrides;
+
+      public @NonNull Builder setPlaneRowStrides(@NonNull List<Long> setterArg) {
+        this.planeRowStrides = setterArg;
+        return this;
+      }
+
+      private @Nullable List<Long> planePixelStrides;
+
+      public @NonNull Builder setPlanePixelStrides(@NonNull List<Long> setterArg) {
+        this.planePixelStrides = setterArg;
+        return this;
+      }
+
+      public @NonNull ImageProxyData build() {
+        ImageProxyData pigeonReturn = new ImageProxyData();
+        pigeonReturn.setWidth(width);
+        pigeonReturn.setHeight(height);
+        pigeonReturn.setFormat(format);
+        pigeonReturn.setRotationDegrees(rotationDegrees);
+        pigeonReturn.setTimestamp(timestamp);
+        pigeonReturn.setBytes(bytes);
+        pigeonReturn.setPlaneLengths(planeLengths);
+        pigeonReturn.setPlaneRowStrides(planeRowStrides);
+        pigeonReturn.setPlanePixelStrides(planePixelStrides);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("width", width);
+      toMapResult.put("height", height);
+      toMapResult.put("format", format);
+      toMapResult.put("rotationDegrees", rotationDegrees);
+      toMapResult.put("timestamp", timestamp);
+      toMapResult.put("bytes", bytes);
+      toMapResult.put("planeLengths", planeLengths);
+      toMapResult.put("planeRowStrides", planeRowStrides);
+      toMapResult.put("planePixelStrides", planePixelStrides);
+      return toMapResult;
+    }
+
+    static @NonNull ImageProxyData fromMap(@NonNull Map<String, Object> map) {
+      ImageProxyData pigeonResult = new ImageProxyData();
+      Object width = map.get("width");
+      pigeonResult.setWidth(
+          (width == null) ? null : ((width instanceof Integer) ? (Integer) width : (Long) width));
+      Object height = map.get("height");
+      pigeonResult.setHeight(
+          (height == null)
+              ? null
+              : ((height instanceof Integer) ? (Integer) height : (Long) height));
+      Object format = map.get("format");
+      pigeonResult.setFormat(
+          (format == null)
+              ? null
+              : ((format instanceof Integer) ? (Integer) format : (Long) format));
+      Object rotationDegrees = map.get("rotationDegrees");
+      pigeonResult.setRotationDegrees(
+          (rotationDegrees == null)
+              ? null
+              : ((rotationDegrees instanceof Integer)
+                  ? (Integer) rotationDegrees
+                  : (Long) rotationDegrees));
+      Object timestamp = map.get("timestamp");
+      pigeonResult.setTimestamp(
+          (timestamp == null)
+              ? null
+              : ((timestamp instanceof Integer) ? (Integer) timestamp : (Long) timestamp));
+      Object bytes = map.get("bytes");
+      pigeonResult.setBytes((byte[]) bytes);
+      Object planeLengths = map.get("planeLengths");
+      pigeonResult.setPlaneLengths((List<Long>) planeLengths);
+      Object planeRowStrides = map.get("planeRowStrides");
+      pigeonResult.setPlaneRowStrides((List<Long>) planeRowStrides);
+      Object planePixelStrides = map.get("planePixelStrides");
+      pigeonResult.setPlanePixelStrides((List<Long>) planePixelStrides);
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class FrameRateRange {
+    private @NonNull Long min;
+
+    public @NonNull Long getMin() {
+      return min;
+    }
+
+    public void setMin(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"min\" is null.");
+      }
+      this.min = setterArg;
+    }
+
+    private @NonNull Long max;
+
+    public @NonNull Long getMax() {
+      return max;
+    }
+
+    public void setMax(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"max\" is null.");
+      }
+      this.max = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private FrameRateRange() {}
+
+    public static final class Builder {
+      private @Nullable Long min;
+
+      public @NonNull Builder setMin(@NonNull Long setterArg) {
+        this.min = setterArg;
+        return this;
+      }
+
+      private @Nullable Long max;
+
+      public @NonNull Builder setMax(@NonNull Long setterArg) {
+        this.max = setterArg;
+        return this;
+      }
+
+      public @NonNull FrameRateRange build() {
+        FrameRateRange pigeonReturn = new FrameRateRange();
+        pigeonReturn.setMin(min);
+        pigeonReturn.setMax(max);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("min", min);
+      toMapResult.put("max", max);
+      return toMapResult;
+    }
+
+    static @NonNull FrameRateRange fromMap(@NonNull Map<String, Object> map) {
+      FrameRateRange pigeonResult = new FrameRateRange();
+      Object min = map.get("min");
+      pigeonResult.setMin(
+          (min == null) ? null : ((min instanceof Integer) ? (Integer) min : (Long) min));
+      Object max = map.get("max");
+      pigeonResult.setMax(
+          (max == null) ? null : ((max instanceof Integer) ? (Integer) max : (Long) max));
+      return pigeonResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class QualitySelectorData {
+    private @NonNull List<Long> qualities;
+
+    public @NonNull List<Long> getQualities() {
+      return qualities;
+    }
+
+    public void setQualities(@NonNull List<Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"qualities\" is null.");
+      }
+      this.qualities = setterArg;
+    }
+
+    private @Nullable Long fallbackRule;
+
+    public @Nullable Long getFallbackRule() {
+      return fallbackRule;
+    }
+
+    public void setFallbackRule(@Nullable Long setterArg) {
+      this.fallbackRule = setterArg;
+    }
+
+    private @Nullable Long fallbackQuality;
+
+    public @Nullable Long getFallbackQuality() {
+      return fallbackQuality;
+    }
+
+    public void setFallbackQuality(@Nullable Long setterArg) {
+      this.fallbackQuality = setterArg;
+    }
+
+    /** Constructor is private to enforce null safety; use Builder. */
+    private QualitySelectorData() {}
+
+    public static final class Builder {
+      private @Nullable List<Long> qualities;
+
+      public @NonNull Builder setQualities(@NonNull List<Long> setterArg) {
+        this.qualities = setterArg;
+        return this;
+      }
+
+      private @Nullable Long fallbackRule;
+
+      public @NonNull Builder setFallbackRule(@Nullable Long setterArg) {
+        this.fallbackRule = setterArg;
+        return this;
+      }
+
+      private @Nullable Long fallbackQuality;
+
+      public @NonNull Builder setFallbackQuality(@Nullable Long setterArg) {
+        this.fallbackQuality = setterArg;
+        return this;
+      }
+
+      public @NonNull QualitySelectorData build() {
+        QualitySelectorData pigeonReturn = new QualitySelectorData();
+        pigeonReturn.setQualities(qualities);
+        pigeonReturn.setFallbackRule(fallbackRule);
+        pigeonReturn.setFallbackQuality(fallbackQuality);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    Map<String, Object> toMap() {
+      Map<String, Object> toMapResult = new HashMap<>();
+      toMapResult.put("qualities", qualities);
+      toMapResult.put("fallbackRule", fallbackRule);
+      toMapResult.put("fallbackQuality", fallbackQuality);
+      return toMapResult;
+    }
+
+    static @NonNull QualitySelectorData fromMap(@NonNull Map<String, Object> map) {
+      QualitySelectorData pigeonResult = new QualitySelectorData();
+      Object qualities = map.get("qualities");
+      pigeonResult.setQualities((List<Long>) qualities);
+      Object fallbackRule = map.get("fallbackRule");
+      pigeonResult.setFallbackRule(
+          (fallbackRule == null)
+              ? null
+              : ((fallbackRule instanceof Integer) ? (Integer) fallbackRule : (Long) fallbackRule));
+      Object fallbackQuality = map.get("fallbackQuality");
+      pigeonResult.setFallbackQuality(
+          (fallbackQuality == null)
+              ? null
+              : ((fallbackQuality instanceof Integer)
+                  ? (Integer) fallbackQuality
+                  : (Long) fallbackQuality));
+      return pigeonResult;
+    }
+  }
+
   public interface Result<T> {
     void success(T result);
 
@@ -205,11 +708,13 @@ public class GeneratedCameraXLibrary {
      */
     static void setup(BinaryMessenger binaryMessenger, CameraInfoHostApi api) {
       {
+        BinaryMessenger.TaskQueue taskQueue = binaryMessenger.makeBackgroundTaskQueue();
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
                 binaryMessenger,
                 "dev.flutter.pigeon.CameraInfoHostApi.getSensorRotationDegrees",
-                getCodec());
+                getCodec(),
+                taskQueue);
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
@@ -268,6 +773,17 @@ public class GeneratedCameraXLibrary {
             callback.reply(null);
           });
     }
+
+    public void createAll(@NonNull List<Long> identifiersArg, Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.CameraInfoFlutterApi.createAll", getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(identifiersArg)),
+          channelReply -> {
+            callback.reply(null);
+          });
+    }
   }
 
   private static class CameraSelectorHostApiCodec extends StandardMessageCodec {
@@ -845,6 +1361,901 @@ public class GeneratedCameraXLibrary {
     }
   }
 
+  private static class ImageAnalysisHostApiCodec extends StandardMessageCodec {
+    public static final ImageAnalysisHostApiCodec INSTANCE = new ImageAnalysisHostApiCodec();
+
+    private ImageAnalysisHostApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return ResolutionInfo.fromMap((Map<String, Object>) readValue(buffer));
+
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(ByteArrayOutputStream stream, Object value) {
+      if (value instanceof ResolutionInfo) {
+        stream.write(128);
+        writeValue(stream, ((ResolutionInfo) value).toMap());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface ImageAnalysisHostApi {
+    void create(
+        @NonNull Long identifier,
+        @Nullable ResolutionInfo targetResolution,
+        @Nullable Long backpressureStrategy,
+        @Nullable Long imageQueueDepth,
+        @Nullable Long outputImageFormat);
+
+    void setAnalyzer(@NonNull Long identifier);
+
+    void clearAnalyzer(@NonNull Long identifier);
+
+    /** The codec used by ImageAnalysisHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return ImageAnalysisHostApiCodec.INSTANCE;
+    }
+
+    /**
+     * Sets up an instance of `ImageAnalysisHostApi` to handle messages through the
+     * `binaryMessenger`.
+     */
+    static void setup(BinaryMessenger binaryMessenger, ImageAnalysisHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageAnalysisHostApi.create", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  ResolutionInfo targetResolutionArg = (ResolutionInfo) args.get(1);
+                  Number backpressureStrategyArg = (Number) args.get(2);
+                  Number imageQueueDepthArg = (Number) args.get(3);
+                  Number outputImageFormatArg = (Number) args.get(4);
+                  api.create(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      targetResolutionArg,
+                      (backpressureStrategyArg == null)
+                          ? null
+                          : backpressureStrategyArg.longValue(),
+                      (imageQueueDepthArg == null) ? null : imageQueueDepthArg.longValue(),
+                      (outputImageFormatArg == null) ? null : outputImageFormatArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageAnalysisHostApi.setAnalyzer", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  api.setAnalyzer((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  api.clearAnalyzer((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
+  private static class ImageAnalysisFlutterApiCodec extends StandardMessageCodec {
+    public static final ImageAnalysisFlutterApiCodec INSTANCE = new ImageAnalysisFlutterApiCodec();
+
+    private ImageAnalysisFlutterApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return ImageProxyData.fromMap((Map<String, Object>) readValue(buffer));
+
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(ByteArrayOutputStream stream, Object value) {
+      if (value instanceof ImageProxyData) {
+        stream.write(128);
+        writeValue(stream, ((ImageProxyData) value).toMap());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Generated class from Pigeon that represents Flutter messages that can be called from Java. */
+  public static class ImageAnalysisFlutterApi {
+    private final BinaryMessenger binaryMessenger;
+
+    public ImageAnalysisFlutterApi(BinaryMessenger argBinaryMessenger) {
+      this.binaryMessenger = argBinaryMessenger;
+    }
+
+    public interface Reply<T> {
+      void reply(T reply);
+    }
+
+    static MessageCodec<Object> getCodec() {
+      return ImageAnalysisFlutterApiCodec.INSTANCE;
+    }
+
+    public void onImageAnalyzed(
+        @NonNull Long identifierArg, @NonNull ImageProxyData imageArg, Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger,
+              "dev.flutter.pigeon.ImageAnalysisFlutterApi.onImageAnalyzed",
+              getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(identifierArg, imageArg)),
+          channelReply -> {
+            callback.reply(null);
+          });
+    }
+  }
+
+  private static class PreviewHostApiCodec extends StandardMessageCodec {
+    public static final PreviewHostApiCodec INSTANCE = new PreviewHostApiCodec();
+
+    private PreviewHostApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return FrameRateRange.fromMap((Map<String, Object>) readValue(buffer));
+
+        case (byte) 129:
+          return ResolutionInfo.fromMap((Map<String, Object>) readValue(buffer));
+
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(ByteArrayOutputStream stream, Object value) {
+      if (value instanceof FrameRateRange) {
+        stream.write(128);
+        writeValue(stream, ((FrameRateRange) value).toMap());
+      } else if (value instanceof ResolutionInfo) {
+        stream.write(129);
+        writeValue(stream, ((ResolutionInfo) value).toMap());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface PreviewHostApi {
+    void create(
+        @NonNull Long identifier,
+        @Nullable Long targetRotation,
+        @Nullable ResolutionInfo targetResolution,
+        @Nullable FrameRateRange targetFrameRate);
+
+    @NonNull
+    Long setSurfaceProvider(@NonNull Long identifier);
+
+    void releaseFlutterSurfaceTexture();
+
+    @NonNull
+    ResolutionInfo getResolutionInfo(@NonNull Long identifier);
+
+    /** The codec used by PreviewHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return PreviewHostApiCodec.INSTANCE;
+    }
+
+    /** Sets up an instance of `PreviewHostApi` to handle messages through the `binaryMessenger`. */
+    static void setup(BinaryMessenger binaryMessenger, PreviewHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.PreviewHostApi.create", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Number targetRotationArg = (Number) args.get(1);
+                  ResolutionInfo targetResolutionArg = (ResolutionInfo) args.get(2);
+                  FrameRateRange targetFrameRateArg = (FrameRateRange) args.get(3);
+                  api.create(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      (targetRotationArg == null) ? null : targetRotationArg.longValue(),
+                      targetResolutionArg,
+                      targetFrameRateArg);
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.PreviewHostApi.setSurfaceProvider",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Long output =
+                      api.setSurfaceProvider(
+                          (identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", output);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.PreviewHostApi.releaseFlutterSurfaceTexture",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  api.releaseFlutterSurfaceTexture();
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.PreviewHostApi.getResolutionInfo", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  ResolutionInfo output =
+                      api.getResolutionInfo(
+                          (identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", output);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
+  private static class ImageCaptureHostApiCodec extends StandardMessageCodec {
+    public static final ImageCaptureHostApiCodec INSTANCE = new ImageCaptureHostApiCodec();
+
+    private ImageCaptureHostApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return ImageProxyData.fromMap((Map<String, Object>) readValue(buffer));
+
+        case (byte) 129:
+          return ResolutionInfo.fromMap((Map<String, Object>) readValue(buffer));
+
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(ByteArrayOutputStream stream, Object value) {
+      if (value instanceof ImageProxyData) {
+        stream.write(128);
+        writeValue(stream, ((ImageProxyData) value).toMap());
+      } else if (value instanceof ResolutionInfo) {
+        stream.write(129);
+        writeValue(stream, ((ResolutionInfo) value).toMap());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface ImageCaptureHostApi {
+    void create(
+        @NonNull Long identifier,
+        @Nullable Long flashMode,
+        @Nullable Long captureMode,
+        @Nullable ResolutionInfo targetResolution);
+
+    void setFlashMode(@NonNull Long identifier, @NonNull Long flashMode);
+
+    void takePicture(@NonNull Long identifier, @NonNull String filePath, Result<String> result);
+
+    void takePictureToMemory(@NonNull Long identifier, Result<ImageProxyData> result);
+
+    /** The codec used by ImageCaptureHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return ImageCaptureHostApiCodec.INSTANCE;
+    }
+
+    /**
+     * Sets up an instance of `ImageCaptureHostApi` to handle messages through the
+     * `binaryMessenger`.
+     */
+    static void setup(BinaryMessenger binaryMessenger, ImageCaptureHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageCaptureHostApi.create", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Number flashModeArg = (Number) args.get(1);
+                  Number captureModeArg = (Number) args.get(2);
+                  ResolutionInfo targetResolutionArg = (ResolutionInfo) args.get(3);
+                  api.create(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      (flashModeArg == null) ? null : flashModeArg.longValue(),
+                      (captureModeArg == null) ? null : captureModeArg.longValue(),
+                      targetResolutionArg);
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageCaptureHostApi.setFlashMode", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Number flashModeArg = (Number) args.get(1);
+                  if (flashModeArg == null) {
+                    throw new NullPointerException("flashModeArg unexpectedly null.");
+                  }
+                  api.setFlashMode(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      (flashModeArg == null) ? null : flashModeArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.ImageCaptureHostApi.takePicture", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  String filePathArg = (String) args.get(1);
+                  if (filePathArg == null) {
+                    throw new NullPointerException("filePathArg unexpectedly null.");
+                  }
+                  Result<String> resultCallback =
+                      new Result<String>() {
+                        public void success(String result) {
+                          wrapped.put("result", result);
+                          reply.reply(wrapped);
+                        }
+
+                        public void error(Throwable error) {
+                          wrapped.put("error", wrapError(error));
+                          reply.reply(wrapped);
+                        }
+                      };
+
+                  api.takePicture(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      filePathArg,
+                      resultCallback);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Result<ImageProxyData> resultCallback =
+                      new Result<ImageProxyData>() {
+                        public void success(ImageProxyData result) {
+                          wrapped.put("result", result);
+                          reply.reply(wrapped);
+                        }
+
+                        public void error(Throwable error) {
+                          wrapped.put("error", wrapError(error));
+                          reply.reply(wrapped);
+                        }
+                      };
+
+                  api.takePictureToMemory(
+                      (identifierArg == null) ? null : identifierArg.longValue(), resultCallback);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
+  private static class RecorderHostApiCodec extends StandardMessageCodec {
+    public static final RecorderHostApiCodec INSTANCE = new RecorderHostApiCodec();
+
+    private RecorderHostApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return QualitySelectorData.fromMap((Map<String, Object>) readValue(buffer));
+
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(ByteArrayOutputStream stream, Object value) {
+      if (value instanceof QualitySelectorData) {
+        stream.write(128);
+        writeValue(stream, ((QualitySelectorData) value).toMap());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface RecorderHostApi {
+    void create(
+        @NonNull Long identifier,
+        @Nullable Long aspectRatio,
+        @Nullable QualitySelectorData qualitySelector);
+
+    @NonNull
+    Long start(@NonNull Long identifier, @NonNull String filePath, @NonNull Boolean enableAudio);
+
+    /** The codec used by RecorderHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return RecorderHostApiCodec.INSTANCE;
+    }
+
+    /**
+     * Sets up an instance of `RecorderHostApi` to handle messages through the `binaryMessenger`.
+     */
+    static void setup(BinaryMessenger binaryMessenger, RecorderHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.RecorderHostApi.create", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Number aspectRatioArg = (Number) args.get(1);
+                  QualitySelectorData qualitySelectorArg = (QualitySelectorData) args.get(2);
+                  api.create(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      (aspectRatioArg == null) ? null : aspectRatioArg.longValue(),
+                      qualitySelectorArg);
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.RecorderHostApi.start", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  String filePathArg = (String) args.get(1);
+                  if (filePathArg == null) {
+                    throw new NullPointerException("filePathArg unexpectedly null.");
+                  }
+                  Boolean enableAudioArg = (Boolean) args.get(2);
+                  if (enableAudioArg == null) {
+                    throw new NullPointerException("enableAudioArg unexpectedly null.");
+                  }
+                  Long output =
+                      api.start(
+                          (identifierArg == null) ? null : identifierArg.longValue(),
+                          filePathArg,
+                          enableAudioArg);
+                  wrapped.put("result", output);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
+  private static class VideoCaptureHostApiCodec extends StandardMessageCodec {
+    public static final VideoCaptureHostApiCodec INSTANCE = new VideoCaptureHostApiCodec();
+
+    private VideoCaptureHostApiCodec() {}
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface VideoCaptureHostApi {
+    void create(@NonNull Long identifier, @NonNull Long recorderIdentifier);
+
+    /** The codec used by VideoCaptureHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return VideoCaptureHostApiCodec.INSTANCE;
+    }
+
+    /**
+     * Sets up an instance of `VideoCaptureHostApi` to handle messages through the
+     * `binaryMessenger`.
+     */
+    static void setup(BinaryMessenger binaryMessenger, VideoCaptureHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.VideoCaptureHostApi.create", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  Number recorderIdentifierArg = (Number) args.get(1);
+                  if (recorderIdentifierArg == null) {
+                    throw new NullPointerException("recorderIdentifierArg unexpectedly null.");
+                  }
+                  api.create(
+                      (identifierArg == null) ? null : identifierArg.longValue(),
+                      (recorderIdentifierArg == null) ? null : recorderIdentifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
+  private static class RecordingHostApiCodec extends StandardMessageCodec {
+    public static final RecordingHostApiCodec INSTANCE = new RecordingHostApiCodec();
+
+    private RecordingHostApiCodec() {}
+  }
+
+  /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
+  public interface RecordingHostApi {
+    void pause(@NonNull Long identifier);
+
+    void resume(@NonNull Long identifier);
+
+    void stop(@NonNull Long identifier);
+
+    /** The codec used by RecordingHostApi. */
+    static MessageCodec<Object> getCodec() {
+      return RecordingHostApiCodec.INSTANCE;
+    }
+
+    /**
+     * Sets up an instance of `RecordingHostApi` to handle messages through the `binaryMessenger`.
+     */
+    static void setup(BinaryMessenger binaryMessenger, RecordingHostApi api) {
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.RecordingHostApi.pause", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  api.pause((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.RecordingHostApi.resume", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  api.resume((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.RecordingHostApi.stop", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                Map<String, Object> wrapped = new HashMap<>();
+                try {
+                  ArrayList<Object> args = (ArrayList<Object>) message;
+                  Number identifierArg = (Number) args.get(0);
+                  if (identifierArg == null) {
+                    throw new NullPointerException("identifierArg unexpectedly null.");
+                  }
+                  api.stop((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.put("result", null);
+                } catch (Error | RuntimeException exception) {
+                  wrapped.put("error", wrapError(exception));
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+    }
+  }
+
+  private static class RecordingFlutterApiCodec extends StandardMessageCodec {
+    public static final RecordingFlutterApiCodec INSTANCE = new RecordingFlutterApiCodec();
+
+    private RecordingFlutterApiCodec() {}
+  }
+
+  /** Generated class from Pigeon that represents Flutter messages that can be called from Java. */
+  public static class RecordingFlutterApi {
+    private final BinaryMessenger binaryMessenger;
+
+    public RecordingFlutterApi(BinaryMessenger argBinaryMessenger) {
+      this.binaryMessenger = argBinaryMessenger;
+    }
+
+    public interface Reply<T> {
+      void reply(T reply);
+    }
+
+    static MessageCodec<Object> getCodec() {
+      return RecordingFlutterApiCodec.INSTANCE;
+    }
+
+    public void create(@NonNull Long identifierArg, Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.RecordingFlutterApi.create", getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(identifierArg)),
+          channelReply -> {
+            callback.reply(null);
+          });
+    }
+
+    public void onFinalized(
+        @NonNull Long identifierArg,
+        @NonNull Long errorArg,
+        @Nullable String errorMessageArg,
+        Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.RecordingFlutterApi.onFinalized", getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(identifierArg, errorArg, errorMessageArg)),
+          channelReply -> {
+            callback.reply(null);
+          });
+    }
+  }
+
   private static Map<String, Object> wrapError(Throwable exception) {
     Map<String, Object> errorMap = new HashMap<>();
     errorMap.put("message", exception.toString());
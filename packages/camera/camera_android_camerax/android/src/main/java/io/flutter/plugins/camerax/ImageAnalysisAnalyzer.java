@@ -0,0 +1,141 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageProxyData;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Sends the images of an {@code ImageAnalysis} use case to Dart.
+ *
+ * <p>The planes of each image are copied back to back into a single buffer taken from a pool, and
+ * the image is closed right away so that CameraX can reuse it. A buffer returns to the pool once
+ * Dart has processed its image, so at most {@link #MAX_IMAGES_IN_FLIGHT} images are pending in Dart
+ * and the buffers are reused from one image to the next.
+ *
+ * <p>When every buffer is pending, the image is dropped with {@link
+ * ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST}. With {@link ImageAnalysis#STRATEGY_BLOCK_PRODUCER} the
+ * analyzer waits for a buffer instead, which blocks the camera once the image queue of the use case
+ * is full.
+ */
+public class ImageAnalysisAnalyzer implements ImageAnalysis.Analyzer {
+  @VisibleForTesting static final int MAX_IMAGES_IN_FLIGHT = 2;
+
+  private final long identifier;
+  private final boolean blockProducer;
+  private final ImageAnalysisFlutterApiImpl flutterApi;
+  private final Handler mainHandler;
+  private final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(MAX_IMAGES_IN_FLIGHT);
+
+  /**
+   * Creates an analyzer for the {@code ImageAnalysis} use case with the supplied identifier.
+   *
+   * @param identifier the identifier of the use case in the {@link InstanceManager}.
+   * @param blockProducer whether the use case blocks the camera rather than dropping images.
+   * @param flutterApi the API the images are sent with.
+   * @param mainHandler the handler of the platform thread, the images are sent on.
+   */
+  public ImageAnalysisAnalyzer(
+      long identifier,
+      boolean blockProducer,
+      @NonNull ImageAnalysisFlutterApiImpl flutterApi,
+      @NonNull Handler mainHandler) {
+    this.identifier = identifier;
+    this.blockProducer = blockProducer;
+    this.flutterApi = flutterApi;
+    this.mainHandler = mainHandler;
+    for (int i = 0; i < MAX_IMAGES_IN_FLIGHT; i++) {
+      buffers.add(new byte[0]);
+    }
+  }
+
+  @Override
+  public void analyze(@NonNull ImageProxy image) {
+    final byte[] buffer = takeBuffer();
+    if (buffer == null) {
+      image.close();
+      return;
+    }
+
+    final ImageProxyData imageData;
+    try {
+      imageData = copyImage(image, buffer);
+    } catch (RuntimeException e) {
+      buffers.offer(buffer);
+      throw e;
+    } finally {
+      image.close();
+    }
+
+    final byte[] bytes = imageData.getBytes();
+    mainHandler.post(
+        () -> flutterApi.onImageAnalyzed(identifier, imageData, reply -> buffers.offer(bytes)));
+  }
+
+  @Nullable
+  private byte[] takeBuffer() {
+    if (!blockProducer) {
+      return buffers.poll();
+    }
+    try {
+      return buffers.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  /**
+   * Copies the planes of the image into the supplied buffer, or into a new one when the buffer does
+   * not have the size of the image.
+   */
+  @VisibleForTesting
+  static ImageProxyData copyImage(@NonNull ImageProxy image, @NonNull byte[] buffer) {
+    final ImageProxy.PlaneProxy[] planes = image.getPlanes();
+    final ByteBuffer[] planeBuffers = new ByteBuffer[planes.length];
+    int size = 0;
+    for (int i = 0; i < planes.length; i++) {
+      planeBuffers[i] = planes[i].getBuffer();
+      planeBuffers[i].rewind();
+      size += planeBuffers[i].remaining();
+    }
+
+    final byte[] bytes = buffer.length == size ? buffer : new byte[size];
+    final List<Long> planeLengths = new ArrayList<>(planes.length);
+    final List<Long> planeRowStrides = new ArrayList<>(planes.length);
+    final List<Long> planePixelStrides = new ArrayList<>(planes.length);
+    int offset = 0;
+    for (int i = 0; i < planes.length; i++) {
+      final int length = planeBuffers[i].remaining();
+      planeBuffers[i].get(bytes, offset, length);
+      offset += length;
+      planeLengths.add((long) length);
+      planeRowStrides.add((long) planes[i].getRowStride());
+      planePixelStrides.add((long) planes[i].getPixelStride());
+    }
+
+    return new ImageProxyData.Builder()
+        .setWidth((long) image.getWidth())
+        .setHeight((long) image.getHeight())
+        .setFormat((long) image.getFormat())
+        .setRotationDegrees((long) image.getImageInfo().getRotationDegrees())
+        .setTimestamp(image.getImageInfo().getTimestamp())
+        .setBytes(bytes)
+        .setPlaneLengths(planeLengths)
+        .setPlaneRowStrides(planeRowStrides)
+        .setPlanePixelStrides(planePixelStrides)
+        .build();
+  }
+}
@@ -0,0 +1,19 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisFlutterApi;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageProxyData;
+
+public class ImageAnalysisFlutterApiImpl extends ImageAnalysisFlutterApi {
+  public ImageAnalysisFlutterApiImpl(BinaryMessenger binaryMessenger) {
+    super(binaryMessenger);
+  }
+
+  public void onImageAnalyzed(Long identifier, ImageProxyData image, Reply<Void> reply) {
+    super.onImageAnalyzed(identifier, image, reply);
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Size;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisHostApi;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
+  private final BinaryMessenger binaryMessenger;
+  private final InstanceManager instanceManager;
+
+  // Analyzers run on a thread of their own, so that copying the planes of an image neither blocks
+  // the platform thread nor the CameraX threads.
+  @Nullable private ExecutorService analyzerExecutor;
+  @Nullable private Handler mainHandler;
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  public ImageAnalysisHostApiImpl(
+      BinaryMessenger binaryMessenger, InstanceManager instanceManager) {
+    this.binaryMessenger = binaryMessenger;
+    this.instanceManager = instanceManager;
+  }
+
+  /** Creates an {@code ImageAnalysis} use case with the configuration provided if specified. */
+  @Override
+  public void create(
+      @NonNull Long identifier,
+      @Nullable ResolutionInfo targetResolution,
+      @Nullable Long backpressureStrategy,
+      @Nullable Long imageQueueDepth,
+      @Nullable Long outputImageFormat) {
+    ImageAnalysis.Builder imageAnalysisBuilder = cameraXProxy.createImageAnalysisBuilder();
+
+    if (targetResolution != null) {
+      imageAnalysisBuilder.setTargetResolution(
+          new Size(
+              Math.toIntExact(targetResolution.getWidth()),
+              Math.toIntExact(targetResolution.getHeight())));
+    }
+    if (backpressureStrategy != null) {
+      imageAnalysisBuilder.setBackpressureStrategy(Math.toIntExact(backpressureStrategy));
+    }
+    if (imageQueueDepth != null) {
+      imageAnalysisBuilder.setImageQueueDepth(Math.toIntExact(imageQueueDepth));
+    }
+    if (outputImageFormat != null) {
+      imageAnalysisBuilder.setOutputImageFormat(Math.toIntExact(outputImageFormat));
+    }
+
+    instanceManager.addDartCreatedInstance(imageAnalysisBuilder.build(), identifier);
+  }
+
+  /**
+   * Sets an analyzer that sends the images of the {@code ImageAnalysis} use case to Dart, applying
+   * the backpressure strategy of the use case to the images Dart has not processed yet.
+   */
+  @Override
+  public void setAnalyzer(@NonNull Long identifier) {
+    ImageAnalysis imageAnalysis =
+        (ImageAnalysis) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    boolean blockProducer =
+        imageAnalysis.getBackpressureStrategy() == ImageAnalysis.STRATEGY_BLOCK_PRODUCER;
+
+    if (analyzerExecutor == null) {
+      analyzerExecutor = cameraXProxy.createAnalyzerExecutor();
+    }
+    if (mainHandler == null) {
+      mainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    imageAnalysis.setAnalyzer(
+        analyzerExecutor,
+        cameraXProxy.createImageAnalysisAnalyzer(
+            identifier,
+            blockProducer,
+            new ImageAnalysisFlutterApiImpl(binaryMessenger),
+            mainHandler));
+  }
+
+  /** Removes the analyzer of the {@code ImageAnalysis} use case. */
+  @Override
+  public void clearAnalyzer(@NonNull Long identifier) {
+    ImageAnalysis imageAnalysis =
+        (ImageAnalysis) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    imageAnalysis.clearAnalyzer();
+  }
+
+  /**
+   * Stops the thread the analyzers run on. Analyzers that are waiting for Dart to process an image
+   * are interrupted.
+   */
+  public void shutdown() {
+    if (analyzerExecutor != null) {
+      analyzerExecutor.shutdownNow();
+      analyzerExecutor = null;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Size;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageCapture;
+import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageCaptureHostApi;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageProxyData;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
+  private final BinaryMessenger binaryMessenger;
+  private final InstanceManager instanceManager;
+
+  // Pictures are saved and copied on a thread of their own, so that writing or copying a picture
+  // neither blocks the platform thread nor the CameraX threads. Results are sent from the platform
+  // thread.
+  @Nullable private ExecutorService captureExecutor;
+  @Nullable private Handler mainHandler;
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  public ImageCaptureHostApiImpl(BinaryMessenger binaryMessenger, InstanceManager instanceManager) {
+    this.binaryMessenger = binaryMessenger;
+    this.instanceManager = instanceManager;
+  }
+
+  /** Creates an {@code ImageCapture} use case with the configuration provided if specified. */
+  @Override
+  public void create(
+      @NonNull Long identifier,
+      @Nullable Long flashMode,
+      @Nullable Long captureMode,
+      @Nullable ResolutionInfo targetResolution) {
+    ImageCapture.Builder imageCaptureBuilder = cameraXProxy.createImageCaptureBuilder();
+
+    if (flashMode != null) {
+      imageCaptureBuilder.setFlashMode(Math.toIntExact(flashMode));
+    }
+    if (captureMode != null) {
+      imageCaptureBuilder.setCaptureMode(Math.toIntExact(captureMode));
+    }
+    if (targetResolution != null) {
+      imageCaptureBuilder.setTargetResolution(
+          new Size(
+              Math.toIntExact(targetResolution.getWidth()),
+              Math.toIntExact(targetResolution.getHeight())));
+    }
+
+    instanceManager.addDartCreatedInstance(imageCaptureBuilder.build(), identifier);
+  }
+
+  /** Sets the flash mode of the {@code ImageCapture} use case. */
+  @Override
+  public void setFlashMode(@NonNull Long identifier, @NonNull Long flashMode) {
+    ImageCapture imageCapture =
+        (ImageCapture) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    imageCapture.setFlashMode(Math.toIntExact(flashMode));
+  }
+
+  /** Takes a picture with the {@code ImageCapture} use case and saves it to the file provided. */
+  @Override
+  public void takePicture(
+      @NonNull Long identifier,
+      @NonNull String filePath,
+      GeneratedCameraXLibrary.Result<String> result) {
+    ImageCapture imageCapture =
+        (ImageCapture) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    ImageCapture.OutputFileOptions outputFileOptions =
+        cameraXProxy.createImageCaptureOutputFileOptions(new File(filePath));
+
+    imageCapture.takePicture(
+        outputFileOptions,
+        getCaptureExecutor(),
+        new ImageCapture.OnImageSavedCallback() {
+          @Override
+          public void onImageSaved(@NonNull ImageCapture.OutputFileResults outputFileResults) {
+            getMainHandler().post(() -> result.success(filePath));
+          }
+
+          @Override
+          public void onError(@NonNull ImageCaptureException exception) {
+            getMainHandler().post(() -> result.error(exception));
+          }
+        });
+  }
+
+  /**
+   * Takes a picture with the {@code ImageCapture} use case and returns its bytes, without writing
+   * it to storage.
+   */
+  @Override
+  public void takePictureToMemory(
+      @NonNull Long identifier, GeneratedCameraXLibrary.Result<ImageProxyData> result) {
+    ImageCapture imageCapture =
+        (ImageCapture) Objects.requireNonNull(instanceManager.getInstance(identifier));
+
+    imageCapture.takePicture(
+        getCaptureExecutor(),
+        new ImageCapture.OnImageCapturedCallback() {
+          @Override
+          public void onCaptureSuccess(@NonNull ImageProxy image) {
+            final ImageProxyData imageData;
+            try {
+              // An empty buffer makes the copy allocate one of the size of the picture.
+              imageData = ImageAnalysisAnalyzer.copyImage(image, new byte[0]);
+            } catch (RuntimeException e) {
+              getMainHandler().post(() -> result.error(e));
+              return;
+            } finally {
+              image.close();
+            }
+            getMainHandler().post(() -> result.success(imageData));
+          }
+
+          @Override
+          public void onError(@NonNull ImageCaptureException exception) {
+            getMainHandler().post(() -> result.error(exception));
+          }
+        });
+  }
+
+  /** Stops the thread pictures are saved and copied on. Pending captures are interrupted. */
+  public void shutdown() {
+    if (captureExecutor != null) {
+      captureExecutor.shutdownNow();
+      captureExecutor = null;
+    }
+  }
+
+  private ExecutorService getCaptureExecutor() {
+    if (captureExecutor == null) {
+      captureExecutor = cameraXProxy.createCaptureExecutor();
+    }
+    return captureExecutor;
+  }
+
+  private Handler getMainHandler() {
+    if (mainHandler == null) {
+      mainHandler = new Handler(Looper.getMainLooper());
+    }
+    return mainHandler;
+  }
+}
@@ -4,13 +4,14 @@
 
 package io.flutter.plugins.camerax;
 
-import android.os.Handler;
-import android.os.Looper;
 import androidx.annotation.Nullable;
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
+import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Maintains instances used to communicate with the corresponding objects in Dart.
@@ -23,6 +24,10 @@ import java.util.WeakHashMap;
  * is removed and then the identifier is retrieved with the intention to pass the identifier to Dart
  * (e.g. calling {@link #getIdentifierForStrongReference(Object)}), the strong reference to the
  * instance is recreated. The strong reference will then need to be removed manually again.
+ *
+ * <p>The manager can be used from any thread. Deallocated weak references are released by a
+ * dedicated thread as soon as the garbage collector enqueues them, and the `finalizationListener`
+ * is called on that thread.
  */
 @SuppressWarnings("unchecked")
 public class InstanceManager {
@@ -31,26 +36,28 @@ public class InstanceManager {
   // Host uses identifiers >= 2^16 and Dart is expected to use values n where,
   // 0 <= n < 2^16.
   private static final long MIN_HOST_CREATED_IDENTIFIER = 65536;
-  private static final long CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL = 30000;
 
   /** Interface for listening when a weak reference of an instance is removed from the manager. */
   public interface FinalizationListener {
     void onFinalize(long identifier);
   }
 
+  // Guarded by this, as there is no concurrent weak map. The other maps can be read without
+  // holding the lock, but are only modified while holding it so that the maps stay consistent.
   private final WeakHashMap<Object, Long> identifiers = new WeakHashMap<>();
-  private final HashMap<Long, WeakReference<Object>> weakInstances = new HashMap<>();
-  private final HashMap<Long, Object> strongInstances = new HashMap<>();
+  private final Map<Long, WeakReference<Object>> weakInstances = new ConcurrentHashMap<>();
+  private final Map<Long, Object> strongInstances = new ConcurrentHashMap<>();
 
   private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-  private final HashMap<WeakReference<Object>, Long> weakReferencesToIdentifiers = new HashMap<>();
+  private final Map<WeakReference<Object>, Long> weakReferencesToIdentifiers =
+      new ConcurrentHashMap<>();
 
-  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Thread reaperThread = new Thread(this::reapFinalizedInstances, "InstanceReaper");
 
   private final FinalizationListener finalizationListener;
 
-  private long nextIdentifier = MIN_HOST_CREATED_IDENTIFIER;
-  private boolean isClosed = false;
+  private final AtomicLong nextIdentifier = new AtomicLong(MIN_HOST_CREATED_IDENTIFIER);
+  private volatile boolean isClosed = false;
 
   /**
    * Instantiate a new manager.
@@ -66,8 +73,8 @@ public class InstanceManager {
 
   private InstanceManager(FinalizationListener finalizationListener) {
     this.finalizationListener = finalizationListener;
-    handler.postDelayed(
-        this::releaseAllFinalizedInstances, CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
+    reaperThread.setDaemon(true);
+    reaperThread.start();
   }
 
   /**
@@ -81,7 +88,9 @@ public class InstanceManager {
   @Nullable
   public <T> T remove(long identifier) {
     assertManagerIsNotClosed();
-    return (T) strongInstances.remove(identifier);
+    synchronized (this) {
+      return (T) strongInstances.remove(identifier);
+    }
   }
 
   /**
@@ -97,11 +106,13 @@ public class InstanceManager {
   @Nullable
   public Long getIdentifierForStrongReference(Object instance) {
     assertManagerIsNotClosed();
-    final Long identifier = identifiers.get(instance);
-    if (identifier != null) {
-      strongInstances.put(identifier, instance);
+    synchronized (this) {
+      final Long identifier = identifiers.get(instance);
+      if (identifier != null) {
+        strongInstances.put(identifier, instance);
+      }
+      return identifier;
     }
-    return identifier;
   }
 
   /**
@@ -131,7 +142,7 @@ public class InstanceManager {
   public long addHostCreatedInstance(Object instance) {
     assertManagerIsNotClosed();
 
-    final long identifier = nextIdentifier++;
+    final long identifier = nextIdentifier.getAndIncrement();
     addInstance(instance, identifier);
     return identifier;
   }
@@ -162,7 +173,9 @@ public class InstanceManager {
    */
   public boolean containsInstance(Object instance) {
     assertManagerIsNotClosed();
-    return identifiers.containsKey(instance);
+    synchronized (this) {
+      return identifiers.containsKey(instance);
+    }
   }
 
   /**
@@ -172,22 +185,30 @@ public class InstanceManager {
    * excluded.
    */
   public void close() {
-    handler.removeCallbacks(this::releaseAllFinalizedInstances);
     isClosed = true;
+    reaperThread.interrupt();
   }
 
-  private void releaseAllFinalizedInstances() {
-    WeakReference<Object> reference;
-    while ((reference = (WeakReference<Object>) referenceQueue.poll()) != null) {
-      final Long identifier = weakReferencesToIdentifiers.remove(reference);
-      if (identifier != null) {
-        weakInstances.remove(identifier);
+  private void reapFinalizedInstances() {
+    while (!isClosed) {
+      final Reference<?> reference;
+      try {
+        reference = referenceQueue.remove();
+      } catch (InterruptedException e) {
+        return;
+      }
+
+      final Long identifier;
+      synchronized (this) {
+        identifier = weakReferencesToIdentifiers.remove(reference);
+        // Skip identifiers that have been paired with a new instance in the meantime.
+        if (identifier == null || !weakInstances.remove(identifier, reference)) {
+          continue;
+        }
         strongInstances.remove(identifier);
-        finalizationListener.onFinalize(identifier);
       }
+      finalizationListener.onFinalize(identifier);
     }
-    handler.postDelayed(
-        this::releaseAllFinalizedInstances, CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
   }
 
   private void addInstance(Object instance, long identifier) {
@@ -195,10 +216,12 @@ public class InstanceManager {
       throw new IllegalArgumentException("Identifier must be >= 0.");
     }
     final WeakReference<Object> weakReference = new WeakReference<>(instance, referenceQueue);
-    identifiers.put(instance, identifier);
-    weakInstances.put(identifier, weakReference);
-    weakReferencesToIdentifiers.put(weakReference, identifier);
-    strongInstances.put(identifier, instance);
+    synchronized (this) {
+      identifiers.put(instance, identifier);
+      weakInstances.put(identifier, weakReference);
+      weakReferencesToIdentifiers.put(weakReference, identifier);
+      strongInstances.put(identifier, instance);
+    }
   }
 
   private void assertManagerIsNotClosed() {
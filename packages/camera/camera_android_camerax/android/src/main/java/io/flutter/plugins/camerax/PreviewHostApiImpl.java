@@ -0,0 +1,175 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.graphics.SurfaceTexture;
+import android.util.Range;
+import android.util.Size;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.Preview;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.FrameRateRange;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.PreviewHostApi;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
+import io.flutter.view.TextureRegistry;
+import java.util.Objects;
+
+public class PreviewHostApiImpl implements PreviewHostApi {
+  private final BinaryMessenger binaryMessenger;
+  private final InstanceManager instanceManager;
+  private final TextureRegistry textureRegistry;
+
+  @Nullable private PreviewTexture flutterSurfaceTexture;
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  public PreviewHostApiImpl(
+      BinaryMessenger binaryMessenger,
+      InstanceManager instanceManager,
+      TextureRegistry textureRegistry) {
+    this.binaryMessenger = binaryMessenger;
+    this.instanceManager = instanceManager;
+    this.textureRegistry = textureRegistry;
+  }
+
+  /** Creates a {@code Preview} use case with the configuration provided if specified. */
+  @Override
+  public void create(
+      @NonNull Long identifier,
+      @Nullable Long targetRotation,
+      @Nullable ResolutionInfo targetResolution,
+      @Nullable FrameRateRange targetFrameRate) {
+    Preview.Builder previewBuilder = cameraXProxy.createPreviewBuilder();
+
+    if (targetRotation != null) {
+      previewBuilder.setTargetRotation(Math.toIntExact(targetRotation));
+    }
+    if (targetResolution != null) {
+      previewBuilder.setTargetResolution(
+          new Size(
+              Math.toIntExact(targetResolution.getWidth()),
+              Math.toIntExact(targetResolution.getHeight())));
+    }
+    if (targetFrameRate != null) {
+      cameraXProxy.setTargetFrameRate(
+          previewBuilder,
+          new Range<>(
+              Math.toIntExact(targetFrameRate.getMin()),
+              Math.toIntExact(targetFrameRate.getMax())));
+    }
+
+    instanceManager.addDartCreatedInstance(previewBuilder.build(), identifier);
+  }
+
+  /**
+   * Sets a surface provider that renders the frames of the {@code Preview} use case to a Flutter
+   * texture, releasing the texture set so far if any, and returns the id of the texture.
+   */
+  @Override
+  public Long setSurfaceProvider(@NonNull Long identifier) {
+    Preview preview = (Preview) Objects.requireNonNull(instanceManager.getInstance(identifier));
+
+    releaseFlutterSurfaceTexture();
+    flutterSurfaceTexture = new PreviewTexture(textureRegistry.createSurfaceTexture());
+    preview.setSurfaceProvider(createSurfaceProvider(flutterSurfaceTexture));
+
+    return flutterSurfaceTexture.entry.id();
+  }
+
+  @VisibleForTesting
+  Preview.SurfaceProvider createSurfaceProvider(@NonNull PreviewTexture texture) {
+    return request -> {
+      if (!texture.acquireSurface()) {
+        // The texture was released, a later call to setSurfaceProvider provides a new one.
+        request.willNotProvideSurface();
+        return;
+      }
+      SurfaceTexture surfaceTexture = texture.entry.surfaceTexture();
+      Size resolution = request.getResolution();
+      surfaceTexture.setDefaultBufferSize(resolution.getWidth(), resolution.getHeight());
+      Surface surface = cameraXProxy.createSurface(surfaceTexture);
+      // Releasing the surface is cheap, it can run on the thread CameraX reports the result on.
+      request.provideSurface(
+          surface,
+          Runnable::run,
+          result -> {
+            surface.release();
+            texture.releaseSurface();
+          });
+    };
+  }
+
+  /**
+   * Releases the Flutter texture the frames of the {@code Preview} use case are rendered to, once
+   * CameraX no longer renders to it.
+   */
+  @Override
+  public void releaseFlutterSurfaceTexture() {
+    if (flutterSurfaceTexture != null) {
+      flutterSurfaceTexture.release();
+      flutterSurfaceTexture = null;
+    }
+  }
+
+  /** Returns the resolution of the frames of the {@code Preview} use case once it is bound. */
+  @Override
+  public ResolutionInfo getResolutionInfo(@NonNull Long identifier) {
+    Preview preview = (Preview) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    Size resolution = Objects.requireNonNull(preview.getResolutionInfo()).getResolution();
+
+    return new ResolutionInfo.Builder()
+        .setWidth((long) resolution.getWidth())
+        .setHeight((long) resolution.getHeight())
+        .build();
+  }
+
+  /**
+   * A Flutter texture the frames of a {@code Preview} use case are rendered to.
+   *
+   * <p>CameraX may keep rendering to the surface of a texture after the texture is replaced, until
+   * it reports the result of the surface request, so the texture is only released once none of its
+   * surfaces are in use anymore.
+   */
+  @VisibleForTesting
+  static final class PreviewTexture {
+    @NonNull final TextureRegistry.SurfaceTextureEntry entry;
+    private int surfacesInUse;
+    private boolean releaseRequested;
+
+    PreviewTexture(@NonNull TextureRegistry.SurfaceTextureEntry entry) {
+      this.entry = entry;
+    }
+
+    /** Returns whether a surface may render to the texture, that is, it is not released yet. */
+    synchronized boolean acquireSurface() {
+      if (releaseRequested) {
+        return false;
+      }
+      surfacesInUse++;
+      return true;
+    }
+
+    /** Marks a surface acquired with {@link #acquireSurface()} as no longer in use. */
+    synchronized void releaseSurface() {
+      surfacesInUse--;
+      releaseIfUnused();
+    }
+
+    /** Releases the texture now, or once the surfaces in use are released. */
+    synchronized void release() {
+      releaseRequested = true;
+      releaseIfUnused();
+    }
+
+    private void releaseIfUnused() {
+      if (releaseRequested && surfacesInUse == 0) {
+        entry.release();
+      }
+    }
+  }
+}
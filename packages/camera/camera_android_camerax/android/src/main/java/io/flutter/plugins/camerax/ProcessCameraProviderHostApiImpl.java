@@ -5,10 +5,15 @@
 package io.flutter.plugins.camerax;
 
 import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.Camera;
 import androidx.camera.core.CameraInfo;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.Preview;
 import androidx.camera.core.UseCase;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.core.content.ContextCompat;
@@ -21,17 +26,32 @@ import java.util.List;
 import java.util.Objects;
 
 public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHostApi {
+  private static final String TAG = "ProcessCameraProvider";
+
   private final BinaryMessenger binaryMessenger;
   private final InstanceManager instanceManager;
+  private final ProcessCameraProviderFlutterApiImpl flutterApi;
 
   private Context context;
   private LifecycleOwner lifecycleOwner;
 
+  @Nullable private ListenableFuture<ProcessCameraProvider> processCameraProviderFuture;
+  @Nullable private Preview prebindPreview;
+
+  /**
+   * Time taken by the {@code ProcessCameraProvider} to initialize, in milliseconds, or -1 if it has
+   * not been initialized yet.
+   */
+  @VisibleForTesting public long initializationTimeMillis = -1;
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
   public ProcessCameraProviderHostApiImpl(
       BinaryMessenger binaryMessenger, InstanceManager instanceManager, Context context) {
     this.binaryMessenger = binaryMessenger;
     this.instanceManager = instanceManager;
     this.context = context;
+    this.flutterApi = new ProcessCameraProviderFlutterApiImpl(binaryMessenger, instanceManager);
   }
 
   public void setLifecycleOwner(LifecycleOwner lifecycleOwner) {
@@ -46,17 +66,57 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
    * {@code ProcessCameraProvider} is fetched via {@code #getInstance} anytime the context changes.
    */
   public void setContext(Context context) {
+    if (this.context != context) {
+      processCameraProviderFuture = null;
+    }
     this.context = context;
   }
 
+  /**
+   * Starts the initialization of the {@code ProcessCameraProvider} for the current {@code Context},
+   * if it has not been started yet, so that it is ready by the time Dart requests it.
+   *
+   * <p>The time taken by the initialization is logged once it completes.
+   */
+  public void initialize() {
+    getProcessCameraProviderFuture();
+  }
+
+  /**
+   * Binds a {@code Preview} of the default back camera to the lifecycle of the {@code
+   * LifecycleOwner} once the {@code ProcessCameraProvider} is initialized, so that the camera is
+   * already opened when Dart binds its use cases.
+   *
+   * <p>The {@code Preview} is unbound the first time Dart binds or unbinds use cases.
+   */
+  public void prebindDefaultCamera() {
+    final ListenableFuture<ProcessCameraProvider> future = getProcessCameraProviderFuture();
+    future.addListener(
+        () -> {
+          if (prebindPreview != null || lifecycleOwner == null) {
+            return;
+          }
+          try {
+            final Preview preview = cameraXProxy.createPreviewBuilder().build();
+            future
+                .get()
+                .bindToLifecycle(lifecycleOwner, CameraSelector.DEFAULT_BACK_CAMERA, preview);
+            prebindPreview = preview;
+          } catch (Exception e) {
+            Log.w(TAG, "Could not prebind the default camera: " + e.getMessage());
+          }
+        },
+        ContextCompat.getMainExecutor(context));
+  }
+
   /**
    * Returns the instance of the {@code ProcessCameraProvider} to manage the lifecycle of the camera
    * for the current {@code Context}.
    */
   @Override
   public void getInstance(GeneratedCameraXLibrary.Result<Long> result) {
-    ListenableFuture<ProcessCameraProvider> processCameraProviderFuture =
-        ProcessCameraProvider.getInstance(context);
+    final ListenableFuture<ProcessCameraProvider> processCameraProviderFuture =
+        getProcessCameraProviderFuture();
 
     processCameraProviderFuture.addListener(
         () -> {
@@ -64,8 +124,6 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
             // Camera provider is now guaranteed to be available.
             ProcessCameraProvider processCameraProvider = processCameraProviderFuture.get();
 
-            final ProcessCameraProviderFlutterApiImpl flutterApi =
-                new ProcessCameraProviderFlutterApiImpl(binaryMessenger, instanceManager);
             if (!instanceManager.containsInstance(processCameraProvider)) {
               flutterApi.create(processCameraProvider, reply -> {});
             }
@@ -77,6 +135,22 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
         ContextCompat.getMainExecutor(context));
   }
 
+  private ListenableFuture<ProcessCameraProvider> getProcessCameraProviderFuture() {
+    if (processCameraProviderFuture == null) {
+      final long startTime = SystemClock.elapsedRealtime();
+      final ListenableFuture<ProcessCameraProvider> future =
+          ProcessCameraProvider.getInstance(context);
+      future.addListener(
+          () -> {
+            initializationTimeMillis = SystemClock.elapsedRealtime() - startTime;
+            Log.d(TAG, "Initialized in " + initializationTimeMillis + " ms.");
+          },
+          ContextCompat.getMainExecutor(context));
+      processCameraProviderFuture = future;
+    }
+    return processCameraProviderFuture;
+  }
+
   /** Returns cameras available to the {@code ProcessCameraProvider}. */
   @Override
   public List<Long> getAvailableCameraInfos(@NonNull Long identifier) {
@@ -84,14 +158,20 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
         (ProcessCameraProvider) Objects.requireNonNull(instanceManager.getInstance(identifier));
 
     List<CameraInfo> availableCameras = processCameraProvider.getAvailableCameraInfos();
-    List<Long> availableCamerasIds = new ArrayList<Long>();
-    final CameraInfoFlutterApiImpl cameraInfoFlutterApi =
-        new CameraInfoFlutterApiImpl(binaryMessenger, instanceManager);
-
+    List<CameraInfo> newCameras = new ArrayList<CameraInfo>();
     for (CameraInfo cameraInfo : availableCameras) {
       if (!instanceManager.containsInstance(cameraInfo)) {
-        cameraInfoFlutterApi.create(cameraInfo, result -> {});
+        newCameras.add(cameraInfo);
       }
+    }
+    // Creates the Dart instances of all new cameras with one message rather than one per camera.
+    if (!newCameras.isEmpty()) {
+      new CameraInfoFlutterApiImpl(binaryMessenger, instanceManager)
+          .createAllFromInstances(newCameras, result -> {});
+    }
+
+    List<Long> availableCamerasIds = new ArrayList<Long>();
+    for (CameraInfo cameraInfo : availableCameras) {
       availableCamerasIds.add(instanceManager.getIdentifierForStrongReference(cameraInfo));
     }
     return availableCamerasIds;
@@ -120,6 +200,7 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
                   instanceManager.getInstance(((Number) useCaseIds.get(i)).longValue()));
     }
 
+    releasePrebindPreview(processCameraProvider);
     Camera camera =
         processCameraProvider.bindToLifecycle(
             (LifecycleOwner) lifecycleOwner, cameraSelector, useCases);
@@ -144,6 +225,7 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
               Objects.requireNonNull(
                   instanceManager.getInstance(((Number) useCaseIds.get(i)).longValue()));
     }
+    releasePrebindPreview(processCameraProvider);
     processCameraProvider.unbind(useCases);
   }
 
@@ -151,6 +233,14 @@ public class ProcessCameraProviderHostApiImpl implements ProcessCameraProviderHo
   public void unbindAll(@NonNull Long identifier) {
     ProcessCameraProvider processCameraProvider =
         (ProcessCameraProvider) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    prebindPreview = null;
     processCameraProvider.unbindAll();
   }
+
+  private void releasePrebindPreview(ProcessCameraProvider processCameraProvider) {
+    if (prebindPreview != null) {
+      processCameraProvider.unbind(prebindPreview);
+      prebindPreview = null;
+    }
+  }
 }
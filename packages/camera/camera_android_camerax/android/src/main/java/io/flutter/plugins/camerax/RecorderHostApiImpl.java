@@ -0,0 +1,177 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.video.FallbackStrategy;
+import androidx.camera.video.PendingRecording;
+import androidx.camera.video.Quality;
+import androidx.camera.video.QualitySelector;
+import androidx.camera.video.Recorder;
+import androidx.camera.video.Recording;
+import androidx.camera.video.VideoRecordEvent;
+import androidx.core.content.ContextCompat;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.QualitySelectorData;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.RecorderHostApi;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RecorderHostApiImpl implements RecorderHostApi {
+  private final BinaryMessenger binaryMessenger;
+  private final InstanceManager instanceManager;
+  private final Context context;
+
+  // Recorders write their files on a thread of their own, so that writing a video neither blocks
+  // the platform thread nor the CameraX threads.
+  @Nullable private ExecutorService recorderExecutor;
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  public RecorderHostApiImpl(
+      BinaryMessenger binaryMessenger, InstanceManager instanceManager, Context context) {
+    this.binaryMessenger = binaryMessenger;
+    this.instanceManager = instanceManager;
+    this.context = context;
+  }
+
+  /** Creates a {@code Recorder} with the configuration provided if specified. */
+  @Override
+  public void create(
+      @NonNull Long identifier,
+      @Nullable Long aspectRatio,
+      @Nullable QualitySelectorData qualitySelector) {
+    Recorder.Builder recorderBuilder = cameraXProxy.createRecorderBuilder();
+
+    if (aspectRatio != null) {
+      recorderBuilder.setAspectRatio(Math.toIntExact(aspectRatio));
+    }
+    if (qualitySelector != null) {
+      recorderBuilder.setQualitySelector(createQualitySelector(qualitySelector));
+    }
+    if (recorderExecutor == null) {
+      recorderExecutor = cameraXProxy.createRecorderExecutor();
+    }
+    recorderBuilder.setExecutor(recorderExecutor);
+
+    instanceManager.addDartCreatedInstance(recorderBuilder.build(), identifier);
+  }
+
+  /**
+   * Starts recording a video to the file provided with the {@code Recorder} and returns the
+   * identifier of the resulting {@code Recording}.
+   *
+   * <p>Dart is notified once the recording is finalized.
+   */
+  @Override
+  public Long start(
+      @NonNull Long identifier, @NonNull String filePath, @NonNull Boolean enableAudio) {
+    Recorder recorder = (Recorder) Objects.requireNonNull(instanceManager.getInstance(identifier));
+    PendingRecording pendingRecording =
+        recorder.prepareRecording(
+            context, cameraXProxy.createFileOutputOptions(new File(filePath)));
+
+    if (enableAudio) {
+      if (ContextCompat.checkSelfPermission(context, Manifest.permission.RECORD_AUDIO)
+          != PackageManager.PERMISSION_GRANTED) {
+        throw new SecurityException("Recording audio requires the RECORD_AUDIO permission.");
+      }
+      pendingRecording.withAudioEnabled();
+    }
+
+    final RecordingFlutterApiImpl recordingFlutterApi =
+        new RecordingFlutterApiImpl(binaryMessenger, instanceManager);
+    // Events are delivered on the platform thread, after the recording is known.
+    final AtomicReference<Recording> recordingReference = new AtomicReference<>();
+    Recording recording =
+        pendingRecording.start(
+            ContextCompat.getMainExecutor(context),
+            event -> {
+              if (event instanceof VideoRecordEvent.Finalize) {
+                recordingFlutterApi.onFinalized(
+                    recordingReference.get(), (VideoRecordEvent.Finalize) event, reply -> {});
+              }
+            });
+    recordingReference.set(recording);
+
+    recordingFlutterApi.create(recording, reply -> {});
+    return instanceManager.getIdentifierForStrongReference(recording);
+  }
+
+  /** Stops the thread the recorders write their files on. */
+  public void shutdown() {
+    if (recorderExecutor != null) {
+      recorderExecutor.shutdownNow();
+      recorderExecutor = null;
+    }
+  }
+
+  /**
+   * Creates the {@code QualitySelector} described by {@code qualitySelector}.
+   *
+   * <p>Qualities and fallback rules are sent from Dart as the indexes of their constants in the
+   * Dart {@code Recorder} class.
+   */
+  @VisibleForTesting
+  static QualitySelector createQualitySelector(@NonNull QualitySelectorData qualitySelector) {
+    final List<Quality> qualities = new ArrayList<>();
+    for (int i = 0; i < qualitySelector.getQualities().size(); i++) {
+      qualities.add(
+          toQuality(((Number) (Object) qualitySelector.getQualities().get(i)).longValue()));
+    }
+
+    final Long fallbackRule = qualitySelector.getFallbackRule();
+    if (fallbackRule == null) {
+      return QualitySelector.fromOrderedList(qualities);
+    }
+    final Quality fallbackQuality =
+        toQuality(Objects.requireNonNull(qualitySelector.getFallbackQuality()));
+    return QualitySelector.fromOrderedList(
+        qualities, toFallbackStrategy(fallbackRule, fallbackQuality));
+  }
+
+  private static Quality toQuality(long quality) {
+    switch ((int) quality) {
+      case 0:
+        return Quality.SD;
+      case 1:
+        return Quality.HD;
+      case 2:
+        return Quality.FHD;
+      case 3:
+        return Quality.UHD;
+      case 4:
+        return Quality.LOWEST;
+      case 5:
+        return Quality.HIGHEST;
+      default:
+        throw new IllegalArgumentException("Unknown video quality: " + quality);
+    }
+  }
+
+  private static FallbackStrategy toFallbackStrategy(long fallbackRule, Quality quality) {
+    switch ((int) fallbackRule) {
+      case 0:
+        return FallbackStrategy.higherQualityOrLowerThan(quality);
+      case 1:
+        return FallbackStrategy.higherQualityThan(quality);
+      case 2:
+        return FallbackStrategy.lowerQualityOrHigherThan(quality);
+      case 3:
+        return FallbackStrategy.lowerQualityThan(quality);
+      default:
+        throw new IllegalArgumentException("Unknown fallback rule: " + fallbackRule);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.camera.video.Recording;
+import androidx.camera.video.VideoRecordEvent;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.RecordingFlutterApi;
+import java.util.Objects;
+
+public class RecordingFlutterApiImpl extends RecordingFlutterApi {
+  private final InstanceManager instanceManager;
+
+  public RecordingFlutterApiImpl(BinaryMessenger binaryMessenger, InstanceManager instanceManager) {
+    super(binaryMessenger);
+    this.instanceManager = instanceManager;
+  }
+
+  void create(Recording recording, Reply<Void> reply) {
+    create(instanceManager.addHostCreatedInstance(recording), reply);
+  }
+
+  /** Notifies Dart that {@code recording} was finalized, with the error it ended with if any. */
+  void onFinalized(Recording recording, VideoRecordEvent.Finalize event, Reply<Void> reply) {
+    final Throwable cause = event.getCause();
+    onFinalized(
+        Objects.requireNonNull(instanceManager.getIdentifierForStrongReference(recording)),
+        (long) event.getError(),
+        cause == null ? null : cause.getMessage(),
+        reply);
+  }
+}
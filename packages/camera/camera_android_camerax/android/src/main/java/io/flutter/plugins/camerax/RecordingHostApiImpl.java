@@ -0,0 +1,40 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.camera.video.Recording;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.RecordingHostApi;
+import java.util.Objects;
+
+public class RecordingHostApiImpl implements RecordingHostApi {
+  private final InstanceManager instanceManager;
+
+  public RecordingHostApiImpl(InstanceManager instanceManager) {
+    this.instanceManager = instanceManager;
+  }
+
+  /** Pauses the {@code Recording}. */
+  @Override
+  public void pause(@NonNull Long identifier) {
+    getRecordingInstance(identifier).pause();
+  }
+
+  /** Resumes the {@code Recording} if paused. */
+  @Override
+  public void resume(@NonNull Long identifier) {
+    getRecordingInstance(identifier).resume();
+  }
+
+  /** Stops the {@code Recording}. Dart is notified once the video file is finalized. */
+  @Override
+  public void stop(@NonNull Long identifier) {
+    getRecordingInstance(identifier).stop();
+  }
+
+  private Recording getRecordingInstance(@NonNull Long identifier) {
+    return (Recording) Objects.requireNonNull(instanceManager.getInstance(identifier));
+  }
+}
@@ -0,0 +1,29 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.video.Recorder;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.VideoCaptureHostApi;
+import java.util.Objects;
+
+public class VideoCaptureHostApiImpl implements VideoCaptureHostApi {
+  private final InstanceManager instanceManager;
+
+  @VisibleForTesting public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  public VideoCaptureHostApiImpl(InstanceManager instanceManager) {
+    this.instanceManager = instanceManager;
+  }
+
+  /** Creates a {@code VideoCapture} use case that records videos with the {@code Recorder}. */
+  @Override
+  public void create(@NonNull Long identifier, @NonNull Long recorderIdentifier) {
+    Recorder recorder =
+        (Recorder) Objects.requireNonNull(instanceManager.getInstance(recorderIdentifier));
+    instanceManager.addDartCreatedInstance(cameraXProxy.createVideoCapture(recorder), identifier);
+  }
+}
@@ -6,13 +6,17 @@ package io.flutter.plugins.camerax;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import androidx.camera.core.CameraInfo;
 import io.flutter.plugin.common.BinaryMessenger;
+import java.util.Arrays;
 import java.util.Objects;
 import org.junit.After;
 import org.junit.Before;
@@ -63,4 +67,22 @@ public class CameraInfoTest {
         Objects.requireNonNull(testInstanceManager.getIdentifierForStrongReference(mockCameraInfo));
     verify(spyFlutterApi).create(eq(identifier), any());
   }
+
+  @Test
+  public void flutterApiCreateAllTest() {
+    final CameraInfoFlutterApiImpl spyFlutterApi =
+        spy(new CameraInfoFlutterApiImpl(mockBinaryMessenger, testInstanceManager));
+    final CameraInfo mockFrontCameraInfo = mock(CameraInfo.class);
+
+    spyFlutterApi.createAllFromInstances(
+        Arrays.asList(mockCameraInfo, mockFrontCameraInfo), reply -> {});
+
+    final long identifier =
+        Objects.requireNonNull(testInstanceManager.getIdentifierForStrongReference(mockCameraInfo));
+    final long frontIdentifier =
+        Objects.requireNonNull(
+            testInstanceManager.getIdentifierForStrongReference(mockFrontCameraInfo));
+    verify(spyFlutterApi).createAll(eq(Arrays.asList(identifier, frontIdentifier)), any());
+    verify(spyFlutterApi, never()).create(anyLong(), any());
+  }
 }
@@ -0,0 +1,217 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.os.Handler;
+import android.util.Size;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisFlutterApi.Reply;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageProxyData;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageAnalysisTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock public ImageAnalysis mockImageAnalysis;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public ImageAnalysisFlutterApiImpl mockFlutterApi;
+  @Mock public Handler mockHandler;
+
+  InstanceManager testInstanceManager;
+
+  @Before
+  public void setUp() {
+    testInstanceManager = InstanceManager.open(identifier -> {});
+    when(mockHandler.post(any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return true;
+            });
+  }
+
+  @After
+  public void tearDown() {
+    testInstanceManager.close();
+  }
+
+  @Test
+  public void createTest() {
+    final ImageAnalysisHostApiImpl imageAnalysisHostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+    final ResolutionInfo targetResolution =
+        new ResolutionInfo.Builder().setWidth(640L).setHeight(480L).build();
+
+    imageAnalysisHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+
+    imageAnalysisHostApi.create(
+        0L,
+        targetResolution,
+        (long) ImageAnalysis.STRATEGY_BLOCK_PRODUCER,
+        4L,
+        (long) ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888);
+
+    verify(mockImageAnalysisBuilder).setTargetResolution(new Size(640, 480));
+    verify(mockImageAnalysisBuilder).setBackpressureStrategy(ImageAnalysis.STRATEGY_BLOCK_PRODUCER);
+    verify(mockImageAnalysisBuilder).setImageQueueDepth(4);
+    verify(mockImageAnalysisBuilder)
+        .setOutputImageFormat(ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888);
+    assertEquals(testInstanceManager.getInstance(0L), mockImageAnalysis);
+  }
+
+  @Test
+  public void setAnalyzerTest() {
+    final ImageAnalysisHostApiImpl imageAnalysisHostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ExecutorService mockExecutor = mock(ExecutorService.class);
+    final ImageAnalysisAnalyzer mockAnalyzer = mock(ImageAnalysisAnalyzer.class);
+
+    imageAnalysisHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockImageAnalysis, 0);
+    when(mockImageAnalysis.getBackpressureStrategy())
+        .thenReturn(ImageAnalysis.STRATEGY_BLOCK_PRODUCER);
+    when(mockCameraXProxy.createAnalyzerExecutor()).thenReturn(mockExecutor);
+    when(mockCameraXProxy.createImageAnalysisAnalyzer(eq(0L), eq(true), any(), any()))
+        .thenReturn(mockAnalyzer);
+
+    imageAnalysisHostApi.setAnalyzer(0L);
+    imageAnalysisHostApi.shutdown();
+
+    verify(mockImageAnalysis).setAnalyzer(mockExecutor, mockAnalyzer);
+    verify(mockExecutor).shutdownNow();
+  }
+
+  @Test
+  public void clearAnalyzerTest() {
+    final ImageAnalysisHostApiImpl imageAnalysisHostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, testInstanceManager);
+
+    testInstanceManager.addDartCreatedInstance(mockImageAnalysis, 0);
+
+    imageAnalysisHostApi.clearAnalyzer(0L);
+
+    verify(mockImageAnalysis).clearAnalyzer();
+  }
+
+  @Test
+  public void analyze_sendsPlanesInSingleBufferAndClosesImage() {
+    final ImageAnalysisAnalyzer analyzer =
+        new ImageAnalysisAnalyzer(3L, false, mockFlutterApi, mockHandler);
+    final ImageProxy mockImage = createMockImage();
+
+    analyzer.analyze(mockImage);
+
+    final ArgumentCaptor<ImageProxyData> imageDataCaptor =
+        ArgumentCaptor.forClass(ImageProxyData.class);
+    verify(mockImage).close();
+    verify(mockFlutterApi).onImageAnalyzed(eq(3L), imageDataCaptor.capture(), any());
+    final ImageProxyData imageData = imageDataCaptor.getValue();
+    assertEquals(4L, (long) imageData.getWidth());
+    assertEquals(2L, (long) imageData.getHeight());
+    assertEquals(ImageFormat.YUV_420_888, (long) imageData.getFormat());
+    assertEquals(90L, (long) imageData.getRotationDegrees());
+    assertEquals(1234L, (long) imageData.getTimestamp());
+    assertArrayEquals(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, imageData.getBytes());
+    assertEquals(Arrays.asList(8L, 2L), imageData.getPlaneLengths());
+    assertEquals(Arrays.asList(4L, 2L), imageData.getPlaneRowStrides());
+    assertEquals(Arrays.asList(1L, 2L), imageData.getPlanePixelStrides());
+  }
+
+  @Test
+  public void analyze_dropsImagesWhileEveryBufferIsPending() {
+    final ImageAnalysisAnalyzer analyzer =
+        new ImageAnalysisAnalyzer(3L, false, mockFlutterApi, mockHandler);
+    final ImageProxy mockImage = createMockImage();
+
+    for (int i = 0; i <= ImageAnalysisAnalyzer.MAX_IMAGES_IN_FLIGHT; i++) {
+      analyzer.analyze(mockImage);
+    }
+
+    verify(mockImage, times(ImageAnalysisAnalyzer.MAX_IMAGES_IN_FLIGHT + 1)).close();
+    verify(mockFlutterApi, times(ImageAnalysisAnalyzer.MAX_IMAGES_IN_FLIGHT))
+        .onImageAnalyzed(anyLong(), any(), any());
+  }
+
+  @Test
+  public void analyze_reusesBufferOnceDartReplied() {
+    final ImageAnalysisAnalyzer analyzer =
+        new ImageAnalysisAnalyzer(3L, true, mockFlutterApi, mockHandler);
+    final ArgumentCaptor<ImageProxyData> imageDataCaptor =
+        ArgumentCaptor.forClass(ImageProxyData.class);
+    final ArgumentCaptor<Reply<Void>> replyCaptor = ArgumentCaptor.forClass(Reply.class);
+
+    analyzer.analyze(createMockImage());
+    verify(mockFlutterApi)
+        .onImageAnalyzed(eq(3L), imageDataCaptor.capture(), replyCaptor.capture());
+    final byte[] firstBuffer = imageDataCaptor.getValue().getBytes();
+    replyCaptor.getValue().reply(null);
+
+    analyzer.analyze(createMockImage());
+    analyzer.analyze(createMockImage());
+
+    verify(mockFlutterApi, times(3))
+        .onImageAnalyzed(eq(3L), imageDataCaptor.capture(), replyCaptor.capture());
+    // The buffers are taken in order, so the third image reuses the buffer of the first one.
+    assertSame(firstBuffer, imageDataCaptor.getAllValues().get(3).getBytes());
+  }
+
+  private static ImageProxy createMockImage() {
+    final ImageProxy mockImage = mock(ImageProxy.class);
+    final ImageInfo mockImageInfo = mock(ImageInfo.class);
+    final ImageProxy.PlaneProxy mockLumaPlane = mock(ImageProxy.PlaneProxy.class);
+    final ImageProxy.PlaneProxy mockChromaPlane = mock(ImageProxy.PlaneProxy.class);
+
+    when(mockLumaPlane.getBuffer())
+        .thenReturn(ByteBuffer.wrap(new byte[] {0, 1, 2, 3, 4, 5, 6, 7}));
+    when(mockLumaPlane.getRowStride()).thenReturn(4);
+    when(mockLumaPlane.getPixelStride()).thenReturn(1);
+    when(mockChromaPlane.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {8, 9}));
+    when(mockChromaPlane.getRowStride()).thenReturn(2);
+    when(mockChromaPlane.getPixelStride()).thenReturn(2);
+    when(mockImageInfo.getRotationDegrees()).thenReturn(90);
+    when(mockImageInfo.getTimestamp()).thenReturn(1234L);
+    when(mockImage.getWidth()).thenReturn(4);
+    when(mockImage.getHeight()).thenReturn(2);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    when(mockImage.getImageInfo()).thenReturn(mockImageInfo);
+    when(mockImage.getPlanes())
+        .thenReturn(new ImageProxy.PlaneProxy[] {mockLumaPlane, mockChromaPlane});
+    return mockImage;
+  }
+}
@@ -0,0 +1,196 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.graphics.ImageFormat;
+import android.os.Looper;
+import android.util.Size;
+import androidx.camera.core.ImageCapture;
+import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageProxyData;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageCaptureTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock public ImageCapture mockImageCapture;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public CameraXProxy mockCameraXProxy;
+  @Mock public ExecutorService mockExecutor;
+
+  InstanceManager testInstanceManager;
+
+  @Before
+  public void setUp() {
+    testInstanceManager = InstanceManager.open(identifier -> {});
+    when(mockCameraXProxy.createCaptureExecutor()).thenReturn(mockExecutor);
+  }
+
+  @After
+  public void tearDown() {
+    testInstanceManager.close();
+  }
+
+  @Test
+  public void createTest() {
+    final ImageCaptureHostApiImpl imageCaptureHostApi =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final ImageCapture.Builder mockImageCaptureBuilder = mock(ImageCapture.Builder.class);
+    final ResolutionInfo targetResolution =
+        new ResolutionInfo.Builder().setWidth(1920L).setHeight(1080L).build();
+
+    imageCaptureHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.createImageCaptureBuilder()).thenReturn(mockImageCaptureBuilder);
+    when(mockImageCaptureBuilder.build()).thenReturn(mockImageCapture);
+
+    imageCaptureHostApi.create(0L, 1L, 1L, targetResolution);
+
+    verify(mockImageCaptureBuilder).setFlashMode(1);
+    verify(mockImageCaptureBuilder).setCaptureMode(1);
+    verify(mockImageCaptureBuilder).setTargetResolution(new Size(1920, 1080));
+    assertEquals(testInstanceManager.getInstance(0L), mockImageCapture);
+  }
+
+  @Test
+  public void setFlashModeTest() {
+    final ImageCaptureHostApiImpl imageCaptureHostApi =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager);
+
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, 0);
+
+    imageCaptureHostApi.setFlashMode(0L, 2L);
+
+    verify(mockImageCapture).setFlashMode(2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void takePicture_repliesWithFilePathOnPlatformThread() {
+    final ImageCaptureHostApiImpl imageCaptureHostApi =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final ImageCapture.OutputFileOptions mockOutputFileOptions =
+        mock(ImageCapture.OutputFileOptions.class);
+    final GeneratedCameraXLibrary.Result<String> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+    final ArgumentCaptor<ImageCapture.OnImageSavedCallback> callbackCaptor =
+        ArgumentCaptor.forClass(ImageCapture.OnImageSavedCallback.class);
+
+    imageCaptureHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, 0);
+    when(mockCameraXProxy.createImageCaptureOutputFileOptions(new File("/tmp/picture.jpg")))
+        .thenReturn(mockOutputFileOptions);
+
+    imageCaptureHostApi.takePicture(0L, "/tmp/picture.jpg", mockResult);
+    verify(mockImageCapture)
+        .takePicture(eq(mockOutputFileOptions), eq(mockExecutor), callbackCaptor.capture());
+    callbackCaptor.getValue().onImageSaved(mock(ImageCapture.OutputFileResults.class));
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockResult).success("/tmp/picture.jpg");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void takePicture_repliesWithErrorOnFailure() {
+    final ImageCaptureHostApiImpl imageCaptureHostApi =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final GeneratedCameraXLibrary.Result<String> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+    final ImageCaptureException exception = mock(ImageCaptureException.class);
+    final ArgumentCaptor<ImageCapture.OnImageSavedCallback> callbackCaptor =
+        ArgumentCaptor.forClass(ImageCapture.OnImageSavedCallback.class);
+
+    imageCaptureHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, 0);
+
+    imageCaptureHostApi.takePicture(0L, "/tmp/picture.jpg", mockResult);
+    verify(mockImageCapture).takePicture(any(), eq(mockExecutor), callbackCaptor.capture());
+    callbackCaptor.getValue().onError(exception);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockResult).error(exception);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void takePictureToMemory_repliesWithImageBytesAndClosesImage() {
+    final ImageCaptureHostApiImpl imageCaptureHostApi =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager);
+    final GeneratedCameraXLibrary.Result<ImageProxyData> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+    final ArgumentCaptor<ImageCapture.OnImageCapturedCallback> callbackCaptor =
+        ArgumentCaptor.forClass(ImageCapture.OnImageCapturedCallback.class);
+    final ArgumentCaptor<ImageProxyData> imageDataCaptor =
+        ArgumentCaptor.forClass(ImageProxyData.class);
+    final ImageProxy mockImage = createMockJpegImage();
+
+    imageCaptureHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, 0);
+
+    imageCaptureHostApi.takePictureToMemory(0L, mockResult);
+    verify(mockImageCapture).takePicture(eq(mockExecutor), callbackCaptor.capture());
+    callbackCaptor.getValue().onCaptureSuccess(mockImage);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockImage).close();
+    verify(mockResult).success(imageDataCaptor.capture());
+    assertEquals(ImageFormat.JPEG, (long) imageDataCaptor.getValue().getFormat());
+    assertArrayEquals(new byte[] {1, 2, 3}, imageDataCaptor.getValue().getBytes());
+  }
+
+  @Test
+  public void shutdown_stopsCaptureExecutor() {
+    final ImageCaptureHostApiImpl imageCaptureHostApi =
+        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager);
+
+    imageCaptureHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, 0);
+
+    imageCaptureHostApi.takePictureToMemory(0L, null);
+    imageCaptureHostApi.shutdown();
+
+    verify(mockExecutor).shutdownNow();
+  }
+
+  private static ImageProxy createMockJpegImage() {
+    final ImageProxy mockImage = mock(ImageProxy.class);
+    final ImageInfo mockImageInfo = mock(ImageInfo.class);
+    final ImageProxy.PlaneProxy mockPlane = mock(ImageProxy.PlaneProxy.class);
+
+    when(mockPlane.getBuffer()).thenReturn(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    when(mockImage.getWidth()).thenReturn(640);
+    when(mockImage.getHeight()).thenReturn(480);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.JPEG);
+    when(mockImage.getImageInfo()).thenReturn(mockImageInfo);
+    when(mockImage.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlane});
+    return mockImage;
+  }
+}
@@ -10,6 +10,13 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
 
 public class InstanceManagerTest {
@@ -74,4 +81,90 @@ public class InstanceManagerTest {
 
     instanceManager.close();
   }
+
+  @Test
+  public void finalizationListener_isCalledOnceInstanceIsGarbageCollected()
+      throws InterruptedException {
+    final CountDownLatch finalized = new CountDownLatch(1);
+    final AtomicReference<Long> finalizedIdentifier = new AtomicReference<>();
+    final InstanceManager instanceManager =
+        InstanceManager.open(
+            identifier -> {
+              finalizedIdentifier.set(identifier);
+              finalized.countDown();
+            });
+
+    Object object = new Object();
+    final long identifier = instanceManager.addHostCreatedInstance(object);
+    instanceManager.remove(identifier);
+
+    // To allow for object to be garbage collected.
+    //noinspection UnusedAssignment
+    object = null;
+
+    for (int i = 0; i < 50 && finalized.getCount() > 0; i++) {
+      Runtime.getRuntime().gc();
+      finalized.await(100, TimeUnit.MILLISECONDS);
+    }
+
+    assertEquals((Long) identifier, finalizedIdentifier.get());
+    assertNull(instanceManager.getInstance(identifier));
+
+    instanceManager.close();
+  }
+
+  @Test
+  public void concurrentAddGetAndRemove() throws InterruptedException {
+    final int threadCount = 8;
+    final int instancesPerThread = 2000;
+    final InstanceManager instanceManager = InstanceManager.open(identifier -> {});
+    final Set<Long> identifiers = ConcurrentHashMap.newKeySet();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int t = 0; t < threadCount; t++) {
+      final int thread = t;
+      threads.add(
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                  for (int i = 0; i < instancesPerThread; i++) {
+                    final Object object = new Object();
+                    final long identifier;
+                    if (i % 2 == 0) {
+                      identifier = instanceManager.addHostCreatedInstance(object);
+                    } else {
+                      // Dart created identifiers are unique per thread and iteration.
+                      identifier = thread * instancesPerThread + i;
+                      instanceManager.addDartCreatedInstance(object, identifier);
+                    }
+                    assertTrue(identifiers.add(identifier));
+                    assertEquals(object, instanceManager.getInstance(identifier));
+                    assertTrue(instanceManager.containsInstance(object));
+                    assertEquals(
+                        (Long) identifier, instanceManager.getIdentifierForStrongReference(object));
+                    assertEquals(object, instanceManager.remove(identifier));
+                  }
+                } catch (Throwable e) {
+                  failure.compareAndSet(null, e);
+                }
+              }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+    assertEquals(threadCount * instancesPerThread, identifiers.size());
+
+    instanceManager.close();
+  }
 }
@@ -0,0 +1,199 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.SurfaceTexture;
+import android.util.Range;
+import android.util.Size;
+import android.view.Surface;
+import androidx.camera.core.Preview;
+import androidx.camera.core.ResolutionInfo;
+import androidx.camera.core.SurfaceRequest;
+import androidx.core.util.Consumer;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.FrameRateRange;
+import io.flutter.view.TextureRegistry;
+import java.util.concurrent.Executor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class PreviewTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock public Preview mockPreview;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public TextureRegistry mockTextureRegistry;
+  @Mock public CameraXProxy mockCameraXProxy;
+
+  InstanceManager testInstanceManager;
+
+  @Before
+  public void setUp() {
+    testInstanceManager = InstanceManager.open(identifier -> {});
+  }
+
+  @After
+  public void tearDown() {
+    testInstanceManager.close();
+  }
+
+  @Test
+  public void createTest() {
+    final PreviewHostApiImpl previewHostApi =
+        new PreviewHostApiImpl(mockBinaryMessenger, testInstanceManager, mockTextureRegistry);
+    final Preview.Builder mockPreviewBuilder = mock(Preview.Builder.class);
+    final GeneratedCameraXLibrary.ResolutionInfo targetResolution =
+        new GeneratedCameraXLibrary.ResolutionInfo.Builder()
+            .setWidth(1920L)
+            .setHeight(1080L)
+            .build();
+    final FrameRateRange targetFrameRate =
+        new FrameRateRange.Builder().setMin(30L).setMax(60L).build();
+
+    previewHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.createPreviewBuilder()).thenReturn(mockPreviewBuilder);
+    when(mockPreviewBuilder.build()).thenReturn(mockPreview);
+
+    previewHostApi.create(0L, (long) Surface.ROTATION_90, targetResolution, targetFrameRate);
+
+    verify(mockPreviewBuilder).setTargetRotation(Surface.ROTATION_90);
+    verify(mockPreviewBuilder).setTargetResolution(new Size(1920, 1080));
+    verify(mockCameraXProxy).setTargetFrameRate(mockPreviewBuilder, new Range<>(30, 60));
+    assertEquals(testInstanceManager.getInstance(0L), mockPreview);
+  }
+
+  @Test
+  public void setSurfaceProvider_createsTextureAndReleasesPreviousOne() {
+    final PreviewHostApiImpl previewHostApi =
+        new PreviewHostApiImpl(mockBinaryMessenger, testInstanceManager, mockTextureRegistry);
+    final TextureRegistry.SurfaceTextureEntry firstTexture =
+        mock(TextureRegistry.SurfaceTextureEntry.class);
+    final TextureRegistry.SurfaceTextureEntry secondTexture =
+        mock(TextureRegistry.SurfaceTextureEntry.class);
+
+    testInstanceManager.addDartCreatedInstance(mockPreview, 0);
+    when(mockTextureRegistry.createSurfaceTexture()).thenReturn(firstTexture, secondTexture);
+    when(firstTexture.id()).thenReturn(3L);
+    when(secondTexture.id()).thenReturn(4L);
+
+    assertEquals(3L, (long) previewHostApi.setSurfaceProvider(0L));
+    assertEquals(4L, (long) previewHostApi.setSurfaceProvider(0L));
+    previewHostApi.releaseFlutterSurfaceTexture();
+
+    verify(firstTexture).release();
+    verify(secondTexture).release();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void createSurfaceProvider_providesSurfaceOfRequestedSize() {
+    final PreviewHostApiImpl previewHostApi =
+        new PreviewHostApiImpl(mockBinaryMessenger, testInstanceManager, mockTextureRegistry);
+    final TextureRegistry.SurfaceTextureEntry mockTexture =
+        mock(TextureRegistry.SurfaceTextureEntry.class);
+    final SurfaceTexture mockSurfaceTexture = mock(SurfaceTexture.class);
+    final SurfaceRequest mockSurfaceRequest = mock(SurfaceRequest.class);
+    final Surface mockSurface = mock(Surface.class);
+    final ArgumentCaptor<Consumer<SurfaceRequest.Result>> resultCaptor =
+        ArgumentCaptor.forClass(Consumer.class);
+
+    previewHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockTexture.surfaceTexture()).thenReturn(mockSurfaceTexture);
+    when(mockSurfaceRequest.getResolution()).thenReturn(new Size(640, 480));
+    when(mockCameraXProxy.createSurface(mockSurfaceTexture)).thenReturn(mockSurface);
+
+    previewHostApi
+        .createSurfaceProvider(new PreviewHostApiImpl.PreviewTexture(mockTexture))
+        .onSurfaceRequested(mockSurfaceRequest);
+
+    verify(mockSurfaceTexture).setDefaultBufferSize(640, 480);
+    verify(mockSurfaceRequest)
+        .provideSurface(eq(mockSurface), any(Executor.class), resultCaptor.capture());
+    resultCaptor.getValue().accept(mock(SurfaceRequest.Result.class));
+    verify(mockSurface).release();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void setSurfaceProvider_releasesPreviousTextureOnceItsSurfaceIsUnused() {
+    final PreviewHostApiImpl previewHostApi =
+        new PreviewHostApiImpl(mockBinaryMessenger, testInstanceManager, mockTextureRegistry);
+    final TextureRegistry.SurfaceTextureEntry firstTexture =
+        mock(TextureRegistry.SurfaceTextureEntry.class);
+    final SurfaceRequest mockSurfaceRequest = mock(SurfaceRequest.class);
+    final ArgumentCaptor<Preview.SurfaceProvider> surfaceProviderCaptor =
+        ArgumentCaptor.forClass(Preview.SurfaceProvider.class);
+    final ArgumentCaptor<Consumer<SurfaceRequest.Result>> resultCaptor =
+        ArgumentCaptor.forClass(Consumer.class);
+
+    previewHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockPreview, 0);
+    when(mockTextureRegistry.createSurfaceTexture())
+        .thenReturn(firstTexture, mock(TextureRegistry.SurfaceTextureEntry.class));
+    when(firstTexture.surfaceTexture()).thenReturn(mock(SurfaceTexture.class));
+    when(mockSurfaceRequest.getResolution()).thenReturn(new Size(640, 480));
+    when(mockCameraXProxy.createSurface(any())).thenReturn(mock(Surface.class));
+
+    previewHostApi.setSurfaceProvider(0L);
+    verify(mockPreview).setSurfaceProvider(surfaceProviderCaptor.capture());
+    surfaceProviderCaptor.getValue().onSurfaceRequested(mockSurfaceRequest);
+    previewHostApi.setSurfaceProvider(0L);
+
+    verify(firstTexture, never()).release();
+    verify(mockSurfaceRequest)
+        .provideSurface(any(Surface.class), any(Executor.class), resultCaptor.capture());
+    resultCaptor.getValue().accept(mock(SurfaceRequest.Result.class));
+    verify(firstTexture).release();
+  }
+
+  @Test
+  public void createSurfaceProvider_doesNotProvideSurfaceOfReleasedTexture() {
+    final PreviewHostApiImpl previewHostApi =
+        new PreviewHostApiImpl(mockBinaryMessenger, testInstanceManager, mockTextureRegistry);
+    final PreviewHostApiImpl.PreviewTexture texture =
+        new PreviewHostApiImpl.PreviewTexture(mock(TextureRegistry.SurfaceTextureEntry.class));
+    final SurfaceRequest mockSurfaceRequest = mock(SurfaceRequest.class);
+
+    texture.release();
+    previewHostApi.createSurfaceProvider(texture).onSurfaceRequested(mockSurfaceRequest);
+
+    verify(mockSurfaceRequest).willNotProvideSurface();
+    verify(mockSurfaceRequest, never()).provideSurface(any(), any(), any());
+  }
+
+  @Test
+  public void getResolutionInfoTest() {
+    final PreviewHostApiImpl previewHostApi =
+        new PreviewHostApiImpl(mockBinaryMessenger, testInstanceManager, mockTextureRegistry);
+    final ResolutionInfo mockResolutionInfo = mock(ResolutionInfo.class);
+
+    testInstanceManager.addDartCreatedInstance(mockPreview, 0);
+    when(mockPreview.getResolutionInfo()).thenReturn(mockResolutionInfo);
+    when(mockResolutionInfo.getResolution()).thenReturn(new Size(1280, 720));
+
+    final GeneratedCameraXLibrary.ResolutionInfo resolutionInfo =
+        previewHostApi.getResolutionInfo(0L);
+
+    assertEquals(1280L, (long) resolutionInfo.getWidth());
+    assertEquals(720L, (long) resolutionInfo.getHeight());
+  }
+}
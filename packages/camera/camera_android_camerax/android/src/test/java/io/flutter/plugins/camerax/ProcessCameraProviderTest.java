@@ -5,10 +5,12 @@
 package io.flutter.plugins.camerax;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -16,6 +18,7 @@ import android.content.Context;
 import androidx.camera.core.Camera;
 import androidx.camera.core.CameraInfo;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.Preview;
 import androidx.camera.core.UseCase;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.lifecycle.LifecycleOwner;
@@ -82,12 +85,96 @@ public class ProcessCameraProviderTest {
       final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
 
       processCameraProviderHostApi.getInstance(mockResult);
-      verify(processCameraProviderFuture).addListener(runnableCaptor.capture(), any());
-      runnableCaptor.getValue().run();
+      // The first listener records the initialization time, the second one replies.
+      verify(processCameraProviderFuture, times(2)).addListener(runnableCaptor.capture(), any());
+      for (Runnable runnable : runnableCaptor.getAllValues()) {
+        runnable.run();
+      }
       verify(mockResult).success(0L);
     }
   }
 
+  @Test
+  public void initializeTest() throws Exception {
+    final ProcessCameraProviderHostApiImpl processCameraProviderHostApi =
+        new ProcessCameraProviderHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+    final ListenableFuture<ProcessCameraProvider> mockProcessCameraProviderFuture =
+        mock(ListenableFuture.class);
+    final GeneratedCameraXLibrary.Result<Long> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+
+    testInstanceManager.addDartCreatedInstance(processCameraProvider, 0);
+    when(mockProcessCameraProviderFuture.get()).thenReturn(processCameraProvider);
+
+    try (MockedStatic<ProcessCameraProvider> mockedProcessCameraProvider =
+        Mockito.mockStatic(ProcessCameraProvider.class)) {
+      mockedProcessCameraProvider
+          .when(() -> ProcessCameraProvider.getInstance(context))
+          .thenReturn(mockProcessCameraProviderFuture);
+
+      final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+      processCameraProviderHostApi.initialize();
+      verify(mockProcessCameraProviderFuture).addListener(runnableCaptor.capture(), any());
+      runnableCaptor.getValue().run();
+      assertTrue(processCameraProviderHostApi.initializationTimeMillis >= 0);
+
+      // Later requests reuse the future started by initialize.
+      processCameraProviderHostApi.getInstance(mockResult);
+      processCameraProviderHostApi.getInstance(mockResult);
+      mockedProcessCameraProvider.verify(() -> ProcessCameraProvider.getInstance(context));
+    }
+  }
+
+  @Test
+  public void prebindDefaultCameraTest() throws Exception {
+    final ProcessCameraProviderHostApiImpl processCameraProviderHostApi =
+        new ProcessCameraProviderHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+    final ListenableFuture<ProcessCameraProvider> mockProcessCameraProviderFuture =
+        mock(ListenableFuture.class);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final Preview.Builder mockPreviewBuilder = mock(Preview.Builder.class);
+    final Preview mockPreview = mock(Preview.class);
+    final CameraSelector mockCameraSelector = mock(CameraSelector.class);
+    final UseCase mockUseCase = mock(UseCase.class);
+    final LifecycleOwner mockLifecycleOwner = mock(LifecycleOwner.class);
+
+    processCameraProviderHostApi.cameraXProxy = mockCameraXProxy;
+    processCameraProviderHostApi.setLifecycleOwner(mockLifecycleOwner);
+    testInstanceManager.addDartCreatedInstance(processCameraProvider, 0);
+    testInstanceManager.addDartCreatedInstance(mockCameraSelector, 1);
+    testInstanceManager.addDartCreatedInstance(mockUseCase, 2);
+    when(mockProcessCameraProviderFuture.get()).thenReturn(processCameraProvider);
+    when(mockCameraXProxy.createPreviewBuilder()).thenReturn(mockPreviewBuilder);
+    when(mockPreviewBuilder.build()).thenReturn(mockPreview);
+    when(processCameraProvider.bindToLifecycle(
+            mockLifecycleOwner, mockCameraSelector, new UseCase[] {mockUseCase}))
+        .thenReturn(mock(Camera.class));
+
+    try (MockedStatic<ProcessCameraProvider> mockedProcessCameraProvider =
+        Mockito.mockStatic(ProcessCameraProvider.class)) {
+      mockedProcessCameraProvider
+          .when(() -> ProcessCameraProvider.getInstance(context))
+          .thenReturn(mockProcessCameraProviderFuture);
+
+      final ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+      processCameraProviderHostApi.prebindDefaultCamera();
+      verify(mockProcessCameraProviderFuture, times(2))
+          .addListener(runnableCaptor.capture(), any());
+      for (Runnable runnable : runnableCaptor.getAllValues()) {
+        runnable.run();
+      }
+      verify(processCameraProvider)
+          .bindToLifecycle(mockLifecycleOwner, CameraSelector.DEFAULT_BACK_CAMERA, mockPreview);
+
+      // The preview is unbound when Dart binds its use cases, and only then.
+      processCameraProviderHostApi.bindToLifecycle(0L, 1L, Arrays.asList(2L));
+      processCameraProviderHostApi.bindToLifecycle(0L, 1L, Arrays.asList(2L));
+      verify(processCameraProvider).unbind(mockPreview);
+    }
+  }
+
   @Test
   public void getAvailableCameraInfosTest() {
     final ProcessCameraProviderHostApiImpl processCameraProviderHostApi =
@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import androidx.camera.video.FallbackStrategy;
+import androidx.camera.video.FileOutputOptions;
+import androidx.camera.video.PendingRecording;
+import androidx.camera.video.Quality;
+import androidx.camera.video.QualitySelector;
+import androidx.camera.video.Recorder;
+import androidx.camera.video.Recording;
+import androidx.core.content.ContextCompat;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.QualitySelectorData;
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class RecorderTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock public Recorder mockRecorder;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public Context mockContext;
+  @Mock public CameraXProxy mockCameraXProxy;
+
+  InstanceManager testInstanceManager;
+
+  @Before
+  public void setUp() {
+    testInstanceManager = InstanceManager.open(identifier -> {});
+  }
+
+  @After
+  public void tearDown() {
+    testInstanceManager.close();
+  }
+
+  @Test
+  public void createTest() {
+    final RecorderHostApiImpl recorderHostApi =
+        new RecorderHostApiImpl(mockBinaryMessenger, testInstanceManager, mockContext);
+    final Recorder.Builder mockRecorderBuilder = mock(Recorder.Builder.class);
+    final ExecutorService mockExecutor = mock(ExecutorService.class);
+    final QualitySelectorData qualitySelector =
+        new QualitySelectorData.Builder().setQualities(Arrays.asList(2L, 1L)).build();
+
+    recorderHostApi.cameraXProxy = mockCameraXProxy;
+    when(mockCameraXProxy.createRecorderBuilder()).thenReturn(mockRecorderBuilder);
+    when(mockCameraXProxy.createRecorderExecutor()).thenReturn(mockExecutor);
+    when(mockRecorderBuilder.build()).thenReturn(mockRecorder);
+
+    recorderHostApi.create(0L, 1L, qualitySelector);
+    recorderHostApi.shutdown();
+
+    verify(mockRecorderBuilder).setAspectRatio(1);
+    verify(mockRecorderBuilder).setQualitySelector(any());
+    verify(mockRecorderBuilder).setExecutor(mockExecutor);
+    verify(mockExecutor).shutdownNow();
+    assertEquals(testInstanceManager.getInstance(0L), mockRecorder);
+  }
+
+  @Test
+  public void createQualitySelector_mapsQualitiesAndFallbackRule() {
+    final QualitySelectorData qualitySelector =
+        new QualitySelectorData.Builder()
+            .setQualities(Arrays.asList(3L, 2L))
+            .setFallbackRule(3L)
+            .setFallbackQuality(1L)
+            .build();
+    final FallbackStrategy mockFallbackStrategy = mock(FallbackStrategy.class);
+    final QualitySelector mockQualitySelector = mock(QualitySelector.class);
+
+    try (MockedStatic<FallbackStrategy> mockedFallbackStrategy =
+            mockStatic(FallbackStrategy.class);
+        MockedStatic<QualitySelector> mockedQualitySelector = mockStatic(QualitySelector.class)) {
+      mockedFallbackStrategy
+          .when(() -> FallbackStrategy.lowerQualityThan(Quality.HD))
+          .thenReturn(mockFallbackStrategy);
+      mockedQualitySelector
+          .when(
+              () ->
+                  QualitySelector.fromOrderedList(
+                      Arrays.asList(Quality.UHD, Quality.FHD), mockFallbackStrategy))
+          .thenReturn(mockQualitySelector);
+
+      assertEquals(mockQualitySelector, RecorderHostApiImpl.createQualitySelector(qualitySelector));
+    }
+  }
+
+  @Test
+  public void start_createsRecordingAndReturnsItsIdentifier() {
+    final RecorderHostApiImpl recorderHostApi =
+        new RecorderHostApiImpl(mockBinaryMessenger, testInstanceManager, mockContext);
+    final FileOutputOptions mockFileOutputOptions = mock(FileOutputOptions.class);
+    final PendingRecording mockPendingRecording = mock(PendingRecording.class);
+    final Recording mockRecording = mock(Recording.class);
+
+    recorderHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockRecorder, 0);
+    when(mockCameraXProxy.createFileOutputOptions(new File("/tmp/video.mp4")))
+        .thenReturn(mockFileOutputOptions);
+    when(mockRecorder.prepareRecording(mockContext, mockFileOutputOptions))
+        .thenReturn(mockPendingRecording);
+    when(mockPendingRecording.start(any(), any())).thenReturn(mockRecording);
+
+    final Long recordingIdentifier = recorderHostApi.start(0L, "/tmp/video.mp4", false);
+
+    verify(mockPendingRecording, never()).withAudioEnabled();
+    assertEquals(testInstanceManager.getInstance(recordingIdentifier), mockRecording);
+  }
+
+  @Test
+  public void start_throwsWithoutAudioPermission() {
+    final RecorderHostApiImpl recorderHostApi =
+        new RecorderHostApiImpl(mockBinaryMessenger, testInstanceManager, mockContext);
+    final PendingRecording mockPendingRecording = mock(PendingRecording.class);
+
+    recorderHostApi.cameraXProxy = mockCameraXProxy;
+    testInstanceManager.addDartCreatedInstance(mockRecorder, 0);
+    when(mockRecorder.prepareRecording(eq(mockContext), any())).thenReturn(mockPendingRecording);
+
+    try (MockedStatic<ContextCompat> mockedContextCompat = mockStatic(ContextCompat.class)) {
+      mockedContextCompat
+          .when(
+              () ->
+                  ContextCompat.checkSelfPermission(mockContext, Manifest.permission.RECORD_AUDIO))
+          .thenReturn(PackageManager.PERMISSION_DENIED);
+
+      assertThrows(
+          SecurityException.class, () -> recorderHostApi.start(0L, "/tmp/video.mp4", true));
+    }
+    verify(mockPendingRecording, never()).start(any(), any());
+  }
+}
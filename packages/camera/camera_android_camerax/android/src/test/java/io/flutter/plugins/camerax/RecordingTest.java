@@ -0,0 +1,74 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.camera.video.Recording;
+import androidx.camera.video.VideoRecordEvent;
+import io.flutter.plugin.common.BinaryMessenger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class RecordingTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  @Mock public Recording mockRecording;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public VideoRecordEvent.Finalize mockFinalizeEvent;
+
+  InstanceManager testInstanceManager;
+
+  @Before
+  public void setUp() {
+    testInstanceManager = InstanceManager.open(identifier -> {});
+  }
+
+  @After
+  public void tearDown() {
+    testInstanceManager.close();
+  }
+
+  @Test
+  public void pauseResumeStopTest() {
+    final RecordingHostApiImpl recordingHostApi = new RecordingHostApiImpl(testInstanceManager);
+
+    testInstanceManager.addDartCreatedInstance(mockRecording, 0);
+
+    recordingHostApi.pause(0L);
+    recordingHostApi.resume(0L);
+    recordingHostApi.stop(0L);
+
+    verify(mockRecording).pause();
+    verify(mockRecording).resume();
+    verify(mockRecording).stop();
+  }
+
+  @Test
+  public void flutterApiOnFinalizedTest() {
+    final RecordingFlutterApiImpl spyFlutterApi =
+        spy(new RecordingFlutterApiImpl(mockBinaryMessenger, testInstanceManager));
+
+    testInstanceManager.addDartCreatedInstance(mockRecording, 0);
+    when(mockFinalizeEvent.getError()).thenReturn(8);
+    when(mockFinalizeEvent.getCause()).thenReturn(new IllegalStateException("No space left."));
+
+    spyFlutterApi.onFinalized(mockRecording, mockFinalizeEvent, reply -> {});
+
+    verify(spyFlutterApi).onFinalized(eq(0L), eq(8L), eq("No space left."), any());
+  }
+}
@@ -81,4 +81,11 @@ class CameraInfoFlutterApiImpl extends CameraInfoFlutterApi {
       },
     );
   }
+
+  @override
+  void createAll(List<int?> identifiers) {
+    for (final int? identifier in identifiers) {
+      create(identifier!);
+    }
+  }
 }
@@ -0,0 +1,243 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart' show BinaryMessenger;
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.g.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+import 'use_case.dart';
+
+/// Callback that receives the images of an [ImageAnalysis] use case.
+typedef ImageAnalyzer = void Function(AnalyzedImage image);
+
+/// Use case that provides images for analysis.
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis.
+class ImageAnalysis extends UseCase {
+  /// Creates an [ImageAnalysis].
+  ImageAnalysis(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.targetResolution,
+      this.backpressureStrategy,
+      this.imageQueueDepth,
+      this.outputImageFormat})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = ImageAnalysisHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+    _api.createFromInstance(this, targetResolution, backpressureStrategy,
+        imageQueueDepth, outputImageFormat);
+  }
+
+  /// Constructs an [ImageAnalysis] that is not automatically attached to a
+  /// native object.
+  ImageAnalysis.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.targetResolution,
+      this.backpressureStrategy,
+      this.imageQueueDepth,
+      this.outputImageFormat})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = ImageAnalysisHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final ImageAnalysisHostApiImpl _api;
+
+  /// Drops the images that arrive while the analyzer is busy, keeping only
+  /// the latest one.
+  static const int STRATEGY_KEEP_ONLY_LATEST = 0;
+
+  /// Queues the images that arrive while the analyzer is busy, blocking the
+  /// camera once [imageQueueDepth] images are queued.
+  static const int STRATEGY_BLOCK_PRODUCER = 1;
+
+  /// Images in the YUV_420_888 format, with three planes.
+  static const int OUTPUT_IMAGE_FORMAT_YUV_420_888 = 1;
+
+  /// Images in the RGBA_8888 format, with a single plane.
+  static const int OUTPUT_IMAGE_FORMAT_RGBA_8888 = 2;
+
+  /// Resolution the images should be closest to, if specified.
+  final ResolutionInfo? targetResolution;
+
+  /// Strategy used when the analyzer does not keep up with the camera, if
+  /// specified.
+  ///
+  /// One of [STRATEGY_KEEP_ONLY_LATEST] or [STRATEGY_BLOCK_PRODUCER].
+  final int? backpressureStrategy;
+
+  /// Number of images queued with [STRATEGY_BLOCK_PRODUCER], if specified.
+  final int? imageQueueDepth;
+
+  /// Format of the images, if specified.
+  ///
+  /// One of [OUTPUT_IMAGE_FORMAT_YUV_420_888] or
+  /// [OUTPUT_IMAGE_FORMAT_RGBA_8888].
+  final int? outputImageFormat;
+
+  ImageAnalyzer? _analyzer;
+
+  /// Sets the analyzer that receives the images of this use case.
+  ///
+  /// The next image is only sent once [analyzer] returns for the images that
+  /// are pending, following [backpressureStrategy].
+  Future<void> setAnalyzer(ImageAnalyzer analyzer) {
+    _analyzer = analyzer;
+    return _api.setAnalyzerFromInstance(this);
+  }
+
+  /// Removes the analyzer of this use case.
+  Future<void> clearAnalyzer() {
+    _analyzer = null;
+    return _api.clearAnalyzerFromInstance(this);
+  }
+}
+
+/// An image received by an [ImageAnalyzer].
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageProxy.
+class AnalyzedImage {
+  /// Creates an [AnalyzedImage] from the data sent by the native analyzer.
+  ///
+  /// The planes are views on the buffer of [data], no bytes are copied.
+  AnalyzedImage.fromData(ImageProxyData data)
+      : width = data.width,
+        height = data.height,
+        format = data.format,
+        rotationDegrees = data.rotationDegrees,
+        timestamp = data.timestamp,
+        planes = _planesFromData(data);
+
+  /// Width of the image in pixels.
+  final int width;
+
+  /// Height of the image in pixels.
+  final int height;
+
+  /// Android `ImageFormat` of the image.
+  final int format;
+
+  /// Rotation needed to display the image upright, in degrees.
+  final int rotationDegrees;
+
+  /// Timestamp of the image, in nanoseconds.
+  final int timestamp;
+
+  /// Planes of the image.
+  final List<AnalyzedImagePlane> planes;
+
+  static List<AnalyzedImagePlane> _planesFromData(ImageProxyData data) {
+    final List<AnalyzedImagePlane> planes = <AnalyzedImagePlane>[];
+    int offset = 0;
+    for (int i = 0; i < data.planeLengths.length; i++) {
+      final int length = data.planeLengths[i]!;
+      planes.add(AnalyzedImagePlane(
+        bytes: Uint8List.sublistView(data.bytes, offset, offset + length),
+        bytesPerRow: data.planeRowStrides[i]!,
+        bytesPerPixel: data.planePixelStrides[i]!,
+      ));
+      offset += length;
+    }
+    return planes;
+  }
+}
+
+/// A plane of an [AnalyzedImage].
+class AnalyzedImagePlane {
+  /// Creates an [AnalyzedImagePlane].
+  AnalyzedImagePlane({
+    required this.bytes,
+    required this.bytesPerRow,
+    required this.bytesPerPixel,
+  });
+
+  /// Bytes of the plane.
+  final Uint8List bytes;
+
+  /// Distance between the start of two consecutive rows, in bytes.
+  final int bytesPerRow;
+
+  /// Distance between two consecutive pixels of a row, in bytes.
+  final int bytesPerPixel;
+}
+
+/// Host API implementation of [ImageAnalysis].
+class ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
+  /// Constructs an [ImageAnalysisHostApiImpl].
+  ImageAnalysisHostApiImpl(
+      {this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// Creates an [ImageAnalysis] with the configuration provided if specified.
+  void createFromInstance(
+      ImageAnalysis instance,
+      ResolutionInfo? targetResolution,
+      int? backpressureStrategy,
+      int? imageQueueDepth,
+      int? outputImageFormat) {
+    final int identifier = instanceManager.addDartCreatedInstance(instance,
+        onCopy: (ImageAnalysis original) {
+      return ImageAnalysis.detached(
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+          targetResolution: original.targetResolution,
+          backpressureStrategy: original.backpressureStrategy,
+          imageQueueDepth: original.imageQueueDepth,
+          outputImageFormat: original.outputImageFormat);
+    });
+
+    create(identifier, targetResolution, backpressureStrategy, imageQueueDepth,
+        outputImageFormat);
+  }
+
+  /// Starts sending the images of [instance] to its analyzer.
+  Future<void> setAnalyzerFromInstance(ImageAnalysis instance) {
+    return setAnalyzer(instanceManager.getIdentifier(instance)!);
+  }
+
+  /// Stops sending the images of [instance] to its analyzer.
+  Future<void> clearAnalyzerFromInstance(ImageAnalysis instance) {
+    return clearAnalyzer(instanceManager.getIdentifier(instance)!);
+  }
+}
+
+/// Flutter API implementation of [ImageAnalysis].
+class ImageAnalysisFlutterApiImpl implements ImageAnalysisFlutterApi {
+  /// Constructs an [ImageAnalysisFlutterApiImpl].
+  ImageAnalysisFlutterApiImpl({InstanceManager? instanceManager})
+      : instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+
+  /// Maintains instances stored to communicate with native language objects.
+  final InstanceManager instanceManager;
+
+  @override
+  void onImageAnalyzed(int identifier, ImageProxyData image) {
+    final ImageAnalysis? instance =
+        instanceManager.getInstanceWithWeakReference(identifier);
+    instance?._analyzer?.call(AnalyzedImage.fromData(image));
+  }
+}
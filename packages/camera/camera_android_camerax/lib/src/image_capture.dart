@@ -0,0 +1,154 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/services.dart' show BinaryMessenger;
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.g.dart';
+import 'image_analysis.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+import 'use_case.dart';
+
+/// Use case that takes pictures.
+///
+/// See https://developer.android.com/reference/androidx/camera/core/ImageCapture.
+class ImageCapture extends UseCase {
+  /// Creates an [ImageCapture].
+  ImageCapture(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.initialFlashMode,
+      this.captureMode,
+      this.targetResolution})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = ImageCaptureHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+    _api.createFromInstance(
+        this, initialFlashMode, captureMode, targetResolution);
+  }
+
+  /// Constructs an [ImageCapture] that is not automatically attached to a
+  /// native object.
+  ImageCapture.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.initialFlashMode,
+      this.captureMode,
+      this.targetResolution})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = ImageCaptureHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final ImageCaptureHostApiImpl _api;
+
+  /// Fires the flash when the scene is too dark.
+  static const int FLASH_MODE_AUTO = 0;
+
+  /// Always fires the flash.
+  static const int FLASH_MODE_ON = 1;
+
+  /// Never fires the flash.
+  static const int FLASH_MODE_OFF = 2;
+
+  /// Favors the quality of the pictures over the time they take.
+  static const int CAPTURE_MODE_MAXIMIZE_QUALITY = 0;
+
+  /// Favors the time pictures take over their quality.
+  static const int CAPTURE_MODE_MINIMIZE_LATENCY = 1;
+
+  /// Flash mode the use case is created with, if specified.
+  ///
+  /// One of [FLASH_MODE_AUTO], [FLASH_MODE_ON] or [FLASH_MODE_OFF].
+  final int? initialFlashMode;
+
+  /// Capture mode of the use case, if specified.
+  ///
+  /// One of [CAPTURE_MODE_MAXIMIZE_QUALITY] or
+  /// [CAPTURE_MODE_MINIMIZE_LATENCY].
+  final int? captureMode;
+
+  /// Resolution the pictures should be closest to, if specified.
+  final ResolutionInfo? targetResolution;
+
+  /// Sets the flash mode of the use case.
+  ///
+  /// One of [FLASH_MODE_AUTO], [FLASH_MODE_ON] or [FLASH_MODE_OFF].
+  Future<void> setFlashMode(int flashMode) {
+    return _api.setFlashModeFromInstance(this, flashMode);
+  }
+
+  /// Takes a picture, saves it as a JPEG file to [filePath] and returns the
+  /// path of the file.
+  Future<String> takePicture(String filePath) {
+    return _api.takePictureFromInstance(this, filePath);
+  }
+
+  /// Takes a picture and returns its JPEG bytes, without writing it to
+  /// storage.
+  Future<AnalyzedImage> takePictureToMemory() {
+    return _api.takePictureToMemoryFromInstance(this);
+  }
+}
+
+/// Host API implementation of [ImageCapture].
+class ImageCaptureHostApiImpl extends ImageCaptureHostApi {
+  /// Constructs an [ImageCaptureHostApiImpl].
+  ImageCaptureHostApiImpl(
+      {this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// Creates an [ImageCapture] with the configuration provided if specified.
+  void createFromInstance(ImageCapture instance, int? flashMode,
+      int? captureMode, ResolutionInfo? targetResolution) {
+    final int identifier = instanceManager.addDartCreatedInstance(instance,
+        onCopy: (ImageCapture original) {
+      return ImageCapture.detached(
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+          initialFlashMode: original.initialFlashMode,
+          captureMode: original.captureMode,
+          targetResolution: original.targetResolution);
+    });
+
+    create(identifier, flashMode, captureMode, targetResolution);
+  }
+
+  /// Sets the flash mode of [instance].
+  Future<void> setFlashModeFromInstance(ImageCapture instance, int flashMode) {
+    return setFlashMode(instanceManager.getIdentifier(instance)!, flashMode);
+  }
+
+  /// Takes a picture with [instance] and saves it to [filePath].
+  Future<String> takePictureFromInstance(
+      ImageCapture instance, String filePath) {
+    return takePicture(instanceManager.getIdentifier(instance)!, filePath);
+  }
+
+  /// Takes a picture with [instance] and returns its bytes.
+  Future<AnalyzedImage> takePictureToMemoryFromInstance(
+      ImageCapture instance) async {
+    final ImageProxyData data =
+        await takePictureToMemory(instanceManager.getIdentifier(instance)!);
+    return AnalyzedImage.fromData(data);
+  }
+}
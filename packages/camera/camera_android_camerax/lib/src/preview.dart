@@ -0,0 +1,127 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/services.dart' show BinaryMessenger;
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.g.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+import 'use_case.dart';
+
+/// Use case that provides a camera preview stream for display.
+///
+/// See https://developer.android.com/reference/androidx/camera/core/Preview.
+class Preview extends UseCase {
+  /// Creates a [Preview].
+  Preview(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.targetRotation,
+      this.targetResolution,
+      this.targetFrameRate})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = PreviewHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+    _api.createFromInstance(
+        this, targetRotation, targetResolution, targetFrameRate);
+  }
+
+  /// Constructs a [Preview] that is not automatically attached to a native
+  /// object.
+  Preview.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.targetRotation,
+      this.targetResolution,
+      this.targetFrameRate})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = PreviewHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final PreviewHostApiImpl _api;
+
+  /// Android `Surface` rotation the preview should be displayed in, if
+  /// specified.
+  final int? targetRotation;
+
+  /// Resolution the preview should be closest to, if specified.
+  final ResolutionInfo? targetResolution;
+
+  /// Range of frame rates the camera should stream at, if specified.
+  ///
+  /// The range applies to every use case streaming alongside the preview,
+  /// recorded videos included.
+  final FrameRateRange? targetFrameRate;
+
+  /// Renders the preview to a Flutter texture and returns the id of the
+  /// texture.
+  ///
+  /// The texture rendered to so far, if any, is released.
+  Future<int> setSurfaceProvider() {
+    return _api.setSurfaceProviderFromInstance(this);
+  }
+
+  /// Releases the Flutter texture the preview is rendered to.
+  Future<void> releaseFlutterSurfaceTexture() {
+    return _api.releaseFlutterSurfaceTexture();
+  }
+
+  /// Retrieves the resolution of the preview once it is bound to a camera.
+  Future<ResolutionInfo> getResolutionInfo() {
+    return _api.getResolutionInfoFromInstance(this);
+  }
+}
+
+/// Host API implementation of [Preview].
+class PreviewHostApiImpl extends PreviewHostApi {
+  /// Constructs a [PreviewHostApiImpl].
+  PreviewHostApiImpl({this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// Creates a [Preview] with the configuration provided if specified.
+  void createFromInstance(Preview instance, int? targetRotation,
+      ResolutionInfo? targetResolution, FrameRateRange? targetFrameRate) {
+    final int identifier = instanceManager.addDartCreatedInstance(instance,
+        onCopy: (Preview original) {
+      return Preview.detached(
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+          targetRotation: original.targetRotation,
+          targetResolution: original.targetResolution,
+          targetFrameRate: original.targetFrameRate);
+    });
+
+    create(identifier, targetRotation, targetResolution, targetFrameRate);
+  }
+
+  /// Renders the frames of [instance] to a Flutter texture and returns the
+  /// id of the texture.
+  Future<int> setSurfaceProviderFromInstance(Preview instance) {
+    return setSurfaceProvider(instanceManager.getIdentifier(instance)!);
+  }
+
+  /// Retrieves the resolution of the frames of [instance].
+  Future<ResolutionInfo> getResolutionInfoFromInstance(Preview instance) {
+    return getResolutionInfo(instanceManager.getIdentifier(instance)!);
+  }
+}
@@ -0,0 +1,139 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/services.dart' show BinaryMessenger;
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.g.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+import 'recording.dart';
+
+/// Records the videos of a video capture use case to files.
+///
+/// See https://developer.android.com/reference/androidx/camera/video/Recorder.
+class Recorder extends JavaObject {
+  /// Creates a [Recorder].
+  Recorder(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.aspectRatio,
+      this.qualitySelector})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = RecorderHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+    _api.createFromInstance(this, aspectRatio, qualitySelector);
+  }
+
+  /// Constructs a [Recorder] that is not automatically attached to a native
+  /// object.
+  Recorder.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      this.aspectRatio,
+      this.qualitySelector})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = RecorderHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final RecorderHostApiImpl _api;
+
+  /// Standard definition, 480p.
+  static const int QUALITY_SD = 0;
+
+  /// High definition, 720p.
+  static const int QUALITY_HD = 1;
+
+  /// Full high definition, 1080p.
+  static const int QUALITY_FHD = 2;
+
+  /// Ultra high definition, 2160p.
+  static const int QUALITY_UHD = 3;
+
+  /// Lowest quality supported by the camera.
+  static const int QUALITY_LOWEST = 4;
+
+  /// Highest quality supported by the camera.
+  static const int QUALITY_HIGHEST = 5;
+
+  /// Falls back to the closest higher quality supported, or to the closest
+  /// lower one if none is.
+  static const int FALLBACK_HIGHER_QUALITY_OR_LOWER_THAN = 0;
+
+  /// Falls back to the closest higher quality supported.
+  static const int FALLBACK_HIGHER_QUALITY_THAN = 1;
+
+  /// Falls back to the closest lower quality supported, or to the closest
+  /// higher one if none is.
+  static const int FALLBACK_LOWER_QUALITY_OR_HIGHER_THAN = 2;
+
+  /// Falls back to the closest lower quality supported.
+  static const int FALLBACK_LOWER_QUALITY_THAN = 3;
+
+  /// Android `AspectRatio` of the videos, if specified.
+  final int? aspectRatio;
+
+  /// Qualities the videos should be recorded in, by order of preference, if
+  /// specified.
+  ///
+  /// Qualities are the `QUALITY_` constants and fallback rules the
+  /// `FALLBACK_` constants of this class.
+  final QualitySelectorData? qualitySelector;
+
+  /// Starts recording a video to [filePath].
+  ///
+  /// Recording audio requires the `RECORD_AUDIO` permission to be granted.
+  Future<Recording> start(String filePath, {bool enableAudio = false}) {
+    return _api.startFromInstance(this, filePath, enableAudio);
+  }
+}
+
+/// Host API implementation of [Recorder].
+class RecorderHostApiImpl extends RecorderHostApi {
+  /// Constructs a [RecorderHostApiImpl].
+  RecorderHostApiImpl({this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// Creates a [Recorder] with the configuration provided if specified.
+  void createFromInstance(Recorder instance, int? aspectRatio,
+      QualitySelectorData? qualitySelector) {
+    final int identifier = instanceManager.addDartCreatedInstance(instance,
+        onCopy: (Recorder original) {
+      return Recorder.detached(
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+          aspectRatio: original.aspectRatio,
+          qualitySelector: original.qualitySelector);
+    });
+
+    create(identifier, aspectRatio, qualitySelector);
+  }
+
+  /// Starts recording a video to [filePath] with [instance].
+  Future<Recording> startFromInstance(
+      Recorder instance, String filePath, bool enableAudio) async {
+    final int recordingIdentifier = await start(
+        instanceManager.getIdentifier(instance)!, filePath, enableAudio);
+    return instanceManager.getInstanceWithWeakReference(recordingIdentifier)!
+        as Recording;
+  }
+}
@@ -0,0 +1,137 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:async';
+
+import 'package:flutter/services.dart' show BinaryMessenger, PlatformException;
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.g.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+
+/// A video being recorded by a [Recorder].
+///
+/// See https://developer.android.com/reference/androidx/camera/video/Recording.
+class Recording extends JavaObject {
+  /// Constructs a [Recording] that is not automatically attached to a native
+  /// object.
+  Recording.detached(
+      {BinaryMessenger? binaryMessenger, InstanceManager? instanceManager})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = RecordingHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final RecordingHostApiImpl _api;
+
+  final Completer<void> _finalized = Completer<void>();
+
+  /// Completes once the video file is finalized.
+  ///
+  /// Completes with a [PlatformException] whose code is the Android
+  /// `VideoRecordEvent.Finalize` error if the recording ended with an error.
+  Future<void> get finalized => _finalized.future;
+
+  /// Pauses the recording.
+  Future<void> pause() {
+    return _api.pauseFromInstance(this);
+  }
+
+  /// Resumes the recording if paused.
+  Future<void> resume() {
+    return _api.resumeFromInstance(this);
+  }
+
+  /// Stops the recording.
+  ///
+  /// [finalized] completes once the video file is written.
+  Future<void> stop() {
+    return _api.stopFromInstance(this);
+  }
+}
+
+/// Host API implementation of [Recording].
+class RecordingHostApiImpl extends RecordingHostApi {
+  /// Constructs a [RecordingHostApiImpl].
+  RecordingHostApiImpl({this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// Pauses [instance].
+  Future<void> pauseFromInstance(Recording instance) {
+    return pause(instanceManager.getIdentifier(instance)!);
+  }
+
+  /// Resumes [instance].
+  Future<void> resumeFromInstance(Recording instance) {
+    return resume(instanceManager.getIdentifier(instance)!);
+  }
+
+  /// Stops [instance].
+  Future<void> stopFromInstance(Recording instance) {
+    return stop(instanceManager.getIdentifier(instance)!);
+  }
+}
+
+/// Flutter API implementation of [Recording].
+class RecordingFlutterApiImpl implements RecordingFlutterApi {
+  /// Constructs a [RecordingFlutterApiImpl].
+  RecordingFlutterApiImpl({
+    this.binaryMessenger,
+    InstanceManager? instanceManager,
+  }) : instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  final InstanceManager instanceManager;
+
+  @override
+  void create(int identifier) {
+    instanceManager.addHostCreatedInstance(
+      Recording.detached(
+          binaryMessenger: binaryMessenger, instanceManager: instanceManager),
+      identifier,
+      onCopy: (Recording original) {
+        return Recording.detached(
+            binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+      },
+    );
+  }
+
+  @override
+  void onFinalized(int identifier, int error, String? errorMessage) {
+    final Recording? instance =
+        instanceManager.getInstanceWithWeakReference(identifier);
+    if (instance == null || instance._finalized.isCompleted) {
+      return;
+    }
+    if (error == 0) {
+      instance._finalized.complete();
+    } else {
+      // Errors are reported to the listeners of `finalized` only, if any.
+      instance._finalized.future.ignore();
+      instance._finalized.completeError(
+          PlatformException(code: error.toString(), message: errorMessage));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/services.dart' show BinaryMessenger;
+
+import 'android_camera_camerax_flutter_api_impls.dart';
+import 'camerax_library.g.dart';
+import 'instance_manager.dart';
+import 'java_object.dart';
+import 'recorder.dart';
+import 'use_case.dart';
+
+/// Use case that records videos with a [Recorder].
+///
+/// See https://developer.android.com/reference/androidx/camera/video/VideoCapture.
+class VideoCapture extends UseCase {
+  /// Creates a [VideoCapture] that records videos with [recorder].
+  VideoCapture(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      required this.recorder})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = VideoCaptureHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+    _api.createFromInstance(this, recorder);
+  }
+
+  /// Constructs a [VideoCapture] that is not automatically attached to a
+  /// native object.
+  VideoCapture.detached(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      required this.recorder})
+      : super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = VideoCaptureHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
+  late final VideoCaptureHostApiImpl _api;
+
+  /// Recorder the videos of this use case are recorded with.
+  final Recorder recorder;
+}
+
+/// Host API implementation of [VideoCapture].
+class VideoCaptureHostApiImpl extends VideoCaptureHostApi {
+  /// Constructs a [VideoCaptureHostApiImpl].
+  VideoCaptureHostApiImpl(
+      {this.binaryMessenger, InstanceManager? instanceManager})
+      : super(binaryMessenger: binaryMessenger) {
+    this.instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+  }
+
+  /// Receives binary data across the Flutter platform barrier.
+  ///
+  /// If it is null, the default BinaryMessenger will be used which routes to
+  /// the host platform.
+  final BinaryMessenger? binaryMessenger;
+
+  /// Maintains instances stored to communicate with native language objects.
+  late final InstanceManager instanceManager;
+
+  /// Creates a [VideoCapture] that records videos with [recorder].
+  void createFromInstance(VideoCapture instance, Recorder recorder) {
+    final int identifier = instanceManager.addDartCreatedInstance(instance,
+        onCopy: (VideoCapture original) {
+      return VideoCapture.detached(
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+          recorder: original.recorder);
+    });
+
+    create(identifier, instanceManager.getIdentifier(recorder)!);
+  }
+}
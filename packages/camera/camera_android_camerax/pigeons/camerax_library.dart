@@ -36,6 +36,62 @@ class CameraPermissionsErrorData {
   String description;
 }
 
+class ResolutionInfo {
+  ResolutionInfo({
+    required this.width,
+    required this.height,
+  });
+
+  int width;
+  int height;
+}
+
+class ImageProxyData {
+  ImageProxyData({
+    required this.width,
+    required this.height,
+    required this.format,
+    required this.rotationDegrees,
+    required this.timestamp,
+    required this.bytes,
+    required this.planeLengths,
+    required this.planeRowStrides,
+    required this.planePixelStrides,
+  });
+
+  int width;
+  int height;
+  int format;
+  int rotationDegrees;
+  int timestamp;
+  Uint8List bytes;
+  List<int?> planeLengths;
+  List<int?> planeRowStrides;
+  List<int?> planePixelStrides;
+}
+
+class FrameRateRange {
+  FrameRateRange({
+    required this.min,
+    required this.max,
+  });
+
+  int min;
+  int max;
+}
+
+class QualitySelectorData {
+  QualitySelectorData({
+    required this.qualities,
+    this.fallbackRule,
+    this.fallbackQuality,
+  });
+
+  List<int?> qualities;
+  int? fallbackRule;
+  int? fallbackQuality;
+}
+
 @HostApi(dartHostTestHandler: 'TestJavaObjectHostApi')
 abstract class JavaObjectHostApi {
   void dispose(int identifier);
@@ -46,14 +102,20 @@ abstract class JavaObjectFlutterApi {
   void dispose(int identifier);
 }
 
+// Methods that only act on instances Dart already received from the host can
+// run on a background task queue. Methods that create instances or use them on
+// the platform thread stay there, so that they run in the order Dart sent them.
 @HostApi(dartHostTestHandler: 'TestCameraInfoHostApi')
 abstract class CameraInfoHostApi {
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   int getSensorRotationDegrees(int identifier);
 }
 
 @FlutterApi()
 abstract class CameraInfoFlutterApi {
   void create(int identifier);
+
+  void createAll(List<int> identifiers);
 }
 
 @HostApi(dartHostTestHandler: 'TestCameraSelectorHostApi')
@@ -108,3 +170,73 @@ abstract class SystemServicesHostApi {
 abstract class SystemServicesFlutterApi {
   void onDeviceOrientationChanged(String orientation);
 }
+
+@HostApi(dartHostTestHandler: 'TestImageAnalysisHostApi')
+abstract class ImageAnalysisHostApi {
+  void create(int identifier, ResolutionInfo? targetResolution,
+      int? backpressureStrategy, int? imageQueueDepth, int? outputImageFormat);
+
+  void setAnalyzer(int identifier);
+
+  void clearAnalyzer(int identifier);
+}
+
+@FlutterApi()
+abstract class ImageAnalysisFlutterApi {
+  void onImageAnalyzed(int identifier, ImageProxyData image);
+}
+
+@HostApi(dartHostTestHandler: 'TestPreviewHostApi')
+abstract class PreviewHostApi {
+  void create(int identifier, int? targetRotation,
+      ResolutionInfo? targetResolution, FrameRateRange? targetFrameRate);
+
+  int setSurfaceProvider(int identifier);
+
+  void releaseFlutterSurfaceTexture();
+
+  ResolutionInfo getResolutionInfo(int identifier);
+}
+
+@HostApi(dartHostTestHandler: 'TestImageCaptureHostApi')
+abstract class ImageCaptureHostApi {
+  void create(int identifier, int? flashMode, int? captureMode,
+      ResolutionInfo? targetResolution);
+
+  void setFlashMode(int identifier, int flashMode);
+
+  @async
+  String takePicture(int identifier, String filePath);
+
+  @async
+  ImageProxyData takePictureToMemory(int identifier);
+}
+
+@HostApi(dartHostTestHandler: 'TestRecorderHostApi')
+abstract class RecorderHostApi {
+  void create(
+      int identifier, int? aspectRatio, QualitySelectorData? qualitySelector);
+
+  int start(int identifier, String filePath, bool enableAudio);
+}
+
+@HostApi(dartHostTestHandler: 'TestVideoCaptureHostApi')
+abstract class VideoCaptureHostApi {
+  void create(int identifier, int recorderIdentifier);
+}
+
+@HostApi(dartHostTestHandler: 'TestRecordingHostApi')
+abstract class RecordingHostApi {
+  void pause(int identifier);
+
+  void resume(int identifier);
+
+  void stop(int identifier);
+}
+
+@FlutterApi()
+abstract class RecordingFlutterApi {
+  void create(int identifier);
+
+  void onFinalized(int identifier, int error, String? errorMessage);
+}
@@ -56,5 +56,21 @@ void main() {
       expect(
           instanceManager.getInstanceWithWeakReference(0), isA<CameraInfo>());
     });
+
+    test('flutterApiCreateAllTest', () {
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final CameraInfoFlutterApi flutterApi = CameraInfoFlutterApiImpl(
+        instanceManager: instanceManager,
+      );
+
+      flutterApi.createAll(<int>[0, 1]);
+
+      expect(
+          instanceManager.getInstanceWithWeakReference(0), isA<CameraInfo>());
+      expect(
+          instanceManager.getInstanceWithWeakReference(1), isA<CameraInfo>());
+    });
   });
 }
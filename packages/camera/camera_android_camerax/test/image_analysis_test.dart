@@ -0,0 +1,140 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:camera_android_camerax/src/camerax_library.g.dart';
+import 'package:camera_android_camerax/src/image_analysis.dart';
+import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'image_analysis_test.mocks.dart';
+import 'test_camerax_library.g.dart';
+
+@GenerateMocks(<Type>[TestImageAnalysisHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('ImageAnalysis', () {
+    tearDown(() => TestImageAnalysisHostApi.setup(null));
+
+    test('detachedCreateTest', () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      ImageAnalysis.detached(
+        instanceManager: instanceManager,
+      );
+
+      verifyNever(mockApi.create(argThat(isA<int>()), null, null, null, null));
+    });
+
+    test('createTest', () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      ImageAnalysis(
+        instanceManager: instanceManager,
+        targetResolution: ResolutionInfo(width: 640, height: 480),
+        backpressureStrategy: ImageAnalysis.STRATEGY_BLOCK_PRODUCER,
+        imageQueueDepth: 4,
+        outputImageFormat: ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888,
+      );
+
+      final VerificationResult createVerification = verify(mockApi.create(
+          argThat(isA<int>()),
+          captureAny,
+          ImageAnalysis.STRATEGY_BLOCK_PRODUCER,
+          4,
+          ImageAnalysis.OUTPUT_IMAGE_FORMAT_RGBA_8888));
+      final ResolutionInfo targetResolution =
+          createVerification.captured.single as ResolutionInfo;
+      expect(targetResolution.width, equals(640));
+      expect(targetResolution.height, equals(480));
+    });
+
+    test('setAnalyzerTest', () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageAnalysis imageAnalysis = ImageAnalysis.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        imageAnalysis,
+        0,
+        onCopy: (_) => ImageAnalysis.detached(),
+      );
+
+      await imageAnalysis.setAnalyzer((AnalyzedImage image) {});
+      await imageAnalysis.clearAnalyzer();
+
+      verifyInOrder(<Object?>[
+        mockApi.setAnalyzer(0),
+        mockApi.clearAnalyzer(0),
+      ]);
+    });
+
+    test('flutterApiOnImageAnalyzedTest', () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageAnalysis imageAnalysis = ImageAnalysis.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        imageAnalysis,
+        0,
+        onCopy: (_) => ImageAnalysis.detached(),
+      );
+      final List<AnalyzedImage> images = <AnalyzedImage>[];
+      await imageAnalysis.setAnalyzer(images.add);
+
+      final ImageAnalysisFlutterApiImpl flutterApi =
+          ImageAnalysisFlutterApiImpl(instanceManager: instanceManager);
+      flutterApi.onImageAnalyzed(
+          0,
+          ImageProxyData(
+            width: 4,
+            height: 2,
+            format: 35,
+            rotationDegrees: 90,
+            timestamp: 1234,
+            bytes: Uint8List.fromList(<int>[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]),
+            planeLengths: <int>[8, 2],
+            planeRowStrides: <int>[4, 2],
+            planePixelStrides: <int>[1, 2],
+          ));
+
+      final AnalyzedImage image = images.single;
+      expect(image.width, equals(4));
+      expect(image.height, equals(2));
+      expect(image.rotationDegrees, equals(90));
+      expect(image.timestamp, equals(1234));
+      expect(image.planes, hasLength(2));
+      expect(image.planes[0].bytes, equals(<int>[0, 1, 2, 3, 4, 5, 6, 7]));
+      expect(image.planes[0].bytesPerRow, equals(4));
+      expect(image.planes[1].bytes, equals(<int>[8, 9]));
+      expect(image.planes[1].bytesPerPixel, equals(2));
+    });
+  });
+}
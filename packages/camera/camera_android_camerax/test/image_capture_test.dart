@@ -0,0 +1,132 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:camera_android_camerax/src/camerax_library.g.dart';
+import 'package:camera_android_camerax/src/image_analysis.dart';
+import 'package:camera_android_camerax/src/image_capture.dart';
+import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'image_capture_test.mocks.dart';
+import 'test_camerax_library.g.dart';
+
+@GenerateMocks(<Type>[TestImageCaptureHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('ImageCapture', () {
+    tearDown(() => TestImageCaptureHostApi.setup(null));
+
+    test('detachedCreateTest', () async {
+      final MockTestImageCaptureHostApi mockApi =
+          MockTestImageCaptureHostApi();
+      TestImageCaptureHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      ImageCapture.detached(
+        instanceManager: instanceManager,
+      );
+
+      verifyNever(mockApi.create(argThat(isA<int>()), null, null, null));
+    });
+
+    test('createTest', () async {
+      final MockTestImageCaptureHostApi mockApi =
+          MockTestImageCaptureHostApi();
+      TestImageCaptureHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      ImageCapture(
+        instanceManager: instanceManager,
+        initialFlashMode: ImageCapture.FLASH_MODE_ON,
+        captureMode: ImageCapture.CAPTURE_MODE_MINIMIZE_LATENCY,
+        targetResolution: ResolutionInfo(width: 1920, height: 1080),
+      );
+
+      final VerificationResult createVerification = verify(mockApi.create(
+          argThat(isA<int>()),
+          ImageCapture.FLASH_MODE_ON,
+          ImageCapture.CAPTURE_MODE_MINIMIZE_LATENCY,
+          captureAny));
+      final ResolutionInfo targetResolution =
+          createVerification.captured.single as ResolutionInfo;
+      expect(targetResolution.width, equals(1920));
+      expect(targetResolution.height, equals(1080));
+    });
+
+    test('setFlashModeAndTakePictureTest', () async {
+      final MockTestImageCaptureHostApi mockApi =
+          MockTestImageCaptureHostApi();
+      TestImageCaptureHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageCapture imageCapture = ImageCapture.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        imageCapture,
+        0,
+        onCopy: (_) => ImageCapture.detached(),
+      );
+      when(mockApi.takePicture(0, '/tmp/picture.jpg'))
+          .thenAnswer((_) async => '/tmp/picture.jpg');
+
+      await imageCapture.setFlashMode(ImageCapture.FLASH_MODE_AUTO);
+      expect(await imageCapture.takePicture('/tmp/picture.jpg'),
+          equals('/tmp/picture.jpg'));
+
+      verifyInOrder(<Object?>[
+        mockApi.setFlashMode(0, ImageCapture.FLASH_MODE_AUTO),
+        mockApi.takePicture(0, '/tmp/picture.jpg'),
+      ]);
+    });
+
+    test('takePictureToMemoryTest', () async {
+      final MockTestImageCaptureHostApi mockApi =
+          MockTestImageCaptureHostApi();
+      TestImageCaptureHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageCapture imageCapture = ImageCapture.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        imageCapture,
+        0,
+        onCopy: (_) => ImageCapture.detached(),
+      );
+      final ImageProxyData data = ImageProxyData(
+        width: 640,
+        height: 480,
+        format: 256,
+        rotationDegrees: 0,
+        timestamp: 1234,
+        bytes: Uint8List.fromList(<int>[1, 2, 3]),
+        planeLengths: <int>[3],
+        planeRowStrides: <int>[0],
+        planePixelStrides: <int>[0],
+      );
+      when(mockApi.takePictureToMemory(0)).thenAnswer((_) async => data);
+
+      final AnalyzedImage image = await imageCapture.takePictureToMemory();
+
+      expect(image.width, equals(640));
+      expect(image.height, equals(480));
+      expect(image.format, equals(256));
+      expect(image.planes.single.bytes, equals(<int>[1, 2, 3]));
+    });
+  });
+}
@@ -0,0 +1,112 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_android_camerax/src/camerax_library.g.dart';
+import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:camera_android_camerax/src/preview.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'preview_test.mocks.dart';
+import 'test_camerax_library.g.dart';
+
+@GenerateMocks(<Type>[TestPreviewHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('Preview', () {
+    tearDown(() => TestPreviewHostApi.setup(null));
+
+    test('detachedCreateTest', () async {
+      final MockTestPreviewHostApi mockApi = MockTestPreviewHostApi();
+      TestPreviewHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      Preview.detached(
+        instanceManager: instanceManager,
+      );
+
+      verifyNever(mockApi.create(argThat(isA<int>()), null, null, null));
+    });
+
+    test('createTest', () async {
+      final MockTestPreviewHostApi mockApi = MockTestPreviewHostApi();
+      TestPreviewHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      Preview(
+        instanceManager: instanceManager,
+        targetRotation: 1,
+        targetResolution: ResolutionInfo(width: 1920, height: 1080),
+        targetFrameRate: FrameRateRange(min: 30, max: 60),
+      );
+
+      final VerificationResult createVerification = verify(
+          mockApi.create(argThat(isA<int>()), 1, captureAny, captureAny));
+      final ResolutionInfo targetResolution =
+          createVerification.captured[0] as ResolutionInfo;
+      final FrameRateRange targetFrameRate =
+          createVerification.captured[1] as FrameRateRange;
+      expect(targetResolution.width, equals(1920));
+      expect(targetResolution.height, equals(1080));
+      expect(targetFrameRate.min, equals(30));
+      expect(targetFrameRate.max, equals(60));
+    });
+
+    test('setSurfaceProviderTest', () async {
+      final MockTestPreviewHostApi mockApi = MockTestPreviewHostApi();
+      TestPreviewHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final Preview preview = Preview.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        preview,
+        0,
+        onCopy: (_) => Preview.detached(),
+      );
+      when(mockApi.setSurfaceProvider(0)).thenReturn(8);
+
+      expect(await preview.setSurfaceProvider(), equals(8));
+      await preview.releaseFlutterSurfaceTexture();
+
+      verifyInOrder(<Object?>[
+        mockApi.setSurfaceProvider(0),
+        mockApi.releaseFlutterSurfaceTexture(),
+      ]);
+    });
+
+    test('getResolutionInfoTest', () async {
+      final MockTestPreviewHostApi mockApi = MockTestPreviewHostApi();
+      TestPreviewHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final Preview preview = Preview.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        preview,
+        0,
+        onCopy: (_) => Preview.detached(),
+      );
+      when(mockApi.getResolutionInfo(0))
+          .thenReturn(ResolutionInfo(width: 1280, height: 720));
+
+      final ResolutionInfo resolutionInfo = await preview.getResolutionInfo();
+
+      expect(resolutionInfo.width, equals(1280));
+      expect(resolutionInfo.height, equals(720));
+    });
+  });
+}
@@ -0,0 +1,94 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_android_camerax/src/camerax_library.g.dart';
+import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:camera_android_camerax/src/recorder.dart';
+import 'package:camera_android_camerax/src/recording.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'recorder_test.mocks.dart';
+import 'test_camerax_library.g.dart';
+
+@GenerateMocks(<Type>[TestRecorderHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('Recorder', () {
+    tearDown(() => TestRecorderHostApi.setup(null));
+
+    test('detachedCreateTest', () async {
+      final MockTestRecorderHostApi mockApi = MockTestRecorderHostApi();
+      TestRecorderHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      Recorder.detached(
+        instanceManager: instanceManager,
+      );
+
+      verifyNever(mockApi.create(argThat(isA<int>()), null, null));
+    });
+
+    test('createTest', () async {
+      final MockTestRecorderHostApi mockApi = MockTestRecorderHostApi();
+      TestRecorderHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      Recorder(
+        instanceManager: instanceManager,
+        aspectRatio: 1,
+        qualitySelector: QualitySelectorData(
+          qualities: <int>[Recorder.QUALITY_FHD, Recorder.QUALITY_HD],
+          fallbackRule: Recorder.FALLBACK_LOWER_QUALITY_THAN,
+          fallbackQuality: Recorder.QUALITY_SD,
+        ),
+      );
+
+      final VerificationResult createVerification =
+          verify(mockApi.create(argThat(isA<int>()), 1, captureAny));
+      final QualitySelectorData qualitySelector =
+          createVerification.captured.single as QualitySelectorData;
+      expect(qualitySelector.qualities,
+          equals(<int>[Recorder.QUALITY_FHD, Recorder.QUALITY_HD]));
+      expect(qualitySelector.fallbackRule,
+          equals(Recorder.FALLBACK_LOWER_QUALITY_THAN));
+      expect(qualitySelector.fallbackQuality, equals(Recorder.QUALITY_SD));
+    });
+
+    test('startTest', () async {
+      final MockTestRecorderHostApi mockApi = MockTestRecorderHostApi();
+      TestRecorderHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final Recorder recorder = Recorder.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        recorder,
+        0,
+        onCopy: (_) => Recorder.detached(),
+      );
+      final Recording recording = Recording.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        recording,
+        1,
+        onCopy: (_) => Recording.detached(),
+      );
+      when(mockApi.start(0, '/tmp/video.mp4', true)).thenReturn(1);
+
+      expect(await recorder.start('/tmp/video.mp4', enableAudio: true),
+          equals(recording));
+    });
+  });
+}
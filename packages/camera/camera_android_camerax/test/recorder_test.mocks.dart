@@ -0,0 +1,65 @@
+// Mocks generated by Mockito 5.3.2 from annotations
+// in camera_android_camerax/test/recorder_test.dart.
+// Do not manually edit this file.
+
+// ignore_for_file: no_leading_underscores_for_library_prefixes
+import 'package:camera_android_camerax/src/camerax_library.g.dart' as _i3;
+import 'package:mockito/mockito.dart' as _i1;
+
+import 'test_camerax_library.g.dart' as _i2;
+
+// ignore_for_file: type=lint
+// ignore_for_file: avoid_redundant_argument_values
+// ignore_for_file: avoid_setters_without_getters
+// ignore_for_file: comment_references
+// ignore_for_file: implementation_imports
+// ignore_for_file: invalid_use_of_visible_for_testing_member
+// ignore_for_file: prefer_const_constructors
+// ignore_for_file: unnecessary_parenthesis
+// ignore_for_file: camel_case_types
+// ignore_for_file: subtype_of_sealed_class
+
+/// A class which mocks [TestRecorderHostApi].
+///
+/// See the documentation for Mockito's code generation for more information.
+class MockTestRecorderHostApi extends _i1.Mock
+    implements _i2.TestRecorderHostApi {
+  MockTestRecorderHostApi() {
+    _i1.throwOnMissingStub(this);
+  }
+
+  @override
+  void create(
+    int? identifier,
+    int? aspectRatio,
+    _i3.QualitySelectorData? qualitySelector,
+  ) =>
+      super.noSuchMethod(
+        Invocation.method(
+          #create,
+          [
+            identifier,
+            aspectRatio,
+            qualitySelector,
+          ],
+        ),
+        returnValueForMissingStub: null,
+      );
+  @override
+  int start(
+    int? identifier,
+    String? filePath,
+    bool? enableAudio,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #start,
+          [
+            identifier,
+            filePath,
+            enableAudio,
+          ],
+        ),
+        returnValue: 0,
+      ) as int);
+}
@@ -0,0 +1,89 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_android_camerax/src/instance_manager.dart';
+import 'package:camera_android_camerax/src/recording.dart';
+import 'package:flutter/services.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:mockito/annotations.dart';
+import 'package:mockito/mockito.dart';
+
+import 'recording_test.mocks.dart';
+import 'test_camerax_library.g.dart';
+
+@GenerateMocks(<Type>[TestRecordingHostApi])
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('Recording', () {
+    tearDown(() => TestRecordingHostApi.setup(null));
+
+    test('pauseResumeStopTest', () async {
+      final MockTestRecordingHostApi mockApi = MockTestRecordingHostApi();
+      TestRecordingHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final Recording recording = Recording.detached(
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        recording,
+        0,
+        onCopy: (_) => Recording.detached(),
+      );
+
+      await recording.pause();
+      await recording.resume();
+      await recording.stop();
+
+      verifyInOrder(<Object?>[
+        mockApi.pause(0),
+        mockApi.resume(0),
+        mockApi.stop(0),
+      ]);
+    });
+
+    test('flutterApiCreateTest', () {
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final RecordingFlutterApiImpl flutterApi = RecordingFlutterApiImpl(
+        instanceManager: instanceManager,
+      );
+
+      flutterApi.create(0);
+
+      expect(
+          instanceManager.getInstanceWithWeakReference(0), isA<Recording>());
+    });
+
+    test('flutterApiOnFinalizedTest', () async {
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final RecordingFlutterApiImpl flutterApi = RecordingFlutterApiImpl(
+        instanceManager: instanceManager,
+      );
+
+      flutterApi.create(0);
+      flutterApi.create(1);
+      final Recording recording =
+          instanceManager.getInstanceWithWeakReference(0)! as Recording;
+      final Recording failedRecording =
+          instanceManager.getInstanceWithWeakReference(1)! as Recording;
+      flutterApi.onFinalized(0, 0, null);
+      flutterApi.onFinalized(1, 8, 'No space left.');
+
+      await expectLater(recording.finalized, completes);
+      await expectLater(
+          failedRecording.finalized,
+          throwsA(isA<PlatformException>()
+              .having((PlatformException e) => e.code, 'code', '8')
+              .having((PlatformException e) => e.message, 'message',
+                  'No space left.')));
+    });
+  });
+}
@@ -55,13 +55,33 @@ class CirclesController {
       if (rawCircleId == null) {
         continue;
       }
-      String circleId = (String) rawCircleId;
-      final CircleController circleController = circleIdToController.remove(circleId);
+      removeCircle((String) rawCircleId);
+    }
+  }
+
+  /**
+   * Applies the updates read by {@code updates} in a single pass, see {@link
+   * MapObjectUpdatesDecoder}.
+   */
+  void updateCircles(MapObjectUpdatesDecoder updates) {
+    for (int count = updates.readCount(); count > 0; count--) {
+      final String circleId = updates.readId();
+      final CircleBuilder circleBuilder = new CircleBuilder(density);
+      updates.interpretCircleOptions(circleBuilder);
+      addCircle(circleId, circleBuilder.build(), circleBuilder.consumeTapEvents());
+    }
+    for (int count = updates.readCount(); count > 0; count--) {
+      final CircleController circleController = circleIdToController.get(updates.readId());
       if (circleController != null) {
-        circleController.remove();
-        googleMapsCircleIdToDartCircleId.remove(circleController.getGoogleMapsCircleId());
+        updates.interpretCircleOptions(circleController);
+      } else {
+        // The options of unknown circles are still read, to move on to the next circle.
+        updates.interpretCircleOptions(new CircleBuilder(density));
       }
     }
+    for (int count = updates.readCount(); count > 0; count--) {
+      removeCircle(updates.readId());
+    }
   }
 
   boolean onCircleTap(String googleCircleId) {
@@ -105,6 +125,14 @@ class CirclesController {
     }
   }
 
+  private void removeCircle(String circleId) {
+    final CircleController circleController = circleIdToController.remove(circleId);
+    if (circleController != null) {
+      circleController.remove();
+      googleMapsCircleIdToDartCircleId.remove(circleController.getGoogleMapsCircleId());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static String getCircleId(Object circle) {
     Map<String, Object> circleMap = (Map<String, Object>) circle;
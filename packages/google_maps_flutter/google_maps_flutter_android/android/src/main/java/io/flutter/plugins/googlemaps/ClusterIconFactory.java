@@ -0,0 +1,66 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Draws the icons of the markers standing for clusters of markers. */
+class ClusterIconFactory {
+  // Clusters of at least 10 markers are labeled with the largest bucket they reach, e.g. "50+",
+  // so that few icons are drawn.
+  private static final int[] BUCKETS = {10, 20, 50, 100, 200, 500, 1000};
+  private static final int COLOR = 0xFF1A73E8;
+  private static final float DIAMETER = 40;
+  private static final float TEXT_SIZE = 14;
+
+  private final Map<String, BitmapDescriptor> icons = new HashMap<>();
+
+  /** Returns the icon of a cluster of {@code size} markers. */
+  BitmapDescriptor getIcon(int size) {
+    final String label = getLabel(size);
+    BitmapDescriptor icon = icons.get(label);
+    if (icon == null) {
+      icon = BitmapDescriptorFactory.fromBitmap(drawIcon(label));
+      icons.put(label, icon);
+    }
+    return icon;
+  }
+
+  static String getLabel(int size) {
+    for (int i = BUCKETS.length - 1; i >= 0; i--) {
+      if (size >= BUCKETS[i]) {
+        return BUCKETS[i] + "+";
+      }
+    }
+    return String.valueOf(size);
+  }
+
+  private static Bitmap drawIcon(String label) {
+    final float density = Resources.getSystem().getDisplayMetrics().density;
+    final int diameter = (int) (DIAMETER * density);
+    final float radius = diameter / 2f;
+    final Bitmap bitmap = Bitmap.createBitmap(diameter, diameter, Bitmap.Config.ARGB_8888);
+    final Canvas canvas = new Canvas(bitmap);
+
+    final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    paint.setColor(COLOR);
+    canvas.drawCircle(radius, radius, radius, paint);
+
+    paint.setColor(Color.WHITE);
+    paint.setTextSize(TEXT_SIZE * density);
+    paint.setTextAlign(Paint.Align.CENTER);
+    paint.setFakeBoldText(true);
+    canvas.drawText(label, radius, radius - (paint.descent() + paint.ascent()) / 2, paint);
+    return bitmap;
+  }
+}
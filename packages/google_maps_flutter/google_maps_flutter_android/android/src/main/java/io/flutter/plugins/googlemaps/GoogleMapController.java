@@ -305,12 +305,18 @@ final class GoogleMapController
       case "markers#update":
         {
           invalidateMapIfNeeded();
-          List<Object> markersToAdd = call.argument("markersToAdd");
-          markersController.addMarkers(markersToAdd);
-          List<Object> markersToChange = call.argument("markersToChange");
-          markersController.changeMarkers(markersToChange);
-          List<Object> markerIdsToRemove = call.argument("markerIdsToRemove");
-          markersController.removeMarkers(markerIdsToRemove);
+          final byte[] encodedUpdates = call.argument("encodedUpdates");
+          if (encodedUpdates != null) {
+            markersController.updateMarkers(
+                new MapObjectUpdatesDecoder(encodedUpdates, call.argument("bitmaps")));
+          } else {
+            List<Object> markersToAdd = call.argument("markersToAdd");
+            markersController.addMarkers(markersToAdd);
+            List<Object> markersToChange = call.argument("markersToChange");
+            markersController.changeMarkers(markersToChange);
+            List<Object> markerIdsToRemove = call.argument("markerIdsToRemove");
+            markersController.removeMarkers(markerIdsToRemove);
+          }
           result.success(null);
           break;
         }
@@ -335,36 +341,54 @@ final class GoogleMapController
       case "polygons#update":
         {
           invalidateMapIfNeeded();
-          List<Object> polygonsToAdd = call.argument("polygonsToAdd");
-          polygonsController.addPolygons(polygonsToAdd);
-          List<Object> polygonsToChange = call.argument("polygonsToChange");
-          polygonsController.changePolygons(polygonsToChange);
-          List<Object> polygonIdsToRemove = call.argument("polygonIdsToRemove");
-          polygonsController.removePolygons(polygonIdsToRemove);
+          final byte[] encodedUpdates = call.argument("encodedUpdates");
+          if (encodedUpdates != null) {
+            polygonsController.updatePolygons(
+                new MapObjectUpdatesDecoder(encodedUpdates, call.argument("bitmaps")));
+          } else {
+            List<Object> polygonsToAdd = call.argument("polygonsToAdd");
+            polygonsController.addPolygons(polygonsToAdd);
+            List<Object> polygonsToChange = call.argument("polygonsToChange");
+            polygonsController.changePolygons(polygonsToChange);
+            List<Object> polygonIdsToRemove = call.argument("polygonIdsToRemove");
+            polygonsController.removePolygons(polygonIdsToRemove);
+          }
           result.success(null);
           break;
         }
       case "polylines#update":
         {
           invalidateMapIfNeeded();
-          List<Object> polylinesToAdd = call.argument("polylinesToAdd");
-          polylinesController.addPolylines(polylinesToAdd);
-          List<Object> polylinesToChange = call.argument("polylinesToChange");
-          polylinesController.changePolylines(polylinesToChange);
-          List<Object> polylineIdsToRemove = call.argument("polylineIdsToRemove");
-          polylinesController.removePolylines(polylineIdsToRemove);
+          final byte[] encodedUpdates = call.argument("encodedUpdates");
+          if (encodedUpdates != null) {
+            polylinesController.updatePolylines(
+                new MapObjectUpdatesDecoder(encodedUpdates, call.argument("bitmaps")));
+          } else {
+            List<Object> polylinesToAdd = call.argument("polylinesToAdd");
+            polylinesController.addPolylines(polylinesToAdd);
+            List<Object> polylinesToChange = call.argument("polylinesToChange");
+            polylinesController.changePolylines(polylinesToChange);
+            List<Object> polylineIdsToRemove = call.argument("polylineIdsToRemove");
+            polylinesController.removePolylines(polylineIdsToRemove);
+          }
           result.success(null);
           break;
         }
       case "circles#update":
         {
           invalidateMapIfNeeded();
-          List<Object> circlesToAdd = call.argument("circlesToAdd");
-          circlesController.addCircles(circlesToAdd);
-          List<Object> circlesToChange = call.argument("circlesToChange");
-          circlesController.changeCircles(circlesToChange);
-          List<Object> circleIdsToRemove = call.argument("circleIdsToRemove");
-          circlesController.removeCircles(circleIdsToRemove);
+          final byte[] encodedUpdates = call.argument("encodedUpdates");
+          if (encodedUpdates != null) {
+            circlesController.updateCircles(
+                new MapObjectUpdatesDecoder(encodedUpdates, call.argument("bitmaps")));
+          } else {
+            List<Object> circlesToAdd = call.argument("circlesToAdd");
+            circlesController.addCircles(circlesToAdd);
+            List<Object> circlesToChange = call.argument("circlesToChange");
+            circlesController.changeCircles(circlesToChange);
+            List<Object> circleIdsToRemove = call.argument("circleIdsToRemove");
+            circlesController.removeCircles(circleIdsToRemove);
+          }
           result.success(null);
           break;
         }
@@ -529,6 +553,7 @@ final class GoogleMapController
 
   @Override
   public void onCameraIdle() {
+    markersController.onCameraIdle();
     methodChannel.invokeMethod("camera#onIdle", Collections.singletonMap("map", id));
   }
 
@@ -788,6 +813,10 @@ final class GoogleMapController
     }
   }
 
+  void setClusterMarkers(boolean clusterMarkers) {
+    markersController.setClusteringEnabled(clusterMarkers);
+  }
+
   @Override
   public void setInitialMarkers(Object initialMarkers) {
     ArrayList<?> markers = (ArrayList<?>) initialMarkers;
@@ -39,6 +39,9 @@ public class GoogleMapFactory extends PlatformViewFactory {
       CameraPosition position = Convert.toCameraPosition(params.get("initialCameraPosition"));
       builder.setInitialCameraPosition(position);
     }
+    if (params.containsKey("clusterMarkers")) {
+      builder.setClusterMarkers((Boolean) params.get("clusterMarkers"));
+    }
     if (params.containsKey("markersToAdd")) {
       builder.setInitialMarkers(params.get("markersToAdd"));
     }
@@ -0,0 +1,251 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.ButtCap;
+import com.google.android.gms.maps.model.Cap;
+import com.google.android.gms.maps.model.CustomCap;
+import com.google.android.gms.maps.model.Dash;
+import com.google.android.gms.maps.model.Dot;
+import com.google.android.gms.maps.model.Gap;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.PatternItem;
+import com.google.android.gms.maps.model.RoundCap;
+import com.google.android.gms.maps.model.SquareCap;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the updates of map objects sent by the Dart side of the plugin to the {@code *#update}
+ * methods, see map_object_updates_encoder.dart for the layout of the encoded updates.
+ *
+ * <p>Updates are read in a single pass and in the order they were written: {@link #readCount()}
+ * returns the number of objects to add, each one read with {@link #readId()} then one of the {@code
+ * interpret*Options} methods, then the number of objects to change, read the same way, then the
+ * number of ids of objects to remove, each one read with {@link #readId()}.
+ */
+class MapObjectUpdatesDecoder {
+  static final int FORMAT_VERSION = 1;
+
+  private static final int CAP_BUTT = 0;
+  private static final int CAP_ROUND = 1;
+  private static final int CAP_SQUARE = 2;
+  private static final int CAP_CUSTOM = 3;
+  private static final int PATTERN_ITEM_DOT = 0;
+  private static final int PATTERN_ITEM_DASH = 1;
+  private static final int PATTERN_ITEM_GAP = 2;
+
+  private final ByteBuffer buffer;
+  private final String[] strings;
+  private final double[] coordinates;
+  private int coordinateIndex = 0;
+  private final List<?> bitmaps;
+  // Bitmaps are decoded once, when first read.
+  private final BitmapDescriptor[] bitmapDescriptors;
+
+  MapObjectUpdatesDecoder(byte[] encodedUpdates, List<?> bitmaps) {
+    this.buffer = ByteBuffer.wrap(encodedUpdates).order(ByteOrder.nativeOrder());
+    final int formatVersion = buffer.get();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IllegalArgumentException(
+          "Cannot interpret map object updates of version " + formatVersion);
+    }
+
+    this.strings = new String[buffer.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      final int length = buffer.getInt();
+      strings[i] = new String(encodedUpdates, buffer.position(), length, StandardCharsets.UTF_8);
+      buffer.position(buffer.position() + length);
+    }
+
+    this.coordinates = new double[buffer.getInt()];
+    readAlignment(8);
+    buffer.asDoubleBuffer().get(coordinates);
+    buffer.position(buffer.position() + coordinates.length * 8);
+
+    this.bitmaps = bitmaps;
+    this.bitmapDescriptors = new BitmapDescriptor[bitmaps.size()];
+  }
+
+  /** Returns the number of objects or ids of the next section of the updates. */
+  int readCount() {
+    return buffer.getInt();
+  }
+
+  /** Returns the id of the next object, or the next id of an object to remove. */
+  String readId() {
+    final String id = readString();
+    if (id == null) {
+      throw new IllegalArgumentException("id was null");
+    }
+    return id;
+  }
+
+  void interpretMarkerOptions(MarkerOptionsSink sink) {
+    sink.setAlpha(readFloat());
+    sink.setAnchor(readFloat(), readFloat());
+    final int flags = buffer.get();
+    sink.setConsumeTapEvents((flags & 1) != 0);
+    sink.setDraggable((flags & 1 << 1) != 0);
+    sink.setFlat((flags & 1 << 2) != 0);
+    sink.setIcon(readBitmapDescriptor());
+    final String title = readString();
+    final String snippet = readString();
+    // snippet is nullable.
+    if (title != null) {
+      sink.setInfoWindowText(title, snippet);
+    }
+    sink.setInfoWindowAnchor(readFloat(), readFloat());
+    sink.setPosition(readLatLng());
+    sink.setRotation(readFloat());
+    sink.setVisible((flags & 1 << 3) != 0);
+    sink.setZIndex(readFloat());
+  }
+
+  void interpretPolygonOptions(PolygonOptionsSink sink) {
+    final int flags = buffer.get();
+    sink.setConsumeTapEvents((flags & 1) != 0);
+    sink.setGeodesic((flags & 1 << 1) != 0);
+    sink.setVisible((flags & 1 << 2) != 0);
+    sink.setFillColor(buffer.getInt());
+    sink.setStrokeColor(buffer.getInt());
+    sink.setStrokeWidth(buffer.getInt());
+    sink.setZIndex(readFloat());
+    sink.setPoints(readPoints());
+    final int holeCount = buffer.getInt();
+    final List<List<LatLng>> holes = new ArrayList<>(holeCount);
+    for (int i = 0; i < holeCount; i++) {
+      holes.add(readPoints());
+    }
+    sink.setHoles(holes);
+  }
+
+  void interpretPolylineOptions(PolylineOptionsSink sink) {
+    final int flags = buffer.get();
+    sink.setConsumeTapEvents((flags & 1) != 0);
+    sink.setGeodesic((flags & 1 << 1) != 0);
+    sink.setVisible((flags & 1 << 2) != 0);
+    sink.setColor(buffer.getInt());
+    sink.setStartCap(readCap());
+    sink.setEndCap(readCap());
+    sink.setJointType(buffer.getInt());
+    sink.setWidth(buffer.getInt());
+    sink.setZIndex(readFloat());
+    sink.setPoints(readPoints());
+    sink.setPattern(readPattern());
+  }
+
+  void interpretCircleOptions(CircleOptionsSink sink) {
+    final int flags = buffer.get();
+    sink.setConsumeTapEvents((flags & 1) != 0);
+    sink.setVisible((flags & 1 << 1) != 0);
+    sink.setFillColor(buffer.getInt());
+    sink.setStrokeColor(buffer.getInt());
+    sink.setStrokeWidth(buffer.getInt());
+    sink.setZIndex(readFloat());
+    sink.setCenter(readLatLng());
+    sink.setRadius(readDouble());
+  }
+
+  private String readString() {
+    final int index = buffer.getInt();
+    return index == -1 ? null : strings[index];
+  }
+
+  private float readFloat() {
+    return (float) readDouble();
+  }
+
+  private double readDouble() {
+    readAlignment(8);
+    return buffer.getDouble();
+  }
+
+  // Skips the padding WriteBuffer writes before float64 values, which are aligned to 8 bytes.
+  // The records start right after the coordinates, so they are aligned to 8 bytes as well and
+  // their padding is the same whether counted from their start or from the start of the buffer.
+  private void readAlignment(int alignment) {
+    final int mod = buffer.position() % alignment;
+    if (mod != 0) {
+      buffer.position(buffer.position() + alignment - mod);
+    }
+  }
+
+  private LatLng readLatLng() {
+    final LatLng latLng =
+        new LatLng(coordinates[coordinateIndex], coordinates[coordinateIndex + 1]);
+    coordinateIndex += 2;
+    return latLng;
+  }
+
+  private List<LatLng> readPoints() {
+    final int count = buffer.getInt();
+    final List<LatLng> points = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      points.add(readLatLng());
+    }
+    return points;
+  }
+
+  private BitmapDescriptor readBitmapDescriptor() {
+    return getBitmapDescriptor(buffer.getInt());
+  }
+
+  private BitmapDescriptor getBitmapDescriptor(int index) {
+    if (bitmapDescriptors[index] == null) {
+      bitmapDescriptors[index] = Convert.toBitmapDescriptor(bitmaps.get(index));
+    }
+    return bitmapDescriptors[index];
+  }
+
+  private Cap readCap() {
+    final int type = buffer.get();
+    final int bitmapIndex = buffer.getInt();
+    final float refWidth = readFloat();
+    switch (type) {
+      case CAP_BUTT:
+        return new ButtCap();
+      case CAP_ROUND:
+        return new RoundCap();
+      case CAP_SQUARE:
+        return new SquareCap();
+      case CAP_CUSTOM:
+        return new CustomCap(getBitmapDescriptor(bitmapIndex), refWidth);
+      default:
+        throw new IllegalArgumentException("Cannot interpret " + type + " as Cap");
+    }
+  }
+
+  private List<PatternItem> readPattern() {
+    final int count = buffer.getInt();
+    if (count == 0) {
+      return null;
+    }
+
+    final List<PatternItem> pattern = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final int type = buffer.get();
+      final float length = readFloat();
+      switch (type) {
+        case PATTERN_ITEM_DOT:
+          pattern.add(new Dot());
+          break;
+        case PATTERN_ITEM_DASH:
+          pattern.add(new Dash(length));
+          break;
+        case PATTERN_ITEM_GAP:
+          pattern.add(new Gap(length));
+          break;
+        default:
+          throw new IllegalArgumentException("Cannot interpret " + type + " as PatternItem");
+      }
+    }
+    return pattern;
+  }
+}
@@ -0,0 +1,130 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the markers that are close to each other at a zoom level into clusters.
+ *
+ * <p>Marker positions are projected once on the square of the Mercator projection of the map. At
+ * each zoom level, markers are grouped by the cell of a grid whose cells are {@code cellSize}
+ * density-independent pixels wide at that zoom level. The clusters of a zoom level are computed
+ * once, on the first call to {@link #getClusters(int)}, which can be made from any thread.
+ */
+final class MarkerClusterIndex {
+  /** The markers of a cell of the grid, a single marker being shown as is. */
+  static final class Cluster {
+    final LatLng position;
+    final List<String> markerIds;
+
+    Cluster(LatLng position, List<String> markerIds) {
+      this.position = position;
+      this.markerIds = markerIds;
+    }
+  }
+
+  // The projected map is 256 density-independent pixels wide at zoom level 0.
+  private static final double WORLD_SIZE = 256;
+
+  private final String[] markerIds;
+  private final LatLng[] positions;
+  private final double cellSize;
+
+  // Guarded by this, computed on the first call to getClusters.
+  private double[] xs;
+  private double[] ys;
+  private final Map<Integer, List<Cluster>> clustersByZoom = new HashMap<>();
+
+  MarkerClusterIndex(String[] markerIds, LatLng[] positions, double cellSize) {
+    this.markerIds = markerIds;
+    this.positions = positions;
+    this.cellSize = cellSize;
+  }
+
+  /** Returns the clusters of the markers at {@code zoom}. */
+  synchronized List<Cluster> getClusters(int zoom) {
+    List<Cluster> clusters = clustersByZoom.get(zoom);
+    if (clusters == null) {
+      clusters = Collections.unmodifiableList(computeClusters(zoom));
+      clustersByZoom.put(zoom, clusters);
+    }
+    return clusters;
+  }
+
+  private List<Cluster> computeClusters(int zoom) {
+    if (xs == null) {
+      project();
+    }
+
+    final long cellCount = Math.max(1, (long) (WORLD_SIZE * Math.pow(2, zoom) / cellSize));
+    final Map<Long, Cell> cells = new LinkedHashMap<>();
+    for (int i = 0; i < markerIds.length; i++) {
+      final long cellX = Math.min(cellCount - 1, (long) (xs[i] * cellCount));
+      final long cellY = Math.min(cellCount - 1, (long) (ys[i] * cellCount));
+      final Long key = cellX * cellCount + cellY;
+      Cell cell = cells.get(key);
+      if (cell == null) {
+        cell = new Cell();
+        cells.put(key, cell);
+      }
+      cell.add(i);
+    }
+
+    final List<Cluster> clusters = new ArrayList<>(cells.size());
+    for (Cell cell : cells.values()) {
+      clusters.add(cell.toCluster());
+    }
+    return clusters;
+  }
+
+  private void project() {
+    xs = new double[positions.length];
+    ys = new double[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      xs[i] = positions[i].longitude / 360 + 0.5;
+      // Latitudes are clamped to the ones of the square map, about 85 degrees north and south.
+      final double sinLatitude =
+          Math.min(Math.max(Math.sin(Math.toRadians(positions[i].latitude)), -0.9999), 0.9999);
+      ys[i] = 0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI);
+    }
+  }
+
+  private final class Cell {
+    private final List<Integer> indexes = new ArrayList<>(1);
+    private double sumX;
+    private double sumY;
+
+    void add(int index) {
+      indexes.add(index);
+      sumX += xs[index];
+      sumY += ys[index];
+    }
+
+    Cluster toCluster() {
+      if (indexes.size() == 1) {
+        final int index = indexes.get(0);
+        return new Cluster(positions[index], Collections.singletonList(markerIds[index]));
+      }
+
+      final List<String> clusterMarkerIds = new ArrayList<>(indexes.size());
+      for (int index : indexes) {
+        clusterMarkerIds.add(markerIds[index]);
+      }
+      // Clusters are shown at the center of their markers on the projected map.
+      final double x = sumX / indexes.size();
+      final double y = sumY / indexes.size();
+      final double latitude =
+          Math.toDegrees(2 * Math.atan(Math.exp((0.5 - y) * 2 * Math.PI)) - Math.PI / 2);
+      return new Cluster(new LatLng(latitude, (x - 0.5) * 360), clusterMarkerIds);
+    }
+  }
+}
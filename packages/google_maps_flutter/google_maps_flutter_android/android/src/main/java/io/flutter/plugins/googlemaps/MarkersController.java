@@ -4,32 +4,86 @@
 
 package io.flutter.plugins.googlemaps;
 
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import io.flutter.plugin.common.MethodChannel;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 class MarkersController {
+  // The width of the cells of the grid markers are clustered by, in density-independent pixels.
+  private static final double CLUSTER_CELL_SIZE = 100;
 
   private final Map<String, MarkerController> markerIdToController;
   private final Map<String, String> googleMapsMarkerIdToDartMarkerId;
   private final MethodChannel methodChannel;
   private GoogleMap googleMap;
 
+  // When clustering, all the markers are kept in clusteredMarkers, and markerIdToController only
+  // holds the markers that are shown on their own on the map.
+  private final ClusterIconFactory clusterIconFactory;
+  private final Executor clusteringExecutor;
+  private final Executor mainThreadExecutor;
+  private boolean clusteringEnabled;
+  private final Map<String, MarkerBuilder> clusteredMarkers = new HashMap<>();
+  private final Map<String, MarkerClusterIndex.Cluster> googleMapsMarkerIdToCluster =
+      new HashMap<>();
+  private final List<Marker> clusterMarkers = new ArrayList<>();
+  private MarkerClusterIndex clusterIndex;
+  private int clusterZoom = -1;
+  private int clusteringGeneration;
+  private boolean clusteringScheduled;
+
   MarkersController(MethodChannel methodChannel) {
+    this(
+        methodChannel,
+        new ClusterIconFactory(),
+        new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>()),
+        command -> new Handler(Looper.getMainLooper()).post(command));
+  }
+
+  @VisibleForTesting
+  MarkersController(
+      MethodChannel methodChannel,
+      ClusterIconFactory clusterIconFactory,
+      Executor clusteringExecutor,
+      Executor mainThreadExecutor) {
     this.markerIdToController = new HashMap<>();
     this.googleMapsMarkerIdToDartMarkerId = new HashMap<>();
     this.methodChannel = methodChannel;
+    this.clusterIconFactory = clusterIconFactory;
+    this.clusteringExecutor = clusteringExecutor;
+    this.mainThreadExecutor = mainThreadExecutor;
   }
 
   void setGoogleMap(GoogleMap googleMap) {
     this.googleMap = googleMap;
   }
 
+  /**
+   * Groups the markers that are close to each other at the zoom level of the camera into clusters,
+   * only the clusters and the markers left on their own being added to the map.
+   *
+   * <p>Must be called before markers are added.
+   */
+  void setClusteringEnabled(boolean clusteringEnabled) {
+    this.clusteringEnabled = clusteringEnabled;
+  }
+
   void addMarkers(List<Object> markersToAdd) {
     if (markersToAdd != null) {
       for (Object markerToAdd : markersToAdd) {
@@ -54,13 +108,39 @@ class MarkersController {
       if (rawMarkerId == null) {
         continue;
       }
-      String markerId = (String) rawMarkerId;
-      final MarkerController markerController = markerIdToController.remove(markerId);
-      if (markerController != null) {
-        markerController.remove();
-        googleMapsMarkerIdToDartMarkerId.remove(markerController.getGoogleMapsMarkerId());
+      removeMarker((String) rawMarkerId);
+    }
+  }
+
+  /**
+   * Applies the updates read by {@code updates} in a single pass, see {@link
+   * MapObjectUpdatesDecoder}.
+   */
+  void updateMarkers(MapObjectUpdatesDecoder updates) {
+    for (int count = updates.readCount(); count > 0; count--) {
+      final String markerId = updates.readId();
+      final MarkerBuilder markerBuilder = new MarkerBuilder();
+      updates.interpretMarkerOptions(markerBuilder);
+      addMarker(markerId, markerBuilder);
+    }
+    for (int count = updates.readCount(); count > 0; count--) {
+      final String markerId = updates.readId();
+      final MarkerBuilder clusteredMarker = clusteredMarkers.get(markerId);
+      final MarkerController markerController = markerIdToController.get(markerId);
+      if (clusteredMarker != null) {
+        final LatLng position = clusteredMarker.build().getPosition();
+        updates.interpretMarkerOptions(clusteredMarker);
+        onClusteredMarkerChanged(markerId, clusteredMarker, position);
+      } else if (markerController != null) {
+        updates.interpretMarkerOptions(markerController);
+      } else {
+        // The options of unknown markers are still read, to move on to the next marker.
+        updates.interpretMarkerOptions(new MarkerBuilder());
       }
     }
+    for (int count = updates.readCount(); count > 0; count--) {
+      removeMarker(updates.readId());
+    }
   }
 
   void showMarkerInfoWindow(String markerId, MethodChannel.Result result) {
@@ -93,6 +173,14 @@ class MarkersController {
   }
 
   boolean onMarkerTap(String googleMarkerId) {
+    final MarkerClusterIndex.Cluster cluster = googleMapsMarkerIdToCluster.get(googleMarkerId);
+    if (cluster != null) {
+      final Map<String, Object> data = new HashMap<>();
+      data.put("position", Convert.latLngToJson(cluster.position));
+      data.put("markerIds", cluster.markerIds);
+      methodChannel.invokeMethod("cluster#onTap", data);
+      return false;
+    }
     String markerId = googleMapsMarkerIdToDartMarkerId.get(googleMarkerId);
     if (markerId == null) {
       return false;
@@ -146,14 +234,115 @@ class MarkersController {
     methodChannel.invokeMethod("infoWindow#onTap", Convert.markerIdToJson(markerId));
   }
 
+  void onCameraIdle() {
+    if (!clusteringEnabled || googleMap == null) {
+      return;
+    }
+    final int zoom = (int) googleMap.getCameraPosition().zoom;
+    if (zoom != clusterZoom) {
+      clusterZoom = zoom;
+      computeClusters();
+    }
+  }
+
+  private void invalidateClusters() {
+    clusterIndex = null;
+    // Updates of many markers are clustered once, after all of them are applied.
+    if (!clusteringScheduled) {
+      clusteringScheduled = true;
+      mainThreadExecutor.execute(
+          () -> {
+            clusteringScheduled = false;
+            computeClusters();
+          });
+    }
+  }
+
+  private void computeClusters() {
+    // Clusters are computed on the first camera idle event when the map has no zoom level yet.
+    if (googleMap == null || clusterZoom < 0) {
+      return;
+    }
+    if (clusterIndex == null) {
+      final String[] markerIds = new String[clusteredMarkers.size()];
+      final LatLng[] positions = new LatLng[markerIds.length];
+      int i = 0;
+      for (Map.Entry<String, MarkerBuilder> entry : clusteredMarkers.entrySet()) {
+        markerIds[i] = entry.getKey();
+        positions[i] = entry.getValue().build().getPosition();
+        i++;
+      }
+      clusterIndex = new MarkerClusterIndex(markerIds, positions, CLUSTER_CELL_SIZE);
+    }
+
+    final MarkerClusterIndex index = clusterIndex;
+    final int zoom = clusterZoom;
+    final int generation = ++clusteringGeneration;
+    clusteringExecutor.execute(
+        () -> {
+          final List<MarkerClusterIndex.Cluster> clusters = index.getClusters(zoom);
+          mainThreadExecutor.execute(
+              () -> {
+                // Clusters are dropped when the markers or the zoom level changed meanwhile.
+                if (generation == clusteringGeneration && googleMap != null) {
+                  showClusters(clusters);
+                }
+              });
+        });
+  }
+
+  private void showClusters(List<MarkerClusterIndex.Cluster> clusters) {
+    for (Marker clusterMarker : clusterMarkers) {
+      clusterMarker.remove();
+    }
+    clusterMarkers.clear();
+    googleMapsMarkerIdToCluster.clear();
+
+    final Set<String> leafMarkerIds = new HashSet<>();
+    for (MarkerClusterIndex.Cluster cluster : clusters) {
+      if (cluster.markerIds.size() == 1) {
+        leafMarkerIds.add(cluster.markerIds.get(0));
+        continue;
+      }
+      final Marker clusterMarker =
+          googleMap.addMarker(
+              new MarkerOptions()
+                  .position(cluster.position)
+                  .icon(clusterIconFactory.getIcon(cluster.markerIds.size()))
+                  .anchor(0.5f, 0.5f));
+      clusterMarkers.add(clusterMarker);
+      googleMapsMarkerIdToCluster.put(clusterMarker.getId(), cluster);
+    }
+
+    for (String markerId : new ArrayList<>(markerIdToController.keySet())) {
+      if (!leafMarkerIds.contains(markerId)) {
+        removeGoogleMapsMarker(markerId);
+      }
+    }
+    for (String markerId : leafMarkerIds) {
+      final MarkerBuilder markerBuilder = clusteredMarkers.get(markerId);
+      if (markerBuilder != null && !markerIdToController.containsKey(markerId)) {
+        addMarker(markerId, markerBuilder.build(), markerBuilder.consumeTapEvents());
+      }
+    }
+  }
+
   private void addMarker(Object marker) {
     if (marker == null) {
       return;
     }
     MarkerBuilder markerBuilder = new MarkerBuilder();
     String markerId = Convert.interpretMarkerOptions(marker, markerBuilder);
-    MarkerOptions options = markerBuilder.build();
-    addMarker(markerId, options, markerBuilder.consumeTapEvents());
+    addMarker(markerId, markerBuilder);
+  }
+
+  private void addMarker(String markerId, MarkerBuilder markerBuilder) {
+    if (clusteringEnabled) {
+      clusteredMarkers.put(markerId, markerBuilder);
+      invalidateClusters();
+    } else {
+      addMarker(markerId, markerBuilder.build(), markerBuilder.consumeTapEvents());
+    }
   }
 
   private void addMarker(String markerId, MarkerOptions markerOptions, boolean consumeTapEvents) {
@@ -168,12 +357,46 @@ class MarkersController {
       return;
     }
     String markerId = getMarkerId(marker);
+    MarkerBuilder clusteredMarker = clusteredMarkers.get(markerId);
+    if (clusteredMarker != null) {
+      LatLng position = clusteredMarker.build().getPosition();
+      Convert.interpretMarkerOptions(marker, clusteredMarker);
+      onClusteredMarkerChanged(markerId, clusteredMarker, position);
+      return;
+    }
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController != null) {
       Convert.interpretMarkerOptions(marker, markerController);
     }
   }
 
+  private void onClusteredMarkerChanged(
+      String markerId, MarkerBuilder markerBuilder, LatLng previousPosition) {
+    // The builder has no way to replay its changes on the marker, which is added again instead.
+    if (markerIdToController.containsKey(markerId)) {
+      removeGoogleMapsMarker(markerId);
+      addMarker(markerId, markerBuilder.build(), markerBuilder.consumeTapEvents());
+    }
+    if (!Objects.equals(previousPosition, markerBuilder.build().getPosition())) {
+      invalidateClusters();
+    }
+  }
+
+  private void removeMarker(String markerId) {
+    if (clusteredMarkers.remove(markerId) != null) {
+      invalidateClusters();
+    }
+    removeGoogleMapsMarker(markerId);
+  }
+
+  private void removeGoogleMapsMarker(String markerId) {
+    final MarkerController markerController = markerIdToController.remove(markerId);
+    if (markerController != null) {
+      markerController.remove();
+      googleMapsMarkerIdToDartMarkerId.remove(markerController.getGoogleMapsMarkerId());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static String getMarkerId(Object marker) {
     Map<String, Object> markerMap = (Map<String, Object>) marker;
@@ -55,13 +55,33 @@ class PolygonsController {
       if (rawPolygonId == null) {
         continue;
       }
-      String polygonId = (String) rawPolygonId;
-      final PolygonController polygonController = polygonIdToController.remove(polygonId);
+      removePolygon((String) rawPolygonId);
+    }
+  }
+
+  /**
+   * Applies the updates read by {@code updates} in a single pass, see {@link
+   * MapObjectUpdatesDecoder}.
+   */
+  void updatePolygons(MapObjectUpdatesDecoder updates) {
+    for (int count = updates.readCount(); count > 0; count--) {
+      final String polygonId = updates.readId();
+      final PolygonBuilder polygonBuilder = new PolygonBuilder(density);
+      updates.interpretPolygonOptions(polygonBuilder);
+      addPolygon(polygonId, polygonBuilder.build(), polygonBuilder.consumeTapEvents());
+    }
+    for (int count = updates.readCount(); count > 0; count--) {
+      final PolygonController polygonController = polygonIdToController.get(updates.readId());
       if (polygonController != null) {
-        polygonController.remove();
-        googleMapsPolygonIdToDartPolygonId.remove(polygonController.getGoogleMapsPolygonId());
+        updates.interpretPolygonOptions(polygonController);
+      } else {
+        // The options of unknown polygons are still read, to move on to the next polygon.
+        updates.interpretPolygonOptions(new PolygonBuilder(density));
       }
     }
+    for (int count = updates.readCount(); count > 0; count--) {
+      removePolygon(updates.readId());
+    }
   }
 
   boolean onPolygonTap(String googlePolygonId) {
@@ -106,6 +126,14 @@ class PolygonsController {
     }
   }
 
+  private void removePolygon(String polygonId) {
+    final PolygonController polygonController = polygonIdToController.remove(polygonId);
+    if (polygonController != null) {
+      polygonController.remove();
+      googleMapsPolygonIdToDartPolygonId.remove(polygonController.getGoogleMapsPolygonId());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static String getPolygonId(Object polygon) {
     Map<String, Object> polygonMap = (Map<String, Object>) polygon;
@@ -55,13 +55,33 @@ class PolylinesController {
       if (rawPolylineId == null) {
         continue;
       }
-      String polylineId = (String) rawPolylineId;
-      final PolylineController polylineController = polylineIdToController.remove(polylineId);
+      removePolyline((String) rawPolylineId);
+    }
+  }
+
+  /**
+   * Applies the updates read by {@code updates} in a single pass, see {@link
+   * MapObjectUpdatesDecoder}.
+   */
+  void updatePolylines(MapObjectUpdatesDecoder updates) {
+    for (int count = updates.readCount(); count > 0; count--) {
+      final String polylineId = updates.readId();
+      final PolylineBuilder polylineBuilder = new PolylineBuilder(density);
+      updates.interpretPolylineOptions(polylineBuilder);
+      addPolyline(polylineId, polylineBuilder.build(), polylineBuilder.consumeTapEvents());
+    }
+    for (int count = updates.readCount(); count > 0; count--) {
+      final PolylineController polylineController = polylineIdToController.get(updates.readId());
       if (polylineController != null) {
-        polylineController.remove();
-        googleMapsPolylineIdToDartPolylineId.remove(polylineController.getGoogleMapsPolylineId());
+        updates.interpretPolylineOptions(polylineController);
+      } else {
+        // The options of unknown polylines are still read, to move on to the next polyline.
+        updates.interpretPolylineOptions(new PolylineBuilder(density));
       }
     }
+    for (int count = updates.readCount(); count > 0; count--) {
+      removePolyline(updates.readId());
+    }
   }
 
   boolean onPolylineTap(String googlePolylineId) {
@@ -106,6 +126,14 @@ class PolylinesController {
     }
   }
 
+  private void removePolyline(String polylineId) {
+    final PolylineController polylineController = polylineIdToController.remove(polylineId);
+    if (polylineController != null) {
+      polylineController.remove();
+      googleMapsPolylineIdToDartPolylineId.remove(polylineController.getGoogleMapsPolylineId());
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static String getPolylineId(Object polyline) {
     Map<String, Object> polylineMap = (Map<String, Object>) polyline;
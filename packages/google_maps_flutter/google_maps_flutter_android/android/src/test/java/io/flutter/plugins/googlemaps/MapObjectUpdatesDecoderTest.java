@@ -0,0 +1,384 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.ButtCap;
+import com.google.android.gms.maps.model.Cap;
+import com.google.android.gms.maps.model.CustomCap;
+import com.google.android.gms.maps.model.Dash;
+import com.google.android.gms.maps.model.Dot;
+import com.google.android.gms.maps.model.Gap;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.PatternItem;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+public class MapObjectUpdatesDecoderTest {
+  private final BitmapDescriptor defaultMarker = mock(BitmapDescriptor.class);
+  private MockedStatic<BitmapDescriptorFactory> bitmapDescriptorFactory;
+
+  @Before
+  public void setUp() {
+    bitmapDescriptorFactory = mockStatic(BitmapDescriptorFactory.class);
+    bitmapDescriptorFactory.when(BitmapDescriptorFactory::defaultMarker).thenReturn(defaultMarker);
+  }
+
+  @After
+  public void tearDown() {
+    bitmapDescriptorFactory.close();
+  }
+
+  @Test
+  public void readsSectionsInOrder() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder()
+            .putCount(1)
+            .putMarker("added", 1.0, 2.0, 0, null)
+            .putCount(1)
+            .putMarker("changed", 3.0, 4.0, 0, null)
+            .putCount(2)
+            .putString("removed")
+            .putString("added")
+            .encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, defaultMarkerBitmaps());
+
+    assertEquals(1, decoder.readCount());
+    assertEquals("added", decoder.readId());
+    final MarkerOptionsSink addedSink = mock(MarkerOptionsSink.class);
+    decoder.interpretMarkerOptions(addedSink);
+    verify(addedSink).setPosition(new LatLng(1.0, 2.0));
+    assertEquals(1, decoder.readCount());
+    assertEquals("changed", decoder.readId());
+    final MarkerOptionsSink changedSink = mock(MarkerOptionsSink.class);
+    decoder.interpretMarkerOptions(changedSink);
+    verify(changedSink).setPosition(new LatLng(3.0, 4.0));
+    assertEquals(2, decoder.readCount());
+    assertEquals("removed", decoder.readId());
+    assertEquals("added", decoder.readId());
+  }
+
+  @Test
+  public void interpretMarkerOptions() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder()
+            .putString("marker")
+            .putDouble(0.5)
+            .putDouble(0.25)
+            .putDouble(0.75)
+            .putFlags(true, false, true, false)
+            .putInt(0)
+            .putString("title")
+            .putString("snippet")
+            .putDouble(0.5)
+            .putDouble(1.0)
+            .putLatLng(-33.86, 151.2)
+            .putDouble(90.0)
+            .putDouble(2.0)
+            .encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, defaultMarkerBitmaps());
+    final MarkerOptionsSink sink = mock(MarkerOptionsSink.class);
+
+    assertEquals("marker", decoder.readId());
+    decoder.interpretMarkerOptions(sink);
+
+    verify(sink).setAlpha(0.5f);
+    verify(sink).setAnchor(0.25f, 0.75f);
+    verify(sink).setConsumeTapEvents(true);
+    verify(sink).setDraggable(false);
+    verify(sink).setFlat(true);
+    verify(sink).setIcon(defaultMarker);
+    verify(sink).setInfoWindowText("title", "snippet");
+    verify(sink).setInfoWindowAnchor(0.5f, 1.0f);
+    verify(sink).setPosition(new LatLng(-33.86, 151.2));
+    verify(sink).setRotation(90.0f);
+    verify(sink).setVisible(false);
+    verify(sink).setZIndex(2.0f);
+  }
+
+  @Test
+  public void interpretMarkerOptions_DecodesUpdatesEncodedByDart() {
+    // The little-endian bytes map_object_updates_encoder.dart writes for a marker, as checked by
+    // the 'updateMarkers pads float64 values as WriteBuffer does' test of the Dart side.
+    final byte[] encodedUpdates = {
+      1, // Format version.
+      3, 0, 0, 0, // Count of strings.
+      6, 0, 0, 0, 109, 97, 114, 107, 101, 114, // "marker".
+      5, 0, 0, 0, 116, 105, 116, 108, 101, // "title".
+      7, 0, 0, 0, 115, 110, 105, 112, 112, 101, 116, // "snippet".
+      2, 0, 0, 0, // Count of coordinates.
+      0, // Padding.
+      -82, 71, -31, 122, 20, -18, 64, -64, // Latitude.
+      102, 102, 102, 102, 102, -26, 98, 64, // Longitude.
+      1, 0, 0, 0, // Count of markers to add.
+      0, 0, 0, 0, // Id.
+      0, 0, 0, 0, 0, 0, -32, 63, // Alpha.
+      0, 0, 0, 0, 0, 0, -48, 63, // Anchor x.
+      0, 0, 0, 0, 0, 0, -24, 63, // Anchor y.
+      5, // Flags.
+      0, 0, 0, 0, // Icon.
+      1, 0, 0, 0, // Title.
+      2, 0, 0, 0, // Snippet.
+      0, 0, 0, // Padding.
+      0, 0, 0, 0, 0, 0, -32, 63, // Info window anchor x.
+      0, 0, 0, 0, 0, 0, -16, 63, // Info window anchor y.
+      0, 0, 0, 0, 0, -128, 86, 64, // Rotation.
+      0, 0, 0, 0, 0, 0, 0, 64, // Z index.
+      0, 0, 0, 0, // Count of markers to change.
+      0, 0, 0, 0, // Count of markers to remove.
+    };
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, defaultMarkerBitmaps());
+    final MarkerOptionsSink sink = mock(MarkerOptionsSink.class);
+
+    assertEquals(1, decoder.readCount());
+    assertEquals("marker", decoder.readId());
+    decoder.interpretMarkerOptions(sink);
+
+    verify(sink).setAlpha(0.5f);
+    verify(sink).setAnchor(0.25f, 0.75f);
+    verify(sink).setConsumeTapEvents(true);
+    verify(sink).setDraggable(false);
+    verify(sink).setFlat(true);
+    verify(sink).setIcon(defaultMarker);
+    verify(sink).setInfoWindowText("title", "snippet");
+    verify(sink).setInfoWindowAnchor(0.5f, 1.0f);
+    verify(sink).setPosition(new LatLng(-33.86, 151.2));
+    verify(sink).setRotation(90.0f);
+    verify(sink).setVisible(false);
+    verify(sink).setZIndex(2.0f);
+    assertEquals(0, decoder.readCount());
+    assertEquals(0, decoder.readCount());
+  }
+
+  @Test
+  public void interpretMarkerOptions_WithoutTitleDoesNotSetInfoWindowText() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder().putMarker("marker", 1.0, 2.0, 0, null).encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, defaultMarkerBitmaps());
+    final MarkerOptionsSink sink = mock(MarkerOptionsSink.class);
+
+    decoder.readId();
+    decoder.interpretMarkerOptions(sink);
+
+    verify(sink, never()).setInfoWindowText(any(), any());
+  }
+
+  @Test
+  public void interpretMarkerOptions_DecodesEachBitmapOnce() {
+    final MapObjectUpdatesEncoder encoder = new MapObjectUpdatesEncoder();
+    for (int i = 0; i < 3; i++) {
+      encoder.putMarker("marker" + i, i, i, 0, null);
+    }
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encoder.encode(), defaultMarkerBitmaps());
+    final MarkerOptionsSink sink = mock(MarkerOptionsSink.class);
+
+    for (int i = 0; i < 3; i++) {
+      decoder.readId();
+      decoder.interpretMarkerOptions(sink);
+    }
+
+    verify(sink, times(3)).setIcon(defaultMarker);
+    bitmapDescriptorFactory.verify(BitmapDescriptorFactory::defaultMarker, times(1));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void interpretPolygonOptions() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder()
+            .putString("polygon")
+            .putFlags(false, true, true)
+            .putInt(0xFF00FF00)
+            .putInt(0x80000000)
+            .putInt(3)
+            .putDouble(1.0)
+            .putInt(3)
+            .putLatLng(0.0, 0.0)
+            .putLatLng(0.0, 10.0)
+            .putLatLng(10.0, 0.0)
+            .putInt(1)
+            .putInt(3)
+            .putLatLng(1.0, 1.0)
+            .putLatLng(1.0, 2.0)
+            .putLatLng(2.0, 1.0)
+            .encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, Collections.emptyList());
+    final PolygonOptionsSink sink = mock(PolygonOptionsSink.class);
+
+    assertEquals("polygon", decoder.readId());
+    decoder.interpretPolygonOptions(sink);
+
+    verify(sink).setConsumeTapEvents(false);
+    verify(sink).setGeodesic(true);
+    verify(sink).setVisible(true);
+    verify(sink).setFillColor(0xFF00FF00);
+    verify(sink).setStrokeColor(0x80000000);
+    verify(sink).setStrokeWidth(3);
+    verify(sink).setZIndex(1.0f);
+    verify(sink)
+        .setPoints(
+            Arrays.asList(new LatLng(0.0, 0.0), new LatLng(0.0, 10.0), new LatLng(10.0, 0.0)));
+    final ArgumentCaptor<List<List<LatLng>>> holes = ArgumentCaptor.forClass(List.class);
+    verify(sink).setHoles(holes.capture());
+    assertEquals(
+        Collections.singletonList(
+            Arrays.asList(new LatLng(1.0, 1.0), new LatLng(1.0, 2.0), new LatLng(2.0, 1.0))),
+        holes.getValue());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void interpretPolylineOptions() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder()
+            .putString("polyline")
+            .putFlags(true, false, true)
+            .putInt(0xFF0000FF)
+            .putByte(0)
+            .putInt(-1)
+            .putDouble(0.0)
+            .putByte(3)
+            .putInt(0)
+            .putDouble(5.0)
+            .putInt(2)
+            .putInt(4)
+            .putDouble(0.0)
+            .putInt(2)
+            .putLatLng(0.0, 0.0)
+            .putLatLng(1.0, 1.0)
+            .putInt(3)
+            .putByte(0)
+            .putDouble(0.0)
+            .putByte(1)
+            .putDouble(10.0)
+            .putByte(2)
+            .putDouble(5.0)
+            .encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, defaultMarkerBitmaps());
+    final PolylineOptionsSink sink = mock(PolylineOptionsSink.class);
+
+    assertEquals("polyline", decoder.readId());
+    decoder.interpretPolylineOptions(sink);
+
+    verify(sink).setConsumeTapEvents(true);
+    verify(sink).setGeodesic(false);
+    verify(sink).setVisible(true);
+    verify(sink).setColor(0xFF0000FF);
+    verify(sink).setStartCap(any(ButtCap.class));
+    final ArgumentCaptor<Cap> endCap = ArgumentCaptor.forClass(Cap.class);
+    verify(sink).setEndCap(endCap.capture());
+    assertTrue(endCap.getValue() instanceof CustomCap);
+    assertSame(defaultMarker, ((CustomCap) endCap.getValue()).bitmapDescriptor);
+    assertEquals(5.0f, ((CustomCap) endCap.getValue()).refWidth, 0);
+    verify(sink).setJointType(2);
+    verify(sink).setWidth(4);
+    verify(sink).setZIndex(0.0f);
+    verify(sink).setPoints(Arrays.asList(new LatLng(0.0, 0.0), new LatLng(1.0, 1.0)));
+    final ArgumentCaptor<List<PatternItem>> pattern = ArgumentCaptor.forClass(List.class);
+    verify(sink).setPattern(pattern.capture());
+    assertEquals(3, pattern.getValue().size());
+    assertTrue(pattern.getValue().get(0) instanceof Dot);
+    assertEquals(10.0f, ((Dash) pattern.getValue().get(1)).length, 0);
+    assertEquals(5.0f, ((Gap) pattern.getValue().get(2)).length, 0);
+  }
+
+  @Test
+  public void interpretPolylineOptions_EmptyPatternIsNull() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder()
+            .putString("polyline")
+            .putFlags(false, false, true)
+            .putInt(0xFF000000)
+            .putByte(0)
+            .putInt(-1)
+            .putDouble(0.0)
+            .putByte(1)
+            .putInt(-1)
+            .putDouble(0.0)
+            .putInt(0)
+            .putInt(10)
+            .putDouble(0.0)
+            .putInt(0)
+            .putInt(0)
+            .encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, Collections.emptyList());
+    final PolylineOptionsSink sink = mock(PolylineOptionsSink.class);
+
+    decoder.readId();
+    decoder.interpretPolylineOptions(sink);
+
+    final ArgumentCaptor<List<PatternItem>> pattern = ArgumentCaptor.forClass(List.class);
+    verify(sink).setPattern(pattern.capture());
+    assertNull(pattern.getValue());
+  }
+
+  @Test
+  public void interpretCircleOptions() {
+    final byte[] encodedUpdates =
+        new MapObjectUpdatesEncoder()
+            .putString("circle")
+            .putFlags(true, true)
+            .putInt(0x11223344)
+            .putInt(0x55667788)
+            .putInt(2)
+            .putDouble(3.0)
+            .putLatLng(48.85, 2.35)
+            .putDouble(1500.0)
+            .encode();
+    final MapObjectUpdatesDecoder decoder =
+        new MapObjectUpdatesDecoder(encodedUpdates, Collections.emptyList());
+    final CircleOptionsSink sink = mock(CircleOptionsSink.class);
+
+    assertEquals("circle", decoder.readId());
+    decoder.interpretCircleOptions(sink);
+
+    verify(sink).setConsumeTapEvents(true);
+    verify(sink).setVisible(true);
+    verify(sink).setFillColor(0x11223344);
+    verify(sink).setStrokeColor(0x55667788);
+    verify(sink).setStrokeWidth(2);
+    verify(sink).setZIndex(3.0f);
+    verify(sink).setCenter(new LatLng(48.85, 2.35));
+    verify(sink).setRadius(1500.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsUnknownFormatVersion() {
+    final byte[] encodedUpdates = new MapObjectUpdatesEncoder().encode();
+    encodedUpdates[0] = (byte) (MapObjectUpdatesDecoder.FORMAT_VERSION + 1);
+
+    new MapObjectUpdatesDecoder(encodedUpdates, Collections.emptyList());
+  }
+
+  private static List<Object> defaultMarkerBitmaps() {
+    return Collections.<Object>singletonList(Collections.singletonList("defaultMarker"));
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes map object updates in the layout read by {@link MapObjectUpdatesDecoder}, as the Dart side
+ * of the plugin does in map_object_updates_encoder.dart.
+ */
+class MapObjectUpdatesEncoder {
+  private final ByteBuffer records = ByteBuffer.allocate(1 << 24).order(ByteOrder.nativeOrder());
+  private final Map<String, Integer> stringIndexes = new LinkedHashMap<>();
+  private final List<Double> coordinates = new ArrayList<>();
+
+  MapObjectUpdatesEncoder putCount(int count) {
+    records.putInt(count);
+    return this;
+  }
+
+  MapObjectUpdatesEncoder putString(String string) {
+    if (string == null) {
+      records.putInt(-1);
+    } else {
+      Integer index = stringIndexes.get(string);
+      if (index == null) {
+        index = stringIndexes.size();
+        stringIndexes.put(string, index);
+      }
+      records.putInt(index);
+    }
+    return this;
+  }
+
+  MapObjectUpdatesEncoder putFlags(boolean... flags) {
+    int bits = 0;
+    for (int i = 0; i < flags.length; i++) {
+      if (flags[i]) {
+        bits |= 1 << i;
+      }
+    }
+    records.put((byte) bits);
+    return this;
+  }
+
+  MapObjectUpdatesEncoder putByte(int value) {
+    records.put((byte) value);
+    return this;
+  }
+
+  MapObjectUpdatesEncoder putInt(int value) {
+    records.putInt(value);
+    return this;
+  }
+
+  MapObjectUpdatesEncoder putDouble(double value) {
+    // Like WriteBuffer.putFloat64, pads to 8 bytes.
+    records.position((records.position() + 7) & ~7);
+    records.putDouble(value);
+    return this;
+  }
+
+  MapObjectUpdatesEncoder putLatLng(double latitude, double longitude) {
+    coordinates.add(latitude);
+    coordinates.add(longitude);
+    return this;
+  }
+
+  /** Writes the record of a marker with the default options of the Dart {@code Marker}. */
+  MapObjectUpdatesEncoder putMarker(
+      String markerId, double latitude, double longitude, int iconIndex, String title) {
+    return putString(markerId)
+        .putDouble(1.0)
+        .putDouble(0.5)
+        .putDouble(1.0)
+        .putFlags(false, false, false, true)
+        .putInt(iconIndex)
+        .putString(title)
+        .putString(null)
+        .putDouble(0.5)
+        .putDouble(0.0)
+        .putLatLng(latitude, longitude)
+        .putDouble(0.0)
+        .putDouble(0.0);
+  }
+
+  byte[] encode() {
+    final byte[][] strings = new byte[stringIndexes.size()][];
+    int stringsLength = 0;
+    int i = 0;
+    for (String string : stringIndexes.keySet()) {
+      strings[i] = string.getBytes(StandardCharsets.UTF_8);
+      stringsLength += 4 + strings[i].length;
+      i++;
+    }
+    final int coordinatesStart = (1 + 4 + stringsLength + 4 + 7) & ~7;
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(coordinatesStart + coordinates.size() * 8 + records.position())
+            .order(ByteOrder.nativeOrder());
+
+    buffer.put((byte) MapObjectUpdatesDecoder.FORMAT_VERSION);
+    buffer.putInt(strings.length);
+    for (byte[] string : strings) {
+      buffer.putInt(string.length);
+      buffer.put(string);
+    }
+    buffer.putInt(coordinates.size());
+    buffer.position(coordinatesStart);
+    for (double coordinate : coordinates) {
+      buffer.putDouble(coordinate);
+    }
+    buffer.put(records.array(), 0, records.position());
+    return buffer.array();
+  }
+}
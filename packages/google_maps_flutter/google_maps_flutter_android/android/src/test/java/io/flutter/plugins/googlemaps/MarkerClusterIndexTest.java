@@ -0,0 +1,53 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.android.gms.maps.model.LatLng;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+public class MarkerClusterIndexTest {
+  private final MarkerClusterIndex index =
+      new MarkerClusterIndex(
+          new String[] {"a", "b", "c"},
+          new LatLng[] {
+            new LatLng(10.0, 20.0), new LatLng(10.001, 20.001), new LatLng(-40.0, 60.0)
+          },
+          100);
+
+  @Test
+  public void getClusters_groupsCloseMarkersAtLowZoom() {
+    final List<MarkerClusterIndex.Cluster> clusters = index.getClusters(5);
+
+    assertEquals(2, clusters.size());
+    final MarkerClusterIndex.Cluster cluster = clusters.get(0);
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(cluster.markerIds));
+    assertEquals(10.0005, cluster.position.latitude, 1e-4);
+    assertEquals(20.0005, cluster.position.longitude, 1e-4);
+    assertEquals(Collections.singletonList("c"), clusters.get(1).markerIds);
+    assertEquals(new LatLng(-40.0, 60.0), clusters.get(1).position);
+  }
+
+  @Test
+  public void getClusters_splitsClustersAtHighZoom() {
+    final List<MarkerClusterIndex.Cluster> clusters = index.getClusters(20);
+
+    assertEquals(3, clusters.size());
+    for (MarkerClusterIndex.Cluster cluster : clusters) {
+      assertEquals(1, cluster.markerIds.size());
+    }
+  }
+
+  @Test
+  public void getClusters_computesEachZoomOnce() {
+    assertSame(index.getClusters(5), index.getClusters(5));
+  }
+}
@@ -4,12 +4,17 @@
 
 package io.flutter.plugins.googlemaps;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
@@ -18,10 +23,14 @@ import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodCodec;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 public class MarkersControllerTest {
@@ -124,4 +133,132 @@ public class MarkersControllerTest {
     data.put("position", points);
     Mockito.verify(methodChannel).invokeMethod("marker#onDrag", data);
   }
+
+  @Test
+  public void controller_UpdateMarkers() {
+    final MethodChannel methodChannel =
+        spy(new MethodChannel(mock(BinaryMessenger.class), "no-name", mock(MethodCodec.class)));
+    final MarkersController controller = new MarkersController(methodChannel);
+    final GoogleMap googleMap = mock(GoogleMap.class);
+    controller.setGoogleMap(googleMap);
+
+    final Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn("abc123");
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(marker);
+    final List<Object> bitmaps =
+        Collections.<Object>singletonList(Collections.singletonList("defaultMarker"));
+
+    try (MockedStatic<BitmapDescriptorFactory> bitmapDescriptorFactory =
+        mockStatic(BitmapDescriptorFactory.class)) {
+      bitmapDescriptorFactory
+          .when(BitmapDescriptorFactory::defaultMarker)
+          .thenReturn(mock(BitmapDescriptor.class));
+
+      controller.updateMarkers(
+          new MapObjectUpdatesDecoder(
+              new MapObjectUpdatesEncoder()
+                  .putCount(1)
+                  .putMarker("marker", 1.1, 2.2, 0, null)
+                  .putCount(0)
+                  .putCount(0)
+                  .encode(),
+              bitmaps));
+      Mockito.verify(googleMap).addMarker(any(MarkerOptions.class));
+
+      controller.updateMarkers(
+          new MapObjectUpdatesDecoder(
+              new MapObjectUpdatesEncoder()
+                  .putCount(0)
+                  .putCount(2)
+                  .putMarker("unknown", 5.5, 6.6, 0, null)
+                  .putMarker("marker", 3.3, 4.4, 0, null)
+                  .putCount(0)
+                  .encode(),
+              bitmaps));
+      Mockito.verify(marker).setPosition(new LatLng(3.3, 4.4));
+      Mockito.verify(marker, Mockito.never()).setPosition(new LatLng(5.5, 6.6));
+
+      controller.updateMarkers(
+          new MapObjectUpdatesDecoder(
+              new MapObjectUpdatesEncoder()
+                  .putCount(0)
+                  .putCount(0)
+                  .putCount(1)
+                  .putString("marker")
+                  .encode(),
+              bitmaps));
+      Mockito.verify(marker).remove();
+    }
+
+    controller.onMarkerTap("abc123");
+    Mockito.verify(methodChannel, Mockito.never()).invokeMethod(Mockito.eq("marker#onTap"), any());
+  }
+
+  @Test
+  public void controller_ClustersMarkers() {
+    final MethodChannel methodChannel =
+        spy(new MethodChannel(mock(BinaryMessenger.class), "no-name", mock(MethodCodec.class)));
+    final ClusterIconFactory clusterIconFactory = mock(ClusterIconFactory.class);
+    when(clusterIconFactory.getIcon(Mockito.anyInt())).thenReturn(mock(BitmapDescriptor.class));
+    final MarkersController controller =
+        new MarkersController(methodChannel, clusterIconFactory, Runnable::run, Runnable::run);
+    final GoogleMap googleMap = mock(GoogleMap.class);
+    controller.setGoogleMap(googleMap);
+    controller.setClusteringEnabled(true);
+
+    final List<Marker> addedMarkers = new ArrayList<>();
+    final Map<LatLng, String> googleMarkerIdByPosition = new HashMap<>();
+    when(googleMap.addMarker(any(MarkerOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              final Marker marker = mock(Marker.class);
+              final String googleMarkerId = "m" + addedMarkers.size();
+              when(marker.getId()).thenReturn(googleMarkerId);
+              addedMarkers.add(marker);
+              final MarkerOptions options = invocation.getArgument(0);
+              googleMarkerIdByPosition.put(options.getPosition(), googleMarkerId);
+              return marker;
+            });
+
+    controller.addMarkers(
+        Arrays.<Object>asList(
+            markerToJson("a", 10.0, 20.0),
+            markerToJson("b", 10.001, 20.001),
+            markerToJson("c", -40.0, 60.0)));
+    // Nothing is added to the map before the camera settles on a zoom level.
+    Mockito.verify(googleMap, Mockito.never()).addMarker(any(MarkerOptions.class));
+
+    when(googleMap.getCameraPosition()).thenReturn(new CameraPosition(new LatLng(0, 0), 5, 0, 0));
+    controller.onCameraIdle();
+    assertEquals(2, addedMarkers.size());
+    Mockito.verify(clusterIconFactory).getIcon(2);
+
+    final String clusterMarkerId = addedMarkers.get(0).getId();
+    controller.onMarkerTap(clusterMarkerId);
+    final ArgumentCaptor<Object> arguments = ArgumentCaptor.forClass(Object.class);
+    Mockito.verify(methodChannel).invokeMethod(Mockito.eq("cluster#onTap"), arguments.capture());
+    final Map<?, ?> data = (Map<?, ?>) arguments.getValue();
+    assertEquals(
+        new HashSet<>(Arrays.asList("a", "b")), new HashSet<>((List<?>) data.get("markerIds")));
+
+    controller.onMarkerTap(googleMarkerIdByPosition.get(new LatLng(-40.0, 60.0)));
+    Mockito.verify(methodChannel).invokeMethod("marker#onTap", Convert.markerIdToJson("c"));
+
+    when(googleMap.getCameraPosition()).thenReturn(new CameraPosition(new LatLng(0, 0), 20, 0, 0));
+    controller.onCameraIdle();
+    Mockito.verify(addedMarkers.get(0)).remove();
+    Mockito.verify(addedMarkers.get(1), Mockito.never()).remove();
+    assertEquals(4, addedMarkers.size());
+
+    controller.removeMarkers(Collections.<Object>singletonList("c"));
+    Mockito.verify(addedMarkers.get(1)).remove();
+  }
+
+  private static Map<String, Object> markerToJson(
+      String markerId, double latitude, double longitude) {
+    final Map<String, Object> marker = new HashMap<>();
+    marker.put("markerId", markerId);
+    marker.put("position", Arrays.asList(latitude, longitude));
+    return marker;
+  }
 }
@@ -16,6 +16,7 @@ import 'package:google_maps_flutter_platform_interface/google_maps_flutter_platf
 import 'package:stream_transform/stream_transform.dart';
 
 import 'google_map_inspector_android.dart';
+import 'map_object_updates_encoder.dart';
 
 // TODO(stuartmorgan): Remove the dependency on platform interface toJson
 // methods. Channel serialization details should all be package-internal.
@@ -139,6 +140,12 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     return _events(mapId).whereType<MarkerTapEvent>();
   }
 
+  /// A marker standing for a cluster of markers has been tapped, see
+  /// [clusterMarkers].
+  Stream<ClusterTapEvent> onClusterTap({required int mapId}) {
+    return _events(mapId).whereType<ClusterTapEvent>();
+  }
+
   @override
   Stream<InfoWindowTapEvent> onInfoWindowTap({required int mapId}) {
     return _events(mapId).whereType<InfoWindowTapEvent>();
@@ -206,6 +213,16 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
           MarkerId(arguments['markerId']! as String),
         ));
         break;
+      case 'cluster#onTap':
+        final Map<String, Object?> arguments = _getArgumentDictionary(call);
+        _mapEventStreamController.add(ClusterTapEvent(
+          mapId,
+          (arguments['markerIds']! as List<Object?>)
+              .map((Object? markerId) => MarkerId(markerId! as String))
+              .toList(),
+          LatLng.fromJson(arguments['position'])!,
+        ));
+        break;
       case 'marker#onDragStart':
         final Map<String, Object?> arguments = _getArgumentDictionary(call);
         _mapEventStreamController.add(MarkerDragStartEvent(
@@ -324,7 +341,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     assert(markerUpdates != null);
     return _channel(mapId).invokeMethod<void>(
       'markers#update',
-      markerUpdates.toJson(),
+      MapObjectUpdatesEncoder.encodeMarkerUpdates(markerUpdates),
     );
   }
 
@@ -336,7 +353,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     assert(polygonUpdates != null);
     return _channel(mapId).invokeMethod<void>(
       'polygons#update',
-      polygonUpdates.toJson(),
+      MapObjectUpdatesEncoder.encodePolygonUpdates(polygonUpdates),
     );
   }
 
@@ -348,7 +365,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     assert(polylineUpdates != null);
     return _channel(mapId).invokeMethod<void>(
       'polylines#update',
-      polylineUpdates.toJson(),
+      MapObjectUpdatesEncoder.encodePolylineUpdates(polylineUpdates),
     );
   }
 
@@ -360,7 +377,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     assert(circleUpdates != null);
     return _channel(mapId).invokeMethod<void>(
       'circles#update',
-      circleUpdates.toJson(),
+      MapObjectUpdatesEncoder.encodeCircleUpdates(circleUpdates),
     );
   }
 
@@ -517,6 +534,18 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   /// Currently defaults to true, but the default is subject to change.
   bool useAndroidViewSurface = true;
 
+  /// Groups the markers of GoogleMap instances that are close to each other at
+  /// the zoom level of the camera into clusters, drawn as a single marker
+  /// labeled with the number of markers it stands for.
+  ///
+  /// Only clusters and the markers left on their own are added to the native
+  /// map, which keeps maps showing thousands of markers responsive. Taps on
+  /// clusters are reported by [onClusterTap]. The info window of a marker in a
+  /// cluster can't be shown.
+  ///
+  /// Applies to GoogleMap instances created after it is set. Defaults to false.
+  bool clusterMarkers = false;
+
   /// Requests Google Map Renderer with [AndroidMapRenderer] type.
   ///
   /// See https://pub.dev/packages/google_maps_flutter_android#map-renderer
@@ -574,6 +603,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
       'initialCameraPosition':
           widgetConfiguration.initialCameraPosition.toMap(),
       'options': mapOptions,
+      'clusterMarkers': clusterMarkers,
       'markersToAdd': serializeMarkerSet(mapObjects.markers),
       'polygonsToAdd': serializePolygonSet(mapObjects.polygons),
       'polylinesToAdd': serializePolylineSet(mapObjects.polylines),
@@ -773,6 +803,21 @@ class _TileOverlayUpdates extends MapsObjectUpdates<TileOverlay> {
   Set<TileOverlay> get tileOverlaysToChange => objectsToChange;
 }
 
+/// An event fired when a marker standing for a cluster of markers is tapped,
+/// see [GoogleMapsFlutterAndroid.clusterMarkers].
+class ClusterTapEvent extends MapEvent<List<MarkerId>> {
+  /// Build a ClusterTapEvent Event triggered from the map represented by
+  /// `mapId`.
+  ///
+  /// The `value` of this event is the list of the [MarkerId]s of the markers
+  /// in the cluster, which is shown at `position`.
+  ClusterTapEvent(int mapId, List<MarkerId> markerIds, this.position)
+      : super(mapId, markerIds);
+
+  /// The position of the marker standing for the cluster.
+  final LatLng position;
+}
+
 /// Thrown to indicate that a platform interaction failed to initialize renderer.
 class AndroidMapRendererException implements Exception {
   /// Creates a [AndroidMapRendererException] with an optional human-readable
@@ -0,0 +1,274 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:collection';
+import 'dart:convert';
+// TODO(a14n): remove this import once Flutter 3.1 or later reaches stable (including flutter/flutter#104231)
+// ignore: unnecessary_import
+import 'dart:typed_data';
+import 'dart:ui' show Offset;
+
+import 'package:flutter/foundation.dart';
+import 'package:google_maps_flutter_platform_interface/google_maps_flutter_platform_interface.dart';
+
+/// The version of the layout written by [MapObjectUpdatesEncoder].
+///
+/// Must match `MapObjectUpdatesDecoder.FORMAT_VERSION` on the platform side.
+const int _formatVersion = 1;
+
+// Values of the cap and pattern item types in the records.
+const int _buttCap = 0;
+const int _roundCap = 1;
+const int _squareCap = 2;
+const int _customCap = 3;
+const int _dot = 0;
+const int _dash = 1;
+const int _gap = 2;
+
+/// Encodes the updates of map objects as the arguments of the `*#update`
+/// method calls.
+///
+/// Rather than as a list of JSON maps per kind of update, the objects are
+/// sent as a single buffer of records that the platform side decodes in one
+/// pass. The buffer holds, in order and in the native byte order:
+///
+///  * the version of the layout, as a uint8,
+///  * a table of the strings of the records: an int32 count, then the int32
+///    length and the UTF-8 bytes of each string,
+///  * the coordinates of the records: an int32 count, then as many float64
+///    latitudes and longitudes, aligned to 8 bytes,
+///  * the records of the objects to add, then of the objects to change, then
+///    the ids of the objects to remove, each section preceded by an int32
+///    count.
+///
+/// Records refer to strings by their int32 index in the table, -1 standing
+/// for null, and to bitmaps by their int32 index in a list of bitmap
+/// descriptors sent next to the buffer, so that each bitmap is only sent and
+/// decoded once per update. The coordinates of a record are read in order
+/// from the packed coordinates, and lists of them are preceded by their int32
+/// count in the record.
+///
+/// As written by [WriteBuffer], the float64 values of the records are padded
+/// to 8 bytes. The records start right after the coordinates, so the padding
+/// is the same counted from the start of the records or of the buffer.
+class MapObjectUpdatesEncoder {
+  MapObjectUpdatesEncoder._();
+
+  /// Returns the arguments of the `markers#update` method call for [updates].
+  static Map<String, Object> encodeMarkerUpdates(MarkerUpdates updates) {
+    final MapObjectUpdatesEncoder encoder = MapObjectUpdatesEncoder._();
+    return encoder._encode(updates, encoder._writeMarker);
+  }
+
+  /// Returns the arguments of the `polygons#update` method call for [updates].
+  static Map<String, Object> encodePolygonUpdates(PolygonUpdates updates) {
+    final MapObjectUpdatesEncoder encoder = MapObjectUpdatesEncoder._();
+    return encoder._encode(updates, encoder._writePolygon);
+  }
+
+  /// Returns the arguments of the `polylines#update` method call for
+  /// [updates].
+  static Map<String, Object> encodePolylineUpdates(PolylineUpdates updates) {
+    final MapObjectUpdatesEncoder encoder = MapObjectUpdatesEncoder._();
+    return encoder._encode(updates, encoder._writePolyline);
+  }
+
+  /// Returns the arguments of the `circles#update` method call for [updates].
+  static Map<String, Object> encodeCircleUpdates(CircleUpdates updates) {
+    final MapObjectUpdatesEncoder encoder = MapObjectUpdatesEncoder._();
+    return encoder._encode(updates, encoder._writeCircle);
+  }
+
+  final WriteBuffer _records = WriteBuffer();
+  final Map<String, int> _stringIndexes = <String, int>{};
+  final List<double> _coordinates = <double>[];
+  // Bitmap descriptors have no equality, the same descriptor is shared by
+  // identity between the objects using it.
+  final Map<Object, int> _bitmapIndexes = LinkedHashMap<Object, int>.identity();
+
+  Map<String, Object> _encode<T extends MapsObject<T>>(
+    MapsObjectUpdates<T> updates,
+    void Function(T object) writeObject,
+  ) {
+    _records.putInt32(updates.objectsToAdd.length);
+    updates.objectsToAdd.forEach(writeObject);
+    _records.putInt32(updates.objectsToChange.length);
+    updates.objectsToChange.forEach(writeObject);
+    _records.putInt32(updates.objectIdsToRemove.length);
+    for (final MapsObjectId<T> objectId in updates.objectIdsToRemove) {
+      _putString(objectId.value);
+    }
+
+    final WriteBuffer buffer = WriteBuffer();
+    buffer.putUint8(_formatVersion);
+    buffer.putInt32(_stringIndexes.length);
+    for (final String string in _stringIndexes.keys) {
+      final Uint8List bytes = utf8.encoder.convert(string);
+      buffer.putInt32(bytes.length);
+      buffer.putUint8List(bytes);
+    }
+    buffer.putInt32(_coordinates.length);
+    buffer.putFloat64List(Float64List.fromList(_coordinates));
+    buffer.putUint8List(_asBytes(_records.done()));
+
+    return <String, Object>{
+      'encodedUpdates': _asBytes(buffer.done()),
+      'bitmaps': _bitmapIndexes.keys.toList(),
+    };
+  }
+
+  static Uint8List _asBytes(ByteData data) {
+    return data.buffer.asUint8List(data.offsetInBytes, data.lengthInBytes);
+  }
+
+  void _writeMarker(Marker marker) {
+    _putString(marker.markerId.value);
+    _records.putFloat64(marker.alpha);
+    _putOffset(marker.anchor);
+    _putFlags(<bool>[
+      marker.consumeTapEvents,
+      marker.draggable,
+      marker.flat,
+      marker.visible,
+    ]);
+    _putBitmap(marker.icon.toJson());
+    _putString(marker.infoWindow.title);
+    _putString(marker.infoWindow.snippet);
+    _putOffset(marker.infoWindow.anchor);
+    _putLatLng(marker.position);
+    _records.putFloat64(marker.rotation);
+    _records.putFloat64(marker.zIndex);
+  }
+
+  void _writePolygon(Polygon polygon) {
+    _putString(polygon.polygonId.value);
+    _putFlags(<bool>[
+      polygon.consumeTapEvents,
+      polygon.geodesic,
+      polygon.visible,
+    ]);
+    _records.putUint32(polygon.fillColor.value);
+    _records.putUint32(polygon.strokeColor.value);
+    _records.putInt32(polygon.strokeWidth);
+    _records.putFloat64(polygon.zIndex.toDouble());
+    _putPoints(polygon.points);
+    _records.putInt32(polygon.holes.length);
+    polygon.holes.forEach(_putPoints);
+  }
+
+  void _writePolyline(Polyline polyline) {
+    _putString(polyline.polylineId.value);
+    _putFlags(<bool>[
+      polyline.consumeTapEvents,
+      polyline.geodesic,
+      polyline.visible,
+    ]);
+    _records.putUint32(polyline.color.value);
+    _putCap(polyline.startCap);
+    _putCap(polyline.endCap);
+    _records.putInt32(polyline.jointType.value);
+    _records.putInt32(polyline.width);
+    _records.putFloat64(polyline.zIndex.toDouble());
+    _putPoints(polyline.points);
+    _records.putInt32(polyline.patterns.length);
+    polyline.patterns.forEach(_putPatternItem);
+  }
+
+  void _writeCircle(Circle circle) {
+    _putString(circle.circleId.value);
+    _putFlags(<bool>[circle.consumeTapEvents, circle.visible]);
+    _records.putUint32(circle.fillColor.value);
+    _records.putUint32(circle.strokeColor.value);
+    _records.putInt32(circle.strokeWidth);
+    _records.putFloat64(circle.zIndex.toDouble());
+    _putLatLng(circle.center);
+    _records.putFloat64(circle.radius);
+  }
+
+  void _putString(String? string) {
+    _records.putInt32(string == null
+        ? -1
+        : _stringIndexes.putIfAbsent(string, () => _stringIndexes.length));
+  }
+
+  void _putBitmap(Object bitmap) {
+    _records.putInt32(
+        _bitmapIndexes.putIfAbsent(bitmap, () => _bitmapIndexes.length));
+  }
+
+  /// Writes [flags] as the bits of a uint8, the first flag being the lowest
+  /// bit.
+  void _putFlags(List<bool> flags) {
+    int bits = 0;
+    for (int i = 0; i < flags.length; i++) {
+      if (flags[i]) {
+        bits |= 1 << i;
+      }
+    }
+    _records.putUint8(bits);
+  }
+
+  void _putOffset(Offset offset) {
+    _records.putFloat64(offset.dx);
+    _records.putFloat64(offset.dy);
+  }
+
+  void _putLatLng(LatLng latLng) {
+    _coordinates.add(latLng.latitude);
+    _coordinates.add(latLng.longitude);
+  }
+
+  void _putPoints(List<LatLng> points) {
+    _records.putInt32(points.length);
+    points.forEach(_putLatLng);
+  }
+
+  /// Writes the type of [cap], then the index of its bitmap and its reference
+  /// width, which are only read for custom caps.
+  void _putCap(Cap cap) {
+    final List<Object?> json = cap.toJson() as List<Object?>;
+    switch (json[0]) {
+      case 'buttCap':
+        _records.putUint8(_buttCap);
+        break;
+      case 'roundCap':
+        _records.putUint8(_roundCap);
+        break;
+      case 'squareCap':
+        _records.putUint8(_squareCap);
+        break;
+      case 'customCap':
+        _records.putUint8(_customCap);
+        _putBitmap(json[1]!);
+        _records.putFloat64((json[2]! as num).toDouble());
+        return;
+      default:
+        throw ArgumentError.value(cap, 'cap', 'Unknown cap');
+    }
+    _records.putInt32(-1);
+    _records.putFloat64(0);
+  }
+
+  /// Writes the type of [patternItem], then its length, which is only read
+  /// for dashes and gaps.
+  void _putPatternItem(PatternItem patternItem) {
+    final List<Object?> json = patternItem.toJson() as List<Object?>;
+    switch (json[0]) {
+      case 'dot':
+        _records.putUint8(_dot);
+        _records.putFloat64(0);
+        break;
+      case 'dash':
+        _records.putUint8(_dash);
+        _records.putFloat64((json[1]! as num).toDouble());
+        break;
+      case 'gap':
+        _records.putUint8(_gap);
+        _records.putFloat64((json[1]! as num).toDouble());
+        break;
+      default:
+        throw ArgumentError.value(patternItem, 'patternItem', 'Unknown item');
+    }
+  }
+}
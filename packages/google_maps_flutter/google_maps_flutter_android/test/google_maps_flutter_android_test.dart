@@ -2,6 +2,10 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+// TODO(a14n): remove this import once Flutter 3.1 or later reaches stable (including flutter/flutter#104231)
+// ignore: unnecessary_import
+import 'dart:typed_data';
+
 import 'package:async/async.dart';
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
@@ -124,6 +128,120 @@ void main() {
         equals('drag-end-marker'));
   });
 
+  test('clusters send tap event to correct stream', () async {
+    const int mapId = 1;
+    final Map<dynamic, dynamic> jsonClusterTapEvent = <dynamic, dynamic>{
+      'markerIds': <String>['marker-1', 'marker-2'],
+      'position': <double>[1.0, 2.0]
+    };
+
+    final GoogleMapsFlutterAndroid maps = GoogleMapsFlutterAndroid();
+    maps.ensureChannelInitialized(mapId);
+
+    final StreamQueue<ClusterTapEvent> clusterTapStream =
+        StreamQueue<ClusterTapEvent>(maps.onClusterTap(mapId: mapId));
+
+    await sendPlatformMessage(mapId, 'cluster#onTap', jsonClusterTapEvent);
+
+    final ClusterTapEvent event = await clusterTapStream.next;
+    expect(event.value,
+        equals(const <MarkerId>[MarkerId('marker-1'), MarkerId('marker-2')]));
+    expect(event.position, equals(const LatLng(1.0, 2.0)));
+  });
+
+  test('updateMarkers sends encoded marker updates', () async {
+    const int mapId = 1;
+    final GoogleMapsFlutterAndroid maps = GoogleMapsFlutterAndroid();
+    Map<Object?, Object?>? arguments;
+    configureMockMap(maps, mapId: mapId,
+        handler: (MethodCall methodCall) async {
+      arguments = methodCall.arguments as Map<Object?, Object?>;
+      return null;
+    });
+
+    const Marker marker1 =
+        Marker(markerId: MarkerId('marker1'), position: LatLng(1.0, 2.0));
+    const Marker marker2 =
+        Marker(markerId: MarkerId('marker2'), position: LatLng(3.0, 4.0));
+    await maps.updateMarkers(
+        MarkerUpdates.from(<Marker>{}, <Marker>{marker1, marker2}),
+        mapId: mapId);
+
+    expect(log, <String>['markers#update']);
+    final ByteData encodedUpdates =
+        ByteData.sublistView(arguments!['encodedUpdates']! as Uint8List);
+    // Format version.
+    expect(encodedUpdates.getUint8(0), 1);
+    // The ids of the markers are the only strings.
+    expect(encodedUpdates.getInt32(1, Endian.host), 2);
+    // Then come the coordinates of their positions.
+    expect(encodedUpdates.getInt32(27, Endian.host), 4);
+    // Both markers use the default icon, which is sent once.
+    expect(arguments!['bitmaps'],
+        <Object>[BitmapDescriptor.defaultMarker.toJson()]);
+  });
+
+  test('updateMarkers pads float64 values as WriteBuffer does', () async {
+    const int mapId = 1;
+    final GoogleMapsFlutterAndroid maps = GoogleMapsFlutterAndroid();
+    Map<Object?, Object?>? arguments;
+    configureMockMap(maps, mapId: mapId,
+        handler: (MethodCall methodCall) async {
+      arguments = methodCall.arguments as Map<Object?, Object?>;
+      return null;
+    });
+
+    const Marker marker = Marker(
+      markerId: MarkerId('marker'),
+      alpha: 0.5,
+      anchor: Offset(0.25, 0.75),
+      consumeTapEvents: true,
+      flat: true,
+      infoWindow: InfoWindow(
+          title: 'title', snippet: 'snippet', anchor: Offset(0.5, 1.0)),
+      position: LatLng(-33.86, 151.2),
+      rotation: 90.0,
+      visible: false,
+      zIndex: 2.0,
+    );
+    await maps.updateMarkers(
+        MarkerUpdates.from(<Marker>{}, <Marker>{marker}),
+        mapId: mapId);
+
+    // The same bytes are decoded by the
+    // interpretMarkerOptions_DecodesUpdatesEncodedByDart test of
+    // MapObjectUpdatesDecoderTest.java.
+    expect(
+        arguments!['encodedUpdates'],
+        <int>[
+          1, // Format version.
+          3, 0, 0, 0, // Count of strings.
+          6, 0, 0, 0, 109, 97, 114, 107, 101, 114, // "marker".
+          5, 0, 0, 0, 116, 105, 116, 108, 101, // "title".
+          7, 0, 0, 0, 115, 110, 105, 112, 112, 101, 116, // "snippet".
+          2, 0, 0, 0, // Count of coordinates.
+          0, // Padding.
+          174, 71, 225, 122, 20, 238, 64, 192, // Latitude.
+          102, 102, 102, 102, 102, 230, 98, 64, // Longitude.
+          1, 0, 0, 0, // Count of markers to add.
+          0, 0, 0, 0, // Id.
+          0, 0, 0, 0, 0, 0, 224, 63, // Alpha.
+          0, 0, 0, 0, 0, 0, 208, 63, // Anchor x.
+          0, 0, 0, 0, 0, 0, 232, 63, // Anchor y.
+          5, // Flags.
+          0, 0, 0, 0, // Icon.
+          1, 0, 0, 0, // Title.
+          2, 0, 0, 0, // Snippet.
+          0, 0, 0, // Padding.
+          0, 0, 0, 0, 0, 0, 224, 63, // Info window anchor x.
+          0, 0, 0, 0, 0, 0, 240, 63, // Info window anchor y.
+          0, 0, 0, 0, 0, 128, 86, 64, // Rotation.
+          0, 0, 0, 0, 0, 0, 0, 64, // Z index.
+          0, 0, 0, 0, // Count of markers to change.
+          0, 0, 0, 0, // Count of markers to remove.
+        ]);
+  }, skip: Endian.host != Endian.little);
+
   test(
     'Does not use PlatformViewLink when using TLHC',
     () async {